@@ -1,13 +1,17 @@
 package frc.lib;
 
+import frc.lib.driver.ControlTaskTracer;
 import frc.lib.driver.IDriver;
 import frc.lib.helpers.ExceptionHelpers;
+import frc.lib.helpers.LatencyHistogram;
 import frc.lib.mechanisms.LoggingManager;
 import frc.lib.mechanisms.MechanismManager;
 import frc.lib.robotprovider.*;
 import frc.robot.LoggingKey;
+import frc.robot.SettingsManager;
 import frc.robot.TuningConstants;
 
+import java.io.IOException;
 import java.util.Calendar;
 
 import com.google.inject.AbstractModule;
@@ -32,6 +36,7 @@ public class CoreRobot<T extends AbstractModule>
 
     // Driver - used both for autonomous and teleop mode.
     private IDriver driver;
+    private ControlTaskTracer tracer;
 
     // Mechanisms and injector
     private MechanismManager mechanisms;
@@ -41,8 +46,19 @@ public class CoreRobot<T extends AbstractModule>
     private ITimer timer;
     private boolean timerStarted;
 
+    private InputRecorder inputRecorder;
+
     private int loggerUpdates;
 
+    // timing for each phase of the loop
+    private LatencyHistogram loopTimes;
+    private LatencyHistogram readSensorsTimes;
+    private LatencyHistogram driverTimes;
+    private LatencyHistogram updateTimes;
+    private LatencyHistogram loggerTimes;
+    private int loopOverruns;
+    private int timingUpdates;
+
     public CoreRobot(T module)
     {
         this.module = module;
@@ -60,6 +76,7 @@ public class CoreRobot<T extends AbstractModule>
 
         // create driver
         this.driver = injector.getInstance(IDriver.class);
+        this.tracer = injector.getInstance(ControlTaskTracer.class);
 
         this.mechanisms = injector.getInstance(MechanismManager.class);
         this.logger = injector.getInstance(LoggingManager.class);
@@ -73,6 +90,17 @@ public class CoreRobot<T extends AbstractModule>
 
         // reset number of logger updates
         this.loggerUpdates = 0;
+
+        this.loopTimes = new LatencyHistogram();
+        this.readSensorsTimes = new LatencyHistogram();
+        this.driverTimes = new LatencyHistogram();
+        this.updateTimes = new LatencyHistogram();
+        this.loggerTimes = new LatencyHistogram();
+        this.loopOverruns = 0;
+        this.timingUpdates = 0;
+
+        this.inputRecorder = injector.getInstance(InputRecorder.class);
+        this.inputRecorder.endStep(InputLog.STEP_ROBOT_INIT, RobotMode.Disabled);
     }
 
     /**
@@ -98,6 +126,19 @@ public class CoreRobot<T extends AbstractModule>
         this.logger.logString(LoggingKey.RobotState, "Disabled");
         this.logger.update();
         this.logger.flush();
+
+        if (TuningConstants.LOG_LOOP_TIMING && this.loopTimes.getCount() > 0)
+        {
+            this.writeLoopTiming();
+        }
+
+        if (TuningConstants.LOG_CONTROL_TASK_TRACE && this.tracer.getCount() > 0)
+        {
+            this.writeControlTaskTrace();
+        }
+
+        this.inputRecorder.endStep(InputLog.STEP_MODE_INIT, RobotMode.Disabled);
+        this.inputRecorder.flush();
     }
 
     /**
@@ -217,8 +258,13 @@ public class CoreRobot<T extends AbstractModule>
                 this.timerStarted = true;
             }
 
+            // start any background work (stopped again when disabled)
+            this.mechanisms.start();
+
             // log our current mode
             this.logger.logString(LoggingKey.RobotState, robotMode.toString());
+
+            this.inputRecorder.endStep(InputLog.STEP_MODE_INIT, robotMode);
         }
         catch (RuntimeException ex)
         {
@@ -238,21 +284,49 @@ public class CoreRobot<T extends AbstractModule>
     {
         try
         {
+            long startTime = System.nanoTime();
             this.mechanisms.readSensors();
+            long readSensorsTime = System.nanoTime();
 
             this.driver.update();
+            long driverTime = System.nanoTime();
 
             // run each mechanism
             this.mechanisms.update();
+            long updateTime = System.nanoTime();
 
             this.logger.logNumber(LoggingKey.RobotTime, this.timer.get());
+            if (TuningConstants.LOG_LOOP_TIMING && ++this.timingUpdates >= TuningConstants.LOOPS_PER_SECOND)
+            {
+                // percentiles take a bit of work to find, so only publish them about once per second
+                this.logLoopTiming();
+                this.timingUpdates = 0;
+            }
+
             this.logger.update();
 
-            if (this.loggerUpdates++ > TuningConstants.LOG_FLUSH_THRESHOLD)
+            if (++this.loggerUpdates >= TuningConstants.LOG_FLUSH_THRESHOLD)
             {
                 // lazily flush the log, in case of power-off.
                 this.logger.flush();
+                this.loggerUpdates = 0;
             }
+
+            if (TuningConstants.LOG_LOOP_TIMING)
+            {
+                long endTime = System.nanoTime();
+                this.readSensorsTimes.record(readSensorsTime - startTime);
+                this.driverTimes.record(driverTime - readSensorsTime);
+                this.updateTimes.record(updateTime - driverTime);
+                this.loggerTimes.record(endTime - updateTime);
+                this.loopTimes.record(endTime - startTime);
+                if (endTime - startTime > (long)(TuningConstants.LOOP_DURATION * 1000000000.0))
+                {
+                    this.loopOverruns++;
+                }
+            }
+
+            this.inputRecorder.endStep(InputLog.STEP_PERIODIC, this.driver.getMode());
         }
         catch (RuntimeException ex)
         {
@@ -265,6 +339,100 @@ public class CoreRobot<T extends AbstractModule>
         }
     }
 
+    /**
+     * Log a summary of the time spent in each phase of the loop
+     */
+    private void logLoopTiming()
+    {
+        this.logger.logNumber(LoggingKey.RobotLoopTimeP50, this.loopTimes.getPercentileMillis(0.5));
+        this.logger.logNumber(LoggingKey.RobotLoopTimeP99, this.loopTimes.getPercentileMillis(0.99));
+        this.logger.logNumber(LoggingKey.RobotLoopTimeMax, this.loopTimes.getMaxMillis());
+        this.logger.logInteger(LoggingKey.RobotLoopOverruns, this.loopOverruns);
+        this.logger.logNumber(LoggingKey.RobotReadSensorsTimeP99, this.readSensorsTimes.getPercentileMillis(0.99));
+        this.logger.logNumber(LoggingKey.RobotDriverTimeP99, this.driverTimes.getPercentileMillis(0.99));
+        this.logger.logNumber(LoggingKey.RobotUpdateTimeP99, this.updateTimes.getPercentileMillis(0.99));
+        this.logger.logNumber(LoggingKey.RobotLoggerTimeP99, this.loggerTimes.getPercentileMillis(0.99));
+        this.mechanisms.logSlowestMechanism(this.logger);
+    }
+
+    /**
+     * Write the loop timing summary to a file, and then start over
+     */
+    private void writeLoopTiming()
+    {
+        IFileWriter writer = SettingsManager.getLoopTimingWriter(this.getInjector());
+        if (writer != null)
+        {
+            try
+            {
+                writer.append(LatencyHistogram.SUMMARY_HEADER);
+                writer.append(this.loopTimes.getSummary("loop"));
+                writer.append(this.readSensorsTimes.getSummary("readSensors"));
+                writer.append(this.driverTimes.getSummary("driver"));
+                writer.append(this.updateTimes.getSummary("update"));
+                writer.append(this.loggerTimes.getSummary("logger"));
+                this.mechanisms.writeTimingSummary(writer);
+                writer.append(String.format("overruns,%1$d,,,\r\n", this.loopOverruns));
+                writer.flush();
+            }
+            catch (IOException ex)
+            {
+                System.err.println("Failed to write loop timing: " + ex.getMessage());
+            }
+            finally
+            {
+                CoreRobot.close(writer);
+            }
+        }
+
+        this.loopTimes.reset();
+        this.readSensorsTimes.reset();
+        this.driverTimes.reset();
+        this.updateTimes.reset();
+        this.loggerTimes.reset();
+        this.mechanisms.resetTiming();
+        this.loopOverruns = 0;
+        this.timingUpdates = 0;
+    }
+
+    /**
+     * Write the control task trace to a file, and then start over
+     */
+    private void writeControlTaskTrace()
+    {
+        IFileWriter writer = SettingsManager.getControlTaskTraceWriter(this.getInjector());
+        if (writer == null)
+        {
+            this.tracer.reset();
+            return;
+        }
+
+        try
+        {
+            this.tracer.write(writer);
+        }
+        catch (IOException ex)
+        {
+            System.err.println("Failed to write control task trace: " + ex.getMessage());
+        }
+        finally
+        {
+            CoreRobot.close(writer);
+        }
+    }
+
+    private static void close(IFileWriter writer)
+    {
+        try
+        {
+            writer.close();
+        }
+        catch (IOException ex)
+        {
+            System.err.println("Failed to close diagnostics file: " + ex.getMessage());
+        }
+    }
+
     private String generateMatchString(IDriverStation driverStation)
     {
         String eventName = driverStation.getEventName();
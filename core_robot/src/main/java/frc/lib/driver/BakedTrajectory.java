@@ -0,0 +1,248 @@
+package frc.lib.driver;
+
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.ITrajectory;
+import frc.lib.robotprovider.TrajectoryState;
+
+/**
+ * Trajectory that has been sampled ahead of time at a fixed time step into primitive arrays, so that getting the
+ * state at a time is just an index calculation and a linear interpolation between the two neighboring samples.
+ */
+public class BakedTrajectory implements ITrajectory
+{
+    private final double duration;
+    private final double step;
+    private final int sampleCount;
+
+    private final double[] xPositions; // in inches
+    private final double[] yPositions; // in inches
+    private final double[] angles; // in degrees
+    private final double[] xVelocities; // in inches per second
+    private final double[] yVelocities; // in inches per second
+    private final double[] angleVelocities; // in degrees per second
+
+    /**
+     * Initializes a new BakedTrajectory by sampling the source trajectory
+     * @param source trajectory to sample
+     * @param step time between samples, in seconds
+     */
+    public BakedTrajectory(ITrajectory source, double step)
+    {
+        this.duration = source.getDuration();
+        this.step = step;
+
+        // sample at each step, with the last sample at the very end of the trajectory (ignoring rounding error so that
+        // we don't end up with a tiny last interval)
+        this.sampleCount = (int)Math.ceil(this.duration / step - 1E-9) + 1;
+        this.xPositions = new double[this.sampleCount];
+        this.yPositions = new double[this.sampleCount];
+        this.angles = new double[this.sampleCount];
+        this.xVelocities = new double[this.sampleCount];
+        this.yVelocities = new double[this.sampleCount];
+        this.angleVelocities = new double[this.sampleCount];
+
+        TrajectoryState state = new TrajectoryState();
+        for (int i = 0; i < this.sampleCount; i++)
+        {
+            source.get(this.getSampleTime(i), state);
+            this.xPositions[i] = state.xPosition;
+            this.yPositions[i] = state.yPosition;
+            this.angles[i] = state.angle;
+            this.xVelocities[i] = state.xVelocity;
+            this.yVelocities[i] = state.yVelocity;
+            this.angleVelocities[i] = state.angleVelocity;
+        }
+    }
+
+    private BakedTrajectory(
+        double duration,
+        double step,
+        double[] xPositions,
+        double[] yPositions,
+        double[] angles,
+        double[] xVelocities,
+        double[] yVelocities,
+        double[] angleVelocities)
+    {
+        this.duration = duration;
+        this.step = step;
+        this.sampleCount = xPositions.length;
+        this.xPositions = xPositions;
+        this.yPositions = yPositions;
+        this.angles = angles;
+        this.xVelocities = xVelocities;
+        this.yVelocities = yVelocities;
+        this.angleVelocities = angleVelocities;
+    }
+
+    /**
+     * Read a trajectory that was written by write()
+     * @param buffer to read from, positioned at the start of the trajectory (and left positioned after its end)
+     * @return the trajectory
+     */
+    public static BakedTrajectory read(ByteBuffer buffer)
+    {
+        double duration = buffer.getDouble();
+        double step = buffer.getDouble();
+        int sampleCount = buffer.getInt();
+        if (sampleCount < 1 || sampleCount > buffer.remaining() / (6 * Double.BYTES))
+        {
+            throw new IllegalArgumentException("Invalid sample count " + sampleCount);
+        }
+
+        double[][] values = new double[6][];
+        for (int i = 0; i < values.length; i++)
+        {
+            values[i] = new double[sampleCount];
+            buffer.asDoubleBuffer().get(values[i]);
+            buffer.position(buffer.position() + sampleCount * Double.BYTES);
+        }
+
+        return new BakedTrajectory(duration, step, values[0], values[1], values[2], values[3], values[4], values[5]);
+    }
+
+    /**
+     * Write the trajectory so that it can be read with read()
+     * @param output to write to
+     * @throws IOException
+     */
+    public void write(DataOutput output) throws IOException
+    {
+        output.writeDouble(this.duration);
+        output.writeDouble(this.step);
+        output.writeInt(this.sampleCount);
+        for (double[] values : new double[][] { this.xPositions, this.yPositions, this.angles, this.xVelocities, this.yVelocities, this.angleVelocities })
+        {
+            for (double value : values)
+            {
+                output.writeDouble(value);
+            }
+        }
+    }
+
+    @Override
+    public double getDuration()
+    {
+        return this.duration;
+    }
+
+    /**
+     * Gets the current state of the trajectory at the provided time
+     * @param time in seconds since start of trajectory
+     */
+    @Override
+    public TrajectoryState get(double time)
+    {
+        TrajectoryState state = new TrajectoryState();
+        this.get(time, state);
+        return state;
+    }
+
+    /**
+     * Gets the current state of the trajectory at the provided time, without allocating
+     * @param time in seconds since start of trajectory
+     * @param state to update with the state at that time
+     */
+    @Override
+    public void get(double time, TrajectoryState state)
+    {
+        int index;
+        double ratio;
+        if (time <= 0.0)
+        {
+            index = 0;
+            ratio = 0.0;
+        }
+        else if (time >= this.duration)
+        {
+            index = this.sampleCount - 1;
+            ratio = 0.0;
+        }
+        else
+        {
+            index = Math.min((int)(time / this.step), this.sampleCount - 2);
+
+            // the last interval may be shorter than the step
+            double startTime = this.getSampleTime(index);
+            double endTime = this.getSampleTime(index + 1);
+            ratio = endTime > startTime ? Helpers.EnforceRange((time - startTime) / (endTime - startTime), 0.0, 1.0) : 0.0;
+        }
+
+        if (ratio == 0.0)
+        {
+            state.set(
+                this.xPositions[index],
+                this.yPositions[index],
+                this.angles[index],
+                this.xVelocities[index],
+                this.yVelocities[index],
+                this.angleVelocities[index]);
+        }
+        else
+        {
+            state.set(
+                BakedTrajectory.interpolate(this.xPositions, index, ratio),
+                BakedTrajectory.interpolate(this.yPositions, index, ratio),
+                BakedTrajectory.interpolateAngle(this.angles, index, ratio),
+                BakedTrajectory.interpolate(this.xVelocities, index, ratio),
+                BakedTrajectory.interpolate(this.yVelocities, index, ratio),
+                BakedTrajectory.interpolate(this.angleVelocities, index, ratio));
+        }
+    }
+
+    /**
+     * Check how closely this trajectory matches the source trajectory, checking halfway between each pair of samples
+     * (where the linear interpolation is furthest from any actual sample)
+     * @param source trajectory that this one was baked from
+     * @param maxPositionError largest acceptable difference in position, in inches
+     * @param maxAngleError largest acceptable difference in angle, in degrees
+     * @param maxVelocityError largest acceptable difference in x or y velocity, in inches per second
+     * @return true if every checked state is within the acceptable error
+     */
+    public boolean matches(ITrajectory source, double maxPositionError, double maxAngleError, double maxVelocityError)
+    {
+        if (!Helpers.RoughEquals(source.getDuration(), this.duration))
+        {
+            return false;
+        }
+
+        TrajectoryState expected = new TrajectoryState();
+        TrajectoryState actual = new TrajectoryState();
+        for (int i = 0; i < this.sampleCount - 1; i++)
+        {
+            double time = (this.getSampleTime(i) + this.getSampleTime(i + 1)) / 2.0;
+            source.get(time, expected);
+            this.get(time, actual);
+            if (!Helpers.WithinDelta(actual.xPosition, expected.xPosition, maxPositionError) ||
+                !Helpers.WithinDelta(actual.yPosition, expected.yPosition, maxPositionError) ||
+                !Helpers.WithinDelta(Helpers.updateAngleRange(actual.angle - expected.angle), 0.0, maxAngleError) ||
+                !Helpers.WithinDelta(actual.xVelocity, expected.xVelocity, maxVelocityError) ||
+                !Helpers.WithinDelta(actual.yVelocity, expected.yVelocity, maxVelocityError))
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private double getSampleTime(int index)
+    {
+        return Math.min(index * this.step, this.duration);
+    }
+
+    private static double interpolate(double[] values, int index, double ratio)
+    {
+        return values[index] + (values[index + 1] - values[index]) * ratio;
+    }
+
+    private static double interpolateAngle(double[] angles, int index, double ratio)
+    {
+        // go the short way around, in case the angle wraps around between the two samples
+        return angles[index] + Helpers.updateAngleRange(angles[index + 1] - angles[index]) * ratio;
+    }
+}
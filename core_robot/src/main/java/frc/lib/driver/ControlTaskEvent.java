@@ -0,0 +1,19 @@
+package frc.lib.driver;
+
+/**
+ * Describes which of a control task's functions was called, for tracing.
+ */
+public enum ControlTaskEvent
+{
+    Begin("begin"),
+    Update("update"),
+    End("end"),
+    Stop("stop");
+
+    public final String value;
+
+    private ControlTaskEvent(String value)
+    {
+        this.value = value;
+    }
+}
@@ -0,0 +1,237 @@
+package frc.lib.driver;
+
+import java.io.IOException;
+
+import frc.lib.robotprovider.IFileWriter;
+import frc.robot.TuningConstants;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Tracer that records when each control task began, updated, ended or stopped and how long it took, so that we can see
+ * where the time in autonomous and in macros is spent.
+ *
+ * Anything that runs a task calls it through the tracer (e.g. tracer.update(task) instead of task.update()).  Events
+ * are recorded into preallocated arrays without allocating, and once they are full any further events are dropped (and
+ * counted) until the trace is written.  The trace is written as Chrome trace-event JSON (open it in chrome://tracing or
+ * ui.perfetto.dev), with each call as a complete ("X") event, so the calls a composite task makes to its child tasks
+ * show up nested within its own.
+ */
+@Singleton
+public class ControlTaskTracer
+{
+    private final int capacity;
+
+    // indexed by event number
+    private final long[] startTimes;
+    private final long[] durations;
+    private final long[] cycles;
+    private final ControlTaskEvent[] events;
+    private final IControlTask[] tasks;
+
+    private int count;
+    private int dropped;
+    private long cycle;
+
+    @Inject
+    public ControlTaskTracer()
+    {
+        this(TuningConstants.LOG_CONTROL_TASK_TRACE ? TuningConstants.LOG_CONTROL_TASK_TRACE_CAPACITY : 0);
+    }
+
+    /**
+     * Initializes a new ControlTaskTracer
+     * @param capacity the number of events to hold until the trace is written (0 to disable tracing)
+     */
+    public ControlTaskTracer(int capacity)
+    {
+        this.capacity = capacity;
+
+        this.startTimes = new long[capacity];
+        this.durations = new long[capacity];
+        this.cycles = new long[capacity];
+        this.events = new ControlTaskEvent[capacity];
+        this.tasks = new IControlTask[capacity];
+
+        this.count = 0;
+        this.dropped = 0;
+        this.cycle = 0L;
+    }
+
+    /**
+     * Move on to the next cycle of the robot loop
+     */
+    public void nextCycle()
+    {
+        this.cycle++;
+    }
+
+    /**
+     * Begin the provided task, tracing the call
+     * @param task to begin
+     */
+    public void begin(IControlTask task)
+    {
+        if (this.capacity == 0)
+        {
+            task.begin();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        task.begin();
+        this.record(ControlTaskEvent.Begin, task, startTime, System.nanoTime());
+    }
+
+    /**
+     * Run an iteration of the provided task, tracing the call
+     * @param task to update
+     */
+    public void update(IControlTask task)
+    {
+        if (this.capacity == 0)
+        {
+            task.update();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        task.update();
+        this.record(ControlTaskEvent.Update, task, startTime, System.nanoTime());
+    }
+
+    /**
+     * End the provided task, tracing the call
+     * @param task to end
+     */
+    public void end(IControlTask task)
+    {
+        if (this.capacity == 0)
+        {
+            task.end();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        task.end();
+        this.record(ControlTaskEvent.End, task, startTime, System.nanoTime());
+    }
+
+    /**
+     * Stop the provided task, tracing the call
+     * @param task to stop
+     */
+    public void stop(IControlTask task)
+    {
+        if (this.capacity == 0)
+        {
+            task.stop();
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        task.stop();
+        this.record(ControlTaskEvent.Stop, task, startTime, System.nanoTime());
+    }
+
+    /**
+     * Retrieve the number of events that have been recorded since the trace was last written
+     * @return the number of events
+     */
+    public int getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Retrieve the number of events that didn't fit since the trace was last written
+     * @return the number of dropped events
+     */
+    public int getDropped()
+    {
+        return this.dropped;
+    }
+
+    /**
+     * Write the recorded events as a Chrome trace, and then start over
+     * @param writer to write the trace to
+     * @throws IOException if the trace couldn't be written
+     */
+    public void write(IFileWriter writer) throws IOException
+    {
+        try
+        {
+            // timestamps are in microseconds since the first recorded event
+            long baseTime = Long.MAX_VALUE;
+            for (int i = 0; i < this.count; i++)
+            {
+                baseTime = Math.min(baseTime, this.startTimes[i]);
+            }
+
+            writer.append("{\"traceEvents\":[\n");
+            for (int i = 0; i < this.count; i++)
+            {
+                writer.append(
+                    String.format(
+                        "{\"name\":\"%1$s\",\"cat\":\"%2$s\",\"ph\":\"X\",\"ts\":%3$.3f,\"dur\":%4$.3f,\"pid\":1,\"tid\":1,\"args\":{\"cycle\":%5$d}}%6$s\n",
+                        ControlTaskTracer.getName(this.tasks[i]),
+                        this.events[i].value,
+                        (this.startTimes[i] - baseTime) / 1000.0,
+                        this.durations[i] / 1000.0,
+                        this.cycles[i],
+                        i < this.count - 1 ? "," : ""));
+            }
+
+            writer.append(String.format("],\"displayTimeUnit\":\"ms\",\"otherData\":{\"dropped\":%1$d}}\n", this.dropped));
+            writer.flush();
+        }
+        finally
+        {
+            this.reset();
+        }
+    }
+
+    /**
+     * Forget all of the recorded events
+     */
+    public void reset()
+    {
+        for (int i = 0; i < this.count; i++)
+        {
+            // don't hold onto tasks that have finished
+            this.tasks[i] = null;
+        }
+
+        this.count = 0;
+        this.dropped = 0;
+    }
+
+    private void record(ControlTaskEvent event, IControlTask task, long startTime, long endTime)
+    {
+        if (this.count >= this.capacity)
+        {
+            this.dropped++;
+            return;
+        }
+
+        int index = this.count++;
+        this.startTimes[index] = startTime;
+        this.durations[index] = endTime - startTime;
+        this.cycles[index] = this.cycle;
+        this.events[index] = event;
+        this.tasks[index] = task;
+    }
+
+    private static String getName(IControlTask task)
+    {
+        String name = task.getClass().getSimpleName();
+        if (name.isEmpty())
+        {
+            // anonymous class
+            name = task.getClass().getName();
+        }
+
+        return name;
+    }
+}
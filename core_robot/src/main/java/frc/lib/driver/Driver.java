@@ -1,9 +1,9 @@
 package frc.lib.driver;
 
+import java.util.BitSet;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
-import java.util.Set;
 
 import javax.inject.Singleton;
 
@@ -12,7 +12,6 @@ import frc.robot.TuningConstants;
 import frc.lib.driver.descriptions.*;
 import frc.lib.driver.states.*;
 import frc.lib.helpers.ExceptionHelpers;
-import frc.lib.helpers.SetHelper;
 import frc.lib.mechanisms.*;
 import frc.lib.robotprovider.*;
 import frc.robot.driver.*;
@@ -23,19 +22,47 @@ import com.google.inject.Injector;
 /**
  * Driver that represents something that operates the robot.  This is either autonomous or teleop/user driver.
  *
+ * Operations and macros are tracked in arrays indexed by their ordinal, and the state used to determine which macros
+ * should be cancelled is tracked in preallocated bitsets so that update() doesn't allocate anything in steady state.
+ *
  */
 @Singleton
 public class Driver implements IDriver
 {
+    private static final DigitalOperation[] DigitalOperations = DigitalOperation.values();
+    private static final AnalogOperation[] AnalogOperations = AnalogOperation.values();
+    private static final MacroOperation[] MacroOperations = MacroOperation.values();
+
     private final ILogger logger;
+    private final ControlTaskTracer tracer;
 
     protected final Injector injector;
     protected final Map<IOperation, OperationState> operationStateMap;
 
     private final IJoystick[] joysticks;
 
-    private final Map<Shift, ShiftDescription> shiftMap;
-    private final Map<MacroOperation, IMacroOperationState> macroStateMap;
+    // operation states, indexed by ordinal (operationStates contains digital operations followed by analog operations)
+    private final DigitalOperationState[] digitalOperationStates;
+    private final AnalogOperationState[] analogOperationStates;
+    private final OperationState[] operationStates;
+    private final IMacroOperationState[] macroStates;
+
+    private final ShiftDescription[] shiftDescriptions;
+    private final Shift[] shiftCache;
+    private final String[] shiftStrings;
+
+    // for each operation index, the macro operations that can be cancelled by that operation
+    private final BitSet[] operationMacroConflicts;
+
+    private final BitSet previouslyActiveMacroOperations;
+    private final BitSet activeMacroOperations;
+    private final BitSet modifiedOperations;
+    private final BitSet interruptedOperations;
+    private final BitSet cancelledMacroOperations;
+    private final BitSet relevantMacroOperations;
+    private final BitSet newRelevantMacroOperations;
+    private final BitSet loggedActiveMacroOperations;
+    private String activeMacroOperationsString;
 
     private final AutonomousRoutineSelector routineSelector;
     private IControlTask autonomousTask;
@@ -48,79 +75,124 @@ public class Driver implements IDriver
      * @param injector used to retrieve the components to utilize within the robot
      * @param buttonMap to control the mapping of joysticks to the corresponding operations
      * @param provider to retrieve abstracted robot joysticks
+     * @param tracer to trace the control tasks run by macros and autonomous routines
      */
     @Inject
     public Driver(
         LoggingManager logger,
         Injector injector,
         IButtonMap buttonMap,
-        IRobotProvider provider)
+        IRobotProvider provider,
+        ControlTaskTracer tracer)
     {
         this.logger = logger;
+        this.tracer = tracer;
         this.injector = injector;
 
         HashSet<UserInputDevice> devices = new HashSet<UserInputDevice>();
         AnalogOperationDescription[] analogOperationSchema = buttonMap.getAnalogOperationSchema();
         DigitalOperationDescription[] digitalOperationSchema = buttonMap.getDigitalOperationSchema();
 
-        DigitalOperation[] digitalOperations = DigitalOperation.values();
-        AnalogOperation[] analogOperations = AnalogOperation.values();
+        int digitalOperationCount = Driver.DigitalOperations.length;
+        int analogOperationCount = Driver.AnalogOperations.length;
+        int macroOperationCount = Driver.MacroOperations.length;
 
-        this.operationStateMap = new HashMap<IOperation, OperationState>(analogOperations.length + digitalOperations.length);
+        this.digitalOperationStates = new DigitalOperationState[digitalOperationCount];
         for (DigitalOperationDescription description : digitalOperationSchema)
         {
             devices.add(description.getUserInputDevice());
-            this.operationStateMap.put(description.getOperation(), new DigitalOperationState(description));
+            DigitalOperation operation = (DigitalOperation)description.getOperation();
+            this.digitalOperationStates[operation.ordinal()] = new DigitalOperationState(description);
         }
 
-        for (DigitalOperation operation : digitalOperations)
+        for (DigitalOperation operation : Driver.DigitalOperations)
         {
-            if (!this.operationStateMap.containsKey(operation))
+            if (this.digitalOperationStates[operation.ordinal()] == null)
             {
-                this.operationStateMap.put(
-                    operation,
-                    new DigitalOperationState(new DigitalOperationDescription(operation)));
+                this.digitalOperationStates[operation.ordinal()] = new DigitalOperationState(new DigitalOperationDescription(operation));
             }
         }
 
+        this.analogOperationStates = new AnalogOperationState[analogOperationCount];
         for (AnalogOperationDescription description : analogOperationSchema)
         {
             devices.add(description.getUserInputDevice());
-            this.operationStateMap.put(description.getOperation(), new AnalogOperationState(description));
+            AnalogOperation operation = (AnalogOperation)description.getOperation();
+            this.analogOperationStates[operation.ordinal()] = new AnalogOperationState(description);
         }
 
-        for (AnalogOperation operation : analogOperations)
+        for (AnalogOperation operation : Driver.AnalogOperations)
         {
-            if (!this.operationStateMap.containsKey(operation))
+            if (this.analogOperationStates[operation.ordinal()] == null)
             {
-                this.operationStateMap.put(
-                    operation,
-                    new AnalogOperationState(new AnalogOperationDescription(operation)));
+                this.analogOperationStates[operation.ordinal()] = new AnalogOperationState(new AnalogOperationDescription(operation));
             }
         }
 
+        this.operationStates = new OperationState[digitalOperationCount + analogOperationCount];
+        this.operationStateMap = new HashMap<IOperation, OperationState>(digitalOperationCount + analogOperationCount);
+        for (DigitalOperation operation : Driver.DigitalOperations)
+        {
+            OperationState state = this.digitalOperationStates[operation.ordinal()];
+            this.operationStates[this.getOperationIndex(operation)] = state;
+            this.operationStateMap.put(operation, state);
+        }
+
+        for (AnalogOperation operation : Driver.AnalogOperations)
+        {
+            OperationState state = this.analogOperationStates[operation.ordinal()];
+            this.operationStates[this.getOperationIndex(operation)] = state;
+            this.operationStateMap.put(operation, state);
+        }
+
         this.routineSelector = injector.getInstance(AutonomousRoutineSelector.class);
 
-        ShiftDescription[] shiftSchema = buttonMap.getShiftSchema();
-        this.shiftMap = new HashMap<Shift, ShiftDescription>();
-        for (ShiftDescription description : shiftSchema)
+        // precompute each possible combination of shifts so that we don't need to create new ones during update
+        this.shiftDescriptions = buttonMap.getShiftSchema();
+        int maxShiftValue = 0;
+        for (ShiftDescription description : this.shiftDescriptions)
         {
-            this.shiftMap.put(description.getShift(), description);
+            maxShiftValue |= description.getShift().getValue();
         }
 
-        this.macroStateMap = new HashMap<MacroOperation, IMacroOperationState>();
+        this.shiftCache = new Shift[maxShiftValue + 1];
+        this.shiftStrings = new String[maxShiftValue + 1];
+        for (int i = 0; i <= maxShiftValue; i++)
+        {
+            this.shiftCache[i] = new Shift(i);
+            this.shiftStrings[i] = this.shiftCache[i].toString();
+        }
+
+        this.operationMacroConflicts = new BitSet[this.operationStates.length];
+        for (int i = 0; i < this.operationMacroConflicts.length; i++)
+        {
+            this.operationMacroConflicts[i] = new BitSet(macroOperationCount);
+        }
+
+        this.macroStates = new IMacroOperationState[macroOperationCount];
         MacroOperationDescription[] macroSchema = buttonMap.getMacroOperationSchema();
         for (MacroOperationDescription description : macroSchema)
         {
             devices.add(description.getUserInputDevice());
-            this.macroStateMap.put(
+            this.setMacroState(
                 (MacroOperation)description.getOperation(),
                 new MacroOperationState(
                     description,
                     this.operationStateMap,
-                    this.injector));
+                    this.injector,
+                    this.tracer));
         }
 
+        this.previouslyActiveMacroOperations = new BitSet(macroOperationCount);
+        this.activeMacroOperations = new BitSet(macroOperationCount);
+        this.modifiedOperations = new BitSet(this.operationStates.length);
+        this.interruptedOperations = new BitSet(this.operationStates.length);
+        this.cancelledMacroOperations = new BitSet(macroOperationCount);
+        this.relevantMacroOperations = new BitSet(macroOperationCount);
+        this.newRelevantMacroOperations = new BitSet(macroOperationCount);
+        this.loggedActiveMacroOperations = new BitSet(macroOperationCount);
+        this.activeMacroOperationsString = "";
+
         ButtonMapVerifier.Verify(buttonMap);
 
         this.joysticks = new IJoystick[UserInputDevice.MaxCount.getId()];
@@ -156,58 +228,64 @@ public class Driver implements IDriver
     public void update()
     {
         this.logger.logString(LoggingKey.DriverMode, this.currentMode.toString());
+        this.tracer.nextCycle();
 
         // keep track of macros that were running before we checked user input...
-        Set<MacroOperation> previouslyActiveMacroOperations = new HashSet<MacroOperation>();
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        this.previouslyActiveMacroOperations.clear();
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
-            if (macroState.getIsActive())
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState != null && macroState.getIsActive())
             {
-                previouslyActiveMacroOperations.add(macroOperation);
+                this.previouslyActiveMacroOperations.set(i);
             }
         }
 
         // check inputs and update shifts based on it...
-        int shiftIndex = 0;
-        Shift[] activeShiftList = new Shift[this.shiftMap.size()];
-        for (Shift shift : this.shiftMap.keySet())
+        int activeShiftsValue = 0;
+        if (this.currentMode != RobotMode.Autonomous)
         {
-            ShiftDescription shiftDescription = this.shiftMap.get(shift);
-            if (this.currentMode != RobotMode.Autonomous && shiftDescription.checkInput(this.joysticks))
+            for (ShiftDescription shiftDescription : this.shiftDescriptions)
             {
-                activeShiftList[shiftIndex++] = shift;
+                if (shiftDescription.checkInput(this.joysticks))
+                {
+                    activeShiftsValue |= shiftDescription.getShift().getValue();
+                }
             }
         }
 
-        Shift activeShifts = Shift.Union(activeShiftList);
+        Shift activeShifts = this.shiftCache[activeShiftsValue];
 
         // check user inputs for various operations (non-macro) and keep track of:
         // operations that were interrupted already, and operations that were modified by user input in this update
-        Set<IOperation> modifiedOperations = new HashSet<IOperation>();
-        Set<IOperation> interruptedOperations = new HashSet<IOperation>();
-        for (IOperation operation : this.operationStateMap.keySet())
+        this.modifiedOperations.clear();
+        this.interruptedOperations.clear();
+        for (int i = 0; i < this.operationStates.length; i++)
         {
-            OperationState opState = this.operationStateMap.get(operation);
+            OperationState opState = this.operationStates[i];
             boolean receivedInput = this.currentMode != RobotMode.Autonomous && opState.checkInput(this.joysticks, activeShifts);
             if (receivedInput)
             {
-                modifiedOperations.add(operation);
+                this.modifiedOperations.set(i);
             }
 
-            if (this.operationStateMap.get(operation).getIsInterrupted())
+            if (opState.getIsInterrupted())
             {
-                interruptedOperations.add(operation);
+                this.interruptedOperations.set(i);
             }
         }
 
         // check user inputs for various macro operations
-        // also keep track of modified and active macro operations, and how macro operations and operations link together
-        Set<MacroOperation> activeMacroOperations = new HashSet<MacroOperation>();
-        Map<IOperation, Set<MacroOperation>> activeMacroOperationMap = new HashMap<IOperation, Set<MacroOperation>>();
-        for (MacroOperation macroOperation : this.macroStateMap.keySet())
+        // also keep track of modified and active macro operations
+        this.activeMacroOperations.clear();
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            IMacroOperationState macroState = this.macroStateMap.get(macroOperation);
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState == null)
+            {
+                continue;
+            }
+
             if (this.currentMode != RobotMode.Autonomous)
             {
                 macroState.checkInput(this.joysticks, activeShifts);
@@ -215,19 +293,7 @@ public class Driver implements IDriver
 
             if (macroState.getIsActive())
             {
-                activeMacroOperations.add(macroOperation);
-
-                for (IOperation affectedOperation : macroState.getMacroCancelOperations())
-                {
-                    Set<MacroOperation> relevantMacroOperations = activeMacroOperationMap.get(affectedOperation);
-                    if (relevantMacroOperations == null)
-                    {
-                        relevantMacroOperations = new HashSet<MacroOperation>();
-                        activeMacroOperationMap.put(affectedOperation, relevantMacroOperations);
-                    }
-
-                    relevantMacroOperations.add(macroOperation);
-                }
+                this.activeMacroOperations.set(i);
             }
         }
 
@@ -235,59 +301,89 @@ public class Driver implements IDriver
         // 1. have not been usurped by a user action
         // 2. have not been usurped by a new macro (i.e. that was started in this round)
         // 3. are new macros that do not overlap with other new macros
-        Set<MacroOperation> macroOperationsToCancel = new HashSet<MacroOperation>();
-        for (IOperation operation : activeMacroOperationMap.keySet())
+        this.cancelledMacroOperations.clear();
+        for (int i = 0; i < this.operationMacroConflicts.length; i++)
         {
-            Set<MacroOperation> relevantMacroOperations = activeMacroOperationMap.get(operation);
-            if (modifiedOperations.contains(operation))
+            // find the active macro operations that can be cancelled by this operation
+            this.relevantMacroOperations.clear();
+            this.relevantMacroOperations.or(this.operationMacroConflicts[i]);
+            this.relevantMacroOperations.and(this.activeMacroOperations);
+            if (this.relevantMacroOperations.isEmpty())
+            {
+                continue;
+            }
+
+            if (this.modifiedOperations.get(i))
             {
                 // disobeys rule #1:
                 // (macro usurped by user action)
-                macroOperationsToCancel.addAll(relevantMacroOperations);
+                this.cancelledMacroOperations.or(this.relevantMacroOperations);
             }
-            else if (relevantMacroOperations.size() > 1)
+            else if (this.relevantMacroOperations.cardinality() > 1)
             {
-                Set<MacroOperation> newRelevantMacroOperations = SetHelper.<MacroOperation>RelativeComplement(previouslyActiveMacroOperations, relevantMacroOperations);
-                if (newRelevantMacroOperations.size() > 1)
+                this.newRelevantMacroOperations.clear();
+                this.newRelevantMacroOperations.or(this.relevantMacroOperations);
+                this.newRelevantMacroOperations.andNot(this.previouslyActiveMacroOperations);
+                if (this.newRelevantMacroOperations.cardinality() > 1)
                 {
                     // disobeys rule #3:
                     // (there are 2 or more active macros that weren't previously active)
-                    macroOperationsToCancel.addAll(relevantMacroOperations);
+                    this.cancelledMacroOperations.or(this.relevantMacroOperations);
                 }
                 else
                 {
                     // some disobey rule #2 (remove only those that were previously active, and not the 1 that is newly active...)
-                    macroOperationsToCancel.addAll(SetHelper.<MacroOperation>RelativeComplement(newRelevantMacroOperations, relevantMacroOperations));
+                    this.relevantMacroOperations.andNot(this.newRelevantMacroOperations);
+                    this.cancelledMacroOperations.or(this.relevantMacroOperations);
                 }
             }
         }
 
         // cancel macros that didn't follow the rules list above
-        for (MacroOperation macroOperationToCancel : macroOperationsToCancel)
+        for (int i = this.cancelledMacroOperations.nextSetBit(0); i >= 0; i = this.cancelledMacroOperations.nextSetBit(i + 1))
         {
-            this.macroStateMap.get(macroOperationToCancel).setIsInterrupted(true);
-            activeMacroOperations.remove(macroOperationToCancel);
+            this.macroStates[i].setIsInterrupted(true);
+            this.activeMacroOperations.clear(i);
         }
 
         // first, run all of the inactive macros (to clear any old interrupts)...
-        Set<MacroOperation> inactiveMacroOperations = SetHelper.<MacroOperation>RelativeComplement(activeMacroOperations, this.macroStateMap.keySet());
-        for (MacroOperation macroOperation : inactiveMacroOperations)
+        for (int i = 0; i < this.macroStates.length; i++)
         {
-            this.macroStateMap.get(macroOperation).run();
+            IMacroOperationState macroState = this.macroStates[i];
+            if (macroState != null && !this.activeMacroOperations.get(i))
+            {
+                macroState.run();
+            }
         }
 
         // second, run all of the active macros (which could add interrupts that were cleared in the previous phase)...
-        // while we're doing that, grab the names of the macros for logging
-        int i = 0;
-        String[] macroStrings = new String[activeMacroOperations.size()];
-        for (MacroOperation macroOperation : activeMacroOperations)
+        for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
         {
-            macroStrings[i++] = macroOperation.toString();
-            this.macroStateMap.get(macroOperation).run();
+            this.macroStates[i].run();
         }
 
-        this.logger.logString(LoggingKey.DriverActiveMacros, String.join(", ", macroStrings));
-        this.logger.logString(LoggingKey.DriverActiveShifts, activeShifts.toString());
+        // only rebuild the string of active macro names when the set of active macros has changed
+        if (!this.activeMacroOperations.equals(this.loggedActiveMacroOperations))
+        {
+            this.loggedActiveMacroOperations.clear();
+            this.loggedActiveMacroOperations.or(this.activeMacroOperations);
+
+            StringBuilder builder = new StringBuilder();
+            for (int i = this.activeMacroOperations.nextSetBit(0); i >= 0; i = this.activeMacroOperations.nextSetBit(i + 1))
+            {
+                if (builder.length() > 0)
+                {
+                    builder.append(", ");
+                }
+
+                builder.append(Driver.MacroOperations[i].toString());
+            }
+
+            this.activeMacroOperationsString = builder.toString();
+        }
+
+        this.logger.logString(LoggingKey.DriverActiveMacros, this.activeMacroOperationsString);
+        this.logger.logString(LoggingKey.DriverActiveShifts, this.shiftStrings[activeShiftsValue]);
     }
 
     /**
@@ -298,21 +394,21 @@ public class Driver implements IDriver
     {
         this.currentMode = RobotMode.Disabled;
 
-        if (this.macroStateMap.containsKey(MacroOperation.AutonomousRoutine))
-        {
-            this.macroStateMap.remove(MacroOperation.AutonomousRoutine);
-        }
+        this.setMacroState(MacroOperation.AutonomousRoutine, null);
 
         // cancel all interruption of buttons:
-        for (OperationState state : this.operationStateMap.values())
+        for (OperationState state : this.operationStates)
         {
             state.setIsInterrupted(false);
         }
 
         // cancel all ongoing macros:
-        for (IMacroOperationState macroOperationState : this.macroStateMap.values())
+        for (IMacroOperationState macroOperationState : this.macroStates)
         {
-            macroOperationState.cancel();
+            if (macroOperationState != null)
+            {
+                macroOperationState.cancel();
+            }
         }
     }
 
@@ -329,9 +425,9 @@ public class Driver implements IDriver
         if (this.autonomousTask != null)
         {
             this.autonomousTask.initialize(this.operationStateMap, injector);
-            this.macroStateMap.put(
+            this.setMacroState(
                 MacroOperation.AutonomousRoutine,
-                new AutonomousOperationState(this.autonomousTask, this.operationStateMap));
+                new AutonomousOperationState(this.autonomousTask, this.operationStateMap, this.tracer));
         }
     }
 
@@ -342,15 +438,7 @@ public class Driver implements IDriver
      */
     public boolean getDigital(DigitalOperation digitalOperation)
     {
-        OperationState state = this.operationStateMap.get(digitalOperation);
-        if (!(state instanceof DigitalOperationState))
-        {
-            ExceptionHelpers.Assert(false, "not a digital operation!");
-            return false;
-        }
-
-        DigitalOperationState digitalState = (DigitalOperationState)state;
-        return digitalState.getState();
+        return this.digitalOperationStates[digitalOperation.ordinal()].getState();
     }
 
     /**
@@ -360,15 +448,7 @@ public class Driver implements IDriver
      */
     public double getAnalog(AnalogOperation analogOperation)
     {
-        OperationState state = this.operationStateMap.get(analogOperation);
-        if (!(state instanceof AnalogOperationState))
-        {
-            ExceptionHelpers.Assert(false, "not an analog operation!");
-            return 0.0;
-        }
-
-        AnalogOperationState analogState = (AnalogOperationState)state;
-        return analogState.getState();
+        return this.analogOperationStates[analogOperation.ordinal()].getState();
     }
 
     /**
@@ -388,4 +468,51 @@ public class Driver implements IDriver
 
         joystick.setRumble(type, value);
     }
+
+    /**
+     * Sets (or clears) the state for a macro operation, and updates the table of which macros can be cancelled by each operation
+     * @param macroOperation to set the state for
+     * @param macroState to use for the macro operation, or null to remove it
+     */
+    private void setMacroState(MacroOperation macroOperation, IMacroOperationState macroState)
+    {
+        int macroIndex = macroOperation.ordinal();
+        this.macroStates[macroIndex] = macroState;
+        for (BitSet conflicts : this.operationMacroConflicts)
+        {
+            conflicts.clear(macroIndex);
+        }
+
+        if (macroState != null)
+        {
+            for (IOperation cancelOperation : macroState.getMacroCancelOperations())
+            {
+                int operationIndex = this.getOperationIndex(cancelOperation);
+                if (operationIndex >= 0)
+                {
+                    this.operationMacroConflicts[operationIndex].set(macroIndex);
+                }
+            }
+        }
+    }
+
+    /**
+     * Gets the index of the operation within the operation arrays/bitsets (digital operations followed by analog operations)
+     * @param operation to get the index of
+     * @return the index of the operation, or -1 if it is not a digital or analog operation
+     */
+    private int getOperationIndex(IOperation operation)
+    {
+        if (operation instanceof DigitalOperation)
+        {
+            return ((DigitalOperation)operation).ordinal();
+        }
+        else if (operation instanceof AnalogOperation)
+        {
+            return Driver.DigitalOperations.length + ((AnalogOperation)operation).ordinal();
+        }
+
+        ExceptionHelpers.Assert(false, "unexpected operation " + operation.toString());
+        return -1;
+    }
 }
@@ -0,0 +1,92 @@
+package frc.lib.driver;
+
+import frc.lib.robotprovider.IPathPlanner;
+import frc.lib.robotprovider.ITrajectory;
+import frc.lib.robotprovider.PathPlannerWaypoint;
+import frc.robot.TuningConstants;
+
+/**
+ * Path planner that uses precomputed trajectories when they are available, falling back to building them with the
+ * real path planner when they are missing or stale.  When recording, each trajectory that is built is also baked and
+ * added to the precomputed trajectories, so that they can be written out for next time.
+ */
+public class PrecomputedPathPlanner implements IPathPlanner
+{
+    private final IPathPlanner pathPlanner;
+    private final PrecomputedTrajectories precomputedTrajectories;
+    private final boolean record;
+
+    private int builtCount;
+
+    /**
+     * Initializes a new PrecomputedPathPlanner
+     * @param pathPlanner to build trajectories that haven't been precomputed
+     * @param precomputedTrajectories to look up (and record) trajectories in
+     * @param record whether to add the trajectories that are built to the precomputed trajectories
+     */
+    public PrecomputedPathPlanner(IPathPlanner pathPlanner, PrecomputedTrajectories precomputedTrajectories, boolean record)
+    {
+        this.pathPlanner = pathPlanner;
+        this.precomputedTrajectories = precomputedTrajectories;
+        this.record = record;
+        this.builtCount = 0;
+    }
+
+    @Override
+    public ITrajectory loadTrajectory(String name, double maxVelocity, double maxAcceleration)
+    {
+        return this.loadTrajectory(name, maxVelocity, maxAcceleration, false);
+    }
+
+    @Override
+    public ITrajectory loadTrajectory(String name, double maxVelocity, double maxAcceleration, boolean reversed)
+    {
+        // the contents of the path file aren't known here, so there's no way to tell whether a precomputed one is stale
+        this.builtCount++;
+        return this.pathPlanner.loadTrajectory(name, maxVelocity, maxAcceleration, reversed);
+    }
+
+    @Override
+    public ITrajectory buildTrajectory(
+        double maxVelocity,
+        double maxAcceleration,
+        PathPlannerWaypoint firstWaypoint,
+        PathPlannerWaypoint secondWaypoint,
+        PathPlannerWaypoint... otherWaypoints)
+    {
+        long key = PrecomputedTrajectories.getKey(maxVelocity, maxAcceleration, firstWaypoint, secondWaypoint, otherWaypoints);
+        BakedTrajectory precomputedTrajectory = this.precomputedTrajectories.get(key);
+        if (precomputedTrajectory != null)
+        {
+            return precomputedTrajectory;
+        }
+
+        this.builtCount++;
+        ITrajectory trajectory = this.pathPlanner.buildTrajectory(maxVelocity, maxAcceleration, firstWaypoint, secondWaypoint, otherWaypoints);
+        if (this.record && trajectory != null)
+        {
+            // only keep trajectories that bake accurately, others are built at runtime (and flagged by the TrajectoryManager)
+            BakedTrajectory bakedTrajectory = new BakedTrajectory(trajectory, TuningConstants.TRAJECTORY_BAKE_STEP);
+            if (bakedTrajectory.matches(
+                    trajectory,
+                    TuningConstants.TRAJECTORY_BAKE_MAX_POSITION_ERROR,
+                    TuningConstants.TRAJECTORY_BAKE_MAX_ANGLE_ERROR,
+                    TuningConstants.TRAJECTORY_BAKE_MAX_VELOCITY_ERROR))
+            {
+                this.precomputedTrajectories.put(key, bakedTrajectory);
+                return bakedTrajectory;
+            }
+        }
+
+        return trajectory;
+    }
+
+    /**
+     * Retrieve the number of trajectories that were built (or loaded) by the real path planner because they weren't precomputed
+     * @return number of trajectories
+     */
+    public int getBuiltCount()
+    {
+        return this.builtCount;
+    }
+}
@@ -0,0 +1,179 @@
+package frc.lib.driver;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+
+import frc.lib.robotprovider.PathPlannerWaypoint;
+import frc.robot.TuningConstants;
+
+/**
+ * Baked trajectories that were generated ahead of time (e.g. on the development machine as a part of the build),
+ * keyed by a hash of everything that was used to generate them so that stale trajectories are never used.
+ *
+ * File format (big-endian): magic, version, count, and then count entries of key followed by a BakedTrajectory.
+ */
+public class PrecomputedTrajectories
+{
+    private static final int MAGIC = 0x54524A43; // "TRJC"
+    private static final int VERSION = 1;
+
+    private static final long FNV_OFFSET_BASIS = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+
+    private final HashMap<Long, BakedTrajectory> trajectories;
+
+    public PrecomputedTrajectories()
+    {
+        this.trajectories = new HashMap<Long, BakedTrajectory>();
+    }
+
+    /**
+     * Calculate the key for a trajectory built from the provided waypoints and constraints (a la IPathPlanner.buildTrajectory)
+     * @param maxVelocity in inches per second
+     * @param maxAcceleration in inches per second squared
+     * @param firstWaypoint the starting position
+     * @param secondWaypoint the second waypoint
+     * @param otherWaypoints any subsequent waypoints
+     * @return key for the trajectory
+     */
+    public static long getKey(
+        double maxVelocity,
+        double maxAcceleration,
+        PathPlannerWaypoint firstWaypoint,
+        PathPlannerWaypoint secondWaypoint,
+        PathPlannerWaypoint... otherWaypoints)
+    {
+        long hash = PrecomputedTrajectories.FNV_OFFSET_BASIS;
+        hash = PrecomputedTrajectories.hash(hash, PrecomputedTrajectories.VERSION);
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(TuningConstants.TRAJECTORY_BAKE_STEP));
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(maxVelocity));
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(maxAcceleration));
+        hash = PrecomputedTrajectories.hash(hash, firstWaypoint);
+        hash = PrecomputedTrajectories.hash(hash, secondWaypoint);
+        if (otherWaypoints != null)
+        {
+            hash = PrecomputedTrajectories.hash(hash, otherWaypoints.length);
+            for (PathPlannerWaypoint waypoint : otherWaypoints)
+            {
+                hash = PrecomputedTrajectories.hash(hash, waypoint);
+            }
+        }
+
+        return hash;
+    }
+
+    /**
+     * Get the trajectory with the provided key
+     * @param key of the trajectory
+     * @return the trajectory, or null if there isn't one
+     */
+    public BakedTrajectory get(long key)
+    {
+        return this.trajectories.get(key);
+    }
+
+    public void put(long key, BakedTrajectory trajectory)
+    {
+        this.trajectories.put(key, trajectory);
+    }
+
+    public int size()
+    {
+        return this.trajectories.size();
+    }
+
+    /**
+     * Load the precomputed trajectories from the provided file
+     * @param path of the file
+     * @return the precomputed trajectories, or none if the file is missing or invalid
+     */
+    public static PrecomputedTrajectories load(String path)
+    {
+        PrecomputedTrajectories precomputedTrajectories = new PrecomputedTrajectories();
+
+        Path filePath = Paths.get(path);
+        if (!Files.exists(filePath))
+        {
+            System.err.println("No precomputed trajectories found at " + path);
+            return precomputedTrajectories;
+        }
+
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ))
+        {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0L, channel.size());
+            if (buffer.getInt() != PrecomputedTrajectories.MAGIC || buffer.getInt() != PrecomputedTrajectories.VERSION)
+            {
+                System.err.println("Unexpected precomputed trajectories format in " + path);
+                return precomputedTrajectories;
+            }
+
+            int count = buffer.getInt();
+            for (int i = 0; i < count; i++)
+            {
+                long key = buffer.getLong();
+                precomputedTrajectories.put(key, BakedTrajectory.read(buffer));
+            }
+        }
+        catch (IOException | RuntimeException ex)
+        {
+            // anything we couldn't read will be generated instead
+            System.err.println("Encountered exception loading precomputed trajectories: " + ex.toString());
+            return new PrecomputedTrajectories();
+        }
+
+        return precomputedTrajectories;
+    }
+
+    /**
+     * Write the precomputed trajectories to the provided file so that they can be loaded with load()
+     * @param path of the file
+     * @throws IOException
+     */
+    public void write(String path) throws IOException
+    {
+        try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(path))))
+        {
+            output.writeInt(PrecomputedTrajectories.MAGIC);
+            output.writeInt(PrecomputedTrajectories.VERSION);
+            output.writeInt(this.trajectories.size());
+            for (Map.Entry<Long, BakedTrajectory> entry : this.trajectories.entrySet())
+            {
+                output.writeLong(entry.getKey());
+                entry.getValue().write(output);
+            }
+        }
+    }
+
+    private static long hash(long hash, PathPlannerWaypoint waypoint)
+    {
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(waypoint.x));
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(waypoint.y));
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(waypoint.heading));
+        hash = PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(waypoint.orientation));
+        return PrecomputedTrajectories.hash(hash, Double.doubleToLongBits(waypoint.velocityOverride));
+    }
+
+    /**
+     * Mix each byte of the value into the hash (FNV-1a)
+     */
+    private static long hash(long hash, long value)
+    {
+        for (int i = 0; i < Long.BYTES; i++)
+        {
+            hash ^= (value >>> (i * 8)) & 0xFF;
+            hash *= PrecomputedTrajectories.FNV_PRIME;
+        }
+
+        return hash;
+    }
+}
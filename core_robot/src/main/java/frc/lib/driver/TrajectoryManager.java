@@ -34,7 +34,7 @@ public class TrajectoryManager
             TrajectoryBuilder trajectoryBuilder = this.trajectoryBuilderMap.getOrDefault(name, null);
             if (trajectoryBuilder != null)
             {
-                trajectory = new RoadRunnerTrajectoryWrapper(trajectoryBuilder.build());
+                trajectory = TrajectoryManager.bake(name, new RoadRunnerTrajectoryWrapper(trajectoryBuilder.build()));
                 this.map.put(name, trajectory);
                 this.trajectoryBuilderMap.remove(name);
             }
@@ -62,7 +62,7 @@ public class TrajectoryManager
 
     public void addTrajectory(String name, ITrajectory builtTrajectory)
     {
-        this.map.put(name, builtTrajectory);
+        this.map.put(name, TrajectoryManager.bake(name, builtTrajectory));
     }
 
     public void buildAll()
@@ -72,7 +72,7 @@ public class TrajectoryManager
             TrajectoryBuilder trajectoryBuilder = this.trajectoryBuilderMap.getOrDefault(name, null);
             if (trajectoryBuilder != null)
             {
-                this.map.put(name, new RoadRunnerTrajectoryWrapper(trajectoryBuilder.build()));
+                this.map.put(name, TrajectoryManager.bake(name, new RoadRunnerTrajectoryWrapper(trajectoryBuilder.build())));
             }
             else
             {
@@ -82,4 +82,31 @@ public class TrajectoryManager
 
         this.trajectoryBuilderMap.clear();
     }
-}
\ No newline at end of file
+
+    /**
+     * Sample the trajectory into lookup tables (when enabled), as long as they accurately match the trajectory
+     * @param name of the trajectory
+     * @param trajectory to bake
+     * @return the baked trajectory, or the original trajectory if it shouldn't or couldn't be baked
+     */
+    private static ITrajectory bake(String name, ITrajectory trajectory)
+    {
+        if (!TuningConstants.TRAJECTORY_BAKE || trajectory == null || trajectory instanceof BakedTrajectory)
+        {
+            return trajectory;
+        }
+
+        BakedTrajectory bakedTrajectory = new BakedTrajectory(trajectory, TuningConstants.TRAJECTORY_BAKE_STEP);
+        if (!bakedTrajectory.matches(
+                trajectory,
+                TuningConstants.TRAJECTORY_BAKE_MAX_POSITION_ERROR,
+                TuningConstants.TRAJECTORY_BAKE_MAX_ANGLE_ERROR,
+                TuningConstants.TRAJECTORY_BAKE_MAX_VELOCITY_ERROR))
+        {
+            ExceptionHelpers.Assert(false, "Baked trajectory " + name + " doesn't match the original trajectory");
+            return trajectory;
+        }
+
+        return bakedTrajectory;
+    }
+}
@@ -74,8 +74,8 @@ public class AnalogOperationState extends OperationState
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            int relevantActiveShifts = relevantShifts.getValue() & activeShifts.getValue();
+            if (relevantActiveShifts != requiredShifts.getValue())
             {
                 this.currentValue = description.getDefaultValue();
                 return false;
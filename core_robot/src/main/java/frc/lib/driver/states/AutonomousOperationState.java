@@ -3,6 +3,7 @@ package frc.lib.driver.states;
 import java.util.Map;
 import java.util.Set;
 
+import frc.lib.driver.ControlTaskTracer;
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
 import frc.lib.robotprovider.IJoystick;
@@ -15,6 +16,10 @@ import frc.robot.driver.Shift;
 public class AutonomousOperationState extends OperationState implements IMacroOperationState
 {
     private final Map<IOperation, OperationState> operationStateMap;
+    private final ControlTaskTracer tracer;
+
+    // the operations in the map don't change, so the array is only built once
+    private final IOperation[] affectedOperations;
 
     private IControlTask task;
 
@@ -25,13 +30,18 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
     public AutonomousOperationState(
         IControlTask task,
-        Map<IOperation, OperationState> operationStateMap)
+        Map<IOperation, OperationState> operationStateMap,
+        ControlTaskTracer tracer)
     {
         super(null);
 
         this.operationStateMap = operationStateMap;
+        this.tracer = tracer;
         this.task = task;
 
+        Set<IOperation> keys = operationStateMap.keySet();
+        this.affectedOperations = keys.toArray(new IOperation[keys.size()]);
+
         this.hasBegun = false;
         this.shouldEnd = false;
         this.hasEnded = false;
@@ -77,9 +87,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
 
     public IOperation[] getAffectedOperations()
     {
-        Set<IOperation> keys = this.operationStateMap.keySet();
-        IOperation[] keyArray = new IOperation[keys.size()];
-        return (IOperation[])keys.toArray(keyArray);
+        return this.affectedOperations;
     }
 
     public boolean getIsActive()
@@ -106,7 +114,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
                 this.hasEnded = true;
                 if (this.hasBegun)
                 {
-                    this.task.stop();
+                    this.tracer.stop(this.task);
                     this.task = null;
                 }
 
@@ -126,7 +134,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
                 }
 
                 // if we haven't begun, begin
-                this.task.begin();
+                this.tracer.begin(this.task);
                 this.hasBegun = true;
             }
 
@@ -136,11 +144,11 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
             {
                 if (complete)
                 {
-                    this.task.end();
+                    this.tracer.end(this.task);
                 }
                 else
                 {
-                    this.task.stop();
+                    this.tracer.stop(this.task);
                 }
 
                 this.shouldEnd = true;
@@ -148,7 +156,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
             else
             {
                 // run the current task and apply the result to the state
-                this.task.update();
+                this.tracer.update(this.task);
             }
         }
     }
@@ -156,7 +164,7 @@ public class AutonomousOperationState extends OperationState implements IMacroOp
     public void cancel()
     {
         this.hasEnded = true;
-        this.task.stop();
+        this.tracer.stop(this.task);
         this.task = null;
 
         for (IOperation operation : this.getAffectedOperations())
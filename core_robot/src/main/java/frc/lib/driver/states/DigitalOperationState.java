@@ -94,8 +94,8 @@ public class DigitalOperationState extends OperationState
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            int relevantActiveShifts = relevantShifts.getValue() & activeShifts.getValue();
+            if (relevantActiveShifts != requiredShifts.getValue())
             {
                 this.button.updateState(false);
                 return false;
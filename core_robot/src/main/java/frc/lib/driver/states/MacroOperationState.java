@@ -3,6 +3,7 @@ package frc.lib.driver.states;
 import java.util.Map;
 
 import frc.robot.TuningConstants;
+import frc.lib.driver.ControlTaskTracer;
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
 import frc.lib.driver.UserInputDeviceButton;
@@ -27,18 +28,21 @@ public class MacroOperationState extends OperationState implements IMacroOperati
     private final IButton button;
     private final Map<IOperation, OperationState> operationStateMap;
     private final Injector injector;
+    private final ControlTaskTracer tracer;
 
     private IControlTask task;
 
     public MacroOperationState(
         MacroOperationDescription description,
         Map<IOperation, OperationState> operationStateMap,
-        Injector injector)
+        Injector injector,
+        ControlTaskTracer tracer)
     {
         super(description);
 
         this.operationStateMap = operationStateMap;
         this.injector = injector;
+        this.tracer = tracer;
 
         switch (description.getButtonType())
         {
@@ -108,8 +112,8 @@ public class MacroOperationState extends OperationState implements IMacroOperati
         Shift requiredShifts = description.getRequiredShifts();
         if (relevantShifts != null && requiredShifts != null)
         {
-            Shift relevantActiveShifts = Shift.Intersect(relevantShifts, activeShifts);
-            if (!relevantActiveShifts.equals(requiredShifts))
+            int relevantActiveShifts = relevantShifts.getValue() & activeShifts.getValue();
+            if (relevantActiveShifts != requiredShifts.getValue())
             {
                 this.button.updateState(false);
                 return false;
@@ -179,7 +183,7 @@ public class MacroOperationState extends OperationState implements IMacroOperati
                 // start task
                 this.task = ((MacroOperationDescription)this.getDescription()).constructTask();
                 this.task.initialize(this.operationStateMap, this.injector);
-                this.task.begin();
+                this.tracer.begin(this.task);
             }
 
             boolean shouldEnd = this.task.hasCompleted();
@@ -188,11 +192,11 @@ public class MacroOperationState extends OperationState implements IMacroOperati
             {
                 if (shouldEnd)
                 {
-                    this.task.end();
+                    this.tracer.end(this.task);
                 }
                 else
                 {
-                    this.task.stop();
+                    this.tracer.stop(this.task);
                 }
 
                 this.task = null;
@@ -209,13 +213,13 @@ public class MacroOperationState extends OperationState implements IMacroOperati
             }
             else
             {
-                this.task.update();
+                this.tracer.update(this.task);
             }
         }
         else if (this.task != null)
         {
             // cancel task:
-            this.task.stop();
+            this.tracer.stop(this.task);
             this.task = null;
 
             for (IOperation operation : this.getAffectedOperations())
@@ -5,6 +5,14 @@ public class AnglePair
     private double angle;
     private boolean swapDirection;
 
+    /**
+     * Initializes a new AnglePair, to be filled in by getClosestAngle
+     */
+    public AnglePair()
+    {
+        this(0.0, false);
+    }
+
     /**
      * Initializes a new AnglePair
      * @param angle value to apply
@@ -24,6 +32,19 @@ public class AnglePair
      * @return pair containing closest angle fitting desired angle from current angle in degrees
      */
     public static AnglePair getClosestAngle(double desiredAngle, double currentAngle, boolean allowReverse)
+    {
+        return AnglePair.getClosestAngle(desiredAngle, currentAngle, allowReverse, new AnglePair());
+    }
+
+    /**
+     * Get the closest angle equivalent to desiredAngle from current angle, swapping directions if it is closer
+     * Note: prefers the same direction if equivalent
+     * @param desiredAngle desired angle in degrees (between -180 and 180)
+     * @param currentAngle current angle in degrees (any value)
+     * @param result pair to update with the closest angle fitting desired angle from current angle in degrees
+     * @return result
+     */
+    public static AnglePair getClosestAngle(double desiredAngle, double currentAngle, boolean allowReverse, AnglePair result)
     {
         // if (TuningConstants.THROW_EXCEPTIONS && 
         //     !Helpers.WithinRange(desiredAngle, -180.0, 180.0))
@@ -38,15 +59,15 @@ public class AnglePair
         {
             if (difference < -90.0)
             {
-                return new AnglePair(currentAngle + difference + 180.0, true);
+                return result.set(currentAngle + difference + 180.0, true);
             }
             else if (difference > 90.0)
             {
-                return new AnglePair(currentAngle + difference - 180.0, true);
+                return result.set(currentAngle + difference - 180.0, true);
             }
         }
 
-        return new AnglePair(currentAngle + difference, false);
+        return result.set(currentAngle + difference, false);
     }
 
     public double getAngle()
@@ -58,4 +79,11 @@ public class AnglePair
     {
         return this.swapDirection;
     }
+
+    private AnglePair set(double angle, boolean swapDirection)
+    {
+        this.angle = angle;
+        this.swapDirection = swapDirection;
+        return this;
+    }
 }
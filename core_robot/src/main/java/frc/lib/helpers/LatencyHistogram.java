@@ -0,0 +1,165 @@
+package frc.lib.helpers;
+
+/**
+ * Fixed-bucket histogram of durations, which can be recorded into without allocating.
+ *
+ * Durations are kept at microsecond resolution.  Durations under 16us each get their own bucket, and each larger
+ * power of two is split into 16 linear sub-buckets, so percentiles are accurate to within ~6% of the true value.
+ * The maximum is tracked exactly.
+ */
+public class LatencyHistogram
+{
+    public static final String SUMMARY_HEADER = "name,count,p50 (ms),p99 (ms),max (ms)\r\n";
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << LatencyHistogram.SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 30; // ~18 minutes, anything longer goes into the last bucket
+    private static final int BUCKET_COUNT = (LatencyHistogram.MAX_EXPONENT - LatencyHistogram.SUB_BUCKET_BITS + 2) * LatencyHistogram.SUB_BUCKETS;
+
+    private static final double NANOS_PER_MILLI = 1000000.0;
+    private static final double MICROS_PER_MILLI = 1000.0;
+
+    private final long[] buckets;
+
+    private long count;
+    private long maxNanos;
+
+    public LatencyHistogram()
+    {
+        this.buckets = new long[LatencyHistogram.BUCKET_COUNT];
+        this.count = 0L;
+        this.maxNanos = 0L;
+    }
+
+    /**
+     * Record a duration
+     * @param nanos the duration, in nanoseconds (e.g. the difference between two calls to System.nanoTime())
+     */
+    public void record(long nanos)
+    {
+        if (nanos < 0L)
+        {
+            nanos = 0L;
+        }
+
+        this.buckets[LatencyHistogram.getBucket(nanos / 1000L)]++;
+        this.count++;
+        if (nanos > this.maxNanos)
+        {
+            this.maxNanos = nanos;
+        }
+    }
+
+    /**
+     * Forget all of the recorded durations
+     */
+    public void reset()
+    {
+        for (int i = 0; i < this.buckets.length; i++)
+        {
+            this.buckets[i] = 0L;
+        }
+
+        this.count = 0L;
+        this.maxNanos = 0L;
+    }
+
+    /**
+     * Retrieve the number of durations that have been recorded
+     * @return number of recorded durations
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Retrieve the longest recorded duration
+     * @return the longest duration, in milliseconds
+     */
+    public double getMaxMillis()
+    {
+        return this.maxNanos / LatencyHistogram.NANOS_PER_MILLI;
+    }
+
+    /**
+     * Retrieve the duration that the provided fraction of the recorded durations are at or below
+     * @param percentile between 0.0 and 1.0 (e.g. 0.99 for the 99th percentile)
+     * @return the upper bound of the bucket containing that percentile (never more than the max), in milliseconds
+     */
+    public double getPercentileMillis(double percentile)
+    {
+        if (this.count == 0L)
+        {
+            return 0.0;
+        }
+
+        long target = (long)Math.ceil(percentile * this.count);
+        if (target < 1L)
+        {
+            target = 1L;
+        }
+
+        long seen = 0L;
+        for (int i = 0; i < this.buckets.length; i++)
+        {
+            seen += this.buckets[i];
+            if (seen >= target)
+            {
+                double upperBound = LatencyHistogram.getBucketUpperBound(i) / LatencyHistogram.MICROS_PER_MILLI;
+                return Math.min(upperBound, this.getMaxMillis());
+            }
+        }
+
+        return this.getMaxMillis();
+    }
+
+    /**
+     * Build a CSV row summarizing the recorded durations (name, count, p50, p99, max), a la SUMMARY_HEADER
+     * @param name to use for the first column
+     * @return the summary row, including its line ending
+     */
+    public String getSummary(String name)
+    {
+        return String.format(
+            "%1$s,%2$d,%3$.3f,%4$.3f,%5$.3f\r\n",
+            name,
+            this.count,
+            this.getPercentileMillis(0.5),
+            this.getPercentileMillis(0.99),
+            this.getMaxMillis());
+    }
+
+    private static int getBucket(long micros)
+    {
+        if (micros < LatencyHistogram.SUB_BUCKETS)
+        {
+            return (int)micros;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(micros);
+        if (exponent > LatencyHistogram.MAX_EXPONENT)
+        {
+            return LatencyHistogram.BUCKET_COUNT - 1;
+        }
+
+        int subBucket = (int)(micros >>> (exponent - LatencyHistogram.SUB_BUCKET_BITS)) & (LatencyHistogram.SUB_BUCKETS - 1);
+        return (exponent - LatencyHistogram.SUB_BUCKET_BITS + 1) * LatencyHistogram.SUB_BUCKETS + subBucket;
+    }
+
+    /**
+     * @return the largest duration (in microseconds) that falls into the provided bucket
+     */
+    private static long getBucketUpperBound(int bucket)
+    {
+        if (bucket < LatencyHistogram.SUB_BUCKETS)
+        {
+            return bucket;
+        }
+
+        int exponent = bucket / LatencyHistogram.SUB_BUCKETS + LatencyHistogram.SUB_BUCKET_BITS - 1;
+        int subBucket = bucket % LatencyHistogram.SUB_BUCKETS;
+        int shift = exponent - LatencyHistogram.SUB_BUCKET_BITS;
+        return ((long)(LatencyHistogram.SUB_BUCKETS + subBucket + 1) << shift) - 1L;
+    }
+}
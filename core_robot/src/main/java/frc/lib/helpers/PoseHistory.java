@@ -0,0 +1,269 @@
+package frc.lib.helpers;
+
+import java.lang.invoke.VarHandle;
+
+import frc.lib.robotprovider.Pose2d;
+
+/**
+ * Fixed-size history of timestamped poses, written by a single thread (e.g. an odometry thread) and read by any number
+ * of other threads without locking or allocating.
+ *
+ * Each pose is written into the next slot of a ring buffer before the count of poses is published, so readers only
+ * look at published poses.  Because the writer may overwrite the oldest poses while a reader is looking at them, the
+ * reader checks the count again afterwards and retries (a la a seqlock) if the slot it read may have been reused.
+ *
+ * Angles are interpolated linearly, so they are expected to be continuous (not wrapped to a range).
+ *
+ * Each pose is stamped with the epoch it was measured in, which the writer moves on to whenever the pose is reset (e.g.
+ * when the odometry is reset to a new starting position).  Readers ask for the poses from a particular epoch, so that
+ * they never see (or interpolate across) a pose from before a reset that they have already made.
+ */
+public class PoseHistory
+{
+    private static final int MAX_READ_ATTEMPTS = 8;
+
+    private final int capacity;
+    private final double[] times;
+    private final double[] xPositions;
+    private final double[] yPositions;
+    private final double[] angles;
+    private final int[] epochs;
+
+    // the number of poses that have ever been added, written only by the writer
+    private volatile long count;
+
+    /**
+     * Initializes a new PoseHistory
+     * @param capacity number of poses to keep
+     */
+    public PoseHistory(int capacity)
+    {
+        ExceptionHelpers.Assert(capacity >= 2, "Pose history must hold at least two poses");
+
+        this.capacity = capacity;
+        this.times = new double[capacity];
+        this.xPositions = new double[capacity];
+        this.yPositions = new double[capacity];
+        this.angles = new double[capacity];
+        this.epochs = new int[capacity];
+        this.count = 0L;
+    }
+
+    /**
+     * Add the latest pose to the history, for a history that is never reset (epoch 0)
+     * @param time when the pose was measured (in seconds)
+     * @param x position (in inches)
+     * @param y position (in inches)
+     * @param angle (in degrees)
+     */
+    public void add(double time, double x, double y, double angle)
+    {
+        this.add(time, x, y, angle, 0);
+    }
+
+    /**
+     * Add the latest pose to the history (must only be called from one thread, with increasing times)
+     * @param time when the pose was measured (in seconds)
+     * @param x position (in inches)
+     * @param y position (in inches)
+     * @param angle (in degrees)
+     * @param epoch that the pose was measured in
+     */
+    public void add(double time, double x, double y, double angle, int epoch)
+    {
+        long count = this.count;
+        int slot = (int)(count % this.capacity);
+        this.times[slot] = time;
+        this.xPositions[slot] = x;
+        this.yPositions[slot] = y;
+        this.angles[slot] = angle;
+        this.epochs[slot] = epoch;
+
+        // publish the pose
+        this.count = count + 1L;
+    }
+
+    /**
+     * Retrieve whether any poses have been added
+     * @return true if there is at least one pose in the history
+     */
+    public boolean isEmpty()
+    {
+        return this.count == 0L;
+    }
+
+    /**
+     * Get the latest pose, for a history that is never reset (epoch 0)
+     * @param pose to update with the latest pose
+     * @return the time of the latest pose (in seconds), or NaN (and pose is unchanged) if there are no poses
+     */
+    public double getLatest(Pose2d pose)
+    {
+        return this.getLatest(pose, 0);
+    }
+
+    /**
+     * Get the latest pose, if it was measured in the provided epoch
+     * @param pose to update with the latest pose
+     * @param epoch that the pose must have been measured in
+     * @return the time of the latest pose (in seconds), or NaN (and pose is unchanged) if there are no poses from that epoch yet
+     */
+    public double getLatest(Pose2d pose, int epoch)
+    {
+        for (int attempt = 0; attempt < PoseHistory.MAX_READ_ATTEMPTS; attempt++)
+        {
+            long count = this.count;
+            if (count == 0L)
+            {
+                return Double.NaN;
+            }
+
+            int slot = (int)((count - 1L) % this.capacity);
+            double time = this.times[slot];
+            double x = this.xPositions[slot];
+            double y = this.yPositions[slot];
+            double angle = this.angles[slot];
+            int slotEpoch = this.epochs[slot];
+            if (this.isStillValid(count - 1L))
+            {
+                if (slotEpoch != epoch)
+                {
+                    return Double.NaN;
+                }
+
+                pose.x = x;
+                pose.y = y;
+                pose.angle = angle;
+                return time;
+            }
+        }
+
+        return Double.NaN;
+    }
+
+    /**
+     * Get the pose at the provided time, for a history that is never reset (epoch 0)
+     * @param time to get the pose at (in seconds)
+     * @param pose to update with the pose at that time (the latest pose if the time is after it)
+     * @return true if the pose could be found, false (and pose is unchanged) if the time is older than the history
+     */
+    public boolean getPose(double time, Pose2d pose)
+    {
+        return this.getPose(time, pose, 0);
+    }
+
+    /**
+     * Get the pose at the provided time, interpolating between the poses before and after it
+     * @param time to get the pose at (in seconds)
+     * @param pose to update with the pose at that time (the latest pose if the time is after it)
+     * @param epoch that the poses must have been measured in
+     * @return true if the pose could be found, false (and pose is unchanged) if the time is older than the history or
+     * from before the epoch started
+     */
+    public boolean getPose(double time, Pose2d pose, int epoch)
+    {
+        for (int attempt = 0; attempt < PoseHistory.MAX_READ_ATTEMPTS; attempt++)
+        {
+            long count = this.count;
+            if (count == 0L)
+            {
+                return false;
+            }
+
+            // leave one slot of slack as the writer may be overwriting the oldest pose right now
+            long oldest = Math.max(0L, count - this.capacity + 1L);
+            long index = count - 1L;
+            int slot = (int)(index % this.capacity);
+            double laterTime = this.times[slot];
+            if (this.epochs[slot] != epoch)
+            {
+                // nothing has been measured since the reset yet (unless the slot was overwritten under us)
+                if (this.isStillValid(index))
+                {
+                    return false;
+                }
+
+                continue;
+            }
+
+            if (time >= laterTime)
+            {
+                double x = this.xPositions[slot];
+                double y = this.yPositions[slot];
+                double angle = this.angles[slot];
+                if (this.isStillValid(index))
+                {
+                    pose.x = x;
+                    pose.y = y;
+                    pose.angle = angle;
+                    return true;
+                }
+
+                continue;
+            }
+
+            // search backwards from the latest pose for the first one that isn't after the requested time, stopping
+            // at the start of the epoch
+            double earlierTime = laterTime;
+            int laterSlot = slot;
+            long oldestRead = index;
+            while (index > oldest)
+            {
+                int earlierSlot = (int)((index - 1L) % this.capacity);
+                if (this.epochs[earlierSlot] != epoch)
+                {
+                    oldestRead = index - 1L;
+                    break;
+                }
+
+                index--;
+                oldestRead = index;
+                laterSlot = slot;
+                laterTime = earlierTime;
+                slot = earlierSlot;
+                earlierTime = this.times[slot];
+                if (earlierTime <= time)
+                {
+                    break;
+                }
+            }
+
+            if (earlierTime > time)
+            {
+                // older than anything we remember from this epoch (unless the slot was overwritten under us)
+                if (this.isStillValid(oldestRead))
+                {
+                    return false;
+                }
+
+                continue;
+            }
+
+            double ratio = laterTime > earlierTime ? (time - earlierTime) / (laterTime - earlierTime) : 0.0;
+            double x = this.xPositions[slot] + (this.xPositions[laterSlot] - this.xPositions[slot]) * ratio;
+            double y = this.yPositions[slot] + (this.yPositions[laterSlot] - this.yPositions[slot]) * ratio;
+            double angle = this.angles[slot] + (this.angles[laterSlot] - this.angles[slot]) * ratio;
+            if (this.isStillValid(index))
+            {
+                pose.x = x;
+                pose.y = y;
+                pose.angle = angle;
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Check whether the pose with the provided index is still in the history and can't have been overwritten
+     */
+    private boolean isStillValid(long index)
+    {
+        // make sure the reads of the pose aren't moved after the read of the count
+        VarHandle.loadLoadFence();
+
+        // the writer may be in the middle of writing the pose with index count, which reuses index count - capacity
+        return index > this.count - this.capacity;
+    }
+}
@@ -0,0 +1,86 @@
+package frc.lib.helpers;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Lock-free, allocation-free handoff of the latest value from a single writer thread to a single reader thread.
+ *
+ * The writer fills in its back buffer and publishes it, and the reader takes the most recently published buffer as its
+ * front buffer.  Neither side ever waits for the other: if the writer publishes again before the reader has taken the
+ * previous value, the previous value is dropped.
+ *
+ * @param <T> type of the buffers
+ */
+public class TripleBuffer<T>
+{
+    private static final int INDEX_MASK = 0x3;
+    private static final int FRESH = 0x4;
+
+    private final Object[] buffers;
+
+    // index of the middle buffer, plus whether it holds a value that the reader hasn't taken yet
+    private final AtomicInteger middle;
+
+    private int back; // only accessed by the writer
+    private int front; // only accessed by the reader
+
+    /**
+     * Initializes a new TripleBuffer
+     * @param first buffer (initially the reader's front buffer)
+     * @param second buffer (initially the middle buffer)
+     * @param third buffer (initially the writer's back buffer)
+     */
+    public TripleBuffer(T first, T second, T third)
+    {
+        this.buffers = new Object[] { first, second, third };
+        this.front = 0;
+        this.middle = new AtomicInteger(1);
+        this.back = 2;
+    }
+
+    /**
+     * Get the buffer that the writer should fill in
+     * @return the back buffer
+     */
+    @SuppressWarnings("unchecked")
+    public T getBack()
+    {
+        return (T)this.buffers[this.back];
+    }
+
+    /**
+     * Publish the back buffer for the reader (writer only)
+     * @return true if the previously published value was dropped without being read, otherwise false
+     */
+    public boolean publish()
+    {
+        int previous = this.middle.getAndSet(this.back | TripleBuffer.FRESH);
+        this.back = previous & TripleBuffer.INDEX_MASK;
+        return (previous & TripleBuffer.FRESH) != 0;
+    }
+
+    /**
+     * Take the most recently published value as the front buffer, if there is a new one (reader only)
+     * @return true if there was a new value, otherwise false (and the front buffer is unchanged)
+     */
+    public boolean update()
+    {
+        if ((this.middle.get() & TripleBuffer.FRESH) == 0)
+        {
+            return false;
+        }
+
+        this.front = this.middle.getAndSet(this.front) & TripleBuffer.INDEX_MASK;
+        return true;
+    }
+
+    /**
+     * Get the buffer that the reader last took
+     * @return the front buffer
+     */
+    @SuppressWarnings("unchecked")
+    public T getFront()
+    {
+        return (T)this.buffers[this.front];
+    }
+}
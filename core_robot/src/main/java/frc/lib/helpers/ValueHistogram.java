@@ -0,0 +1,221 @@
+package frc.lib.helpers;
+
+/**
+ * Histogram of arbitrary values, which uses a bounded amount of memory no matter how many values are recorded into it.
+ *
+ * Values are bucketed by their sign, their exponent and the top 4 bits of their mantissa (so, as with LatencyHistogram,
+ * each power of two is split into 16 linear sub-buckets), so percentiles are accurate to within ~6% of the true value.
+ * The sub-buckets are only allocated for the powers of two that are actually used.  The minimum, maximum and mean are
+ * tracked exactly.
+ */
+public class ValueHistogram
+{
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKETS = 1 << ValueHistogram.SUB_BUCKET_BITS;
+    private static final int EXPONENT_BUCKETS = 1 << 12; // sign and exponent
+    private static final int BUCKET_SHIFT = 64 - 12 - ValueHistogram.SUB_BUCKET_BITS;
+    private static final long BUCKET_LOW_BITS = (1L << ValueHistogram.BUCKET_SHIFT) - 1L;
+
+    private final long[][] buckets;
+
+    private long count;
+    private double min;
+    private double max;
+    private double sum;
+
+    public ValueHistogram()
+    {
+        this.buckets = new long[ValueHistogram.EXPONENT_BUCKETS][];
+        this.reset();
+    }
+
+    /**
+     * Record a value
+     * @param value to record (NaN is ignored)
+     */
+    public void record(double value)
+    {
+        if (Double.isNaN(value))
+        {
+            return;
+        }
+
+        int bucket = ValueHistogram.getBucket(value);
+        int exponentBucket = bucket / ValueHistogram.SUB_BUCKETS;
+        if (this.buckets[exponentBucket] == null)
+        {
+            this.buckets[exponentBucket] = new long[ValueHistogram.SUB_BUCKETS];
+        }
+
+        this.buckets[exponentBucket][bucket % ValueHistogram.SUB_BUCKETS]++;
+        this.count++;
+        this.sum += value;
+        if (value < this.min)
+        {
+            this.min = value;
+        }
+
+        if (value > this.max)
+        {
+            this.max = value;
+        }
+    }
+
+    /**
+     * Add all of the values recorded into another histogram into this one
+     * @param other histogram to add
+     */
+    public void add(ValueHistogram other)
+    {
+        if (other.count == 0L)
+        {
+            return;
+        }
+
+        for (int i = 0; i < ValueHistogram.EXPONENT_BUCKETS; i++)
+        {
+            if (other.buckets[i] != null)
+            {
+                if (this.buckets[i] == null)
+                {
+                    this.buckets[i] = new long[ValueHistogram.SUB_BUCKETS];
+                }
+
+                for (int j = 0; j < ValueHistogram.SUB_BUCKETS; j++)
+                {
+                    this.buckets[i][j] += other.buckets[i][j];
+                }
+            }
+        }
+
+        this.count += other.count;
+        this.sum += other.sum;
+        this.min = Math.min(this.min, other.min);
+        this.max = Math.max(this.max, other.max);
+    }
+
+    /**
+     * Forget all of the recorded values
+     */
+    public void reset()
+    {
+        for (int i = 0; i < ValueHistogram.EXPONENT_BUCKETS; i++)
+        {
+            this.buckets[i] = null;
+        }
+
+        this.count = 0L;
+        this.min = Double.POSITIVE_INFINITY;
+        this.max = Double.NEGATIVE_INFINITY;
+        this.sum = 0.0;
+    }
+
+    /**
+     * Retrieve the number of values that have been recorded
+     * @return number of recorded values
+     */
+    public long getCount()
+    {
+        return this.count;
+    }
+
+    /**
+     * Retrieve the smallest recorded value
+     * @return the smallest value, or NaN if nothing has been recorded
+     */
+    public double getMin()
+    {
+        return this.count == 0L ? Double.NaN : this.min;
+    }
+
+    /**
+     * Retrieve the largest recorded value
+     * @return the largest value, or NaN if nothing has been recorded
+     */
+    public double getMax()
+    {
+        return this.count == 0L ? Double.NaN : this.max;
+    }
+
+    /**
+     * Retrieve the mean of the recorded values
+     * @return the mean, or NaN if nothing has been recorded
+     */
+    public double getMean()
+    {
+        return this.count == 0L ? Double.NaN : this.sum / this.count;
+    }
+
+    /**
+     * Retrieve the value that the provided fraction of the recorded values are at or below
+     * @param percentile between 0.0 and 1.0 (e.g. 0.99 for the 99th percentile)
+     * @return the upper bound of the bucket containing that percentile (kept between the min and max), or NaN if nothing has been recorded
+     */
+    public double getPercentile(double percentile)
+    {
+        if (this.count == 0L)
+        {
+            return Double.NaN;
+        }
+
+        long target = (long)Math.ceil(percentile * this.count);
+        if (target < 1L)
+        {
+            target = 1L;
+        }
+
+        long seen = 0L;
+        for (int i = 0; i < ValueHistogram.EXPONENT_BUCKETS; i++)
+        {
+            if (this.buckets[i] == null)
+            {
+                continue;
+            }
+
+            for (int j = 0; j < ValueHistogram.SUB_BUCKETS; j++)
+            {
+                seen += this.buckets[i][j];
+                if (seen >= target)
+                {
+                    double upperBound = ValueHistogram.getBucketUpperBound(i * ValueHistogram.SUB_BUCKETS + j);
+                    if (Double.isNaN(upperBound))
+                    {
+                        // the bucket holding positive infinity
+                        return this.max;
+                    }
+
+                    return Math.max(this.min, Math.min(upperBound, this.max));
+                }
+            }
+        }
+
+        return this.max;
+    }
+
+    /**
+     * @return the bucket for the value, where the buckets are in the same order as the values they hold
+     */
+    private static int getBucket(double value)
+    {
+        long sortable = ValueHistogram.toSortable(Double.doubleToLongBits(value));
+        return (int)(sortable >> ValueHistogram.BUCKET_SHIFT) + ValueHistogram.EXPONENT_BUCKETS * ValueHistogram.SUB_BUCKETS / 2;
+    }
+
+    /**
+     * @return the largest value that falls into the provided bucket
+     */
+    private static double getBucketUpperBound(int bucket)
+    {
+        long sortable = ((long)(bucket - ValueHistogram.EXPONENT_BUCKETS * ValueHistogram.SUB_BUCKETS / 2) << ValueHistogram.BUCKET_SHIFT) | ValueHistogram.BUCKET_LOW_BITS;
+        return Double.longBitsToDouble(ValueHistogram.toSortable(sortable));
+    }
+
+    /**
+     * Flip the bits of negative values so that the bits of any two values compare (as signed longs) in the same order
+     * as the values do (this is its own inverse)
+     */
+    private static long toSortable(long bits)
+    {
+        return bits < 0L ? bits ^ Long.MAX_VALUE : bits;
+    }
+}
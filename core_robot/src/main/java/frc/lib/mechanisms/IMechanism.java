@@ -14,13 +14,30 @@ public interface IMechanism
      */
     public void readSensors();
 
+    /**
+     * get the mechanisms whose sensors must be read before this mechanism's sensors are read (e.g. because readSensors
+     * uses values that they read), as readSensors may be called for independent mechanisms in parallel
+     * @return the mechanisms this mechanism's readSensors depends on
+     */
+    public default IMechanism[] getReadSensorsDependencies()
+    {
+        return new IMechanism[0];
+    }
+
     /**
      * calculate the various outputs to use based on the inputs and apply them to the outputs for the relevant mechanism
      */
     public void update();
 
     /**
-     * stop the relevant mechanism
+     * start any background work for the mechanism (e.g. a thread that samples its sensors), as the robot is enabled
+     */
+    public default void start()
+    {
+    }
+
+    /**
+     * stop the relevant mechanism (and any background work that start() started)
      */
     public void stop();
 }
@@ -6,20 +6,41 @@ import com.google.inject.Singleton;
 
 import frc.robot.LoggingKey;
 import frc.robot.SettingsManager;
+import frc.robot.TuningConstants;
 import frc.lib.robotprovider.*;
 
+/**
+ * Logger that collects the values logged during each cycle into a slot table indexed by LoggingKey ordinal,
+ * and then writes the values that changed into the current logger in a single pass during update().
+ *
+ * Keys that aren't routed to any destination (see LoggingKey.destination) are dropped as soon as they are logged.
+ */
 @Singleton
 public class LoggingManager implements ILogger
 {
+    private final TelemetryFrame slots;
+
+    // whether each key is logged anywhere, indexed by LoggingKey ordinal
+    private final boolean[] routed;
+
     private ILogger currentLogger;
 
     @Inject
     public LoggingManager()
     {
+        this.slots = new TelemetryFrame(TuningConstants.LOG_ONLY_CHANGED_VALUES);
+
+        LoggingKey[] keys = LoggingKey.values();
+        this.routed = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            this.routed[i] = keys[i].destination != LoggingDestination.None;
+        }
     }
 
     public LoggingManager(ILogger logger)
     {
+        this();
         this.currentLogger = logger;
     }
 
@@ -28,7 +49,17 @@ public class LoggingManager implements ILogger
      */
     public void refresh(Injector injector)
     {
+        ILogger previousLogger = this.currentLogger;
         this.currentLogger = SettingsManager.getLogger(injector);
+
+        // the new logger hasn't seen any of the current values yet
+        this.slots.markAllDirty();
+
+        if (previousLogger instanceof TelemetryBus)
+        {
+            // the previous bus drains and flushes its sinks on its own threads, without holding up the robot loop
+            ((TelemetryBus)previousLogger).stop();
+        }
     }
 
     /**
@@ -39,7 +70,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logBoolean(LoggingKey key, boolean value)
     {
-        this.currentLogger.logBoolean(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putBoolean(key, value);
+        }
     }
 
     /**
@@ -50,7 +84,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logBooleanArray(LoggingKey key, boolean[] value)
     {
-        this.currentLogger.logBooleanArray(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putBooleanArray(key, value);
+        }
     }
 
     /**
@@ -61,7 +98,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logNumber(LoggingKey key, double value)
     {
-        this.currentLogger.logNumber(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putNumber(key, value);
+        }
     }
 
     /**
@@ -72,7 +112,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logNumber(LoggingKey key, Double value)
     {
-        this.currentLogger.logNumber(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putNumber(key, value);
+        }
     }
 
     /**
@@ -83,7 +126,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value)
     {
-        this.currentLogger.logInteger(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putInteger(key, value);
+        }
     }
 
     /**
@@ -94,7 +140,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, Integer value)
     {
-        this.currentLogger.logInteger(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putInteger(key, value);
+        }
     }
 
     /**
@@ -106,7 +155,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logInteger(LoggingKey key, int value, String formatString)
     {
-        this.currentLogger.logInteger(key, value, formatString);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putInteger(key, value, formatString);
+        }
     }
 
     /**
@@ -117,7 +169,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logPoint(LoggingKey key, IPoint value)
     {
-        this.currentLogger.logPoint(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putPoint(key, value);
+        }
     }
 
     /**
@@ -128,7 +183,10 @@ public class LoggingManager implements ILogger
     @Override
     public void logString(LoggingKey key, String value)
     {
-        this.currentLogger.logString(key, value);
+        if (this.routed[key.ordinal()])
+        {
+            this.slots.putString(key, value);
+        }
     }
 
     /**
@@ -137,6 +195,9 @@ public class LoggingManager implements ILogger
     @Override
     public void update()
     {
+        this.slots.writeTo(this.currentLogger);
+        this.slots.clear();
+
         this.currentLogger.update();
     }
 
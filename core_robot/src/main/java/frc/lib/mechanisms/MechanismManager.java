@@ -1,23 +1,71 @@
 package frc.lib.mechanisms;
 
+import java.io.IOException;
 import java.util.List;
 
+import frc.lib.helpers.LatencyHistogram;
+import frc.lib.robotprovider.IFileWriter;
+import frc.lib.robotprovider.ILogger;
+import frc.robot.LoggingKey;
 import frc.robot.TuningConstants;
 
 public class MechanismManager implements IMechanism
 {
     public final List<IMechanism> mechanismList;
 
+    // timing for each mechanism's readSensors and update, in the same order as the mechanism list
+    private final String[] readSensorsNames;
+    private final String[] updateNames;
+    private final LatencyHistogram[] readSensorsTimes;
+    private final LatencyHistogram[] updateTimes;
+
+    // runs readSensors in parallel based on each mechanism's dependencies, or null to run them in order
+    private final ReadSensorsGraph readSensorsGraph;
+
     public MechanismManager(List<IMechanism> mechanismList)
+    {
+        this(mechanismList, TuningConstants.MECHANISM_READ_SENSORS_THREADS);
+    }
+
+    /**
+     * Initializes a new instance of the MechanismManager class
+     * @param mechanismList to manage, in the order to read their sensors (when sequential) and update them
+     * @param readSensorsThreads number of worker threads to read sensors with in addition to the calling thread, or 0 to read them in order
+     */
+    public MechanismManager(List<IMechanism> mechanismList, int readSensorsThreads)
     {
         this.mechanismList = mechanismList;
+
+        int count = mechanismList.size();
+        this.readSensorsNames = new String[count];
+        this.updateNames = new String[count];
+        this.readSensorsTimes = new LatencyHistogram[count];
+        this.updateTimes = new LatencyHistogram[count];
+        for (int i = 0; i < count; i++)
+        {
+            String name = mechanismList.get(i).getClass().getSimpleName();
+            this.readSensorsNames[i] = name + ".readSensors";
+            this.updateNames[i] = name + ".update";
+            this.readSensorsTimes[i] = new LatencyHistogram();
+            this.updateTimes[i] = new LatencyHistogram();
+        }
+
+        this.readSensorsGraph = readSensorsThreads > 0 ? new ReadSensorsGraph(mechanismList, this.readSensorsTimes, readSensorsThreads) : null;
     }
 
     @Override
     public void readSensors()
     {
-        for (IMechanism mechanism : this.mechanismList)
+        if (this.readSensorsGraph != null)
+        {
+            this.readSensorsGraph.run();
+            return;
+        }
+
+        for (int i = 0; i < this.readSensorsTimes.length; i++)
         {
+            IMechanism mechanism = this.mechanismList.get(i);
+            long startTime = TuningConstants.LOG_LOOP_TIMING ? System.nanoTime() : 0L;
             try
             {
                 mechanism.readSensors();
@@ -30,14 +78,21 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+
+            if (TuningConstants.LOG_LOOP_TIMING)
+            {
+                this.readSensorsTimes[i].record(System.nanoTime() - startTime);
+            }
         }
     }
 
     @Override
     public void update()
     {
-        for (IMechanism mechanism : this.mechanismList)
+        for (int i = 0; i < this.updateTimes.length; i++)
         {
+            IMechanism mechanism = this.mechanismList.get(i);
+            long startTime = TuningConstants.LOG_LOOP_TIMING ? System.nanoTime() : 0L;
             try
             {
                 mechanism.update();
@@ -50,6 +105,31 @@ public class MechanismManager implements IMechanism
                     throw ex;
                 }
             }
+
+            if (TuningConstants.LOG_LOOP_TIMING)
+            {
+                this.updateTimes[i].record(System.nanoTime() - startTime);
+            }
+        }
+    }
+
+    @Override
+    public void start()
+    {
+        for (IMechanism mechanism : this.mechanismList)
+        {
+            try
+            {
+                mechanism.start();
+            }
+            catch (Exception ex)
+            {
+                System.err.println("Encountered exception: " + ex.toString());
+                if (TuningConstants.THROW_EXCEPTIONS)
+                {
+                    throw ex;
+                }
+            }
         }
     }
 
@@ -72,4 +152,62 @@ public class MechanismManager implements IMechanism
             }
         }
     }
+
+    /**
+     * Log the mechanism function (readSensors or update) with the worst 99th percentile time
+     * @param logger to log to
+     */
+    public void logSlowestMechanism(ILogger logger)
+    {
+        String slowestName = null;
+        double slowestTime = 0.0;
+        for (int i = 0; i < this.readSensorsTimes.length; i++)
+        {
+            double readSensorsTime = this.readSensorsTimes[i].getPercentileMillis(0.99);
+            if (slowestName == null || readSensorsTime > slowestTime)
+            {
+                slowestName = this.readSensorsNames[i];
+                slowestTime = readSensorsTime;
+            }
+
+            double updateTime = this.updateTimes[i].getPercentileMillis(0.99);
+            if (updateTime > slowestTime)
+            {
+                slowestName = this.updateNames[i];
+                slowestTime = updateTime;
+            }
+        }
+
+        if (slowestName != null)
+        {
+            logger.logString(LoggingKey.RobotSlowestMechanism, slowestName);
+            logger.logNumber(LoggingKey.RobotSlowestMechanismTimeP99, slowestTime);
+        }
+    }
+
+    /**
+     * Write a summary row of the time spent in each mechanism function
+     * @param writer to write the summary into
+     * @throws IOException
+     */
+    public void writeTimingSummary(IFileWriter writer) throws IOException
+    {
+        for (int i = 0; i < this.readSensorsTimes.length; i++)
+        {
+            writer.append(this.readSensorsTimes[i].getSummary(this.readSensorsNames[i]));
+            writer.append(this.updateTimes[i].getSummary(this.updateNames[i]));
+        }
+    }
+
+    /**
+     * Forget the times recorded for each mechanism
+     */
+    public void resetTiming()
+    {
+        for (int i = 0; i < this.readSensorsTimes.length; i++)
+        {
+            this.readSensorsTimes[i].reset();
+            this.updateTimes[i].reset();
+        }
+    }
 }
@@ -0,0 +1,224 @@
+package frc.lib.mechanisms;
+
+import java.util.Arrays;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Consumer;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import frc.lib.helpers.TripleBuffer;
+import frc.lib.robotprovider.ISparkMax;
+import frc.lib.robotprovider.InputLog;
+import frc.lib.robotprovider.ITalonXBase;
+import frc.lib.robotprovider.ITimer;
+import frc.lib.robotprovider.MotorStatus;
+import frc.robot.TuningConstants;
+
+/**
+ * Cache of the status of the registered devices, which are each read on a background thread at their own period so
+ * that the mechanisms' readSensors() only has to copy the latest values out of memory instead of calling into the
+ * devices.  Each sample is stamped with the time (from the ITimer) that it was taken.
+ *
+ * Each registered device's status should only be read by a single thread at a time (normally the mechanism that
+ * registered it).  When the cache isn't running in the background, read() reads the device directly.  Either way, the
+ * devices are read as the "MotorStatusCache" source (see InputLog.setSource()), so that a recorded match replays the
+ * same values whether or not the cache ran in the background while recording.
+ */
+@Singleton
+public class MotorStatusCache implements Runnable
+{
+    // the longest the background thread sleeps for, so that newly-registered devices are picked up promptly
+    private static final long MAX_SLEEP_NANOS = 20000000L;
+
+    private static final String SOURCE = "MotorStatusCache";
+
+    private final ITimer timer;
+    private final boolean background;
+
+    private volatile Entry[] entries;
+    private Thread thread;
+
+    @Inject
+    public MotorStatusCache(ITimer timer)
+    {
+        this(timer, TuningConstants.MOTOR_STATUS_CACHE_ENABLED);
+    }
+
+    /**
+     * Initializes a new MotorStatusCache
+     * @param timer to stamp the samples with
+     * @param background true to read the devices on a background thread, false to read them directly in read()
+     */
+    public MotorStatusCache(ITimer timer, boolean background)
+    {
+        this.timer = timer;
+        this.background = background;
+        this.entries = new Entry[0];
+        this.thread = null;
+    }
+
+    /**
+     * Check whether devices are read on background threads.  When this is false (e.g. when replaying a match),
+     * mechanisms shouldn't start background samplers of their own either, so that every device read happens within
+     * the robot loop.
+     * @return true if the cache reads the devices on a background thread
+     */
+    public boolean isBackground()
+    {
+        return this.background;
+    }
+
+    /**
+     * Register a Talon so that its status is kept up-to-date
+     * @param motor to read
+     * @param periodMS how often to read the motor (normally its feedback frame period)
+     * @return the id to read the motor's status with
+     */
+    public int register(ITalonXBase motor, int periodMS)
+    {
+        return this.register(motor::readStatus, periodMS);
+    }
+
+    /**
+     * Register a Spark MAX so that its status is kept up-to-date
+     * @param motor to read
+     * @param periodMS how often to read the motor (normally its status frame period)
+     * @return the id to read the motor's status with
+     */
+    public int register(ISparkMax motor, int periodMS)
+    {
+        return this.register(motor::readStatus, periodMS);
+    }
+
+    /**
+     * Register some other device so that its status is kept up-to-date (e.g. an absolute encoder, which can fill in
+     * just the position)
+     * @param reader that fills in the status from the device
+     * @param periodMS how often to read the device
+     * @return the id to read the device's status with
+     */
+    public synchronized int register(Consumer<MotorStatus> reader, int periodMS)
+    {
+        Entry entry = new Entry(reader, periodMS * 1000000L);
+        if (this.background)
+        {
+            // take the first sample here, so that there is a value to read before the background thread gets to it
+            String previousSource = InputLog.setSource(MotorStatusCache.SOURCE);
+            try
+            {
+                entry.sample(this.timer);
+            }
+            finally
+            {
+                InputLog.setSource(previousSource);
+            }
+
+            entry.nextSampleNanos = System.nanoTime() + entry.periodNanos;
+        }
+
+        int id = this.entries.length;
+        Entry[] entries = Arrays.copyOf(this.entries, id + 1);
+        entries[id] = entry;
+        this.entries = entries;
+
+        if (this.background && this.thread == null)
+        {
+            this.thread = new Thread(this, "MotorStatusCache");
+            this.thread.setDaemon(true);
+            this.thread.start();
+        }
+
+        return id;
+    }
+
+    /**
+     * Read the latest status of a registered device
+     * @param id of the device, as returned by register()
+     * @param status to fill in with the device's latest status
+     */
+    public void read(int id, MotorStatus status)
+    {
+        Entry entry = this.entries[id];
+        if (!this.background)
+        {
+            String previousSource = InputLog.setSource(MotorStatusCache.SOURCE);
+            try
+            {
+                status.timestamp = this.timer.get();
+                entry.reader.accept(status);
+            }
+            finally
+            {
+                InputLog.setSource(previousSource);
+            }
+
+            return;
+        }
+
+        entry.buffer.update();
+        status.copyFrom(entry.buffer.getFront());
+    }
+
+    @Override
+    public void run()
+    {
+        InputLog.setSource(MotorStatusCache.SOURCE);
+        while (true)
+        {
+            long nowNanos = System.nanoTime();
+            long nextSampleNanos = nowNanos + MotorStatusCache.MAX_SLEEP_NANOS;
+            for (Entry entry : this.entries)
+            {
+                if (nowNanos - entry.nextSampleNanos >= 0L)
+                {
+                    entry.sample(this.timer);
+                    entry.nextSampleNanos += entry.periodNanos;
+                    if (nowNanos - entry.nextSampleNanos >= 0L)
+                    {
+                        // fell behind (e.g. a slow CAN read), so don't try to catch up with a burst of samples
+                        entry.nextSampleNanos = nowNanos + entry.periodNanos;
+                    }
+                }
+
+                if (entry.nextSampleNanos - nextSampleNanos < 0L)
+                {
+                    nextSampleNanos = entry.nextSampleNanos;
+                }
+            }
+
+            long remainingNanos = nextSampleNanos - System.nanoTime();
+            if (remainingNanos > 0L)
+            {
+                LockSupport.parkNanos(remainingNanos);
+            }
+        }
+    }
+
+    private static class Entry
+    {
+        private final Consumer<MotorStatus> reader;
+        private final long periodNanos;
+        private final TripleBuffer<MotorStatus> buffer;
+
+        private long nextSampleNanos; // only accessed by the background thread (after registration)
+
+        Entry(Consumer<MotorStatus> reader, long periodNanos)
+        {
+            this.reader = reader;
+            this.periodNanos = periodNanos;
+            this.buffer = new TripleBuffer<MotorStatus>(new MotorStatus(), new MotorStatus(), new MotorStatus());
+        }
+
+        /**
+         * Read the device into the back buffer and publish it (writer only)
+         */
+        void sample(ITimer timer)
+        {
+            MotorStatus status = this.buffer.getBack();
+            status.timestamp = timer.get();
+            this.reader.accept(status);
+            this.buffer.publish();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package frc.lib.mechanisms;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import frc.lib.helpers.LatencyHistogram;
+import frc.robot.TuningConstants;
+
+/**
+ * Runs the readSensors() of each mechanism as a dependency graph, using a small fixed pool of worker threads along
+ * with the calling thread.  A mechanism's readSensors() is only started once the readSensors() of each of the
+ * mechanisms it depends on (see IMechanism.getReadSensorsDependencies()) has completed, and run() only returns once
+ * every mechanism has completed, so everything read is visible to the robot loop afterwards.
+ *
+ * When several mechanisms are ready at once, they are claimed in mechanism list order.  Threads with nothing to claim
+ * park until another mechanism completes, rather than spinning.  Nothing is allocated per cycle.
+ */
+class ReadSensorsGraph
+{
+    private static final int WAITING = 0;
+    private static final int CLAIMED = 1;
+    private static final int DONE = 2;
+
+    private final IMechanism[] mechanisms;
+    private final LatencyHistogram[] times;
+
+    // for each mechanism, the number of mechanisms it depends on, and the indexes of the mechanisms that depend on it
+    private final int[] dependencyCounts;
+    private final int[][] dependents;
+
+    // per-cycle state.  Each mechanism's state is stamped with the generation (cycle) that it belongs to, and the
+    // generation and the number of mechanisms completed within it are packed together into progress, so that a worker
+    // that is still finishing up the previous generation can't claim or complete anything in the next one.
+    private final AtomicIntegerArray remainingDependencies;
+    private final AtomicIntegerArray states;
+    private final AtomicLong progress;
+    private volatile RuntimeException failure;
+
+    private final Thread[] workers;
+    private volatile Thread caller;
+    private volatile boolean running;
+
+    /**
+     * Initializes a new instance of the ReadSensorsGraph class, starting its worker threads
+     * @param mechanisms to read the sensors of
+     * @param times to record the duration of each mechanism's readSensors() into (in the same order as mechanisms)
+     * @param workerCount number of worker threads to use in addition to the thread calling run()
+     */
+    ReadSensorsGraph(List<IMechanism> mechanisms, LatencyHistogram[] times, int workerCount)
+    {
+        int count = mechanisms.size();
+        this.mechanisms = mechanisms.toArray(new IMechanism[count]);
+        this.times = times;
+
+        IdentityHashMap<IMechanism, Integer> indexes = new IdentityHashMap<IMechanism, Integer>();
+        for (int i = 0; i < count; i++)
+        {
+            indexes.put(this.mechanisms[i], i);
+        }
+
+        List<List<Integer>> dependentLists = new ArrayList<List<Integer>>();
+        for (int i = 0; i < count; i++)
+        {
+            dependentLists.add(new ArrayList<Integer>());
+        }
+
+        this.dependencyCounts = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            for (IMechanism dependency : this.mechanisms[i].getReadSensorsDependencies())
+            {
+                // dependencies that aren't active don't need to be waited for
+                Integer dependencyIndex = indexes.get(dependency);
+                if (dependencyIndex != null && dependencyIndex != i && !dependentLists.get(dependencyIndex).contains(i))
+                {
+                    dependentLists.get(dependencyIndex).add(i);
+                    this.dependencyCounts[i]++;
+                }
+            }
+        }
+
+        this.dependents = new int[count][];
+        for (int i = 0; i < count; i++)
+        {
+            List<Integer> dependentList = dependentLists.get(i);
+            this.dependents[i] = new int[dependentList.size()];
+            for (int j = 0; j < dependentList.size(); j++)
+            {
+                this.dependents[i][j] = dependentList.get(j);
+            }
+        }
+
+        ReadSensorsGraph.verifyAcyclic(this.mechanisms, this.dependencyCounts, this.dependents);
+
+        this.remainingDependencies = new AtomicIntegerArray(count);
+        this.states = new AtomicIntegerArray(count);
+        for (int i = 0; i < count; i++)
+        {
+            this.states.set(i, ReadSensorsGraph.state(0, ReadSensorsGraph.DONE));
+        }
+
+        // generation 0 is already complete
+        this.progress = new AtomicLong(ReadSensorsGraph.progress(0, count));
+        this.failure = null;
+
+        this.caller = null;
+        this.running = true;
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++)
+        {
+            Thread worker = new Thread(this::work, "ReadSensors-" + i);
+            worker.setDaemon(true);
+            this.workers[i] = worker;
+            worker.start();
+        }
+    }
+
+    /**
+     * Read the sensors of each of the mechanisms, returning once all of them have completed
+     */
+    void run()
+    {
+        // the previous generation is complete (every mechanism in it has finished), so nothing else is changing the
+        // per-mechanism state.  Reset all of it for the next generation before publishing that generation.
+        int generation = ReadSensorsGraph.generationOf(this.progress.get()) + 1;
+        int count = this.mechanisms.length;
+        for (int i = 0; i < count; i++)
+        {
+            this.remainingDependencies.set(i, this.dependencyCounts[i]);
+            this.states.set(i, ReadSensorsGraph.state(generation, ReadSensorsGraph.WAITING));
+        }
+
+        this.failure = null;
+        this.caller = Thread.currentThread();
+
+        // publish the new generation with nothing completed, and then wake the workers and help out until everything is done
+        this.progress.set(ReadSensorsGraph.progress(generation, 0));
+        this.wakeAll();
+
+        this.runUntilComplete(generation);
+
+        RuntimeException exception = this.failure;
+        if (exception != null)
+        {
+            this.failure = null;
+            throw exception;
+        }
+    }
+
+    /**
+     * Stop the worker threads (the graph can't be run afterwards)
+     */
+    void stop()
+    {
+        this.running = false;
+        for (Thread worker : this.workers)
+        {
+            LockSupport.unpark(worker);
+        }
+    }
+
+    private void work()
+    {
+        int lastGeneration = 0;
+        while (this.running)
+        {
+            int currentGeneration = ReadSensorsGraph.generationOf(this.progress.get());
+            if (currentGeneration == lastGeneration)
+            {
+                LockSupport.park(this);
+                continue;
+            }
+
+            lastGeneration = currentGeneration;
+            this.runUntilComplete(currentGeneration);
+        }
+    }
+
+    private void runUntilComplete(int generation)
+    {
+        int count = this.mechanisms.length;
+        while (true)
+        {
+            long currentProgress = this.progress.get();
+            if (ReadSensorsGraph.generationOf(currentProgress) != generation ||
+                ReadSensorsGraph.completedOf(currentProgress) >= count)
+            {
+                return;
+            }
+
+            int claimed = this.claim(generation);
+            if (claimed < 0)
+            {
+                // everything left is either running or waiting on something that is running, so wait until one of
+                // those completes (an unpark that happens before we park makes park return immediately)
+                LockSupport.park(this);
+                continue;
+            }
+
+            this.runMechanism(generation, claimed);
+        }
+    }
+
+    /**
+     * @param generation that the calling thread is working on
+     * @return the index of a mechanism that is ready to have its sensors read (now claimed by this thread), or -1
+     */
+    private int claim(int generation)
+    {
+        int waiting = ReadSensorsGraph.state(generation, ReadSensorsGraph.WAITING);
+        int claimed = ReadSensorsGraph.state(generation, ReadSensorsGraph.CLAIMED);
+        for (int i = 0; i < this.mechanisms.length; i++)
+        {
+            // a mechanism from any other generation never matches, so it can't be claimed by a stale worker
+            if (this.states.get(i) == waiting &&
+                this.remainingDependencies.get(i) == 0 &&
+                this.states.compareAndSet(i, waiting, claimed))
+            {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void runMechanism(int generation, int index)
+    {
+        long startTime = TuningConstants.LOG_LOOP_TIMING ? System.nanoTime() : 0L;
+        try
+        {
+            this.mechanisms[index].readSensors();
+        }
+        catch (RuntimeException ex)
+        {
+            System.err.println("Encountered exception: " + ex.toString());
+            if (TuningConstants.THROW_EXCEPTIONS && this.failure == null)
+            {
+                // rethrown from the robot loop once everything has completed
+                this.failure = ex;
+            }
+        }
+        finally
+        {
+            if (TuningConstants.LOG_LOOP_TIMING)
+            {
+                this.times[index].record(System.nanoTime() - startTime);
+            }
+
+            // always mark it as done, otherwise the robot loop would wait forever.  The generation can't move on
+            // until this mechanism is counted as completed, but check it anyways so that a mistake can't carry over.
+            this.states.set(index, ReadSensorsGraph.state(generation, ReadSensorsGraph.DONE));
+            boolean readied = false;
+            if (ReadSensorsGraph.generationOf(this.progress.get()) == generation)
+            {
+                for (int dependent : this.dependents[index])
+                {
+                    if (this.remainingDependencies.decrementAndGet(dependent) == 0)
+                    {
+                        readied = true;
+                    }
+                }
+            }
+
+            long currentProgress = this.progress.incrementAndGet();
+            if (readied || ReadSensorsGraph.completedOf(currentProgress) >= this.mechanisms.length)
+            {
+                this.wakeAll();
+            }
+        }
+    }
+
+    /**
+     * Wake every thread that may be waiting for a mechanism to become ready or for the generation to complete
+     */
+    private void wakeAll()
+    {
+        Thread currentThread = Thread.currentThread();
+        Thread callerThread = this.caller;
+        if (callerThread != null && callerThread != currentThread)
+        {
+            LockSupport.unpark(callerThread);
+        }
+
+        for (Thread worker : this.workers)
+        {
+            if (worker != currentThread)
+            {
+                LockSupport.unpark(worker);
+            }
+        }
+    }
+
+    private static int state(int generation, int phase)
+    {
+        return (generation << 2) | phase;
+    }
+
+    private static long progress(int generation, int completed)
+    {
+        return ((long)generation << 32) | completed;
+    }
+
+    private static int generationOf(long progress)
+    {
+        return (int)(progress >>> 32);
+    }
+
+    private static int completedOf(long progress)
+    {
+        return (int)progress;
+    }
+
+    private static void verifyAcyclic(IMechanism[] mechanisms, int[] dependencyCounts, int[][] dependents)
+    {
+        int count = mechanisms.length;
+        int[] remaining = dependencyCounts.clone();
+        int[] ready = new int[count];
+        int readyCount = 0;
+        for (int i = 0; i < count; i++)
+        {
+            if (remaining[i] == 0)
+            {
+                ready[readyCount++] = i;
+            }
+        }
+
+        for (int i = 0; i < readyCount; i++)
+        {
+            for (int dependent : dependents[ready[i]])
+            {
+                if (--remaining[dependent] == 0)
+                {
+                    ready[readyCount++] = dependent;
+                }
+            }
+        }
+
+        if (readyCount != count)
+        {
+            for (int i = 0; i < count; i++)
+            {
+                if (remaining[i] > 0)
+                {
+                    throw new RuntimeException("Circular readSensors dependency involving " + mechanisms[i].getClass().getSimpleName());
+                }
+            }
+        }
+    }
+}
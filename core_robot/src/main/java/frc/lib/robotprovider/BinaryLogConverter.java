@@ -0,0 +1,151 @@
+package frc.lib.robotprovider;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import de.siegmar.fastcsv.writer.CsvWriter;
+
+/**
+ * Converts log files written by the BinaryLogger into the same CSV layout written by the CSVLogger (run on the
+ * development machine by the convertLogs gradle task).
+ */
+public class BinaryLogConverter
+{
+    /**
+     * Convert a binary log into CSV
+     * @param inputStream to read the binary log from
+     * @param writer to write the CSV into
+     * @return the number of rows written (not including the header)
+     * @throws IOException
+     */
+    public static int convert(InputStream inputStream, Writer writer) throws IOException
+    {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (input.readInt() != BinaryLogger.MAGIC)
+        {
+            throw new IOException("Unexpected file format");
+        }
+
+        short version = input.readShort();
+        if (version != BinaryLogger.VERSION)
+        {
+            throw new IOException("Unexpected file version " + version);
+        }
+
+        int keyCount = input.readShort();
+        String[] schema = new String[keyCount];
+        for (int i = 0; i < keyCount; i++)
+        {
+            schema[i] = BinaryLogConverter.readString(input);
+        }
+
+        CsvWriter csvWriter = CsvWriter.builder().build(writer);
+        csvWriter.writeRow(schema);
+
+        HashMap<Integer, String> stringTable = new HashMap<Integer, String>();
+        String[] values = new String[keyCount];
+        boolean inCycle = false;
+        int rows = 0;
+        while (true)
+        {
+            byte recordType;
+            try
+            {
+                recordType = input.readByte();
+            }
+            catch (EOFException ex)
+            {
+                break;
+            }
+
+            if (recordType == BinaryLogger.RECORD_CYCLE)
+            {
+                input.readInt();
+                if (inCycle)
+                {
+                    csvWriter.writeRow(BinaryLogConverter.fillEmpty(values));
+                    rows++;
+                }
+
+                // values carry over until they change, matching the CSVLogger
+                inCycle = true;
+            }
+            else if (recordType == BinaryLogger.RECORD_STRING_DEFINITION)
+            {
+                int stringId = input.readInt();
+                stringTable.put(stringId, BinaryLogConverter.readString(input));
+            }
+            else
+            {
+                int index = input.readShort();
+                long payload = input.readLong();
+                String value;
+                switch (recordType)
+                {
+                    case BinaryLogger.RECORD_NULL:
+                        value = "null";
+                        break;
+
+                    case BinaryLogger.RECORD_BOOLEAN:
+                        value = String.valueOf(payload != 0L);
+                        break;
+
+                    case BinaryLogger.RECORD_DOUBLE:
+                        value = String.valueOf(Double.longBitsToDouble(payload));
+                        break;
+
+                    case BinaryLogger.RECORD_INTEGER:
+                        value = String.valueOf(payload);
+                        break;
+
+                    case BinaryLogger.RECORD_STRING:
+                        value = stringTable.get((int)payload);
+                        break;
+
+                    default:
+                        throw new IOException("Unexpected record type " + recordType);
+                }
+
+                if (index >= 0 && index < keyCount)
+                {
+                    values[index] = value;
+                }
+            }
+        }
+
+        // the last cycle is terminated by the end of the file rather than the next cycle record
+        if (inCycle)
+        {
+            csvWriter.writeRow(BinaryLogConverter.fillEmpty(values));
+            rows++;
+        }
+
+        writer.flush();
+        return rows;
+    }
+
+    private static String readString(DataInputStream input) throws IOException
+    {
+        int length = input.readShort();
+        byte[] bytes = new byte[length];
+        input.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static String[] fillEmpty(String[] values)
+    {
+        String[] row = new String[values.length];
+        for (int i = 0; i < values.length; i++)
+        {
+            row[i] = values[i] == null ? "" : values[i];
+        }
+
+        return row;
+    }
+}
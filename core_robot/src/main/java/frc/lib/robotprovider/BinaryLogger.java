@@ -0,0 +1,425 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Logger that writes each update as a series of fixed-width binary records instead of text.
+ *
+ * File layout (big-endian):
+ * - header: magic (int), version (short), key count (short), then each key's name (short length + UTF-8 bytes)
+ * - cycle record: 'C' (byte), cycle number (int)
+ * - value record: type (byte), key index within the header (short), payload (8 bytes)
+ * - string definition record: 'S' (byte), string id (int), string length (short), UTF-8 bytes
+ *
+ * String values are written as a string definition the first time they are seen, and then as a value record that
+ * references the string id.  A value holds until a later value record for the same key replaces it, so only the
+ * values that changed need to be written each cycle.  Use BinaryLogConverter to turn a binary log back into a CSV file.
+ *
+ * Records are collected in a 64KB buffer, which is only written to the file when it fills up or when the log is
+ * flushed, so most cycles don't touch the file at all.
+ */
+public class BinaryLogger implements ILogger
+{
+    public static final int MAGIC = 0x49525331; // "IRS1"
+    public static final short VERSION = 1;
+
+    public static final byte RECORD_CYCLE = 'C';
+    public static final byte RECORD_STRING_DEFINITION = 'S';
+    public static final byte RECORD_NULL = 'N';
+    public static final byte RECORD_BOOLEAN = 'B';
+    public static final byte RECORD_DOUBLE = 'D';
+    public static final byte RECORD_INTEGER = 'I';
+    public static final byte RECORD_STRING = 'R';
+
+    public static final int VALUE_RECORD_SIZE = 1 + 2 + 8;
+    public static final int CYCLE_RECORD_SIZE = 1 + 4;
+
+    private static final int BUFFER_CAPACITY = 64 * 1024;
+    private static final int MAX_STRING_LENGTH = Short.MAX_VALUE;
+    private static final int MAX_STRING_TABLE_SIZE = 1024;
+
+    private final IBinaryFileWriter fileWriter;
+    private final ByteBuffer buffer;
+
+    // index of each LoggingKey (by ordinal) within the schema, or -1 if it isn't included
+    private final short[] schemaIndex;
+
+    private final HashMap<String, Integer> stringTable;
+
+    private int cycle;
+
+    // whether the record for the current cycle has been put into the buffer yet
+    private boolean cycleStarted;
+
+    /**
+     * Initializes a new instance of the BinaryLogger class, using the shouldLog LoggingKeys to determine the schema
+     * @param fileWriter to write into
+     * @throws IOException
+     */
+    public BinaryLogger(IBinaryFileWriter fileWriter) throws IOException
+    {
+        this(fileWriter, BinaryLogger.getDefaultSchema());
+    }
+
+    /**
+     * Initializes a new instance of the BinaryLogger class.
+     * @param fileWriter to write into
+     * @param schema to use for writing
+     * @throws IOException
+     */
+    public BinaryLogger(IBinaryFileWriter fileWriter, LoggingKey... schema) throws IOException
+    {
+        this.fileWriter = fileWriter;
+        this.buffer = ByteBuffer.allocateDirect(BinaryLogger.BUFFER_CAPACITY);
+        this.stringTable = new HashMap<String, Integer>();
+
+        this.schemaIndex = new short[LoggingKey.values().length];
+        for (int i = 0; i < this.schemaIndex.length; i++)
+        {
+            this.schemaIndex[i] = -1;
+        }
+
+        for (short i = 0; i < schema.length; i++)
+        {
+            this.schemaIndex[schema[i].ordinal()] = i;
+        }
+
+        this.writeHeader(schema);
+
+        this.cycle = 0;
+        this.cycleStarted = false;
+    }
+
+    private void writeHeader(LoggingKey[] schema) throws IOException
+    {
+        this.buffer.putInt(BinaryLogger.MAGIC);
+        this.buffer.putShort(BinaryLogger.VERSION);
+        this.buffer.putShort((short)schema.length);
+        for (LoggingKey key : schema)
+        {
+            byte[] name = key.value.getBytes(StandardCharsets.UTF_8);
+            this.buffer.putShort((short)name.length);
+            this.buffer.put(name);
+        }
+
+        this.writeBuffer();
+        this.fileWriter.flush();
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        this.putValue(key, BinaryLogger.RECORD_BOOLEAN, value ? 1L : 0L);
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        if (this.schemaIndex[key.ordinal()] < 0)
+        {
+            return;
+        }
+
+        StringBuilder builder = new StringBuilder();
+        if (value != null)
+        {
+            for (int i = 0; i < value.length; i++)
+            {
+                if (i > 0)
+                {
+                    builder.append(",");
+                }
+
+                builder.append(value[i]);
+            }
+        }
+
+        this.logString(key, builder.toString());
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        this.putValue(key, BinaryLogger.RECORD_DOUBLE, Double.doubleToRawLongBits(value));
+    }
+
+    /**
+     * Write a number (Double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        if (value == null)
+        {
+            this.putValue(key, BinaryLogger.RECORD_NULL, 0L);
+        }
+        else
+        {
+            this.putValue(key, BinaryLogger.RECORD_DOUBLE, Double.doubleToRawLongBits(value.doubleValue()));
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        this.putValue(key, BinaryLogger.RECORD_INTEGER, value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        if (value == null)
+        {
+            this.putValue(key, BinaryLogger.RECORD_NULL, 0L);
+        }
+        else
+        {
+            this.putValue(key, BinaryLogger.RECORD_INTEGER, value.intValue());
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        if (this.schemaIndex[key.ordinal()] < 0)
+        {
+            return;
+        }
+
+        this.logString(key, String.format(formatString, value));
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(LoggingKey key, IPoint value)
+    {
+        if (this.schemaIndex[key.ordinal()] < 0)
+        {
+            return;
+        }
+
+        String valueString = "N/A";
+        if (value != null)
+        {
+            valueString = String.format("(%f, %f)", value.getX(), value.getY());
+        }
+
+        this.logString(key, valueString);
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        short index = this.schemaIndex[key.ordinal()];
+        if (index < 0)
+        {
+            return;
+        }
+
+        if (value == null)
+        {
+            this.putRecord(index, BinaryLogger.RECORD_NULL, 0L);
+            return;
+        }
+
+        Integer stringId = this.stringTable.get(value);
+        if (stringId == null)
+        {
+            if (this.stringTable.size() >= BinaryLogger.MAX_STRING_TABLE_SIZE)
+            {
+                // start re-using ids, the converter will replace any definition it already has
+                this.stringTable.clear();
+            }
+
+            stringId = this.stringTable.size();
+            this.stringTable.put(value, stringId);
+
+            byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+            int length = Math.min(bytes.length, BinaryLogger.MAX_STRING_LENGTH);
+            if (this.ensureCapacity(1 + 4 + 2 + length))
+            {
+                this.buffer.put(BinaryLogger.RECORD_STRING_DEFINITION);
+                this.buffer.putInt(stringId);
+                this.buffer.putShort((short)length);
+                this.buffer.put(bytes, 0, length);
+            }
+        }
+
+        this.putRecord(index, BinaryLogger.RECORD_STRING, stringId);
+    }
+
+    /**
+     * Update the log, if appropriate..
+     */
+    @Override
+    public void update()
+    {
+        // cycles where nothing was logged still need a row
+        this.ensureCapacity(0);
+
+        this.cycle++;
+        this.cycleStarted = false;
+    }
+
+    /**
+     * Flush the output stream, if appropriate..
+     */
+    @Override
+    public void flush()
+    {
+        try
+        {
+            if (this.buffer.position() > 0)
+            {
+                this.writeBuffer();
+            }
+
+            this.fileWriter.flush();
+        }
+        catch (IOException e)
+        {
+            // best-effort...
+        }
+    }
+
+    private void putValue(LoggingKey key, byte recordType, long payload)
+    {
+        short index = this.schemaIndex[key.ordinal()];
+        if (index >= 0)
+        {
+            this.putRecord(index, recordType, payload);
+        }
+    }
+
+    private void putRecord(short index, byte recordType, long payload)
+    {
+        if (this.ensureCapacity(BinaryLogger.VALUE_RECORD_SIZE))
+        {
+            this.buffer.put(recordType);
+            this.buffer.putShort(index);
+            this.buffer.putLong(payload);
+        }
+    }
+
+    /**
+     * Make sure there is enough space in the buffer, writing out its current contents if necessary, and start the
+     * current cycle if its record hasn't been put into the buffer yet
+     * @param size of the record that will be added
+     * @return true if there is enough space for the record
+     */
+    private boolean ensureCapacity(int size)
+    {
+        int required = this.cycleStarted ? size : size + BinaryLogger.CYCLE_RECORD_SIZE;
+        if (this.buffer.remaining() < required)
+        {
+            try
+            {
+                this.writeBuffer();
+            }
+            catch (IOException e)
+            {
+                // best-effort...
+                this.buffer.clear();
+            }
+
+            if (this.buffer.remaining() < required)
+            {
+                return false;
+            }
+        }
+
+        if (!this.cycleStarted)
+        {
+            this.buffer.put(BinaryLogger.RECORD_CYCLE);
+            this.buffer.putInt(this.cycle);
+            this.cycleStarted = true;
+        }
+
+        return true;
+    }
+
+    private void writeBuffer() throws IOException
+    {
+        this.buffer.flip();
+        try
+        {
+            this.fileWriter.write(this.buffer);
+        }
+        finally
+        {
+            this.buffer.clear();
+        }
+    }
+
+    private static LoggingKey[] getDefaultSchema()
+    {
+        int count = 0;
+        LoggingKey[] keys = LoggingKey.values();
+        for (LoggingKey key : keys)
+        {
+            if (key.shouldLog)
+            {
+                count++;
+            }
+        }
+
+        int i = 0;
+        LoggingKey[] schema = new LoggingKey[count];
+        for (LoggingKey key : keys)
+        {
+            if (key.shouldLog)
+            {
+                schema[i++] = key;
+            }
+        }
+
+        return schema;
+    }
+}
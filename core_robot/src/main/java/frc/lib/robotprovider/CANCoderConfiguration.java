@@ -0,0 +1,49 @@
+package frc.lib.robotprovider;
+
+/**
+ * Declarative configuration for a CANCoder, with the same settings as ICANCoder.
+ * The settings are applied in the order that they were set.
+ */
+public class CANCoderConfiguration extends DeviceConfiguration<ICANCoder>
+{
+    private enum SettingType
+    {
+        SensorDirection,
+        AbsoluteRange,
+        MagnetOffset,
+    }
+
+    public void configSensorDirection(boolean clockwisePositive)
+    {
+        this.add(SettingType.SensorDirection, true, clockwisePositive);
+    }
+
+    public void configAbsoluteRange(boolean useZeroToThreeSixty)
+    {
+        this.add(SettingType.AbsoluteRange, true, useZeroToThreeSixty);
+    }
+
+    public void configMagnetOffset(double offsetDegrees)
+    {
+        this.add(SettingType.MagnetOffset, true, offsetDegrees);
+    }
+
+    @Override
+    protected void apply(ICANCoder device, Enum<?> type, Object[] args)
+    {
+        switch ((SettingType)type)
+        {
+            case SensorDirection:
+                device.configSensorDirection((Boolean)args[0]);
+                break;
+
+            case AbsoluteRange:
+                device.configAbsoluteRange((Boolean)args[0]);
+                break;
+
+            case MagnetOffset:
+                device.configMagnetOffset((Double)args[0]);
+                break;
+        }
+    }
+}
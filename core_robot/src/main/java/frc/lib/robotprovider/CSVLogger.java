@@ -2,7 +2,6 @@ package frc.lib.robotprovider;
 
 import java.io.IOException;
 import java.util.ArrayList;
-import java.util.Arrays;
 
 import frc.robot.LoggingKey;
 
@@ -111,8 +110,7 @@ public class CSVLogger extends StringLogger
             // best-effort...
         }
 
-        // clear the array
-        Arrays.fill(this.values, null);
+        // keep the values for the next row, as the LoggingManager only passes along values that have changed
     }
 
     /**
@@ -0,0 +1,317 @@
+package frc.lib.robotprovider;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Base for loggers that publish current values to a dashboard.
+ *
+ * Keeps a local shadow copy of the last value published for each key (indexed by LoggingKey ordinal) so that values
+ * that haven't changed are never sent, and applies each key's dashboard deadband, sample divisor and maximum publish
+ * rate.  A value that is held back by the divisor or rate limit is published by a later update() once the key's period
+ * has elapsed, so the dashboard always ends up showing the latest value.
+ */
+public abstract class DashboardLoggerBase implements ISmartDashboardLogger
+{
+    private static final LoggingKey[] KEYS = LoggingKey.values();
+
+    private static final byte KIND_NONE = 0;
+    private static final byte KIND_BOOLEAN = 1;
+    private static final byte KIND_NUMBER = 2;
+    private static final byte KIND_BOXED_NUMBER = 3; // published as a string, "N/A" when NaN
+    private static final byte KIND_BOXED_INTEGER = 4; // published as a string, "N/A" when NaN
+    private static final byte KIND_STRING = 5;
+    private static final byte KIND_BOOLEAN_ARRAY = 6;
+
+    private final double[] deadbands;
+    private final long[] minPeriodNanos;
+    private final int[] minPeriodCycles;
+
+    // last value published for each key
+    private final byte[] publishedKinds;
+    private final double[] publishedNumbers;
+    private final Object[] publishedObjects;
+    private final long[] publishedNanos;
+    private final long[] publishedCycles;
+
+    // latest value for each key that is waiting on its divisor or rate limit
+    private final byte[] pendingKinds;
+    private final double[] pendingNumbers;
+    private final Object[] pendingObjects;
+    private int pendingCount;
+
+    private long cycle;
+
+    protected DashboardLoggerBase()
+    {
+        int count = DashboardLoggerBase.KEYS.length;
+        this.deadbands = new double[count];
+        this.minPeriodNanos = new long[count];
+        this.minPeriodCycles = new int[count];
+        for (int i = 0; i < count; i++)
+        {
+            LoggingKey key = DashboardLoggerBase.KEYS[i];
+            this.deadbands[i] = key.dashboardDeadband;
+            this.minPeriodNanos[i] = key.dashboardMaxRate > 0.0 ? (long)(1000000000.0 / key.dashboardMaxRate) : 0L;
+            this.minPeriodCycles[i] = key.sampleDivisor;
+        }
+
+        this.publishedKinds = new byte[count];
+        this.publishedNumbers = new double[count];
+        this.publishedObjects = new Object[count];
+        this.publishedNanos = new long[count];
+        this.publishedCycles = new long[count];
+
+        this.pendingKinds = new byte[count];
+        this.pendingNumbers = new double[count];
+        this.pendingObjects = new Object[count];
+        this.pendingCount = 0;
+
+        this.cycle = 0L;
+    }
+
+    /**
+     * Publish a boolean to the dashboard
+     * @param key to publish to
+     * @param value to publish
+     */
+    protected abstract void publishBoolean(LoggingKey key, boolean value);
+
+    /**
+     * Publish a boolean array to the dashboard
+     * @param key to publish to
+     * @param value to publish
+     */
+    protected abstract void publishBooleanArray(LoggingKey key, boolean[] value);
+
+    /**
+     * Publish a number to the dashboard
+     * @param key to publish to
+     * @param value to publish
+     */
+    protected abstract void publishNumber(LoggingKey key, double value);
+
+    /**
+     * Publish a string to the dashboard
+     * @param key to publish to
+     * @param value to publish
+     */
+    protected abstract void publishString(LoggingKey key, String value);
+
+    /**
+     * Get the current time, for rate limiting
+     * @return time in nanoseconds
+     */
+    protected long getTimeNanos()
+    {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_BOOLEAN, value ? 1.0 : 0.0, null);
+    }
+
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        int ordinal = key.ordinal();
+        if (this.publishedKinds[ordinal] == DashboardLoggerBase.KIND_BOOLEAN_ARRAY &&
+            Arrays.equals((boolean[])this.publishedObjects[ordinal], value))
+        {
+            // (check before copying, as the array is usually unchanged)
+            this.clearPending(ordinal);
+            return;
+        }
+
+        this.offer(ordinal, DashboardLoggerBase.KIND_BOOLEAN_ARRAY, 0.0, value == null ? null : value.clone());
+    }
+
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_NUMBER, value, null);
+    }
+
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_BOXED_NUMBER, value == null ? Double.NaN : value.doubleValue(), null);
+    }
+
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_NUMBER, value, null);
+    }
+
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_BOXED_INTEGER, value == null ? Double.NaN : value.doubleValue(), null);
+    }
+
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_NUMBER, value, null);
+    }
+
+    @Override
+    public void logPoint(LoggingKey key, IPoint value)
+    {
+        String valueString = "N/A";
+        if (value != null)
+        {
+            valueString = String.format("(%f, %f)", value.getX(), value.getY());
+        }
+
+        this.logString(key, valueString);
+    }
+
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        this.offer(key.ordinal(), DashboardLoggerBase.KIND_STRING, 0.0, value);
+    }
+
+    /**
+     * End the cycle, and publish any values that were held back by their key's divisor or rate limit, now that their
+     * period has elapsed
+     */
+    @Override
+    public void update()
+    {
+        this.cycle++;
+        if (this.pendingCount == 0)
+        {
+            return;
+        }
+
+        long now = this.getTimeNanos();
+        for (int ordinal = 0; ordinal < this.pendingKinds.length; ordinal++)
+        {
+            byte kind = this.pendingKinds[ordinal];
+            if (kind != DashboardLoggerBase.KIND_NONE && !this.isHeldBack(ordinal, now))
+            {
+                double number = this.pendingNumbers[ordinal];
+                Object object = this.pendingObjects[ordinal];
+                this.clearPending(ordinal);
+                this.publish(ordinal, kind, number, object, now);
+            }
+        }
+    }
+
+    @Override
+    public void flush()
+    {
+    }
+
+    private void offer(int ordinal, byte kind, double number, Object object)
+    {
+        if (this.isPublished(ordinal, kind, number, object))
+        {
+            this.clearPending(ordinal);
+            return;
+        }
+
+        long now = this.getTimeNanos();
+        if (this.publishedKinds[ordinal] != DashboardLoggerBase.KIND_NONE && this.isHeldBack(ordinal, now))
+        {
+            if (this.pendingKinds[ordinal] == DashboardLoggerBase.KIND_NONE)
+            {
+                this.pendingCount++;
+            }
+
+            this.pendingKinds[ordinal] = kind;
+            this.pendingNumbers[ordinal] = number;
+            this.pendingObjects[ordinal] = object;
+            return;
+        }
+
+        this.clearPending(ordinal);
+        this.publish(ordinal, kind, number, object, now);
+    }
+
+    private boolean isHeldBack(int ordinal, long now)
+    {
+        return this.cycle - this.publishedCycles[ordinal] < this.minPeriodCycles[ordinal] ||
+            now - this.publishedNanos[ordinal] < this.minPeriodNanos[ordinal];
+    }
+
+    private boolean isPublished(int ordinal, byte kind, double number, Object object)
+    {
+        if (this.publishedKinds[ordinal] != kind)
+        {
+            return false;
+        }
+
+        switch (kind)
+        {
+            case DashboardLoggerBase.KIND_STRING:
+                return Objects.equals(this.publishedObjects[ordinal], object);
+
+            case DashboardLoggerBase.KIND_BOOLEAN_ARRAY:
+                return Arrays.equals((boolean[])this.publishedObjects[ordinal], (boolean[])object);
+
+            default:
+                double publishedNumber = this.publishedNumbers[ordinal];
+                if (Double.isNaN(publishedNumber) || Double.isNaN(number))
+                {
+                    return Double.isNaN(publishedNumber) && Double.isNaN(number);
+                }
+
+                return Math.abs(publishedNumber - number) <= this.deadbands[ordinal];
+        }
+    }
+
+    private void clearPending(int ordinal)
+    {
+        if (this.pendingKinds[ordinal] != DashboardLoggerBase.KIND_NONE)
+        {
+            this.pendingKinds[ordinal] = DashboardLoggerBase.KIND_NONE;
+            this.pendingObjects[ordinal] = null;
+            this.pendingCount--;
+        }
+    }
+
+    private void publish(int ordinal, byte kind, double number, Object object, long now)
+    {
+        this.publishedKinds[ordinal] = kind;
+        this.publishedNumbers[ordinal] = number;
+        this.publishedObjects[ordinal] = object;
+        this.publishedNanos[ordinal] = now;
+        this.publishedCycles[ordinal] = this.cycle;
+
+        LoggingKey key = DashboardLoggerBase.KEYS[ordinal];
+        switch (kind)
+        {
+            case DashboardLoggerBase.KIND_BOOLEAN:
+                this.publishBoolean(key, number != 0.0);
+                break;
+
+            case DashboardLoggerBase.KIND_NUMBER:
+                this.publishNumber(key, number);
+                break;
+
+            case DashboardLoggerBase.KIND_BOXED_NUMBER:
+                this.publishString(key, Double.isNaN(number) ? "N/A" : String.valueOf(number));
+                break;
+
+            case DashboardLoggerBase.KIND_BOXED_INTEGER:
+                this.publishString(key, Double.isNaN(number) ? "N/A" : String.valueOf((int)number));
+                break;
+
+            case DashboardLoggerBase.KIND_STRING:
+                this.publishString(key, (String)object);
+                break;
+
+            case DashboardLoggerBase.KIND_BOOLEAN_ARRAY:
+                this.publishBooleanArray(key, (boolean[])object);
+                break;
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package frc.lib.robotprovider;
+
+import java.util.ArrayList;
+
+/**
+ * Declarative configuration for a device: the settings are collected up-front (in the order they should be applied),
+ * and then applied to the device all at once by the DeviceConfigurator.
+ *
+ * Settings are either persistent (stored in the device's flash, so they survive the device rebooting) or not (and
+ * must be re-applied every time the robot code starts).  The hash of the persistent settings is stored on the device
+ * once they have been applied, so that they can be skipped when the robot code restarts with the same configuration
+ * (e.g. after a brownout).
+ *
+ * @param <T> type of the device
+ */
+public abstract class DeviceConfiguration<T extends IConfigurableDevice>
+{
+    private final ArrayList<Setting> settings;
+
+    protected DeviceConfiguration()
+    {
+        this.settings = new ArrayList<Setting>();
+    }
+
+    /**
+     * Apply the settings to the device
+     * @param device to configure
+     * @param includePersistent whether to apply the persistent settings, or only the other settings
+     */
+    public void apply(T device, boolean includePersistent)
+    {
+        for (Setting setting : this.settings)
+        {
+            if (includePersistent || !setting.persistent)
+            {
+                this.apply(device, setting.type, setting.args);
+            }
+        }
+    }
+
+    /**
+     * Get a hash of the persistent settings which is the same every time the robot code runs, as long as the settings
+     * don't change
+     * @return the hash (never 0, which means that no configuration has been stored on a device)
+     */
+    public int getHash()
+    {
+        int hash = 1;
+        for (Setting setting : this.settings)
+        {
+            if (!setting.persistent)
+            {
+                continue;
+            }
+
+            hash = 31 * hash + setting.type.name().hashCode();
+            for (Object arg : setting.args)
+            {
+                hash = 31 * hash + DeviceConfiguration.getStableHash(arg);
+            }
+        }
+
+        return hash == 0 ? 1 : hash;
+    }
+
+    /**
+     * Add a setting to apply
+     * @param type of the setting
+     * @param persistent whether the setting is stored in the device's flash
+     * @param args for the setting
+     */
+    protected void add(Enum<?> type, boolean persistent, Object... args)
+    {
+        this.settings.add(new Setting(type, persistent, args));
+    }
+
+    /**
+     * Apply a single setting to the device
+     * @param device to configure
+     * @param type of the setting
+     * @param args for the setting
+     */
+    protected abstract void apply(T device, Enum<?> type, Object[] args);
+
+    /**
+     * Get a hash of the argument that doesn't change between runs (unlike the hashCode of an enum)
+     */
+    private static int getStableHash(Object arg)
+    {
+        if (arg instanceof Enum<?>)
+        {
+            return ((Enum<?>)arg).name().hashCode();
+        }
+        else if (arg instanceof Double)
+        {
+            long bits = Double.doubleToLongBits((Double)arg);
+            return (int)(bits ^ (bits >>> 32));
+        }
+        else if (arg instanceof Integer)
+        {
+            return (Integer)arg;
+        }
+        else if (arg instanceof Boolean)
+        {
+            return (Boolean)arg ? 1231 : 1237;
+        }
+
+        return 0;
+    }
+
+    private static class Setting
+    {
+        private final Enum<?> type;
+        private final boolean persistent;
+        private final Object[] args;
+
+        Setting(Enum<?> type, boolean persistent, Object[] args)
+        {
+            this.type = type;
+            this.persistent = persistent;
+            this.args = args;
+        }
+    }
+}
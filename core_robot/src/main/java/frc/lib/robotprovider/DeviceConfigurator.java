@@ -0,0 +1,229 @@
+package frc.lib.robotprovider;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+import frc.robot.TuningConstants;
+
+/**
+ * Applies the configurations of a set of devices in parallel (as each configuration call can block waiting for the
+ * device to respond), retrying any device that doesn't respond and giving up on devices that take too long.
+ *
+ * The persistent settings are skipped for any device that has already had the same configuration applied (as shown
+ * by the hash stored on the device), which makes restarting the robot code much quicker.  The stored hash is cleared
+ * before applying changed persistent settings, and only stored again once all of them have succeeded.
+ *
+ * The device libraries don't respond to interruption, so a configuration that times out may still be talking to its
+ * device for a while.  apply() always waits for those configurations to stop before returning, so that nothing else
+ * (e.g. the mechanism's first update) can talk to a device while it is still being configured.
+ */
+@Singleton
+public class DeviceConfigurator
+{
+    private final int threads;
+    private final long timeoutMillis;
+    private final ArrayList<Entry<?>> entries;
+
+    @Inject
+    public DeviceConfigurator()
+    {
+        this(TuningConstants.DEVICE_CONFIGURATION_THREADS);
+    }
+
+    /**
+     * Initializes a new DeviceConfigurator
+     * @param threads number of devices to configure at once (0 to configure them one after another on the calling thread)
+     */
+    public DeviceConfigurator(int threads)
+    {
+        this(threads, TuningConstants.DEVICE_CONFIGURATION_TIMEOUT);
+    }
+
+    /**
+     * Initializes a new DeviceConfigurator
+     * @param threads number of devices to configure at once (0 to configure them one after another on the calling thread)
+     * @param timeout longest to wait for the devices to be configured before giving up on them (in seconds)
+     */
+    public DeviceConfigurator(int threads, double timeout)
+    {
+        this.threads = threads;
+        this.timeoutMillis = (long)(timeout * 1000.0);
+        this.entries = new ArrayList<Entry<?>>();
+    }
+
+    /**
+     * Add a device to be configured by the next call to apply()
+     * @param name of the device (for warnings)
+     * @param device to configure
+     * @param configuration to apply to the device
+     */
+    public synchronized <T extends IConfigurableDevice> void add(String name, T device, DeviceConfiguration<? super T> configuration)
+    {
+        this.entries.add(new Entry<T>(name, device, configuration));
+    }
+
+    /**
+     * Configure all of the devices that have been added since the last call, waiting until they are done (or have taken
+     * longer than the timeout, in which case they are abandoned once they stop talking to their devices)
+     * @return true if every device was configured, otherwise false
+     */
+    public synchronized boolean apply()
+    {
+        ArrayList<Entry<?>> entries = new ArrayList<Entry<?>>(this.entries);
+        this.entries.clear();
+
+        if (this.threads <= 0 || entries.size() <= 1)
+        {
+            boolean success = true;
+            for (Entry<?> entry : entries)
+            {
+                if (!entry.call())
+                {
+                    System.err.println("Failed to configure " + entry.name);
+                    success = false;
+                }
+            }
+
+            return success;
+        }
+
+        ExecutorService executor = Executors.newFixedThreadPool(
+            Math.min(this.threads, entries.size()),
+            runnable ->
+            {
+                Thread thread = new Thread(runnable, "DeviceConfigurator");
+                thread.setDaemon(true);
+                return thread;
+            });
+
+        try
+        {
+            // unfinished configurations are cancelled once the timeout has passed
+            List<Future<Boolean>> futures = executor.invokeAll(entries, this.timeoutMillis, TimeUnit.MILLISECONDS);
+
+            boolean success = true;
+            for (int i = 0; i < futures.size(); i++)
+            {
+                String name = entries.get(i).name;
+                try
+                {
+                    if (!futures.get(i).get())
+                    {
+                        System.err.println("Failed to configure " + name);
+                        success = false;
+                    }
+                }
+                catch (CancellationException ex)
+                {
+                    System.err.println("Timed out configuring " + name);
+                    success = false;
+                }
+                catch (ExecutionException ex)
+                {
+                    System.err.println("Failed to configure " + name + ": " + ex.getCause());
+                    success = false;
+                }
+            }
+
+            return success;
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+        finally
+        {
+            // cancelled configurations only stop between attempts, so wait for them rather than leaving them running
+            executor.shutdownNow();
+            DeviceConfigurator.awaitTermination(executor);
+        }
+    }
+
+    private static void awaitTermination(ExecutorService executor)
+    {
+        boolean interrupted = false;
+        while (!executor.isTerminated())
+        {
+            try
+            {
+                executor.awaitTermination(1L, TimeUnit.SECONDS);
+            }
+            catch (InterruptedException ex)
+            {
+                interrupted = true;
+            }
+        }
+
+        if (interrupted)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Entry<T extends IConfigurableDevice> implements Callable<Boolean>
+    {
+        private final String name;
+        private final T device;
+        private final DeviceConfiguration<? super T> configuration;
+
+        Entry(String name, T device, DeviceConfiguration<? super T> configuration)
+        {
+            this.name = name;
+            this.device = device;
+            this.configuration = configuration;
+        }
+
+        @Override
+        public Boolean call()
+        {
+            int hash = this.configuration.getHash();
+            for (int attempt = 0; attempt < TuningConstants.DEVICE_CONFIGURATION_ATTEMPTS; attempt++)
+            {
+                if (Thread.currentThread().isInterrupted())
+                {
+                    return false;
+                }
+
+                // start counting errors from here
+                this.device.getConfigurationErrors();
+
+                boolean unchanged = TuningConstants.DEVICE_CONFIGURATION_SKIP_UNCHANGED && this.device.getConfigurationHash() == hash;
+                if (!unchanged)
+                {
+                    // forget the previous configuration, in case we only get part of the way through this one
+                    this.device.setConfigurationHash(0);
+                }
+
+                this.configuration.apply(this.device, !unchanged);
+                if (this.device.getConfigurationErrors() != 0)
+                {
+                    continue;
+                }
+
+                if (!unchanged)
+                {
+                    this.device.setConfigurationHash(hash);
+                    if (this.device.getConfigurationErrors() != 0)
+                    {
+                        continue;
+                    }
+                }
+
+                return true;
+            }
+
+            return false;
+        }
+    }
+}
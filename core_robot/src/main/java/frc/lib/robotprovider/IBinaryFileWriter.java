@@ -0,0 +1,20 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public interface IBinaryFileWriter
+{
+    /**
+     * Write all of the remaining bytes of the buffer to the file
+     * @param buffer to write from (its position will be advanced to its limit)
+     * @throws IOException
+     */
+    public void write(ByteBuffer buffer) throws IOException;
+
+    /**
+     * Hand everything that has been written so far off to the operating system (without waiting for it to reach the disk)
+     * @throws IOException
+     */
+    public void flush() throws IOException;
+}
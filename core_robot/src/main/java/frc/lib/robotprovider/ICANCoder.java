@@ -1,6 +1,6 @@
 package frc.lib.robotprovider;
 
-public interface ICANCoder
+public interface ICANCoder extends IConfigurableDevice
 {
     /**
      * Gets the position of the sensor.  This may be relative or absolute depending on configuration.
@@ -0,0 +1,22 @@
+package frc.lib.robotprovider;
+
+public interface IConfigurableDevice
+{
+    /**
+     * Gets the hash of the configuration that was last stored on the device (which persists across reboots).
+     * @return the hash, or 0 if there isn't one (or it couldn't be read)
+     */
+    int getConfigurationHash();
+
+    /**
+     * Stores the hash of the configuration that has been applied on the device.
+     * @param hash to store
+     */
+    void setConfigurationHash(int hash);
+
+    /**
+     * Gets the number of calls to the device that have failed (e.g. timed out) since the last time this was called.
+     * @return number of failed calls
+     */
+    int getConfigurationErrors();
+}
@@ -0,0 +1,18 @@
+package frc.lib.robotprovider;
+
+public interface ICvSink
+{
+    /**
+     * Wait for the next frame from the source and copy it into the image.
+     * @param image to copy the frame into
+     * @param timeout the longest to wait for a frame (in seconds)
+     * @return the time the frame was captured (in microseconds, a la INetworkTableProvider.getNetworkTime()), or 0 on error
+     */
+    long grabFrame(IMat image, double timeout);
+
+    /**
+     * Get the error from the last call to grabFrame that failed
+     * @return error message
+     */
+    String getError();
+}
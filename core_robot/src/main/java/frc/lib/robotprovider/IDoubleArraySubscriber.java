@@ -0,0 +1,12 @@
+package frc.lib.robotprovider;
+
+public interface IDoubleArraySubscriber
+{
+    /**
+     * Read each of the values that have been published since the last call, oldest first (dropping the oldest values
+     * if there are more than will fit)
+     * @param values arrays to copy the values into, with the rest of each array filled with NaN if the value is shorter
+     * @return the number of values that were read
+     */
+    int readQueue(double[][] values);
+}
@@ -9,4 +9,5 @@ public interface IFile
     public long getFreeSpace();
     public void mkdir();
     public IFileWriter openWriter() throws IOException;
+    public IBinaryFileWriter openBinaryWriter() throws IOException;
 }
\ No newline at end of file
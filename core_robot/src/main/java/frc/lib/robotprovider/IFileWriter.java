@@ -6,4 +6,10 @@ public interface IFileWriter
 {
     public void append(String string) throws IOException;
     public void flush() throws IOException;
+
+    /**
+     * Flush and close the file (the writer can't be used afterwards)
+     * @throws IOException
+     */
+    public void close() throws IOException;
 }
\ No newline at end of file
@@ -15,4 +15,6 @@ public interface INetworkTableProvider
     IIntegerSubscriber getIntegerSubscriber(String key, int defaultValue);
     IStringSubscriber getStringSubscriber(String key);
     IStringSubscriber getStringSubscriber(String key, String defaultValue);
+    IDoubleArraySubscriber getDoubleArraySubscriber(String key, int queueSize);
+    long getNetworkTime();
 }
@@ -23,6 +23,9 @@ public interface ISparkMax
     void reset();
     double getPosition();
     double getVelocity();
+    void readStatus(MotorStatus status);
     boolean getForwardLimitSwitchStatus();
     boolean getReverseLimitSwitchStatus();
+    long getControlRequestsSent();
+    long getControlRequestsSuppressed();
 }
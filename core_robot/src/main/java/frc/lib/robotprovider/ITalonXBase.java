@@ -1,6 +1,6 @@
 package frc.lib.robotprovider;
 
-public interface ITalonXBase extends IMotor
+public interface ITalonXBase extends IMotor, IConfigurableDevice
 {
     void follow(ITalonSRX talonSRX);
     void follow(ITalonFX talonFX);
@@ -29,5 +29,8 @@ public interface ITalonXBase extends IMotor
     double getPosition();
     double getVelocity();
     double getError();
+    void readStatus(MotorStatus status);
     TalonXLimitSwitchStatus getLimitSwitchStatus();
+    long getControlRequestsSent();
+    long getControlRequestsSuppressed();
 }
@@ -4,4 +4,15 @@ public interface ITrajectory
 {
     double getDuration();
     TrajectoryState get(double time);
+
+    /**
+     * Gets the state of the trajectory at the provided time, without allocating (for trajectories that support it)
+     * @param time in seconds since start of trajectory
+     * @param state to update with the state at that time
+     */
+    default void get(double time, TrajectoryState state)
+    {
+        TrajectoryState current = this.get(time);
+        state.set(current.xPosition, current.yPosition, current.angle, current.xVelocity, current.yVelocity, current.angleVelocity);
+    }
 }
@@ -39,4 +39,10 @@ public interface IUsbCamera
      * @return
      */
     public <T extends IVisionPipeline> Thread createVisionThread(IVisionListener<T> listener, T pipeline);
+
+    /**
+     * create a sink for grabbing frames from the camera as images
+     * @return sink
+     */
+    public ICvSink createCvSink();
 }
\ No newline at end of file
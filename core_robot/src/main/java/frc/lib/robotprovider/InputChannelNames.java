@@ -0,0 +1,215 @@
+package frc.lib.robotprovider;
+
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Cache of the names of the channels for the calls to one device's functions (see InputLog.getChannelName()), used by
+ * the InputRecorder and InputReplayer so that the names aren't built again for every call.  The names depend on the
+ * source of the calling thread (see InputLog.setSource()).  Safe to use from multiple threads.
+ */
+class InputChannelNames
+{
+    private static final Object NULL_KEY = new Object();
+
+    private final String deviceName;
+    private final ConcurrentHashMap<Method, Function> loopFunctions;
+    private final ConcurrentHashMap<String, ConcurrentHashMap<Method, Function>> sourceFunctions;
+
+    /**
+     * Initializes a new InputChannelNames
+     * @param deviceName of the device (see InputLog.getDeviceName())
+     */
+    InputChannelNames(String deviceName)
+    {
+        this.deviceName = deviceName;
+        this.loopFunctions = new ConcurrentHashMap<Method, Function>();
+        this.sourceFunctions = new ConcurrentHashMap<String, ConcurrentHashMap<Method, Function>>();
+    }
+
+    /**
+     * Get the cached details of one of the device's functions, for the source of the calling thread
+     * @param method of the function
+     * @return function details
+     */
+    Function get(Method method)
+    {
+        String source = InputLog.getSource();
+        ConcurrentHashMap<Method, Function> functions = this.loopFunctions;
+        if (source != null)
+        {
+            functions = this.sourceFunctions.get(source);
+            if (functions == null)
+            {
+                this.sourceFunctions.putIfAbsent(source, new ConcurrentHashMap<Method, Function>());
+                functions = this.sourceFunctions.get(source);
+            }
+        }
+
+        Function function = functions.get(method);
+        if (function == null)
+        {
+            function = new Function(InputLog.getSourceDeviceName(this.deviceName, source), method);
+            Function existing = functions.putIfAbsent(method, function);
+            if (existing != null)
+            {
+                function = existing;
+            }
+        }
+
+        return function;
+    }
+
+    /**
+     * The channel names for one function of the device
+     */
+    static class Function
+    {
+        private final String deviceName;
+        private final Method method;
+        private final boolean[] outParameters;
+        private final boolean hasOutParameters;
+
+        // the arguments that distinguish one call's channel from another's (e.g. the axis of getAxis(int))
+        private final int[] keyArguments;
+
+        // the names when there are no key arguments (filled in by the first call), otherwise cached by the key argument(s)
+        private volatile String name;
+        private volatile String[] outParameterNames;
+        private final ConcurrentHashMap<Object, String> names;
+
+        Function(String deviceName, Method method)
+        {
+            this.deviceName = deviceName;
+            this.method = method;
+
+            Class<?>[] parameterTypes = method.getParameterTypes();
+            this.outParameters = new boolean[parameterTypes.length];
+            boolean hasOutParameters = false;
+            int keyArgumentCount = 0;
+            for (int i = 0; i < parameterTypes.length; i++)
+            {
+                this.outParameters[i] = InputLog.isOutParameter(method, i);
+                if (this.outParameters[i])
+                {
+                    hasOutParameters = true;
+                }
+                else if (!parameterTypes[i].isArray())
+                {
+                    keyArgumentCount++;
+                }
+            }
+
+            this.hasOutParameters = hasOutParameters;
+            this.keyArguments = new int[keyArgumentCount];
+            for (int i = 0, j = 0; i < parameterTypes.length; i++)
+            {
+                if (!this.outParameters[i] && !parameterTypes[i].isArray())
+                {
+                    this.keyArguments[j++] = i;
+                }
+            }
+
+            this.name = null;
+            this.outParameterNames = null;
+            this.names = keyArgumentCount == 0 ? null : new ConcurrentHashMap<Object, String>();
+        }
+
+        /**
+         * Check whether the function fills in any of its arguments
+         * @return true if there are out-parameters
+         */
+        boolean hasOutParameters()
+        {
+            return this.hasOutParameters;
+        }
+
+        /**
+         * Check whether an argument of the function is filled in by it (see InputLog.isOutParameter())
+         * @param index of the argument
+         * @return true if it is an out-parameter
+         */
+        boolean isOutParameter(int index)
+        {
+            return this.outParameters[index];
+        }
+
+        /**
+         * Get the name of the channel for a call to the function
+         * @param args that the function was called with
+         * @return the name of the channel
+         */
+        String getName(Object[] args)
+        {
+            if (this.names == null)
+            {
+                String name = this.name;
+                if (name == null)
+                {
+                    // (if two threads get here at once, they build the same name)
+                    name = InputLog.getChannelName(this.deviceName, this.method, args);
+                    String[] outParameterNames = new String[this.outParameters.length];
+                    for (int i = 0; i < outParameterNames.length; i++)
+                    {
+                        if (this.outParameters[i])
+                        {
+                            outParameterNames[i] = InputLog.getOutParameterChannelName(name, i);
+                        }
+                    }
+
+                    this.outParameterNames = outParameterNames;
+                    this.name = name;
+                }
+
+                return name;
+            }
+
+            Object key;
+            if (this.keyArguments.length == 1)
+            {
+                key = args[this.keyArguments[0]];
+                if (key == null)
+                {
+                    key = InputChannelNames.NULL_KEY;
+                }
+            }
+            else
+            {
+                Object[] keys = new Object[this.keyArguments.length];
+                for (int i = 0; i < keys.length; i++)
+                {
+                    keys[i] = args[this.keyArguments[i]];
+                }
+
+                key = Arrays.asList(keys);
+            }
+
+            String name = this.names.get(key);
+            if (name == null)
+            {
+                name = InputLog.getChannelName(this.deviceName, this.method, args);
+                this.names.putIfAbsent(key, name);
+            }
+
+            return name;
+        }
+
+        /**
+         * Get the name of the channel for an out-parameter of a call to the function
+         * @param channelName of the call (from getName())
+         * @param index of the argument
+         * @return the name of the channel
+         */
+        String getOutParameterName(String channelName, int index)
+        {
+            String[] outParameterNames = this.outParameterNames;
+            if (outParameterNames != null)
+            {
+                return outParameterNames[index];
+            }
+
+            return InputLog.getOutParameterChannelName(channelName, index);
+        }
+    }
+}
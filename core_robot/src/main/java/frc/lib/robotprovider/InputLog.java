@@ -0,0 +1,532 @@
+package frc.lib.robotprovider;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.Method;
+
+/**
+ * Layout of the input logs written by the InputRecorder and read back by the InputReplayer.
+ *
+ * File layout (big-endian, as written by a DataOutputStream):
+ * - header: magic (int), version (short)
+ * - channel definition record: 'K' (byte), channel id (int), channel name (UTF)
+ * - value record: 'V' (byte), channel id (int), value type (byte), value
+ * - step record: 'P' (byte), step type (byte), robot mode ordinal (byte)
+ *
+ * A channel is one thing that the robot code read, named for the device, the function and its arguments (e.g.
+ * "TalonFX[5].getPosition()" or "Joystick[0].getAxis(1)").  A channel's value holds until a later value record for it
+ * replaces it, so only the values that changed need to be written.  The values read during a step (robotInit, a mode's
+ * init, or a periodic loop) are written before that step's record.
+ *
+ * Values read by a background sampler (e.g. the odometry thread, see setSource()) are kept in channels of their own,
+ * named for the device and the sampler (e.g. "TalonFX[5]@Odometry.getVelocity()"), so that they never replace the
+ * values that the robot loop itself read.
+ */
+public class InputLog
+{
+    public static final int MAGIC = 0x49525349; // "IRSI"
+    public static final short VERSION = 1;
+
+    public static final byte RECORD_CHANNEL_DEFINITION = 'K';
+    public static final byte RECORD_VALUE = 'V';
+    public static final byte RECORD_STEP = 'P';
+
+    public static final byte STEP_ROBOT_INIT = 0;
+    public static final byte STEP_MODE_INIT = 1;
+    public static final byte STEP_PERIODIC = 2;
+
+    public static final String TIMER = "Timer";
+
+    private static final byte VALUE_NULL = 'N';
+    private static final byte VALUE_BOOLEAN = 'Z';
+    private static final byte VALUE_INTEGER = 'I';
+    private static final byte VALUE_LONG = 'J';
+    private static final byte VALUE_FLOAT = 'F';
+    private static final byte VALUE_DOUBLE = 'D';
+    private static final byte VALUE_STRING = 'S';
+    private static final byte VALUE_ENUM = 'E';
+    private static final byte VALUE_BOOLEAN_ARRAY = 'B';
+    private static final byte VALUE_LONG_ARRAY = 'L';
+    private static final byte VALUE_DOUBLE_ARRAY = 'A';
+    private static final byte VALUE_DOUBLE_MATRIX = 'M';
+    private static final byte VALUE_STRING_ARRAY = 'T';
+    private static final byte VALUE_LIMIT_SWITCH_STATUS = 'W';
+    private static final byte VALUE_MOTOR_STATUS = 'U';
+
+    // the sampler that the current thread is reading devices for, or null for the robot loop
+    private static final ThreadLocal<String> SOURCE = new ThreadLocal<String>();
+
+    private InputLog()
+    {
+    }
+
+    /**
+     * Set the source of the device reads made by the current thread, so that a background sampler's values are
+     * recorded (and replayed) separately from the robot loop's.  A sampler should set its source whenever it reads its
+     * devices, whether it is running on its own thread or being driven by the robot loop.
+     * @param source of the reads (e.g. "Odometry"), or null for the robot loop
+     * @return the previous source, to restore afterwards
+     */
+    public static String setSource(String source)
+    {
+        String previous = InputLog.SOURCE.get();
+        if (previous != source)
+        {
+            InputLog.SOURCE.set(source);
+        }
+
+        return previous;
+    }
+
+    /**
+     * Get the source of the device reads made by the current thread
+     * @return the source, or null for the robot loop
+     */
+    public static String getSource()
+    {
+        return InputLog.SOURCE.get();
+    }
+
+    /**
+     * Get the name that a device's channels are recorded under for reads from the provided source, a la "TalonFX[5]@Odometry"
+     * @param deviceName of the device
+     * @param source of the reads, or null for the robot loop
+     * @return the name of the device for that source
+     */
+    public static String getSourceDeviceName(String deviceName, String source)
+    {
+        return source == null ? deviceName : deviceName + "@" + source;
+    }
+
+    /**
+     * Get the name for a device, a la "TalonFX[5]" or "Compressor[1:REVPH]"
+     * @param type of the device
+     * @param ids that distinguish the device from others of the same type
+     * @return the name of the device
+     */
+    public static String getDeviceName(String type, Object... ids)
+    {
+        if (ids.length == 0)
+        {
+            return type;
+        }
+
+        StringBuilder builder = new StringBuilder(type);
+        builder.append('[');
+        for (int i = 0; i < ids.length; i++)
+        {
+            if (i > 0)
+            {
+                builder.append(':');
+            }
+
+            builder.append(ids[i]);
+        }
+
+        builder.append(']');
+        return builder.toString();
+    }
+
+    /**
+     * Get the name of the channel for a call to a function of a device, a la "Joystick[0].getAxis(1)"
+     * @param deviceName of the device
+     * @param method that was called
+     * @param args that the function was called with (out-parameters and any arrays are left out)
+     * @return the name of the channel
+     */
+    public static String getChannelName(String deviceName, Method method, Object[] args)
+    {
+        StringBuilder builder = new StringBuilder(deviceName);
+        builder.append('.');
+        builder.append(method.getName());
+        builder.append('(');
+        if (args != null)
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                if (i > 0)
+                {
+                    builder.append(',');
+                }
+
+                if (!InputLog.isOutParameter(method, i) &&
+                    (args[i] == null || !args[i].getClass().isArray()))
+                {
+                    builder.append(args[i]);
+                }
+            }
+        }
+
+        builder.append(')');
+        return builder.toString();
+    }
+
+    /**
+     * Get the name of the channel for an out-parameter of a call to a function of a device, a la "Pigeon2[1].getYawPitchRoll()#0"
+     * @param channelName of the call
+     * @param index of the argument
+     * @return the name of the channel
+     */
+    public static String getOutParameterChannelName(String channelName, int index)
+    {
+        return channelName + "#" + index;
+    }
+
+    /**
+     * Check whether the arguments of a function are filled in by it (e.g. getYawPitchRoll(double[]), readQueue(double[][]) or readStatus(MotorStatus))
+     * @param method to check
+     * @param index of the argument
+     * @return true if the argument is an out-parameter
+     */
+    public static boolean isOutParameter(Method method, int index)
+    {
+        Class<?> type = method.getParameterTypes()[index];
+        return (type == double[].class || type == double[][].class || type == MotorStatus.class) &&
+            (method.getName().startsWith("get") || method.getName().startsWith("read"));
+    }
+
+    /**
+     * Check whether values of the provided type can be written into the log
+     * @param type to check
+     * @return true if it can be written
+     */
+    public static boolean isValueType(Class<?> type)
+    {
+        return type.isPrimitive() && type != void.class ||
+            type == Boolean.class ||
+            type == Integer.class ||
+            type == Long.class ||
+            type == Float.class ||
+            type == Double.class ||
+            type == String.class ||
+            type.isEnum() ||
+            type == boolean[].class ||
+            type == long[].class ||
+            type == double[].class ||
+            type == double[][].class ||
+            type == String[].class ||
+            type == TalonXLimitSwitchStatus.class;
+    }
+
+    /**
+     * Check whether the provided type is a device whose values should be recorded in turn (e.g. a subscriber returned
+     * by the network table provider)
+     * @param type to check
+     * @return true if it is one of our device interfaces
+     */
+    public static boolean isDeviceType(Class<?> type)
+    {
+        return type.isInterface() && type.getPackage() == InputLog.class.getPackage();
+    }
+
+    /**
+     * Get the value to return for a function when nothing was recorded for it
+     * @param type the function returns
+     * @return zero/false for primitives, otherwise null
+     */
+    public static Object getDefaultValue(Class<?> type)
+    {
+        if (type == boolean.class)
+        {
+            return false;
+        }
+        else if (type == int.class)
+        {
+            return 0;
+        }
+        else if (type == long.class)
+        {
+            return 0L;
+        }
+        else if (type == float.class)
+        {
+            return 0.0f;
+        }
+        else if (type == double.class)
+        {
+            return 0.0;
+        }
+
+        return null;
+    }
+
+    /**
+     * Copy a value, so that later changes to an array don't change the copy
+     * @param value to copy
+     * @return the copy
+     */
+    public static Object copy(Object value)
+    {
+        if (value instanceof double[][])
+        {
+            double[][] matrix = ((double[][])value).clone();
+            for (int i = 0; i < matrix.length; i++)
+            {
+                matrix[i] = matrix[i] == null ? null : matrix[i].clone();
+            }
+
+            return matrix;
+        }
+        else if (value instanceof boolean[])
+        {
+            return ((boolean[])value).clone();
+        }
+        else if (value instanceof long[])
+        {
+            return ((long[])value).clone();
+        }
+        else if (value instanceof double[])
+        {
+            return ((double[])value).clone();
+        }
+        else if (value instanceof String[])
+        {
+            return ((String[])value).clone();
+        }
+        else if (value instanceof MotorStatus)
+        {
+            MotorStatus status = new MotorStatus();
+            status.copyFrom((MotorStatus)value);
+            return status;
+        }
+
+        return value;
+    }
+
+    /**
+     * Write a value into the log
+     * @param output to write into
+     * @param value to write
+     * @throws IOException
+     */
+    public static void writeValue(DataOutputStream output, Object value) throws IOException
+    {
+        if (value == null)
+        {
+            output.writeByte(InputLog.VALUE_NULL);
+        }
+        else if (value instanceof Boolean)
+        {
+            output.writeByte(InputLog.VALUE_BOOLEAN);
+            output.writeBoolean((Boolean)value);
+        }
+        else if (value instanceof Integer)
+        {
+            output.writeByte(InputLog.VALUE_INTEGER);
+            output.writeInt((Integer)value);
+        }
+        else if (value instanceof Long)
+        {
+            output.writeByte(InputLog.VALUE_LONG);
+            output.writeLong((Long)value);
+        }
+        else if (value instanceof Float)
+        {
+            output.writeByte(InputLog.VALUE_FLOAT);
+            output.writeFloat((Float)value);
+        }
+        else if (value instanceof Double)
+        {
+            output.writeByte(InputLog.VALUE_DOUBLE);
+            output.writeDouble((Double)value);
+        }
+        else if (value instanceof String)
+        {
+            output.writeByte(InputLog.VALUE_STRING);
+            output.writeUTF((String)value);
+        }
+        else if (value instanceof Enum<?>)
+        {
+            output.writeByte(InputLog.VALUE_ENUM);
+            output.writeUTF(((Enum<?>)value).name());
+        }
+        else if (value instanceof boolean[])
+        {
+            boolean[] array = (boolean[])value;
+            output.writeByte(InputLog.VALUE_BOOLEAN_ARRAY);
+            output.writeInt(array.length);
+            for (boolean element : array)
+            {
+                output.writeBoolean(element);
+            }
+        }
+        else if (value instanceof long[])
+        {
+            long[] array = (long[])value;
+            output.writeByte(InputLog.VALUE_LONG_ARRAY);
+            output.writeInt(array.length);
+            for (long element : array)
+            {
+                output.writeLong(element);
+            }
+        }
+        else if (value instanceof double[])
+        {
+            output.writeByte(InputLog.VALUE_DOUBLE_ARRAY);
+            InputLog.writeDoubles(output, (double[])value);
+        }
+        else if (value instanceof double[][])
+        {
+            double[][] matrix = (double[][])value;
+            output.writeByte(InputLog.VALUE_DOUBLE_MATRIX);
+            output.writeInt(matrix.length);
+            for (double[] row : matrix)
+            {
+                InputLog.writeDoubles(output, row);
+            }
+        }
+        else if (value instanceof String[])
+        {
+            String[] array = (String[])value;
+            output.writeByte(InputLog.VALUE_STRING_ARRAY);
+            output.writeInt(array.length);
+            for (String element : array)
+            {
+                output.writeUTF(element);
+            }
+        }
+        else if (value instanceof TalonXLimitSwitchStatus)
+        {
+            TalonXLimitSwitchStatus status = (TalonXLimitSwitchStatus)value;
+            output.writeByte(InputLog.VALUE_LIMIT_SWITCH_STATUS);
+            output.writeBoolean(status.isForwardClosed);
+            output.writeBoolean(status.isReverseClosed);
+        }
+        else if (value instanceof MotorStatus)
+        {
+            MotorStatus status = (MotorStatus)value;
+            output.writeByte(InputLog.VALUE_MOTOR_STATUS);
+            output.writeDouble(status.position);
+            output.writeDouble(status.velocity);
+            output.writeDouble(status.error);
+            output.writeDouble(status.timestamp);
+        }
+        else
+        {
+            throw new IOException("Unexpected value type " + value.getClass().getName());
+        }
+    }
+
+    /**
+     * Read a value from the log
+     * @param input to read from
+     * @return the value (enums are read as their name)
+     * @throws IOException
+     */
+    public static Object readValue(DataInputStream input) throws IOException
+    {
+        byte type = input.readByte();
+        switch (type)
+        {
+            case InputLog.VALUE_NULL:
+                return null;
+
+            case InputLog.VALUE_BOOLEAN:
+                return input.readBoolean();
+
+            case InputLog.VALUE_INTEGER:
+                return input.readInt();
+
+            case InputLog.VALUE_LONG:
+                return input.readLong();
+
+            case InputLog.VALUE_FLOAT:
+                return input.readFloat();
+
+            case InputLog.VALUE_DOUBLE:
+                return input.readDouble();
+
+            case InputLog.VALUE_STRING:
+            case InputLog.VALUE_ENUM:
+                return input.readUTF();
+
+            case InputLog.VALUE_BOOLEAN_ARRAY:
+                boolean[] booleans = new boolean[input.readInt()];
+                for (int i = 0; i < booleans.length; i++)
+                {
+                    booleans[i] = input.readBoolean();
+                }
+
+                return booleans;
+
+            case InputLog.VALUE_LONG_ARRAY:
+                long[] longs = new long[input.readInt()];
+                for (int i = 0; i < longs.length; i++)
+                {
+                    longs[i] = input.readLong();
+                }
+
+                return longs;
+
+            case InputLog.VALUE_DOUBLE_ARRAY:
+                return InputLog.readDoubles(input);
+
+            case InputLog.VALUE_DOUBLE_MATRIX:
+                double[][] matrix = new double[input.readInt()][];
+                for (int i = 0; i < matrix.length; i++)
+                {
+                    matrix[i] = InputLog.readDoubles(input);
+                }
+
+                return matrix;
+
+            case InputLog.VALUE_STRING_ARRAY:
+                String[] strings = new String[input.readInt()];
+                for (int i = 0; i < strings.length; i++)
+                {
+                    strings[i] = input.readUTF();
+                }
+
+                return strings;
+
+            case InputLog.VALUE_LIMIT_SWITCH_STATUS:
+                boolean isForwardClosed = input.readBoolean();
+                boolean isReverseClosed = input.readBoolean();
+                return new TalonXLimitSwitchStatus(isForwardClosed, isReverseClosed);
+
+            case InputLog.VALUE_MOTOR_STATUS:
+                MotorStatus status = new MotorStatus();
+                status.position = input.readDouble();
+                status.velocity = input.readDouble();
+                status.error = input.readDouble();
+                status.timestamp = input.readDouble();
+                return status;
+
+            default:
+                throw new IOException("Unexpected value type " + type);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream output, double[] array) throws IOException
+    {
+        if (array == null)
+        {
+            output.writeInt(-1);
+            return;
+        }
+
+        output.writeInt(array.length);
+        for (double element : array)
+        {
+            output.writeDouble(element);
+        }
+    }
+
+    private static double[] readDoubles(DataInputStream input) throws IOException
+    {
+        int length = input.readInt();
+        if (length < 0)
+        {
+            return null;
+        }
+
+        double[] array = new double[length];
+        for (int i = 0; i < length; i++)
+        {
+            array[i] = input.readDouble();
+        }
+
+        return array;
+    }
+}
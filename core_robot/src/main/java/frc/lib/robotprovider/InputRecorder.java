@@ -0,0 +1,285 @@
+package frc.lib.robotprovider;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Objects;
+
+import frc.robot.SettingsManager;
+import frc.robot.TuningConstants;
+
+import com.google.inject.Inject;
+import com.google.inject.Injector;
+import com.google.inject.Singleton;
+
+/**
+ * Recorder that writes every value that the robot code reads from its devices into an input log (see InputLog), so
+ * that the match can be replayed against the robot code later with the InputReplayer.
+ *
+ * Devices are wrapped (see wrap()) in a proxy that passes each call through to the device, recording the value that
+ * was returned (and any arrays that were filled in).  Functions that return another device (e.g. the subscribers from
+ * the network table provider) have the returned device wrapped as well.
+ *
+ * Devices may be read from several threads.  Reads made by a background sampler are recorded into channels of their own
+ * (see InputLog.setSource()), so that the value the robot loop read is never replaced by a sampler's value (or the
+ * other way around).
+ */
+@Singleton
+public class InputRecorder
+{
+    private final IBinaryFileWriter fileWriter;
+    private final ByteArrayOutputStream buffer;
+    private final DataOutputStream output;
+
+    // id of each channel, and the last value recorded for each channel (indexed by id)
+    private final HashMap<String, Integer> channelIds;
+    private final ArrayList<Object> channelValues;
+
+    private int steps;
+
+    @Inject
+    public InputRecorder(Injector injector)
+    {
+        this(TuningConstants.LOG_INPUTS ? SettingsManager.getInputLogWriter(injector) : null);
+    }
+
+    /**
+     * Initializes a new InputRecorder
+     * @param fileWriter to write the input log into, or null to not record anything
+     */
+    public InputRecorder(IBinaryFileWriter fileWriter)
+    {
+        this.fileWriter = fileWriter;
+        this.buffer = new ByteArrayOutputStream();
+        this.output = new DataOutputStream(this.buffer);
+
+        this.channelIds = new HashMap<String, Integer>();
+        this.channelValues = new ArrayList<Object>();
+
+        this.steps = 0;
+
+        if (this.fileWriter != null)
+        {
+            try
+            {
+                this.output.writeInt(InputLog.MAGIC);
+                this.output.writeShort(InputLog.VERSION);
+            }
+            catch (IOException ex)
+            {
+                // best-effort...
+            }
+        }
+    }
+
+    /**
+     * Checks whether we are recording
+     * @return true if inputs are being recorded
+     */
+    public boolean isRecording()
+    {
+        return this.fileWriter != null;
+    }
+
+    /**
+     * Wrap a device so that the values read from it are recorded
+     * @param type of the device
+     * @param device to wrap
+     * @param name of the device (see InputLog.getDeviceName())
+     * @return the wrapped device, or the device itself if we aren't recording
+     */
+    public <T> T wrap(Class<T> type, T device, String name)
+    {
+        if (this.fileWriter == null || device == null)
+        {
+            return device;
+        }
+
+        return type.cast(this.createProxy(type, device, name));
+    }
+
+    /**
+     * Mark the end of a step, so that the values recorded since the previous step will be applied before the step is replayed
+     * @param stepType of step (InputLog.STEP_*)
+     * @param mode that the robot is in
+     */
+    public synchronized void endStep(byte stepType, RobotMode mode)
+    {
+        if (this.fileWriter == null)
+        {
+            return;
+        }
+
+        try
+        {
+            this.output.writeByte(InputLog.RECORD_STEP);
+            this.output.writeByte(stepType);
+            this.output.writeByte(mode.ordinal());
+        }
+        catch (IOException ex)
+        {
+            // best-effort...
+        }
+
+        if (++this.steps >= TuningConstants.LOG_FLUSH_THRESHOLD)
+        {
+            this.flush();
+        }
+    }
+
+    /**
+     * Write everything that has been recorded to the file
+     */
+    public synchronized void flush()
+    {
+        if (this.fileWriter == null)
+        {
+            return;
+        }
+
+        try
+        {
+            this.fileWriter.write(ByteBuffer.wrap(this.buffer.toByteArray()));
+            this.fileWriter.flush();
+        }
+        catch (IOException ex)
+        {
+            // best-effort...
+        }
+
+        this.buffer.reset();
+        this.steps = 0;
+    }
+
+    private Object createProxy(Class<?> type, Object device, String name)
+    {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new RecordingHandler(device, name));
+    }
+
+    private synchronized void record(String channel, Object value)
+    {
+        try
+        {
+            Integer id = this.channelIds.get(channel);
+            if (id == null)
+            {
+                id = this.channelValues.size();
+                this.channelIds.put(channel, id);
+                this.channelValues.add(null);
+
+                this.output.writeByte(InputLog.RECORD_CHANNEL_DEFINITION);
+                this.output.writeInt(id);
+                this.output.writeUTF(channel);
+            }
+            else if (Objects.deepEquals(this.channelValues.get(id), value))
+            {
+                // the value holds until it changes
+                return;
+            }
+
+            this.channelValues.set(id, InputLog.copy(value));
+
+            this.output.writeByte(InputLog.RECORD_VALUE);
+            this.output.writeInt(id);
+            InputLog.writeValue(this.output, value);
+        }
+        catch (IOException ex)
+        {
+            // best-effort...
+        }
+    }
+
+    /**
+     * Replace any wrapped devices in the arguments with the devices themselves (e.g. for follow()), as the real
+     * devices expect each other
+     */
+    private static Object[] unwrap(Object[] args)
+    {
+        if (args == null)
+        {
+            return null;
+        }
+
+        Object[] result = args;
+        for (int i = 0; i < args.length; i++)
+        {
+            if (args[i] != null &&
+                Proxy.isProxyClass(args[i].getClass()) &&
+                Proxy.getInvocationHandler(args[i]) instanceof RecordingHandler)
+            {
+                if (result == args)
+                {
+                    result = args.clone();
+                }
+
+                result[i] = ((RecordingHandler)Proxy.getInvocationHandler(args[i])).device;
+            }
+        }
+
+        return result;
+    }
+
+    private class RecordingHandler implements InvocationHandler
+    {
+        private final Object device;
+        private final InputChannelNames channelNames;
+
+        RecordingHandler(Object device, String name)
+        {
+            this.device = device;
+            this.channelNames = new InputChannelNames(name);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable
+        {
+            Object result;
+            try
+            {
+                result = method.invoke(this.device, InputRecorder.unwrap(args));
+            }
+            catch (InvocationTargetException ex)
+            {
+                throw ex.getCause();
+            }
+
+            if (method.getDeclaringClass() == Object.class)
+            {
+                return result;
+            }
+
+            Class<?> returnType = method.getReturnType();
+            InputChannelNames.Function function = this.channelNames.get(method);
+            if (function.hasOutParameters())
+            {
+                String channel = function.getName(args);
+                for (int i = 0; i < args.length; i++)
+                {
+                    if (function.isOutParameter(i))
+                    {
+                        InputRecorder.this.record(function.getOutParameterName(channel, i), args[i]);
+                    }
+                }
+            }
+
+            if (InputLog.isValueType(returnType))
+            {
+                InputRecorder.this.record(function.getName(args), result);
+            }
+            else if (InputLog.isDeviceType(returnType) && result != null)
+            {
+                // e.g. a subscriber from the network table provider
+                return InputRecorder.this.createProxy(returnType, result, function.getName(args));
+            }
+
+            return result;
+        }
+    }
+}
@@ -0,0 +1,326 @@
+package frc.lib.robotprovider;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+
+import de.siegmar.fastcsv.writer.CsvWriter;
+
+/**
+ * Replayer that reads back an input log written by the InputRecorder, one step at a time, and plays the values that
+ * were recorded back to the robot code through devices that it creates (see create()).
+ *
+ * Each function call on a replay device returns the value most recently recorded for that channel (or zero/false/null
+ * if it was never read while recording).  Calls that don't return anything are the robot code's outputs, and each
+ * output that changed is written as a row of "step,output,value" so that the outputs from two replays can be diffed.
+ *
+ * The values for each step are published all at once as a new map that isn't changed afterwards, so the devices can be
+ * read from any thread (e.g. the workers reading the mechanisms' sensors) without seeing a partly-read step.  Reads made
+ * for a background sampler (see InputLog.setSource()) are played back from that sampler's own channels.
+ */
+public class InputReplayer
+{
+    private static final RobotMode[] MODES = RobotMode.values();
+
+    private final DataInputStream input;
+    private final CsvWriter outputWriter;
+
+    private final ArrayList<String> channelNames;
+    private final HashMap<String, Object> devices;
+    private final HashMap<String, String> outputs;
+
+    // the values as of the current step (replaced, never changed, by each step)
+    private volatile HashMap<String, Object> values;
+
+    private volatile int stepNumber;
+    private volatile byte stepType;
+    private volatile RobotMode stepMode;
+
+    /**
+     * Initializes a new InputReplayer
+     * @param inputStream to read the input log from
+     * @param outputWriter to write the outputs into, or null to not write them
+     * @throws IOException if the input log can't be read
+     */
+    public InputReplayer(InputStream inputStream, Writer outputWriter) throws IOException
+    {
+        this.input = new DataInputStream(new BufferedInputStream(inputStream));
+        if (this.input.readInt() != InputLog.MAGIC)
+        {
+            throw new IOException("Unexpected file format");
+        }
+
+        short version = this.input.readShort();
+        if (version != InputLog.VERSION)
+        {
+            throw new IOException("Unexpected file version " + version);
+        }
+
+        this.outputWriter = outputWriter == null ? null : CsvWriter.builder().build(outputWriter);
+        if (this.outputWriter != null)
+        {
+            this.outputWriter.writeRow("step", "output", "value");
+        }
+
+        this.channelNames = new ArrayList<String>();
+        this.values = new HashMap<String, Object>();
+        this.devices = new HashMap<String, Object>();
+        this.outputs = new HashMap<String, String>();
+
+        this.stepNumber = 0;
+        this.stepType = InputLog.STEP_ROBOT_INIT;
+        this.stepMode = RobotMode.Disabled;
+    }
+
+    /**
+     * Read the values for the next step, up to and including its step record
+     * @return true if there was another step, false if the end of the log was reached
+     * @throws IOException if the input log can't be read
+     */
+    public boolean readStep() throws IOException
+    {
+        // the values hold until they change, so start from a copy of the previous step's values
+        HashMap<String, Object> values = null;
+        while (true)
+        {
+            byte recordType;
+            try
+            {
+                recordType = this.input.readByte();
+            }
+            catch (EOFException ex)
+            {
+                return false;
+            }
+
+            switch (recordType)
+            {
+                case InputLog.RECORD_CHANNEL_DEFINITION:
+                    int id = this.input.readInt();
+                    String name = this.input.readUTF();
+                    while (this.channelNames.size() <= id)
+                    {
+                        this.channelNames.add(null);
+                    }
+
+                    this.channelNames.set(id, name);
+                    break;
+
+                case InputLog.RECORD_VALUE:
+                    String channel = this.channelNames.get(this.input.readInt());
+                    if (values == null)
+                    {
+                        values = new HashMap<String, Object>(this.values);
+                    }
+
+                    values.put(channel, InputLog.readValue(this.input));
+                    break;
+
+                case InputLog.RECORD_STEP:
+                    if (values != null)
+                    {
+                        this.values = values;
+                    }
+
+                    this.stepNumber++;
+                    this.stepType = this.input.readByte();
+                    this.stepMode = InputReplayer.MODES[this.input.readByte()];
+                    return true;
+
+                default:
+                    throw new IOException("Unexpected record type " + recordType);
+            }
+        }
+    }
+
+    /**
+     * Retrieve the number of the current step
+     * @return the step number (starting at 1)
+     */
+    public int getStepNumber()
+    {
+        return this.stepNumber;
+    }
+
+    /**
+     * Retrieve the type of the current step
+     * @return the step type (InputLog.STEP_*)
+     */
+    public byte getStepType()
+    {
+        return this.stepType;
+    }
+
+    /**
+     * Retrieve the mode that the robot was in during the current step
+     * @return the robot mode
+     */
+    public RobotMode getStepMode()
+    {
+        return this.stepMode;
+    }
+
+    /**
+     * Create a device that plays back the values recorded for it
+     * @param type of the device
+     * @param name of the device (see InputLog.getDeviceName())
+     * @return the device
+     */
+    public <T> T create(Class<T> type, String name)
+    {
+        return type.cast(this.getDevice(type, name));
+    }
+
+    private synchronized Object getDevice(Class<?> type, String name)
+    {
+        Object device = this.devices.get(name);
+        if (device == null || !type.isInstance(device))
+        {
+            device = Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, new ReplayHandler(name));
+            this.devices.put(name, device);
+        }
+
+        return device;
+    }
+
+    private Object getValue(String channel, Class<?> type)
+    {
+        HashMap<String, Object> values = this.values;
+        if (!values.containsKey(channel))
+        {
+            return InputLog.getDefaultValue(type);
+        }
+
+        Object value = values.get(channel);
+        if (value instanceof String && type.isEnum())
+        {
+            return InputReplayer.getEnumValue(type, (String)value);
+        }
+
+        return InputLog.copy(value);
+    }
+
+    private void fillOutParameter(String channel, Object arg)
+    {
+        Object value = this.values.get(channel);
+        if (value instanceof double[] && arg instanceof double[])
+        {
+            double[] source = (double[])value;
+            double[] destination = (double[])arg;
+            System.arraycopy(source, 0, destination, 0, Math.min(source.length, destination.length));
+        }
+        else if (value instanceof double[][] && arg instanceof double[][])
+        {
+            double[][] source = (double[][])value;
+            double[][] destination = (double[][])arg;
+            for (int i = 0; i < Math.min(source.length, destination.length); i++)
+            {
+                if (source[i] != null && destination[i] != null)
+                {
+                    System.arraycopy(source[i], 0, destination[i], 0, Math.min(source[i].length, destination[i].length));
+                }
+            }
+        }
+        else if (value instanceof MotorStatus && arg instanceof MotorStatus)
+        {
+            ((MotorStatus)arg).copyFrom((MotorStatus)value);
+        }
+    }
+
+    private synchronized void writeOutput(String output, Object[] args)
+    {
+        String value = args == null ? "" : Arrays.deepToString(args);
+        if (value.equals(this.outputs.put(output, value)))
+        {
+            // only write the outputs that changed
+            return;
+        }
+
+        if (this.outputWriter != null)
+        {
+            this.outputWriter.writeRow(Integer.toString(this.stepNumber), output, value);
+        }
+    }
+
+    @SuppressWarnings({ "unchecked", "rawtypes" })
+    private static Object getEnumValue(Class<?> type, String name)
+    {
+        return Enum.valueOf((Class<? extends Enum>)type, name);
+    }
+
+    private class ReplayHandler implements InvocationHandler
+    {
+        private final String name;
+        private final InputChannelNames channelNames;
+
+        ReplayHandler(String name)
+        {
+            this.name = name;
+            this.channelNames = new InputChannelNames(name);
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args)
+        {
+            if (method.getDeclaringClass() == Object.class)
+            {
+                switch (method.getName())
+                {
+                    case "equals":
+                        return proxy == args[0];
+
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+
+                    default:
+                        return this.name;
+                }
+            }
+
+            InputChannelNames.Function function = this.channelNames.get(method);
+            if (function.hasOutParameters())
+            {
+                String channel = function.getName(args);
+                for (int i = 0; i < args.length; i++)
+                {
+                    if (function.isOutParameter(i))
+                    {
+                        InputReplayer.this.fillOutParameter(function.getOutParameterName(channel, i), args[i]);
+                    }
+                }
+            }
+
+            Class<?> returnType = method.getReturnType();
+            if (returnType == void.class)
+            {
+                if (!function.hasOutParameters())
+                {
+                    InputReplayer.this.writeOutput(this.name + "." + method.getName(), args);
+                }
+
+                return null;
+            }
+
+            if (InputLog.isValueType(returnType))
+            {
+                return InputReplayer.this.getValue(function.getName(args), returnType);
+            }
+
+            if (InputLog.isDeviceType(returnType))
+            {
+                return InputReplayer.this.getDevice(returnType, function.getName(args));
+            }
+
+            return InputLog.getDefaultValue(returnType);
+        }
+    }
+}
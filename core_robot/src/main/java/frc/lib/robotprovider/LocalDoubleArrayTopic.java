@@ -0,0 +1,76 @@
+package frc.lib.robotprovider;
+
+/**
+ * In-process stand-in for a NetworkTables double array topic, which can be published to directly (e.g. by tests or
+ * the simulator in place of a coprocessor) and keeps a bounded queue of the values until they are read.
+ */
+public class LocalDoubleArrayTopic implements IDoubleArraySubscriber
+{
+    private final double[][] queue;
+
+    private int start;
+    private int count;
+
+    /**
+     * Initializes a new LocalDoubleArrayTopic
+     * @param queueSize the number of values to keep between reads (older ones are dropped)
+     */
+    public LocalDoubleArrayTopic(int queueSize)
+    {
+        this.queue = new double[queueSize][];
+        this.start = 0;
+        this.count = 0;
+    }
+
+    /**
+     * Publish a value to the topic
+     * @param value to publish (copied)
+     */
+    public synchronized void publish(double[] value)
+    {
+        int index;
+        if (this.count < this.queue.length)
+        {
+            index = (this.start + this.count) % this.queue.length;
+            this.count++;
+        }
+        else
+        {
+            // full, so drop the oldest value
+            index = this.start;
+            this.start = (this.start + 1) % this.queue.length;
+        }
+
+        this.queue[index] = value.clone();
+    }
+
+    @Override
+    public synchronized int readQueue(double[][] values)
+    {
+        int skip = Math.max(0, this.count - values.length);
+        int read = this.count - skip;
+        for (int i = 0; i < read; i++)
+        {
+            LocalDoubleArrayTopic.copy(this.queue[(this.start + skip + i) % this.queue.length], values[i]);
+        }
+
+        this.start = 0;
+        this.count = 0;
+        return read;
+    }
+
+    /**
+     * Copy a value into a (preallocated) array, a la IDoubleArraySubscriber.readQueue
+     * @param value to copy
+     * @param destination to copy into, with the remainder filled with NaN
+     */
+    public static void copy(double[] value, double[] destination)
+    {
+        int length = Math.min(value.length, destination.length);
+        System.arraycopy(value, 0, destination, 0, length);
+        for (int i = length; i < destination.length; i++)
+        {
+            destination[i] = Double.NaN;
+        }
+    }
+}
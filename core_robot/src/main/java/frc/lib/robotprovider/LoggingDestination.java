@@ -0,0 +1,46 @@
+package frc.lib.robotprovider;
+
+/**
+ * Describes which of the logging sinks a LoggingKey's values are sent to.
+ */
+public enum LoggingDestination
+{
+    /**
+     * Not logged at all (the value is discarded when it is logged)
+     */
+    None(false, false),
+
+    /**
+     * Only written to the log file
+     */
+    File(true, false),
+
+    /**
+     * Only published to the dashboard
+     */
+    Dashboard(false, true),
+
+    /**
+     * Written to the log file and published to the dashboard
+     */
+    FileAndDashboard(true, true);
+
+    public final boolean file;
+    public final boolean dashboard;
+
+    private LoggingDestination(boolean file, boolean dashboard)
+    {
+        this.file = file;
+        this.dashboard = dashboard;
+    }
+
+    /**
+     * Check whether this includes all of another destination
+     * @param other destination
+     * @return true if every sink in other is also in this, otherwise false
+     */
+    public boolean includes(LoggingDestination other)
+    {
+        return (this.file || !other.file) && (this.dashboard || !other.dashboard);
+    }
+}
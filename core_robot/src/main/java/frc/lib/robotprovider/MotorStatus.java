@@ -0,0 +1,60 @@
+package frc.lib.robotprovider;
+
+/**
+ * Snapshot of the sensor values reported by a motor controller, filled in all at once by readStatus() so that callers
+ * can reuse a single instance instead of making a separate call for each value.
+ */
+public class MotorStatus
+{
+    public double position;
+    public double velocity;
+    public double error;
+
+    // the time (from the ITimer) when the values were sampled, in seconds
+    public double timestamp;
+
+    public MotorStatus()
+    {
+        this.position = 0.0;
+        this.velocity = 0.0;
+        this.error = 0.0;
+        this.timestamp = 0.0;
+    }
+
+    /**
+     * Copy the values from another status
+     * @param other status to copy
+     */
+    public void copyFrom(MotorStatus other)
+    {
+        this.position = other.position;
+        this.velocity = other.velocity;
+        this.error = other.error;
+        this.timestamp = other.timestamp;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+        if (!(obj instanceof MotorStatus))
+        {
+            return false;
+        }
+
+        MotorStatus other = (MotorStatus)obj;
+        return Double.doubleToLongBits(this.position) == Double.doubleToLongBits(other.position) &&
+            Double.doubleToLongBits(this.velocity) == Double.doubleToLongBits(other.velocity) &&
+            Double.doubleToLongBits(this.error) == Double.doubleToLongBits(other.error) &&
+            Double.doubleToLongBits(this.timestamp) == Double.doubleToLongBits(other.timestamp);
+    }
+
+    @Override
+    public int hashCode()
+    {
+        long hash = Double.doubleToLongBits(this.position);
+        hash = 31L * hash + Double.doubleToLongBits(this.velocity);
+        hash = 31L * hash + Double.doubleToLongBits(this.error);
+        hash = 31L * hash + Double.doubleToLongBits(this.timestamp);
+        return (int)(hash ^ (hash >>> 32));
+    }
+}
@@ -0,0 +1,124 @@
+package frc.lib.robotprovider;
+
+import frc.robot.TuningConstants;
+
+/**
+ * Cache of the last control request sent to a motor controller, used by the motor controller wrappers to skip sending a
+ * request that is identical to the previous one (as the mechanisms set every motor on every loop, whether or not
+ * anything has changed).
+ *
+ * An identical request is still sent after it has been skipped refreshInterval times in a row, so that the motor
+ * controller is kept up-to-date even if a request is somehow lost.  The number of requests that were sent and skipped
+ * are counted so that they can be logged.
+ */
+public class MotorWriteCache
+{
+    public static final int STOP_MODE = -1;
+
+    private static final int UNKNOWN_MODE = -2;
+    private static final int UNKNOWN_SLOT = -1;
+
+    private final int refreshInterval;
+
+    private int mode;
+    private double value;
+    private int slot;
+    private int controlSkipped;
+    private int slotSkipped;
+
+    private long sentCount;
+    private long suppressedCount;
+
+    public MotorWriteCache()
+    {
+        this(TuningConstants.MOTOR_CONTROL_REFRESH_INTERVAL);
+    }
+
+    /**
+     * Initializes a new MotorWriteCache
+     * @param refreshInterval number of identical requests in a row to skip before sending it again (0 to send every request)
+     */
+    public MotorWriteCache(int refreshInterval)
+    {
+        this.refreshInterval = refreshInterval;
+        this.invalidate();
+
+        this.sentCount = 0L;
+        this.suppressedCount = 0L;
+    }
+
+    /**
+     * Check whether a control request needs to be sent, and if so remember it as the most recently sent request
+     * @param mode of the request (e.g. the ordinal of the control mode, or STOP_MODE)
+     * @param value of the request (e.g. the power or setpoint)
+     * @return true if the request should be sent, false if it is identical to the previous request
+     */
+    public boolean shouldSendControl(int mode, double value)
+    {
+        if (this.mode == mode &&
+            Double.doubleToLongBits(this.value) == Double.doubleToLongBits(value) &&
+            this.controlSkipped < this.refreshInterval)
+        {
+            this.controlSkipped++;
+            this.suppressedCount++;
+            return false;
+        }
+
+        this.mode = mode;
+        this.value = value;
+        this.controlSkipped = 0;
+        this.sentCount++;
+        return true;
+    }
+
+    /**
+     * Check whether a request to select a PID slot needs to be sent, and if so remember it as the selected slot
+     * @param slot to select
+     * @return true if the request should be sent, false if the slot was already selected
+     */
+    public boolean shouldSendSlot(int slot)
+    {
+        if (this.slot == slot && this.slotSkipped < this.refreshInterval)
+        {
+            this.slotSkipped++;
+            this.suppressedCount++;
+            return false;
+        }
+
+        this.slot = slot;
+        this.slotSkipped = 0;
+        this.sentCount++;
+        return true;
+    }
+
+    /**
+     * Forget the previous requests, so that the next requests are sent no matter what (e.g. after the motor controller
+     * starts following another, which replaces its control request)
+     */
+    public void invalidate()
+    {
+        this.mode = MotorWriteCache.UNKNOWN_MODE;
+        this.value = 0.0;
+        this.slot = MotorWriteCache.UNKNOWN_SLOT;
+        this.controlSkipped = 0;
+        this.slotSkipped = 0;
+    }
+
+    /**
+     * Retrieve the number of requests that were sent
+     * @return number of requests sent
+     */
+    public long getSentCount()
+    {
+        return this.sentCount;
+    }
+
+    /**
+     * Retrieve the number of requests that were skipped as they were identical to the previous request
+     * @return number of requests skipped
+     */
+    public long getSuppressedCount()
+    {
+        return this.suppressedCount;
+    }
+}
@@ -4,6 +4,7 @@ import frc.robot.LoggingKey;
 
 /**
  * Logger that skips logging.
+ * Overrides each of the typed log functions so that no strings are created for values that will be discarded.
  */
 public class NullLogger extends StringLogger
 {
@@ -16,4 +17,85 @@ public class NullLogger extends StringLogger
     public void logString(LoggingKey key, String value)
     {
     }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(LoggingKey key, IPoint value)
+    {
+    }
 }
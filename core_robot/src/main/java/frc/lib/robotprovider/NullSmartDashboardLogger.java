@@ -0,0 +1,11 @@
+package frc.lib.robotprovider;
+
+import javax.inject.Singleton;
+
+/**
+ * Dashboard logger that skips logging, for when there is no dashboard (e.g. when replaying a match).
+ */
+@Singleton
+public class NullSmartDashboardLogger extends NullLogger implements ISmartDashboardLogger
+{
+}
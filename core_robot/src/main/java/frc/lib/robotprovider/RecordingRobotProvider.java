@@ -0,0 +1,262 @@
+package frc.lib.robotprovider;
+
+/**
+ * Robot provider that wraps the devices from another robot provider so that the values read from them are recorded
+ * by the InputRecorder.  Cameras, video streams, OpenCV and the path planner are passed through without recording.
+ */
+public class RecordingRobotProvider implements IRobotProvider
+{
+    private final IRobotProvider provider;
+    private final InputRecorder recorder;
+
+    /**
+     * Initializes a new RecordingRobotProvider
+     * @param provider to retrieve the real devices from
+     * @param recorder to record the values read from the devices into
+     */
+    public RecordingRobotProvider(IRobotProvider provider, InputRecorder recorder)
+    {
+        this.provider = provider;
+        this.recorder = recorder;
+    }
+
+    @Override
+    public IAnalogInput getAnalogInput(int channel)
+    {
+        return this.recorder.wrap(IAnalogInput.class, this.provider.getAnalogInput(channel), InputLog.getDeviceName("AnalogInput", channel));
+    }
+
+    @Override
+    public IDigitalInput getDigitalInput(int channel)
+    {
+        return this.recorder.wrap(IDigitalInput.class, this.provider.getDigitalInput(channel), InputLog.getDeviceName("DigitalInput", channel));
+    }
+
+    @Override
+    public IDigitalOutput getDigitalOutput(int channel)
+    {
+        return this.recorder.wrap(IDigitalOutput.class, this.provider.getDigitalOutput(channel), InputLog.getDeviceName("DigitalOutput", channel));
+    }
+
+    @Override
+    public ICounter getCounter(int channel)
+    {
+        return this.recorder.wrap(ICounter.class, this.provider.getCounter(channel), InputLog.getDeviceName("Counter", channel));
+    }
+
+    @Override
+    public IDutyCycle getDutyCycle(int digitalInputChannel)
+    {
+        return this.recorder.wrap(IDutyCycle.class, this.provider.getDutyCycle(digitalInputChannel), InputLog.getDeviceName("DutyCycle", digitalInputChannel));
+    }
+
+    @Override
+    public ITalonSRX getTalonSRX(int deviceNumber)
+    {
+        return this.recorder.wrap(ITalonSRX.class, this.provider.getTalonSRX(deviceNumber), InputLog.getDeviceName("TalonSRX", deviceNumber));
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber)
+    {
+        return this.recorder.wrap(ITalonFX.class, this.provider.getTalonFX(deviceNumber), InputLog.getDeviceName("TalonFX", deviceNumber));
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber, String canbus)
+    {
+        return this.recorder.wrap(ITalonFX.class, this.provider.getTalonFX(deviceNumber, canbus), InputLog.getDeviceName("TalonFX", deviceNumber, canbus));
+    }
+
+    @Override
+    public IVictorSPX getVictorSPX(int deviceNumber)
+    {
+        return this.recorder.wrap(IVictorSPX.class, this.provider.getVictorSPX(deviceNumber), InputLog.getDeviceName("VictorSPX", deviceNumber));
+    }
+
+    @Override
+    public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
+    {
+        return this.recorder.wrap(ISparkMax.class, this.provider.getSparkMax(deviceID, motorType), InputLog.getDeviceName("SparkMax", deviceID, motorType));
+    }
+
+    @Override
+    public ICompressor getCompressor(PneumaticsModuleType moduleType)
+    {
+        return this.recorder.wrap(ICompressor.class, this.provider.getCompressor(moduleType), InputLog.getDeviceName("Compressor", moduleType));
+    }
+
+    @Override
+    public ICompressor getCompressor(int module, PneumaticsModuleType moduleType)
+    {
+        return this.recorder.wrap(ICompressor.class, this.provider.getCompressor(module, moduleType), InputLog.getDeviceName("Compressor", module, moduleType));
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.recorder.wrap(IDoubleSolenoid.class, this.provider.getDoubleSolenoid(moduleType, forwardChannel, reverseChannel), InputLog.getDeviceName("DoubleSolenoid", moduleType, forwardChannel, reverseChannel));
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(int module, PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.recorder.wrap(IDoubleSolenoid.class, this.provider.getDoubleSolenoid(module, moduleType, forwardChannel, reverseChannel), InputLog.getDeviceName("DoubleSolenoid", module, moduleType, forwardChannel, reverseChannel));
+    }
+
+    @Override
+    public IEncoder getEncoder(int channelA, int channelB)
+    {
+        return this.recorder.wrap(IEncoder.class, this.provider.getEncoder(channelA, channelB), InputLog.getDeviceName("Encoder", channelA, channelB));
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber)
+    {
+        return this.recorder.wrap(ICANCoder.class, this.provider.getCANCoder(deviceNumber), InputLog.getDeviceName("CANCoder", deviceNumber));
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber, String canbus)
+    {
+        return this.recorder.wrap(ICANCoder.class, this.provider.getCANCoder(deviceNumber, canbus), InputLog.getDeviceName("CANCoder", deviceNumber, canbus));
+    }
+
+    @Override
+    public IJoystick getJoystick(int port)
+    {
+        return this.recorder.wrap(IJoystick.class, this.provider.getJoystick(port), InputLog.getDeviceName("Joystick", port));
+    }
+
+    @Override
+    public IMotor getTalon(int channel)
+    {
+        return this.recorder.wrap(IMotor.class, this.provider.getTalon(channel), InputLog.getDeviceName("Talon", channel));
+    }
+
+    @Override
+    public IMotor getVictor(int channel)
+    {
+        return this.recorder.wrap(IMotor.class, this.provider.getVictor(channel), InputLog.getDeviceName("Victor", channel));
+    }
+
+    @Override
+    public IServo getServo(int channel)
+    {
+        return this.recorder.wrap(IServo.class, this.provider.getServo(channel), InputLog.getDeviceName("Servo", channel));
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution()
+    {
+        return this.recorder.wrap(IPowerDistribution.class, this.provider.getPowerDistribution(), InputLog.getDeviceName("PowerDistribution"));
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution(int module, PowerDistributionModuleType moduleType)
+    {
+        return this.recorder.wrap(IPowerDistribution.class, this.provider.getPowerDistribution(module, moduleType), InputLog.getDeviceName("PowerDistribution", module, moduleType));
+    }
+
+    @Override
+    public IRelay getRelay(int channel)
+    {
+        return this.recorder.wrap(IRelay.class, this.provider.getRelay(channel), InputLog.getDeviceName("Relay", channel));
+    }
+
+    @Override
+    public IRelay getRelay(int channel, RelayDirection direction)
+    {
+        return this.recorder.wrap(IRelay.class, this.provider.getRelay(channel, direction), InputLog.getDeviceName("Relay", channel, direction));
+    }
+
+    @Override
+    public ISolenoid getSolenoid(PneumaticsModuleType moduleType, int channel)
+    {
+        return this.recorder.wrap(ISolenoid.class, this.provider.getSolenoid(moduleType, channel), InputLog.getDeviceName("Solenoid", moduleType, channel));
+    }
+
+    @Override
+    public ISolenoid getSolenoid(int module, PneumaticsModuleType moduleType, int channel)
+    {
+        return this.recorder.wrap(ISolenoid.class, this.provider.getSolenoid(module, moduleType, channel), InputLog.getDeviceName("Solenoid", module, moduleType, channel));
+    }
+
+    @Override
+    public INavx getNavx()
+    {
+        return this.recorder.wrap(INavx.class, this.provider.getNavx(), InputLog.getDeviceName("Navx"));
+    }
+
+    @Override
+    public IPigeonIMU getPigeonIMU(int deviceNumber)
+    {
+        return this.recorder.wrap(IPigeonIMU.class, this.provider.getPigeonIMU(deviceNumber), InputLog.getDeviceName("PigeonIMU", deviceNumber));
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber)
+    {
+        return this.recorder.wrap(IPigeon2.class, this.provider.getPigeon2(deviceNumber), InputLog.getDeviceName("Pigeon2", deviceNumber));
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber, String canbus)
+    {
+        return this.recorder.wrap(IPigeon2.class, this.provider.getPigeon2(deviceNumber, canbus), InputLog.getDeviceName("Pigeon2", deviceNumber, canbus));
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber)
+    {
+        return this.recorder.wrap(ICANdle.class, this.provider.getCANdle(deviceNumber), InputLog.getDeviceName("CANdle", deviceNumber));
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber, String canbus)
+    {
+        return this.recorder.wrap(ICANdle.class, this.provider.getCANdle(deviceNumber, canbus), InputLog.getDeviceName("CANdle", deviceNumber, canbus));
+    }
+
+    @Override
+    public IVideoStream getMJPEGStream(String name, int width, int height)
+    {
+        return this.provider.getMJPEGStream(name, width, height);
+    }
+
+    @Override
+    public IUsbCamera getUsbCamera(String name, int dev)
+    {
+        return this.provider.getUsbCamera(name, dev);
+    }
+
+    @Override
+    public IDriverStation getDriverStation()
+    {
+        return this.recorder.wrap(IDriverStation.class, this.provider.getDriverStation(), InputLog.getDeviceName("DriverStation"));
+    }
+
+    @Override
+    public INetworkTableProvider getNetworkTableProvider()
+    {
+        return this.recorder.wrap(INetworkTableProvider.class, this.provider.getNetworkTableProvider(), InputLog.getDeviceName("NetworkTables"));
+    }
+
+    @Override
+    public IPathPlanner getPathPlanner()
+    {
+        return this.provider.getPathPlanner();
+    }
+
+    @Override
+    public IOpenCVProvider getOpenCVProvider()
+    {
+        return this.provider.getOpenCVProvider();
+    }
+
+    @Override
+    public IPreferences getPreferences()
+    {
+        return this.recorder.wrap(IPreferences.class, this.provider.getPreferences(), InputLog.getDeviceName("Preferences"));
+    }
+}
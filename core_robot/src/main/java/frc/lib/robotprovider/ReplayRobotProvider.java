@@ -0,0 +1,262 @@
+package frc.lib.robotprovider;
+
+/**
+ * Robot provider for replaying a match, with devices that play back the values recorded by the InputRecorder (see
+ * InputReplayer).  There are no cameras, video streams or OpenCV, and the path planner is provided.
+ */
+public class ReplayRobotProvider implements IRobotProvider
+{
+    private final InputReplayer replayer;
+    private final IPathPlanner pathPlanner;
+
+    /**
+     * Initializes a new ReplayRobotProvider
+     * @param replayer to play back the recorded values from
+     * @param pathPlanner to build trajectories with
+     */
+    public ReplayRobotProvider(InputReplayer replayer, IPathPlanner pathPlanner)
+    {
+        this.replayer = replayer;
+        this.pathPlanner = pathPlanner;
+    }
+
+    @Override
+    public IAnalogInput getAnalogInput(int channel)
+    {
+        return this.replayer.create(IAnalogInput.class, InputLog.getDeviceName("AnalogInput", channel));
+    }
+
+    @Override
+    public IDigitalInput getDigitalInput(int channel)
+    {
+        return this.replayer.create(IDigitalInput.class, InputLog.getDeviceName("DigitalInput", channel));
+    }
+
+    @Override
+    public IDigitalOutput getDigitalOutput(int channel)
+    {
+        return this.replayer.create(IDigitalOutput.class, InputLog.getDeviceName("DigitalOutput", channel));
+    }
+
+    @Override
+    public ICounter getCounter(int channel)
+    {
+        return this.replayer.create(ICounter.class, InputLog.getDeviceName("Counter", channel));
+    }
+
+    @Override
+    public IDutyCycle getDutyCycle(int digitalInputChannel)
+    {
+        return this.replayer.create(IDutyCycle.class, InputLog.getDeviceName("DutyCycle", digitalInputChannel));
+    }
+
+    @Override
+    public ITalonSRX getTalonSRX(int deviceNumber)
+    {
+        return this.replayer.create(ITalonSRX.class, InputLog.getDeviceName("TalonSRX", deviceNumber));
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber)
+    {
+        return this.replayer.create(ITalonFX.class, InputLog.getDeviceName("TalonFX", deviceNumber));
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber, String canbus)
+    {
+        return this.replayer.create(ITalonFX.class, InputLog.getDeviceName("TalonFX", deviceNumber, canbus));
+    }
+
+    @Override
+    public IVictorSPX getVictorSPX(int deviceNumber)
+    {
+        return this.replayer.create(IVictorSPX.class, InputLog.getDeviceName("VictorSPX", deviceNumber));
+    }
+
+    @Override
+    public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
+    {
+        return this.replayer.create(ISparkMax.class, InputLog.getDeviceName("SparkMax", deviceID, motorType));
+    }
+
+    @Override
+    public ICompressor getCompressor(PneumaticsModuleType moduleType)
+    {
+        return this.replayer.create(ICompressor.class, InputLog.getDeviceName("Compressor", moduleType));
+    }
+
+    @Override
+    public ICompressor getCompressor(int module, PneumaticsModuleType moduleType)
+    {
+        return this.replayer.create(ICompressor.class, InputLog.getDeviceName("Compressor", module, moduleType));
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.replayer.create(IDoubleSolenoid.class, InputLog.getDeviceName("DoubleSolenoid", moduleType, forwardChannel, reverseChannel));
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(int module, PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.replayer.create(IDoubleSolenoid.class, InputLog.getDeviceName("DoubleSolenoid", module, moduleType, forwardChannel, reverseChannel));
+    }
+
+    @Override
+    public IEncoder getEncoder(int channelA, int channelB)
+    {
+        return this.replayer.create(IEncoder.class, InputLog.getDeviceName("Encoder", channelA, channelB));
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber)
+    {
+        return this.replayer.create(ICANCoder.class, InputLog.getDeviceName("CANCoder", deviceNumber));
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber, String canbus)
+    {
+        return this.replayer.create(ICANCoder.class, InputLog.getDeviceName("CANCoder", deviceNumber, canbus));
+    }
+
+    @Override
+    public IJoystick getJoystick(int port)
+    {
+        return this.replayer.create(IJoystick.class, InputLog.getDeviceName("Joystick", port));
+    }
+
+    @Override
+    public IMotor getTalon(int channel)
+    {
+        return this.replayer.create(IMotor.class, InputLog.getDeviceName("Talon", channel));
+    }
+
+    @Override
+    public IMotor getVictor(int channel)
+    {
+        return this.replayer.create(IMotor.class, InputLog.getDeviceName("Victor", channel));
+    }
+
+    @Override
+    public IServo getServo(int channel)
+    {
+        return this.replayer.create(IServo.class, InputLog.getDeviceName("Servo", channel));
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution()
+    {
+        return this.replayer.create(IPowerDistribution.class, InputLog.getDeviceName("PowerDistribution"));
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution(int module, PowerDistributionModuleType moduleType)
+    {
+        return this.replayer.create(IPowerDistribution.class, InputLog.getDeviceName("PowerDistribution", module, moduleType));
+    }
+
+    @Override
+    public IRelay getRelay(int channel)
+    {
+        return this.replayer.create(IRelay.class, InputLog.getDeviceName("Relay", channel));
+    }
+
+    @Override
+    public IRelay getRelay(int channel, RelayDirection direction)
+    {
+        return this.replayer.create(IRelay.class, InputLog.getDeviceName("Relay", channel, direction));
+    }
+
+    @Override
+    public ISolenoid getSolenoid(PneumaticsModuleType moduleType, int channel)
+    {
+        return this.replayer.create(ISolenoid.class, InputLog.getDeviceName("Solenoid", moduleType, channel));
+    }
+
+    @Override
+    public ISolenoid getSolenoid(int module, PneumaticsModuleType moduleType, int channel)
+    {
+        return this.replayer.create(ISolenoid.class, InputLog.getDeviceName("Solenoid", module, moduleType, channel));
+    }
+
+    @Override
+    public INavx getNavx()
+    {
+        return this.replayer.create(INavx.class, InputLog.getDeviceName("Navx"));
+    }
+
+    @Override
+    public IPigeonIMU getPigeonIMU(int deviceNumber)
+    {
+        return this.replayer.create(IPigeonIMU.class, InputLog.getDeviceName("PigeonIMU", deviceNumber));
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber)
+    {
+        return this.replayer.create(IPigeon2.class, InputLog.getDeviceName("Pigeon2", deviceNumber));
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber, String canbus)
+    {
+        return this.replayer.create(IPigeon2.class, InputLog.getDeviceName("Pigeon2", deviceNumber, canbus));
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber)
+    {
+        return this.replayer.create(ICANdle.class, InputLog.getDeviceName("CANdle", deviceNumber));
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber, String canbus)
+    {
+        return this.replayer.create(ICANdle.class, InputLog.getDeviceName("CANdle", deviceNumber, canbus));
+    }
+
+    @Override
+    public IDriverStation getDriverStation()
+    {
+        return this.replayer.create(IDriverStation.class, InputLog.getDeviceName("DriverStation"));
+    }
+
+    @Override
+    public INetworkTableProvider getNetworkTableProvider()
+    {
+        return this.replayer.create(INetworkTableProvider.class, InputLog.getDeviceName("NetworkTables"));
+    }
+
+    @Override
+    public IPreferences getPreferences()
+    {
+        return this.replayer.create(IPreferences.class, InputLog.getDeviceName("Preferences"));
+    }
+
+    @Override
+    public IVideoStream getMJPEGStream(String name, int width, int height)
+    {
+        return null;
+    }
+
+    @Override
+    public IUsbCamera getUsbCamera(String name, int dev)
+    {
+        return null;
+    }
+
+    @Override
+    public IPathPlanner getPathPlanner()
+    {
+        return this.pathPlanner;
+    }
+
+    @Override
+    public IOpenCVProvider getOpenCVProvider()
+    {
+        return null;
+    }
+}
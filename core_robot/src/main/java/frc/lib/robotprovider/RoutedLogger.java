@@ -0,0 +1,175 @@
+package frc.lib.robotprovider;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Logger that passes along only the keys that are routed to a particular destination (a la LoggingKey.destination),
+ * using a table indexed by LoggingKey ordinal so that each skipped key costs a single array check.
+ */
+public class RoutedLogger implements ILogger
+{
+    private final ILogger logger;
+    private final boolean[] routed;
+
+    /**
+     * Initializes a new instance of the RoutedLogger class
+     * @param logger to pass the routed keys along to
+     * @param destination that the logger represents
+     */
+    public RoutedLogger(ILogger logger, LoggingDestination destination)
+    {
+        this.logger = logger;
+
+        LoggingKey[] keys = LoggingKey.values();
+        this.routed = new boolean[keys.length];
+        for (int i = 0; i < keys.length; i++)
+        {
+            this.routed[i] = keys[i].destination.includes(destination);
+        }
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logBoolean(key, value);
+        }
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logBooleanArray(key, value);
+        }
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logNumber(key, value);
+        }
+    }
+
+    /**
+     * Write a number (Double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logNumber(key, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logInteger(key, value);
+        }
+    }
+
+    /**
+     * Write a number (Integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logInteger(key, value);
+        }
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logInteger(key, value, formatString);
+        }
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(LoggingKey key, IPoint value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logPoint(key, value);
+        }
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        if (this.routed[key.ordinal()])
+        {
+            this.logger.logString(key, value);
+        }
+    }
+
+    /**
+     * Update the log, if appropriate..
+     */
+    @Override
+    public void update()
+    {
+        this.logger.update();
+    }
+
+    /**
+     * Flush the output stream, if appropriate..
+     */
+    @Override
+    public void flush()
+    {
+        this.logger.flush();
+    }
+}
@@ -0,0 +1,221 @@
+package frc.lib.robotprovider;
+
+/**
+ * Declarative configuration for a TalonSRX or TalonFX, with the same settings as ITalonXBase/ITalonFX.
+ * The settings are applied in the order that they were set.
+ */
+public class TalonXConfiguration extends DeviceConfiguration<ITalonXBase>
+{
+    private enum SettingType
+    {
+        ControlMode,
+        SensorType,
+        GeneralFramePeriod,
+        FeedbackFramePeriod,
+        PIDFFramePeriod,
+        VelocityMeasurements,
+        AllowableClosedloopError,
+        SelectedSlot,
+        PIDF,
+        MotionMagicPIDF,
+        PIDFWithRamp,
+        ForwardLimitSwitch,
+        ReverseLimitSwitch,
+        InvertOutput,
+        InvertSensor,
+        Invert,
+        NeutralMode,
+        VoltageCompensation,
+        SupplyCurrentLimit,
+    }
+
+    public void setControlMode(TalonXControlMode mode)
+    {
+        this.add(SettingType.ControlMode, false, mode);
+    }
+
+    public void setSensorType(TalonXFeedbackDevice feedbackDevice)
+    {
+        this.add(SettingType.SensorType, true, feedbackDevice);
+    }
+
+    public void setGeneralFramePeriod(int periodMS)
+    {
+        this.add(SettingType.GeneralFramePeriod, false, periodMS);
+    }
+
+    public void setFeedbackFramePeriod(int periodMS)
+    {
+        this.add(SettingType.FeedbackFramePeriod, false, periodMS);
+    }
+
+    public void setPIDFFramePeriod(int periodMS)
+    {
+        this.add(SettingType.PIDFFramePeriod, false, periodMS);
+    }
+
+    public void configureVelocityMeasurements(int periodMS, int windowSize)
+    {
+        this.add(SettingType.VelocityMeasurements, true, periodMS, windowSize);
+    }
+
+    public void configureAllowableClosedloopError(int slotId, int error)
+    {
+        this.add(SettingType.AllowableClosedloopError, true, slotId, error);
+    }
+
+    public void setSelectedSlot(int slotId)
+    {
+        this.add(SettingType.SelectedSlot, false, slotId);
+    }
+
+    public void setPIDF(double p, double i, double d, double f, int slotId)
+    {
+        this.add(SettingType.PIDF, true, p, i, d, f, slotId);
+    }
+
+    public void setMotionMagicPIDF(double p, double i, double d, double f, double velocity, double acceleration, int slotId)
+    {
+        this.add(SettingType.MotionMagicPIDF, true, p, i, d, f, velocity, acceleration, slotId);
+    }
+
+    public void setPIDF(double p, double i, double d, double f, int izone, double closeLoopRampRate, int slotId)
+    {
+        this.add(SettingType.PIDFWithRamp, true, p, i, d, f, izone, closeLoopRampRate, slotId);
+    }
+
+    public void setForwardLimitSwitch(boolean enabled, boolean normallyOpen)
+    {
+        this.add(SettingType.ForwardLimitSwitch, true, enabled, normallyOpen);
+    }
+
+    public void setReverseLimitSwitch(boolean enabled, boolean normallyOpen)
+    {
+        this.add(SettingType.ReverseLimitSwitch, true, enabled, normallyOpen);
+    }
+
+    public void setInvertOutput(boolean flip)
+    {
+        this.add(SettingType.InvertOutput, false, flip);
+    }
+
+    public void setInvertSensor(boolean flip)
+    {
+        this.add(SettingType.InvertSensor, false, flip);
+    }
+
+    /**
+     * Set the invert type (TalonFX only)
+     * @param invertType to use
+     */
+    public void setInvert(TalonFXInvertType invertType)
+    {
+        this.add(SettingType.Invert, false, invertType);
+    }
+
+    public void setNeutralMode(MotorNeutralMode neutralMode)
+    {
+        this.add(SettingType.NeutralMode, false, neutralMode);
+    }
+
+    public void setVoltageCompensation(boolean enabled, double maxVoltage)
+    {
+        // enabling voltage compensation isn't stored on the device, so this has to be applied every time
+        this.add(SettingType.VoltageCompensation, false, enabled, maxVoltage);
+    }
+
+    /**
+     * Set the supply current limit (TalonFX only)
+     * @param enabled whether to limit the supply current
+     * @param currentLimit to hold the current at once triggered
+     * @param triggerThresholdCurrent above which the limit is triggered
+     * @param triggerThresholdTime that the current must be above the threshold for before the limit is triggered
+     */
+    public void setSupplyCurrentLimit(boolean enabled, double currentLimit, double triggerThresholdCurrent, double triggerThresholdTime)
+    {
+        this.add(SettingType.SupplyCurrentLimit, true, enabled, currentLimit, triggerThresholdCurrent, triggerThresholdTime);
+    }
+
+    @Override
+    protected void apply(ITalonXBase device, Enum<?> type, Object[] args)
+    {
+        switch ((SettingType)type)
+        {
+            case ControlMode:
+                device.setControlMode((TalonXControlMode)args[0]);
+                break;
+
+            case SensorType:
+                device.setSensorType((TalonXFeedbackDevice)args[0]);
+                break;
+
+            case GeneralFramePeriod:
+                device.setGeneralFramePeriod((Integer)args[0]);
+                break;
+
+            case FeedbackFramePeriod:
+                device.setFeedbackFramePeriod((Integer)args[0]);
+                break;
+
+            case PIDFFramePeriod:
+                device.setPIDFFramePeriod((Integer)args[0]);
+                break;
+
+            case VelocityMeasurements:
+                device.configureVelocityMeasurements((Integer)args[0], (Integer)args[1]);
+                break;
+
+            case AllowableClosedloopError:
+                device.configureAllowableClosedloopError((Integer)args[0], (Integer)args[1]);
+                break;
+
+            case SelectedSlot:
+                device.setSelectedSlot((Integer)args[0]);
+                break;
+
+            case PIDF:
+                device.setPIDF((Double)args[0], (Double)args[1], (Double)args[2], (Double)args[3], (Integer)args[4]);
+                break;
+
+            case MotionMagicPIDF:
+                device.setMotionMagicPIDF((Double)args[0], (Double)args[1], (Double)args[2], (Double)args[3], (Double)args[4], (Double)args[5], (Integer)args[6]);
+                break;
+
+            case PIDFWithRamp:
+                device.setPIDF((Double)args[0], (Double)args[1], (Double)args[2], (Double)args[3], (Integer)args[4], (Double)args[5], (Integer)args[6]);
+                break;
+
+            case ForwardLimitSwitch:
+                device.setForwardLimitSwitch((Boolean)args[0], (Boolean)args[1]);
+                break;
+
+            case ReverseLimitSwitch:
+                device.setReverseLimitSwitch((Boolean)args[0], (Boolean)args[1]);
+                break;
+
+            case InvertOutput:
+                device.setInvertOutput((Boolean)args[0]);
+                break;
+
+            case InvertSensor:
+                device.setInvertSensor((Boolean)args[0]);
+                break;
+
+            case Invert:
+                ((ITalonFX)device).setInvert((TalonFXInvertType)args[0]);
+                break;
+
+            case NeutralMode:
+                device.setNeutralMode((MotorNeutralMode)args[0]);
+                break;
+
+            case VoltageCompensation:
+                device.setVoltageCompensation((Boolean)args[0], (Double)args[1]);
+                break;
+
+            case SupplyCurrentLimit:
+                ((ITalonFX)device).setSupplyCurrentLimit((Boolean)args[0], (Double)args[1], (Double)args[2], (Double)args[3]);
+                break;
+        }
+    }
+}
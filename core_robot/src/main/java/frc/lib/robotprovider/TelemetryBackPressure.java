@@ -0,0 +1,17 @@
+package frc.lib.robotprovider;
+
+/**
+ * Describes what the TelemetryBus should do when one of its sinks falls a full ring buffer behind the robot loop.
+ */
+public enum TelemetryBackPressure
+{
+    /**
+     * Keep publishing, overwriting the oldest cycles that the slow sink hasn't consumed yet (the sink skips ahead)
+     */
+    DropOldest,
+
+    /**
+     * Stop feeding the slow sink entirely, counting every following cycle as dropped for that sink
+     */
+    DropSink;
+}
@@ -0,0 +1,425 @@
+package frc.lib.robotprovider;
+
+import java.lang.invoke.VarHandle;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+import frc.robot.LoggingKey;
+
+/**
+ * Logger that moves the work of the actual sinks (file I/O, NetworkTables, etc.) off of the robot loop.
+ *
+ * The robot loop is the single producer: values logged during a cycle are collected into a TelemetryFrame, and
+ * update() publishes that frame into a preallocated ring buffer.  Each sink has its own consumer thread that
+ * replays the published frames into the sink in order, calling the sink's update() after each frame.  flush()
+ * only signals the consumer threads, so slow writes to the USB stick never stall the robot loop.
+ *
+ * The producer never waits for the consumers.  When a sink falls a whole ring buffer behind, the configured
+ * TelemetryBackPressure decides whether the sink skips ahead to the oldest available cycle or is dropped.
+ * Each slot holds every current value (not just the ones logged during its cycle), so that a sink which missed
+ * some cycles can be brought back up to date by writing all of the values of the next cycle that it consumes.
+ */
+public class TelemetryBus implements ILogger
+{
+    private static final long IDLE_PARK_NANOS = TimeUnit.MILLISECONDS.toNanos(5);
+
+    private final TelemetryBackPressure backPressure;
+    private final Slot[] ring;
+    private final int mask;
+    private final Consumer[] consumers;
+
+    // frame for the cycle that the robot loop is currently logging
+    private final TelemetryFrame currentFrame;
+
+    // number of frames published so far (the sequence number of the next frame)
+    private volatile long published;
+    private volatile long flushRequests;
+    private volatile boolean running;
+
+    /**
+     * Initializes a new instance of the TelemetryBus class, starting one consumer thread per sink
+     * @param capacity of the ring buffer, in cycles (must be a power of two)
+     * @param backPressure behavior when a sink falls behind by more than the capacity
+     * @param sinks to feed
+     */
+    public TelemetryBus(int capacity, TelemetryBackPressure backPressure, ILogger... sinks)
+    {
+        if (capacity <= 0 || (capacity & (capacity - 1)) != 0)
+        {
+            throw new IllegalArgumentException("capacity must be a power of two, not " + capacity);
+        }
+
+        this.backPressure = backPressure;
+        this.mask = capacity - 1;
+        this.ring = new Slot[capacity];
+        for (int i = 0; i < capacity; i++)
+        {
+            this.ring[i] = new Slot();
+        }
+
+        this.currentFrame = new TelemetryFrame();
+        this.published = 0L;
+        this.flushRequests = 0L;
+        this.running = true;
+
+        this.consumers = new Consumer[sinks.length];
+        for (int i = 0; i < sinks.length; i++)
+        {
+            this.consumers[i] = new Consumer(sinks[i]);
+        }
+
+        for (int i = 0; i < sinks.length; i++)
+        {
+            Thread thread = new Thread(this.consumers[i], "Telemetry-" + i + "-" + sinks[i].getClass().getSimpleName());
+            thread.setDaemon(true);
+            this.consumers[i].thread = thread;
+            thread.start();
+        }
+    }
+
+    /**
+     * Write a boolean to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBoolean(LoggingKey key, boolean value)
+    {
+        this.currentFrame.putBoolean(key, value);
+    }
+
+    /**
+     * Write a boolean array to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logBooleanArray(LoggingKey key, boolean[] value)
+    {
+        this.currentFrame.putBooleanArray(key, value);
+    }
+
+    /**
+     * Write a number (double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, double value)
+    {
+        this.currentFrame.putNumber(key, value);
+    }
+
+    /**
+     * Write a number (Double) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logNumber(LoggingKey key, Double value)
+    {
+        this.currentFrame.putNumber(key, value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value)
+    {
+        this.currentFrame.putInteger(key, value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logInteger(LoggingKey key, Integer value)
+    {
+        this.currentFrame.putInteger(key, value);
+    }
+
+    /**
+     * Write a number (integer) to the log
+     * @param key to write to
+     * @param value to write
+     * @param formatString to use
+     */
+    @Override
+    public void logInteger(LoggingKey key, int value, String formatString)
+    {
+        this.currentFrame.putInteger(key, value, formatString);
+    }
+
+    /**
+     * Write a point (x,y or N/A) to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logPoint(LoggingKey key, IPoint value)
+    {
+        this.currentFrame.putPoint(key, value);
+    }
+
+    /**
+     * Write a string to the log
+     * @param key to write to
+     * @param value to write
+     */
+    @Override
+    public void logString(LoggingKey key, String value)
+    {
+        this.currentFrame.putString(key, value);
+    }
+
+    /**
+     * Publish the current cycle to each of the sinks
+     */
+    @Override
+    public void update()
+    {
+        long sequence = this.published;
+
+        long droppedCycles = 0L;
+        for (Consumer consumer : this.consumers)
+        {
+            if (this.backPressure == TelemetryBackPressure.DropSink &&
+                !consumer.dropped &&
+                sequence - consumer.cursor >= this.ring.length)
+            {
+                // the slot we are about to overwrite hasn't been consumed by this sink yet
+                consumer.dropped = true;
+            }
+
+            if (consumer.dropped)
+            {
+                consumer.droppedCycles.incrementAndGet();
+            }
+
+            droppedCycles += consumer.droppedCycles.get();
+        }
+
+        this.currentFrame.putNumber(LoggingKey.RobotTelemetryDroppedCycles, (double)droppedCycles);
+
+        // seqlock-style write, so that a lapped consumer can tell that the slot changed underneath it
+        Slot slot = this.ring[(int)(sequence & this.mask)];
+        slot.sequence = -1L;
+        VarHandle.storeStoreFence();
+        slot.frame.copyAllFrom(this.currentFrame);
+        slot.sequence = sequence;
+
+        this.published = sequence + 1L;
+        this.currentFrame.clear();
+
+        this.wakeConsumers();
+    }
+
+    /**
+     * Request that each of the sinks flush their output (on their own threads)
+     */
+    @Override
+    public void flush()
+    {
+        this.flushRequests++;
+        this.wakeConsumers();
+    }
+
+    /**
+     * Signal the consumer threads to stop.  Each one drains the ring buffer, flushes its sink and exits on its own
+     * thread, so this doesn't wait for the sinks (e.g. when the logger is refreshed from the robot loop).
+     */
+    public void stop()
+    {
+        this.running = false;
+        this.wakeConsumers();
+    }
+
+    /**
+     * Wait for the consumer threads to finish after stop() (not to be called from the robot loop)
+     * @param timeoutMillis maximum time to wait for each consumer thread
+     * @return true if all of the consumer threads have finished
+     */
+    public boolean awaitStopped(long timeoutMillis)
+    {
+        for (Consumer consumer : this.consumers)
+        {
+            try
+            {
+                consumer.thread.join(timeoutMillis);
+            }
+            catch (InterruptedException ex)
+            {
+                Thread.currentThread().interrupt();
+                return false;
+            }
+
+            if (consumer.thread.isAlive())
+            {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Retrieve the number of cycles that were never written to the provided sink
+     * @param sinkIndex index of the sink (in the order provided to the constructor)
+     * @return the number of dropped cycles
+     */
+    public long getDroppedCycles(int sinkIndex)
+    {
+        return this.consumers[sinkIndex].droppedCycles.get();
+    }
+
+    /**
+     * Retrieve whether the provided sink has been dropped because it couldn't keep up
+     * @param sinkIndex index of the sink (in the order provided to the constructor)
+     * @return true if the sink is no longer being fed
+     */
+    public boolean isSinkDropped(int sinkIndex)
+    {
+        return this.consumers[sinkIndex].dropped;
+    }
+
+    private void wakeConsumers()
+    {
+        for (Consumer consumer : this.consumers)
+        {
+            LockSupport.unpark(consumer.thread);
+        }
+    }
+
+    private static class Slot
+    {
+        private final TelemetryFrame frame = new TelemetryFrame();
+        private volatile long sequence = -1L;
+    }
+
+    private class Consumer implements Runnable
+    {
+        private final ILogger sink;
+        private final TelemetryFrame frame;
+        private final AtomicLong droppedCycles;
+
+        private Thread thread;
+
+        // sequence number of the next frame to consume
+        private volatile long cursor;
+        private volatile boolean dropped;
+
+        private long flushes;
+
+        // whether a cycle was missed since the last frame written to the sink, so that the sink is missing changes
+        private boolean resync;
+
+        Consumer(ILogger sink)
+        {
+            this.sink = sink;
+            this.frame = new TelemetryFrame();
+            this.droppedCycles = new AtomicLong();
+            this.cursor = 0L;
+            this.dropped = false;
+            this.flushes = 0L;
+            this.resync = false;
+        }
+
+        @Override
+        public void run()
+        {
+            while (!this.dropped)
+            {
+                // read running before checking for frames, so that everything published before stop() is drained
+                boolean running = TelemetryBus.this.running;
+                boolean consumed = this.consume();
+
+                long flushRequests = TelemetryBus.this.flushRequests;
+                if (flushRequests != this.flushes)
+                {
+                    this.flushes = flushRequests;
+                    this.sink.flush();
+                }
+
+                if (!consumed)
+                {
+                    if (!running)
+                    {
+                        break;
+                    }
+
+                    LockSupport.parkNanos(this, TelemetryBus.IDLE_PARK_NANOS);
+                }
+            }
+
+            this.sink.flush();
+        }
+
+        /**
+         * Replay the next published frame into the sink, if there is one
+         * @return true if a frame was available
+         */
+        private boolean consume()
+        {
+            long published = TelemetryBus.this.published;
+            long cursor = this.cursor;
+            if (cursor >= published)
+            {
+                return false;
+            }
+
+            long oldest = published - TelemetryBus.this.ring.length;
+            if (cursor < oldest)
+            {
+                // lapped by the producer, skip ahead to the oldest frame that is still available
+                this.droppedCycles.addAndGet(oldest - cursor);
+                this.resync = true;
+                cursor = oldest;
+            }
+
+            Slot slot = TelemetryBus.this.ring[(int)(cursor & TelemetryBus.this.mask)];
+            boolean valid = slot.sequence == cursor;
+            if (valid)
+            {
+                if (this.resync)
+                {
+                    this.frame.copyAllFrom(slot.frame);
+                }
+                else
+                {
+                    this.frame.copyFrom(slot.frame);
+                }
+
+                VarHandle.loadLoadFence();
+                valid = slot.sequence == cursor;
+            }
+
+            if (valid)
+            {
+                if (this.resync)
+                {
+                    // the values that changed during the missed cycles were never written, so write everything
+                    this.frame.markAllDirty();
+                    this.resync = false;
+                }
+
+                this.frame.writeTo(this.sink);
+                this.sink.update();
+            }
+            else
+            {
+                // the producer overwrote this frame while we were copying it
+                this.droppedCycles.incrementAndGet();
+                this.resync = true;
+            }
+
+            this.cursor = cursor + 1L;
+            return true;
+        }
+    }
+}
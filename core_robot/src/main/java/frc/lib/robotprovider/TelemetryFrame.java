@@ -0,0 +1,290 @@
+package frc.lib.robotprovider;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+import java.util.Objects;
+
+import frc.robot.LoggingKey;
+
+/**
+ * The values logged during a single robot cycle, stored in preallocated arrays indexed by LoggingKey ordinal.
+ * If a key is logged more than once during a cycle, the last value wins.
+ *
+ * Values are kept between cycles, and a per-cycle dirty bitset tracks which keys were logged during the current
+ * cycle.  When skipping unchanged values, logging the same value that a key already holds doesn't mark it dirty.
+ *
+ * Different keys may be put from different threads at the same time (e.g. mechanisms reading their sensors in
+ * parallel), as long as the rest of the frame is only used once those threads have been joined.
+ */
+public class TelemetryFrame
+{
+    private static final byte TYPE_BOOLEAN = 1;
+    private static final byte TYPE_BOOLEAN_ARRAY = 2;
+    private static final byte TYPE_NUMBER = 3;
+    private static final byte TYPE_NULL_NUMBER = 4;
+    private static final byte TYPE_INTEGER = 5;
+    private static final byte TYPE_NULL_INTEGER = 6;
+    private static final byte TYPE_FORMATTED_INTEGER = 7;
+    private static final byte TYPE_POINT = 8;
+    private static final byte TYPE_STRING = 9;
+
+    private static final LoggingKey[] KEYS = LoggingKey.values();
+
+    // for setting bits in the bitsets atomically, as neighboring keys may be put from different threads
+    private static final VarHandle BITS = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final byte[] types;
+    private final long[] payloads;
+    private final Object[] references;
+
+    // whether logging the value a key already holds should leave it clean, indexed by LoggingKey ordinal
+    private final boolean[] skipUnchanged;
+
+    // bitset of the key ordinals that have ever been given a value
+    private final long[] valid;
+
+    // bitset of the key ordinals that were logged (or changed, when skipping unchanged values) during this cycle
+    private final long[] dirty;
+
+    public TelemetryFrame()
+    {
+        this(false);
+    }
+
+    /**
+     * Initializes a new instance of the TelemetryFrame class
+     * @param skipUnchanged whether logging the value a key already holds should leave that key clean (otherwise only for
+     * the keys that are onChangeOnly)
+     */
+    public TelemetryFrame(boolean skipUnchanged)
+    {
+        int keyCount = TelemetryFrame.KEYS.length;
+        this.types = new byte[keyCount];
+        this.payloads = new long[keyCount];
+        this.references = new Object[keyCount];
+        this.skipUnchanged = new boolean[keyCount];
+        for (int i = 0; i < keyCount; i++)
+        {
+            this.skipUnchanged[i] = skipUnchanged || TelemetryFrame.KEYS[i].onChangeOnly;
+        }
+
+        this.valid = new long[(keyCount + 63) >>> 6];
+        this.dirty = new long[(keyCount + 63) >>> 6];
+    }
+
+    public void putBoolean(LoggingKey key, boolean value)
+    {
+        this.put(key, TelemetryFrame.TYPE_BOOLEAN, value ? 1L : 0L, null);
+    }
+
+    public void putBooleanArray(LoggingKey key, boolean[] value)
+    {
+        int ordinal = key.ordinal();
+        if (this.skipUnchanged[ordinal] &&
+            this.isUnchanged(ordinal, TelemetryFrame.TYPE_BOOLEAN_ARRAY, 0L) &&
+            Arrays.equals((boolean[])this.references[ordinal], value))
+        {
+            return;
+        }
+
+        // copy the array, as the caller may modify it before the sinks get to it
+        this.set(ordinal, TelemetryFrame.TYPE_BOOLEAN_ARRAY, 0L, value == null ? null : value.clone());
+    }
+
+    public void putNumber(LoggingKey key, double value)
+    {
+        this.put(key, TelemetryFrame.TYPE_NUMBER, Double.doubleToRawLongBits(value), null);
+    }
+
+    public void putNumber(LoggingKey key, Double value)
+    {
+        if (value == null)
+        {
+            this.put(key, TelemetryFrame.TYPE_NULL_NUMBER, 0L, null);
+        }
+        else
+        {
+            this.put(key, TelemetryFrame.TYPE_NUMBER, Double.doubleToRawLongBits(value.doubleValue()), null);
+        }
+    }
+
+    public void putInteger(LoggingKey key, int value)
+    {
+        this.put(key, TelemetryFrame.TYPE_INTEGER, value, null);
+    }
+
+    public void putInteger(LoggingKey key, Integer value)
+    {
+        if (value == null)
+        {
+            this.put(key, TelemetryFrame.TYPE_NULL_INTEGER, 0L, null);
+        }
+        else
+        {
+            this.put(key, TelemetryFrame.TYPE_INTEGER, value.intValue(), null);
+        }
+    }
+
+    public void putInteger(LoggingKey key, int value, String formatString)
+    {
+        this.put(key, TelemetryFrame.TYPE_FORMATTED_INTEGER, value, formatString);
+    }
+
+    public void putPoint(LoggingKey key, IPoint value)
+    {
+        this.put(key, TelemetryFrame.TYPE_POINT, 0L, value);
+    }
+
+    public void putString(LoggingKey key, String value)
+    {
+        this.put(key, TelemetryFrame.TYPE_STRING, 0L, value);
+    }
+
+    /**
+     * Mark each of the keys as clean, as the start of a new cycle
+     */
+    public void clear()
+    {
+        for (int i = 0; i < this.dirty.length; i++)
+        {
+            this.dirty[i] = 0L;
+        }
+    }
+
+    /**
+     * Mark each of the keys that holds a value as dirty, so that the next writeTo includes all of the current values
+     */
+    public void markAllDirty()
+    {
+        for (int i = 0; i < this.dirty.length; i++)
+        {
+            this.dirty[i] = this.valid[i];
+        }
+    }
+
+    /**
+     * Replace the contents of this frame with the dirty values of another frame (without allocating)
+     * @param other frame to copy
+     */
+    public void copyFrom(TelemetryFrame other)
+    {
+        for (int word = 0; word < this.dirty.length; word++)
+        {
+            long bits = other.dirty[word];
+            this.dirty[word] = bits;
+            this.valid[word] |= bits;
+            while (bits != 0L)
+            {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1L;
+
+                this.types[ordinal] = other.types[ordinal];
+                this.payloads[ordinal] = other.payloads[ordinal];
+                this.references[ordinal] = other.references[ordinal];
+            }
+        }
+    }
+
+    /**
+     * Replace the contents of this frame with all of the values of another frame, keeping its dirty keys (without
+     * allocating)
+     * @param other frame to copy
+     */
+    public void copyAllFrom(TelemetryFrame other)
+    {
+        System.arraycopy(other.types, 0, this.types, 0, this.types.length);
+        System.arraycopy(other.payloads, 0, this.payloads, 0, this.payloads.length);
+        System.arraycopy(other.references, 0, this.references, 0, this.references.length);
+        System.arraycopy(other.valid, 0, this.valid, 0, this.valid.length);
+        System.arraycopy(other.dirty, 0, this.dirty, 0, this.dirty.length);
+    }
+
+    /**
+     * Write each of the dirty values into the provided logger (without calling update)
+     * @param logger to write into
+     */
+    public void writeTo(ILogger logger)
+    {
+        for (int word = 0; word < this.dirty.length; word++)
+        {
+            long bits = this.dirty[word];
+            while (bits != 0L)
+            {
+                int ordinal = (word << 6) + Long.numberOfTrailingZeros(bits);
+                bits &= bits - 1L;
+
+                LoggingKey key = TelemetryFrame.KEYS[ordinal];
+                long payload = this.payloads[ordinal];
+                Object reference = this.references[ordinal];
+                switch (this.types[ordinal])
+                {
+                    case TelemetryFrame.TYPE_BOOLEAN:
+                        logger.logBoolean(key, payload != 0L);
+                        break;
+
+                    case TelemetryFrame.TYPE_BOOLEAN_ARRAY:
+                        logger.logBooleanArray(key, (boolean[])reference);
+                        break;
+
+                    case TelemetryFrame.TYPE_NUMBER:
+                        logger.logNumber(key, Double.longBitsToDouble(payload));
+                        break;
+
+                    case TelemetryFrame.TYPE_NULL_NUMBER:
+                        logger.logNumber(key, (Double)null);
+                        break;
+
+                    case TelemetryFrame.TYPE_INTEGER:
+                        logger.logInteger(key, (int)payload);
+                        break;
+
+                    case TelemetryFrame.TYPE_NULL_INTEGER:
+                        logger.logInteger(key, (Integer)null);
+                        break;
+
+                    case TelemetryFrame.TYPE_FORMATTED_INTEGER:
+                        logger.logInteger(key, (int)payload, (String)reference);
+                        break;
+
+                    case TelemetryFrame.TYPE_POINT:
+                        logger.logPoint(key, (IPoint)reference);
+                        break;
+
+                    case TelemetryFrame.TYPE_STRING:
+                        logger.logString(key, (String)reference);
+                        break;
+                }
+            }
+        }
+    }
+
+    private void put(LoggingKey key, byte type, long payload, Object reference)
+    {
+        int ordinal = key.ordinal();
+        if (this.skipUnchanged[ordinal] &&
+            this.isUnchanged(ordinal, type, payload) &&
+            Objects.equals(this.references[ordinal], reference))
+        {
+            return;
+        }
+
+        this.set(ordinal, type, payload, reference);
+    }
+
+    private boolean isUnchanged(int ordinal, byte type, long payload)
+    {
+        return (this.valid[ordinal >>> 6] & (1L << ordinal)) != 0L &&
+            this.types[ordinal] == type &&
+            this.payloads[ordinal] == payload;
+    }
+
+    private void set(int ordinal, byte type, long payload, Object reference)
+    {
+        this.types[ordinal] = type;
+        this.payloads[ordinal] = payload;
+        this.references[ordinal] = reference;
+        TelemetryFrame.BITS.getAndBitwiseOr(this.valid, ordinal >>> 6, 1L << ordinal);
+        TelemetryFrame.BITS.getAndBitwiseOr(this.dirty, ordinal >>> 6, 1L << ordinal);
+    }
+}
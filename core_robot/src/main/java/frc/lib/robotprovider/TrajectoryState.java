@@ -2,12 +2,16 @@ package frc.lib.robotprovider;
 
 public class TrajectoryState
 {
-    public final double xPosition; // in inches
-    public final double yPosition; // in inches
-    public final double angle; // in degrees
-    public final double xVelocity; // in inches per second
-    public final double yVelocity; // in inches per second
-    public final double angleVelocity; // in degrees per second
+    public double xPosition; // in inches
+    public double yPosition; // in inches
+    public double angle; // in degrees
+    public double xVelocity; // in inches per second
+    public double yVelocity; // in inches per second
+    public double angleVelocity; // in degrees per second
+
+    public TrajectoryState()
+    {
+    }
 
     public TrajectoryState(
         double xPosition,
@@ -16,6 +20,17 @@ public class TrajectoryState
         double xVelocity,
         double yVelocity,
         double angleVelocity)
+    {
+        this.set(xPosition, yPosition, angle, xVelocity, yVelocity, angleVelocity);
+    }
+
+    public void set(
+        double xPosition,
+        double yPosition,
+        double angle,
+        double xVelocity,
+        double yVelocity,
+        double angleVelocity)
     {
         this.xPosition = xPosition;
         this.yPosition = yPosition;
@@ -24,4 +39,4 @@ public class TrajectoryState
         this.yVelocity = yVelocity;
         this.angleVelocity = angleVelocity;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,214 @@
+package frc.lib.vision;
+
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+
+import frc.lib.helpers.ExceptionHelpers;
+import frc.lib.robotprovider.IMat;
+import frc.lib.robotprovider.IOpenCVProvider;
+
+/**
+ * Pool of images, keyed by their size and type, so that the scratch images used for each frame can be reused for the
+ * next frame instead of allocating (and eventually releasing) new native memory 30 times per second.
+ *
+ * Every acquired image must be returned.  When tracking is enabled, the pool remembers where each outstanding image was
+ * acquired so that any that are never returned can be reported.
+ *
+ * A pipeline only uses a handful of sizes, so each size has its own slot (found by a linear search of the keys) holding
+ * a stack of the available images, and once the pool is warm acquiring and returning images doesn't allocate at all
+ * (unless tracking).
+ */
+public class MatPool
+{
+    private final IOpenCVProvider openCVProvider;
+    private final boolean trackLeaks;
+
+    private final IdentityHashMap<IMat, Exception> outstanding;
+
+    // the size and type of each slot (see getKey()), and a stack of the images that are available in that slot
+    private long[] keys;
+    private IMat[][] available;
+    private int[] availableCounts;
+    private int slotCount;
+
+    private int allocatedCount;
+    private int outstandingCount;
+
+    /**
+     * Initializes a new MatPool
+     * @param openCVProvider for allocating new images
+     * @param trackLeaks whether to keep track of where each outstanding image was acquired (slower, for debugging)
+     */
+    public MatPool(IOpenCVProvider openCVProvider, boolean trackLeaks)
+    {
+        this.openCVProvider = openCVProvider;
+        this.trackLeaks = trackLeaks;
+
+        this.outstanding = trackLeaks ? new IdentityHashMap<IMat, Exception>() : null;
+
+        this.keys = new long[4];
+        this.available = new IMat[4][];
+        this.availableCounts = new int[4];
+        this.slotCount = 0;
+
+        this.allocatedCount = 0;
+        this.outstandingCount = 0;
+    }
+
+    /**
+     * Acquire an image of the provided size and type, reusing a returned one if there is one
+     * @param rows of the image
+     * @param cols of the image
+     * @param type of the image (a la CvType)
+     * @return the image (with unspecified contents), which must be returned with release()
+     */
+    public synchronized IMat acquire(int rows, int cols, int type)
+    {
+        IMat mat = null;
+        int slot = this.findSlot(MatPool.getKey(rows, cols, type));
+        if (slot >= 0 && this.availableCounts[slot] > 0)
+        {
+            int count = --this.availableCounts[slot];
+            mat = this.available[slot][count];
+            this.available[slot][count] = null;
+        }
+
+        if (mat == null)
+        {
+            mat = this.openCVProvider.newMat(rows, cols, type);
+            this.allocatedCount++;
+        }
+
+        this.outstandingCount++;
+        if (this.trackLeaks)
+        {
+            this.outstanding.put(mat, new Exception("Mat acquired (" + rows + "x" + cols + ", type " + type + ")"));
+        }
+
+        return mat;
+    }
+
+    /**
+     * Return an image to the pool so that it can be reused
+     * @param mat that was acquired from this pool
+     */
+    public synchronized void release(IMat mat)
+    {
+        if (this.trackLeaks)
+        {
+            ExceptionHelpers.Assert(this.outstanding.remove(mat) != null, "Returned a Mat that isn't outstanding from this pool");
+        }
+
+        this.outstandingCount--;
+
+        // (pooled by its current size and type, in case it was reallocated while it was in use)
+        long key = MatPool.getKey(mat.rows(), mat.cols(), mat.type());
+        int slot = this.findSlot(key);
+        if (slot < 0)
+        {
+            slot = this.addSlot(key);
+        }
+
+        int count = this.availableCounts[slot];
+        if (count == this.available[slot].length)
+        {
+            this.available[slot] = Arrays.copyOf(this.available[slot], count * 2);
+        }
+
+        this.available[slot][count] = mat;
+        this.availableCounts[slot] = count + 1;
+    }
+
+    /**
+     * Release the native memory of all of the images that are in the pool (but not any outstanding ones)
+     */
+    public synchronized void clear()
+    {
+        for (int slot = 0; slot < this.slotCount; slot++)
+        {
+            for (int i = 0; i < this.availableCounts[slot]; i++)
+            {
+                this.available[slot][i].release();
+                this.available[slot][i] = null;
+                this.allocatedCount--;
+            }
+
+            this.availableCounts[slot] = 0;
+        }
+    }
+
+    /**
+     * Get the number of images allocated by the pool that haven't been cleared
+     * @return number of images
+     */
+    public synchronized int getAllocatedCount()
+    {
+        return this.allocatedCount;
+    }
+
+    /**
+     * Get the number of images that have been acquired but not returned
+     * @return number of images
+     */
+    public synchronized int getOutstandingCount()
+    {
+        return this.outstandingCount;
+    }
+
+    /**
+     * Report each image that has been acquired but not returned (along with where it was acquired, if tracking) to
+     * standard error
+     * @return number of outstanding images
+     */
+    public synchronized int reportLeaks()
+    {
+        if (this.trackLeaks)
+        {
+            for (Exception acquisition : this.outstanding.values())
+            {
+                System.err.println("Leaked " + ExceptionHelpers.exceptionString(acquisition));
+            }
+        }
+        else if (this.outstandingCount > 0)
+        {
+            System.err.println("Leaked " + this.outstandingCount + " Mat(s)");
+        }
+
+        return this.outstandingCount;
+    }
+
+    private int findSlot(long key)
+    {
+        for (int slot = 0; slot < this.slotCount; slot++)
+        {
+            if (this.keys[slot] == key)
+            {
+                return slot;
+            }
+        }
+
+        return -1;
+    }
+
+    private int addSlot(long key)
+    {
+        if (this.slotCount == this.keys.length)
+        {
+            int capacity = this.slotCount * 2;
+            this.keys = Arrays.copyOf(this.keys, capacity);
+            this.available = Arrays.copyOf(this.available, capacity);
+            this.availableCounts = Arrays.copyOf(this.availableCounts, capacity);
+        }
+
+        int slot = this.slotCount++;
+        this.keys[slot] = key;
+        this.available[slot] = new IMat[2];
+        this.availableCounts[slot] = 0;
+        return slot;
+    }
+
+    private static long getKey(int rows, int cols, int type)
+    {
+        return ((long)rows << 40) | ((long)cols << 16) | (type & 0xFFFFL);
+    }
+}
@@ -0,0 +1,262 @@
+package frc.lib.vision;
+
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+import frc.lib.helpers.TripleBuffer;
+import frc.lib.robotprovider.*;
+
+/**
+ * Runs a vision pipeline on the robot, off of the main loop.
+ *
+ * Frames are grabbed from the camera on a capture thread and processed on a processing thread, so that grabbing the next
+ * frame overlaps with processing the current one.  Each stage hands off to the next through a TripleBuffer, so when
+ * processing falls behind the older frames are dropped rather than queued, and the main loop only ever picks up the
+ * latest result without waiting on either thread.
+ *
+ * @param <P> type of the pipeline
+ * @param <R> type of the outputs copied from the pipeline after each frame
+ */
+public class VisionEngine<P extends IVisionPipeline, R extends IVisionListener<P>>
+{
+    private static final double GRAB_TIMEOUT = 0.5; // in seconds
+    private static final long DISABLED_WAIT_NANOS = 100000000L;
+
+    private final ICvSink sink;
+    private final P pipeline;
+    private final ITimer timer;
+    private final INetworkTableProvider networkTable;
+
+    private final TripleBuffer<Frame> frames;
+    private final TripleBuffer<Result<R>> results;
+
+    private volatile boolean enabled;
+    private volatile Thread processingThread;
+
+    // run on the processing thread once it has finished the last frame after being disabled
+    private Runnable idleListener;
+
+    // only written by the capture thread
+    private volatile long capturedFrames;
+    private volatile long droppedFrames;
+    private volatile long grabErrors;
+
+    /**
+     * Initializes a new VisionEngine
+     * @param camera to grab frames from
+     * @param pipeline to process the frames
+     * @param outputs to create the objects that hold the outputs of the pipeline (three are created)
+     * @param openCVProvider for creating the images to grab frames into
+     * @param timer to use
+     * @param networkTable for the time base of the frames' capture times
+     */
+    public VisionEngine(
+        IUsbCamera camera,
+        P pipeline,
+        Supplier<R> outputs,
+        IOpenCVProvider openCVProvider,
+        ITimer timer,
+        INetworkTableProvider networkTable)
+    {
+        this.sink = camera.createCvSink();
+        this.pipeline = pipeline;
+        this.timer = timer;
+        this.networkTable = networkTable;
+
+        this.frames = new TripleBuffer<Frame>(
+            new Frame(openCVProvider.newMat()),
+            new Frame(openCVProvider.newMat()),
+            new Frame(openCVProvider.newMat()));
+        this.results = new TripleBuffer<Result<R>>(
+            new Result<R>(outputs.get()),
+            new Result<R>(outputs.get()),
+            new Result<R>(outputs.get()));
+
+        this.enabled = false;
+        this.capturedFrames = 0L;
+        this.droppedFrames = 0L;
+        this.grabErrors = 0L;
+    }
+
+    /**
+     * Set something to run on the processing thread each time it goes idle after being disabled, once the pipeline
+     * has finished processing its last frame (must be called before start())
+     * @param idleListener to run
+     */
+    public void setIdleListener(Runnable idleListener)
+    {
+        this.idleListener = idleListener;
+    }
+
+    /**
+     * Start the capture and processing threads (as daemon threads)
+     */
+    public void start()
+    {
+        Thread processingThread = new Thread(this::process, "VisionProcessing");
+        processingThread.setDaemon(true);
+        this.processingThread = processingThread;
+        processingThread.start();
+
+        Thread captureThread = new Thread(this::capture, "VisionCapture");
+        captureThread.setDaemon(true);
+        captureThread.start();
+    }
+
+    /**
+     * Set whether frames should be grabbed and processed (so that the pipeline only uses the CPU when it is needed)
+     * @param enabled whether to run the pipeline
+     */
+    public void setEnabled(boolean enabled)
+    {
+        this.enabled = enabled;
+    }
+
+    /**
+     * Take the latest result from the processing thread, if there is a new one (main loop only)
+     * @return true if there is a new result, otherwise false
+     */
+    public boolean update()
+    {
+        return this.results.update();
+    }
+
+    /**
+     * Get the result that was taken by the latest update (main loop only)
+     * @return the result (which is unchanged until the next update)
+     */
+    public Result<R> getResult()
+    {
+        return this.results.getFront();
+    }
+
+    /**
+     * Get the number of frames that have been grabbed from the camera
+     * @return captured frame count
+     */
+    public long getCapturedFrames()
+    {
+        return this.capturedFrames;
+    }
+
+    /**
+     * Get the number of frames that were dropped because processing fell behind
+     * @return dropped frame count
+     */
+    public long getDroppedFrames()
+    {
+        return this.droppedFrames;
+    }
+
+    /**
+     * Get the number of times that grabbing a frame from the camera failed
+     * @return error count
+     */
+    public long getGrabErrors()
+    {
+        return this.grabErrors;
+    }
+
+    private void capture()
+    {
+        long frameId = 0L;
+        while (true)
+        {
+            if (!this.enabled)
+            {
+                LockSupport.parkNanos(VisionEngine.DISABLED_WAIT_NANOS);
+                continue;
+            }
+
+            Frame frame = this.frames.getBack();
+            long grabStartNanos = System.nanoTime();
+            long frameTime = this.sink.grabFrame(frame.image, VisionEngine.GRAB_TIMEOUT);
+            if (frameTime == 0L)
+            {
+                this.grabErrors++;
+                continue;
+            }
+
+            // convert the capture time from the camera's time base into ours, reading both clocks together
+            double age = (this.networkTable.getNetworkTime() - frameTime) / 1000000.0;
+            frame.captureTime = this.timer.get() - Math.max(0.0, age);
+            frame.grabDuration = (System.nanoTime() - grabStartNanos) / 1000000000.0;
+            frame.frameId = ++frameId;
+
+            this.capturedFrames++;
+            if (this.frames.publish())
+            {
+                // the previous frame was never processed
+                this.droppedFrames++;
+            }
+
+            LockSupport.unpark(this.processingThread);
+        }
+    }
+
+    private void process()
+    {
+        boolean processed = false;
+        while (true)
+        {
+            if (!this.frames.update())
+            {
+                if (processed && !this.enabled && this.idleListener != null)
+                {
+                    this.idleListener.run();
+                    processed = false;
+                }
+
+                LockSupport.parkNanos(VisionEngine.DISABLED_WAIT_NANOS);
+                continue;
+            }
+
+            processed = true;
+
+            Frame frame = this.frames.getFront();
+            long processStartNanos = System.nanoTime();
+            this.pipeline.process(frame.image);
+
+            Result<R> result = this.results.getBack();
+            result.outputs.copyPipelineOutputs(this.pipeline);
+            result.frameId = frame.frameId;
+            result.captureTime = frame.captureTime;
+            result.grabDuration = frame.grabDuration;
+            result.processDuration = (System.nanoTime() - processStartNanos) / 1000000000.0;
+            result.latency = this.timer.get() - frame.captureTime;
+            this.results.publish();
+        }
+    }
+
+    private static class Frame
+    {
+        final IMat image;
+        long frameId;
+        double captureTime;
+        double grabDuration;
+
+        Frame(IMat image)
+        {
+            this.image = image;
+        }
+    }
+
+    /**
+     * The outputs of the pipeline for a single frame, along with when it was captured and how long each stage took
+     * @param <R> type of the outputs copied from the pipeline
+     */
+    public static class Result<R>
+    {
+        public final R outputs;
+        public long frameId; // 0 until the first frame has been processed
+        public double captureTime; // in seconds, a la ITimer.get()
+        public double grabDuration; // in seconds, including waiting for the camera
+        public double processDuration; // in seconds, including copying the outputs
+        public double latency; // in seconds, from capture until the result was published
+
+        Result(R outputs)
+        {
+            this.outputs = outputs;
+        }
+    }
+}
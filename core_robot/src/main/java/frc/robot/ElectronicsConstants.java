@@ -56,6 +56,10 @@ public class ElectronicsConstants
 
     public static final int INDICATOR_LIGHT_CANDLE_CAN_ID = 55;
 
+    //================================================== Vision ==============================================================
+
+    public static final int ONBOARD_VISION_CAMERA_DEVICE = 0;
+
     //================================================== DriveTrain ==============================================================
 
     public static final int DRIVETRAIN_DRIVE_MOTOR_1_CAN_ID = 1;
@@ -14,6 +14,14 @@ public class HardwareConstants
     public static final double MAX_ROBOT_HEIGHT = 78.0; // inches, max overall height
     public static final double MAX_ROBOT_EXTENSION = 48.0; // inches, max extension beyond frame perimeter
 
+    //================================================== Vision ==============================================================
+
+    public static final double ONBOARD_VISION_CAMERA_HORIZONTAL_FOV = 60.0; // in degrees
+    public static final double ONBOARD_VISION_CAMERA_VERTICAL_FOV = 45.0; // in degrees
+    public static final double ONBOARD_VISION_CAMERA_HEIGHT = 10.0; // in inches, from the floor
+    public static final double ONBOARD_VISION_CAMERA_PITCH = 20.0; // in degrees, upwards from level
+    public static final double ONBOARD_VISION_TARGET_HEIGHT = 24.0; // in inches, from the floor to the center of the tape
+
     //================================================== DriveTrain ==============================================================
 
     public static final TalonFXInvertType DRIVETRAIN_STEER_MOTOR1_INVERT = TalonFXInvertType.Clockwise;
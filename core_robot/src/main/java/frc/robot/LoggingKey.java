@@ -1,5 +1,7 @@
 package frc.robot;
 
+import frc.lib.robotprovider.LoggingDestination;
+
 /**
  * Keys describing logging 
  */
@@ -9,6 +11,17 @@ public enum LoggingKey
     RobotTime("r.time", true),
     RobotMatch("r.match"),
     RobotCrash("r.crash", true),
+    RobotTelemetryDroppedCycles("r.telemetryDropped"),
+    RobotLoopTimeP50("r.loopP50", false, 0.0, 2.0),
+    RobotLoopTimeP99("r.loopP99", true, 0.0, 2.0),
+    RobotLoopTimeMax("r.loopMax", true, 0.0, 2.0),
+    RobotLoopOverruns("r.loopOverruns", true),
+    RobotReadSensorsTimeP99("r.readSensorsP99", false, 0.0, 2.0),
+    RobotDriverTimeP99("r.driverP99", false, 0.0, 2.0),
+    RobotUpdateTimeP99("r.updateP99", false, 0.0, 2.0),
+    RobotLoggerTimeP99("r.loggerP99", false, 0.0, 2.0),
+    RobotSlowestMechanism("r.slowestMech"),
+    RobotSlowestMechanismTimeP99("r.slowestMechP99", false, 0.0, 2.0),
     DriverMode("driver.mode"),
     DriverActiveMacros("driver.activeMacros", true),
     DriverActiveShifts("driver.activeShifts"),
@@ -26,8 +39,22 @@ public enum LoggingKey
     OffboardVisionProcessingMode("vision.processingMode"),
     OffboardVisionEnableStream("vision.enableStream"),
     OffboardVisionMissedHeartbeats("vision.missedHeartbeats"),
+    OffboardVisionUsingFallback("vision.usingFallback", true),
+    OnboardVisionRRTargetDistance("onboardVision.rr_distance"),
+    OnboardVisionRRTargetHorizontalAngle("onboardVision.rr_horizontalAngle"),
+    OnboardVisionEnabled("onboardVision.enabled"),
+    OnboardVisionLatency("onboardVision.latency", false, 0.0, 5.0),
+    OnboardVisionGrabTime("onboardVision.grabTime", false, 0.0, 5.0),
+    OnboardVisionProcessTime("onboardVision.processTime", false, 0.0, 5.0),
+    OnboardVisionDroppedFrames("onboardVision.droppedFrames"),
+    OnboardVisionAllocatedMats("onboardVision.allocatedMats"),
+    PoseEstimatorXPosition("pe.xpos", true),
+    PoseEstimatorYPosition("pe.ypos", true),
+    PoseEstimatorVariance("pe.variance"),
+    PoseEstimatorVisionUpdates("pe.visionUpdates"),
+    PoseEstimatorVisionRejections("pe.visionRejected"),
     PowerCurrent("power.curr"),
-    PowerCurrentFloatingAverage("power.currFltAvg"),
+    PowerCurrentFloatingAverage("power.currFltAvg", true),
     PowerBatteryVoltage("power.battV"),
     NavxStartingAngle("navx.startingAngle"),
     PigeonState("pigeon.state"),
@@ -60,52 +87,69 @@ public enum LoggingKey
     DriveTrainXVelocityGoal("dt.xvel_goal"),
     DriveTrainYVelocityGoal("dt.yvel_goal"),
     DriveTrainAngleVelocityGoal("dt.anglevel_goal"),
+    DriveTrainPathError("dt.path_err", true),
     DriveTrainFieldOriented("dt.field_oriented"),
     DriveTrainMaintainOrientation("dt.maintain_orientation"),
 
     DriveTrainAbsoluteEncoderAngle1("dt.absenc_ang1"),
-    DriveTrainDriveVelocity1("dt.drive_vel1"),
+    DriveTrainDriveVelocity1("dt.drive_vel1", false, 0.01, 10.0),
     DriveTrainDrivePosition1("dt.drive_pos1"),
-    DriveTrainDriveError1("dt.drive_err1"),
-    DriveTrainDriveVelocityGoal1("dt.drive_goal1"),
-    DriveTrainSteerVelocity1("dt.steer_vel1"),
+    DriveTrainDriveError1("dt.drive_err1", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveVelocityGoal1("dt.drive_goal1", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerVelocity1("dt.steer_vel1", false, 0.01, 10.0),
     DriveTrainSteerPosition1("dt.steer_pos1"),
     DriveTrainSteerAngle1("dt.steer_ang1"),
-    DriveTrainSteerError1("dt.steer_err1"),
-    DriveTrainSteerPositionGoal1("dt.steer_goal1"),
+    DriveTrainSteerError1("dt.steer_err1", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerPositionGoal1("dt.steer_goal1", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveRequestsSent1("dt.drive_sent1", LoggingDestination.File, 1, false),
+    DriveTrainDriveRequestsSuppressed1("dt.drive_supp1", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSent1("dt.steer_sent1", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSuppressed1("dt.steer_supp1", LoggingDestination.File, 1, false),
 
     DriveTrainAbsoluteEncoderAngle2("dt.absenc_ang2"),
-    DriveTrainDriveVelocity2("dt.drive_vel2"),
+    DriveTrainDriveVelocity2("dt.drive_vel2", false, 0.01, 10.0),
     DriveTrainDrivePosition2("dt.drive_pos2"),
-    DriveTrainDriveError2("dt.drive_err2"),
-    DriveTrainDriveVelocityGoal2("dt.drive_goal2"),
-    DriveTrainSteerVelocity2("dt.steer_vel2"),
+    DriveTrainDriveError2("dt.drive_err2", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveVelocityGoal2("dt.drive_goal2", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerVelocity2("dt.steer_vel2", false, 0.01, 10.0),
     DriveTrainSteerPosition2("dt.steer_pos2"),
     DriveTrainSteerAngle2("dt.steer_ang2"),
-    DriveTrainSteerError2("dt.steer_err2"),
-    DriveTrainSteerPositionGoal2("dt.steer_goal2"),
+    DriveTrainSteerError2("dt.steer_err2", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerPositionGoal2("dt.steer_goal2", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveRequestsSent2("dt.drive_sent2", LoggingDestination.File, 1, false),
+    DriveTrainDriveRequestsSuppressed2("dt.drive_supp2", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSent2("dt.steer_sent2", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSuppressed2("dt.steer_supp2", LoggingDestination.File, 1, false),
 
     DriveTrainAbsoluteEncoderAngle3("dt.absenc_ang3"),
-    DriveTrainDriveVelocity3("dt.drive_vel3"),
+    DriveTrainDriveVelocity3("dt.drive_vel3", false, 0.01, 10.0),
     DriveTrainDrivePosition3("dt.drive_pos3"),
-    DriveTrainDriveError3("dt.drive_err3"),
-    DriveTrainDriveVelocityGoal3("dt.drive_goal3"),
-    DriveTrainSteerVelocity3("dt.steer_vel3"),
+    DriveTrainDriveError3("dt.drive_err3", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveVelocityGoal3("dt.drive_goal3", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerVelocity3("dt.steer_vel3", false, 0.01, 10.0),
     DriveTrainSteerPosition3("dt.steer_pos3"),
     DriveTrainSteerAngle3("dt.steer_ang3"),
-    DriveTrainSteerError3("dt.steer_err3"),
-    DriveTrainSteerPositionGoal3("dt.steer_goal3"),
+    DriveTrainSteerError3("dt.steer_err3", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerPositionGoal3("dt.steer_goal3", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveRequestsSent3("dt.drive_sent3", LoggingDestination.File, 1, false),
+    DriveTrainDriveRequestsSuppressed3("dt.drive_supp3", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSent3("dt.steer_sent3", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSuppressed3("dt.steer_supp3", LoggingDestination.File, 1, false),
 
     DriveTrainAbsoluteEncoderAngle4("dt.absenc_ang4"),
-    DriveTrainDriveVelocity4("dt.drive_vel4"),
+    DriveTrainDriveVelocity4("dt.drive_vel4", false, 0.01, 10.0),
     DriveTrainDrivePosition4("dt.drive_pos4"),
-    DriveTrainDriveError4("dt.drive_err4"),
-    DriveTrainDriveVelocityGoal4("dt.drive_goal4"),
-    DriveTrainSteerVelocity4("dt.steer_vel4"),
+    DriveTrainDriveError4("dt.drive_err4", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveVelocityGoal4("dt.drive_goal4", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerVelocity4("dt.steer_vel4", false, 0.01, 10.0),
     DriveTrainSteerPosition4("dt.steer_pos4"),
     DriveTrainSteerAngle4("dt.steer_ang4"),
-    DriveTrainSteerError4("dt.steer_err4"),
-    DriveTrainSteerPositionGoal4("dt.steer_goal4"),
+    DriveTrainSteerError4("dt.steer_err4", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainSteerPositionGoal4("dt.steer_goal4", LoggingDestination.FileAndDashboard, 5, false),
+    DriveTrainDriveRequestsSent4("dt.drive_sent4", LoggingDestination.File, 1, false),
+    DriveTrainDriveRequestsSuppressed4("dt.drive_supp4", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSent4("dt.steer_sent4", LoggingDestination.File, 1, false),
+    DriveTrainSteerRequestsSuppressed4("dt.steer_supp4", LoggingDestination.File, 1, false),
 
     ArmFKXPosition("a.fk_x_pos"),
     ArmFKZPosition("a.fk_z_pos"),
@@ -114,40 +158,74 @@ public enum LoggingKey
     ikXAdjustment("a.ik_x_adj"),
     ikZAdjustment("a.ik_z_adj"),
     ArmLowerStalled("a.low_stalled"),
-    ArmLowerLeftDesiredPosition("a.low_left_pos_desired"),
+    ArmLowerLeftDesiredPosition("a.low_left_pos_desired", LoggingDestination.FileAndDashboard, 5, false),
     ArmLowerLeftPosition("a.low_left_pos"),
     ArmLowerLeftVelocity("a.low_left_vel"),
     ArmLowerLeftVelocityAverage("a.low_left_vel_avg"),
-    ArmLowerLeftError("a.low_left_err"),
+    ArmLowerLeftError("a.low_left_err", LoggingDestination.FileAndDashboard, 5, false),
     ArmLowerLeftPower("a.low_left_power"),
-    ArmLowerRightDesiredPosition("a.low_right_pos_desired"),
+    ArmLowerRightDesiredPosition("a.low_right_pos_desired", LoggingDestination.FileAndDashboard, 5, false),
     ArmLowerRightPosition("a.low_right_pos"),
     ArmLowerRightVelocity("a.low_right_vel"),
     ArmLowerRightVelocityAverage("a.low_right_vel_avg"),
-    ArmLowerRightError("a.low_right_err"),
+    ArmLowerRightError("a.low_right_err", LoggingDestination.FileAndDashboard, 5, false),
     ArmLowerRightPower("a.low_right_power"),
     ArmUpperStalled("a.up_stalled"),
-    ArmUpperDesiredPosition("a.up_pos_desired"),
+    ArmUpperDesiredPosition("a.up_pos_desired", LoggingDestination.FileAndDashboard, 5, false),
     ArmUpperPosition("a.up_pos"),
     ArmUpperVelocity("a.up_vel"),
     ArmUpperVelocityAverage("a.up_vel_avg"),
-    ArmUpperError("a.up_err"),
+    ArmUpperError("a.up_err", LoggingDestination.FileAndDashboard, 5, false),
     ArmUpperPower("a.up_power"),
     ArmIntakePower("a.intake_power"),
     ArmIntakeExtended("a.intake_extended"),
+    ArmLowerLeftRequestsSent("a.low_left_sent", LoggingDestination.File, 1, false),
+    ArmLowerLeftRequestsSuppressed("a.low_left_supp", LoggingDestination.File, 1, false),
+    ArmLowerRightRequestsSent("a.low_right_sent", LoggingDestination.File, 1, false),
+    ArmLowerRightRequestsSuppressed("a.low_right_supp", LoggingDestination.File, 1, false),
+    ArmUpperRequestsSent("a.up_sent", LoggingDestination.File, 1, false),
+    ArmUpperRequestsSuppressed("a.up_supp", LoggingDestination.File, 1, false),
+    ArmIntakeRequestsSent("a.intake_sent", LoggingDestination.File, 1, false),
+    ArmIntakeRequestsSuppressed("a.intake_supp", LoggingDestination.File, 1, false),
 
     CompressorPreassure("com.pres");
 
     public final String value;
-    public final boolean shouldLog;
+    public final LoggingDestination destination;
+    public final boolean shouldLog; // whether the key is written to the log file
+    public final int sampleDivisor; // publish to the dashboard at most every N cycles (the file gets every cycle)
+    public final boolean onChangeOnly; // only pass the value along when it changes, even if LOG_ONLY_CHANGED_VALUES is off
+    public final double dashboardDeadband; // smallest change in a number worth publishing to the dashboard
+    public final double dashboardMaxRate; // in Hz, most times per second to publish to the dashboard (0 for every change)
+
     private LoggingKey(String value)
     {
         this(value, false);
     }
 
     private LoggingKey(String value, boolean shouldLog)
+    {
+        this(value, shouldLog, 0.0, 0.0);
+    }
+
+    private LoggingKey(String value, boolean shouldLog, double dashboardDeadband, double dashboardMaxRate)
+    {
+        this(value, shouldLog ? LoggingDestination.FileAndDashboard : LoggingDestination.Dashboard, 1, false, dashboardDeadband, dashboardMaxRate);
+    }
+
+    private LoggingKey(String value, LoggingDestination destination, int sampleDivisor, boolean onChangeOnly)
+    {
+        this(value, destination, sampleDivisor, onChangeOnly, 0.0, 0.0);
+    }
+
+    private LoggingKey(String value, LoggingDestination destination, int sampleDivisor, boolean onChangeOnly, double dashboardDeadband, double dashboardMaxRate)
     {
         this.value = value;
-        this.shouldLog = shouldLog;
+        this.destination = destination;
+        this.shouldLog = destination.file;
+        this.sampleDivisor = sampleDivisor;
+        this.onChangeOnly = onChangeOnly;
+        this.dashboardDeadband = dashboardDeadband;
+        this.dashboardMaxRate = dashboardMaxRate;
     }
 }
@@ -16,20 +16,128 @@ public class SettingsManager
         List<IMechanism> mechanismList = new ArrayList<IMechanism>();
         mechanismList.add(injector.getInstance(PowerManager.class));
         mechanismList.add(injector.getInstance(CompressorMechanism.class));
-        mechanismList.add(injector.getInstance(PigeonManager.class)); // PigeonManager/NavxManager should come before DriveTrainMechanism
+        mechanismList.add(injector.getInstance(PigeonManager.class)); // PigeonManager/NavxManager should come before DriveTrainMechanism (which also declares it as a readSensors dependency)
         mechanismList.add(injector.getInstance(DriveTrainMechanism.class));
         mechanismList.add(injector.getInstance(ArmMechanism.class));
-        mechanismList.add(injector.getInstance(OffboardVisionManager.class));
+        mechanismList.add(injector.getInstance(OnboardVisionManager.class));
+        mechanismList.add(injector.getInstance(OffboardVisionManager.class)); // uses OnboardVisionManager (declared as a readSensors dependency)
+        mechanismList.add(injector.getInstance(PoseEstimationManager.class)); // uses DriveTrainMechanism and OffboardVisionManager (declared as readSensors dependencies)
         mechanismList.add(injector.getInstance(DriverFeedbackManager.class)); // DriverFeedbackManager should always be the last mechanism on the list
         return mechanismList;
     }
 
     public static ILogger getLogger(Injector injector)
     {
-        ISmartDashboardLogger smartDashboardLogger = injector.getInstance(ISmartDashboardLogger.class);
+        // (the file loggers already only write the keys that are routed to the file)
+        ILogger smartDashboardLogger = new RoutedLogger(injector.getInstance(ISmartDashboardLogger.class), LoggingDestination.Dashboard);
+        ILogger fileLogger = SettingsManager.getFileLogger(injector);
+
+        ILogger[] sinks;
+        if (fileLogger == null)
+        {
+            sinks = new ILogger[] { smartDashboardLogger };
+        }
+        else
+        {
+            sinks = new ILogger[] { fileLogger, smartDashboardLogger };
+        }
+
+        if (TuningConstants.LOG_TELEMETRY_BUS)
+        {
+            // write to the sinks from their own threads, so that file and NetworkTables I/O stays off of the robot loop
+            return new TelemetryBus(TuningConstants.LOG_TELEMETRY_BUS_CAPACITY, TuningConstants.LOG_TELEMETRY_BUS_BACK_PRESSURE, sinks);
+        }
+
+        if (sinks.length == 1)
+        {
+            return sinks[0];
+        }
+
+        return new MultiLogger(sinks);
+    }
+
+    public static IFileWriter getLoopTimingWriter(Injector injector)
+    {
+        // name the file a la "/U/timing/1678912345678.csv"
+        return SettingsManager.getDiagnosticsWriter(injector, "timing", "csv");
+    }
+
+    public static IFileWriter getControlTaskTraceWriter(Injector injector)
+    {
+        // name the file a la "/U/traces/1678912345678.json"
+        return SettingsManager.getDiagnosticsWriter(injector, "traces", "json");
+    }
+
+    public static IBinaryFileWriter getInputLogWriter(Injector injector)
+    {
+        // name the file a la "/U/inputs/1678912345678.bin"
+        IFile file = SettingsManager.getDiagnosticsFile(injector, "inputs", "bin");
+        if (file == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return file.openBinaryWriter();
+        }
+        catch (IOException ex)
+        {
+            return null;
+        }
+    }
+
+    private static IFileWriter getDiagnosticsWriter(Injector injector, String directoryName, String extension)
+    {
+        IFile file = SettingsManager.getDiagnosticsFile(injector, directoryName, extension);
+        if (file == null)
+        {
+            return null;
+        }
+
+        try
+        {
+            return file.openWriter();
+        }
+        catch (IOException ex)
+        {
+            return null;
+        }
+    }
+
+    private static IFile getDiagnosticsFile(Injector injector, String directoryName, String extension)
+    {
         if (!TuningConstants.LOG_TO_FILE)
         {
-            return smartDashboardLogger;
+            return null;
+        }
+
+        IFile rootDirectory = injector.getInstance(IFile.class);
+        rootDirectory.open("/U/");
+        if (!rootDirectory.exists() || rootDirectory.getFreeSpace() < TuningConstants.LOG_FILE_REQUIRED_FREE_SPACE)
+        {
+            return null;
+        }
+
+        IFile directory = injector.getInstance(IFile.class);
+        directory.open(String.format("/U/%1$s/", directoryName));
+        directory.mkdir();
+
+        IFile file = injector.getInstance(IFile.class);
+        file.open(String.format("/U/%1$s/%2$d.%3$s", directoryName, Calendar.getInstance().getTime().getTime(), extension));
+        if (file.exists())
+        {
+            return null;
+        }
+
+        return file;
+    }
+
+    private static ILogger getFileLogger(Injector injector)
+    {
+        if (!TuningConstants.LOG_TO_FILE)
+        {
+            return null;
         }
 
         IRobotProvider robotProvider = injector.getInstance(IRobotProvider.class);
@@ -37,7 +145,7 @@ public class SettingsManager
         MatchType matchType = driverStation.getMatchType();
         if (matchType == MatchType.None && TuningConstants.LOG_FILE_ONLY_COMPETITION_MATCHES)
         {
-            return smartDashboardLogger;
+            return null;
         }
 
         // NI's Linux RTOS automatically mounts USB Sticks as /U/ and /V/, so long as they are formatted as FAT32
@@ -47,9 +155,10 @@ public class SettingsManager
         rootDirectory.open("/U/");
         if (!rootDirectory.exists() || rootDirectory.getFreeSpace() < TuningConstants.LOG_FILE_REQUIRED_FREE_SPACE)
         {
-            return smartDashboardLogger;
+            return null;
         }
 
+        String extension = TuningConstants.LOG_FILE_BINARY ? "bin" : "csv";
         String eventName = driverStation.getEventName();
         int matchNumber = driverStation.getMatchNumber();
         int replayNumber = driverStation.getReplayNumber();
@@ -66,7 +175,7 @@ public class SettingsManager
             if (TuningConstants.LOG_FILE_ONLY_COMPETITION_MATCHES)
             {
                 // strange 
-                return smartDashboardLogger;
+                return null;
             }
             else
             {
@@ -76,11 +185,11 @@ public class SettingsManager
                 directory.mkdir();
 
                 file = injector.getInstance(IFile.class);
-                file.open(String.format("/U/other/%1$d.csv", Calendar.getInstance().getTime().getTime()));
+                file.open(String.format("/U/other/%1$d.%2$s", Calendar.getInstance().getTime().getTime(), extension));
                 if (file.exists())
                 {
                     // file already exists
-                    return smartDashboardLogger;
+                    return null;
                 }
             }
         }
@@ -96,14 +205,15 @@ public class SettingsManager
             file = injector.getInstance(IFile.class);
             String fileName =
                 String.format(
-                    "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.csv",
+                    "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$s",
                     directoryPath,
                     matchType.value,
                     matchNumber,
                     replayNumber == 0 ? "" : String.format("R%1$d", replayNumber),
                     alliance.value,
                     location,
-                    mode.toString().toLowerCase());
+                    mode.toString().toLowerCase(),
+                    extension);
 
             file.open(fileName);
             if (file.exists())
@@ -113,7 +223,7 @@ public class SettingsManager
                     // start adding .2, .3, etc. to the name, a la "/U/2020 - Glacier Peak/Q03 (R2).2.csv"
                     fileName =
                         String.format(
-                            "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$d.csv",
+                            "%1$s%2$s%3$02d%4$s (%5$s%6$d).%7$s.%8$d.%9$s",
                             directoryPath,
                             matchType.value,
                             matchNumber,
@@ -121,7 +231,8 @@ public class SettingsManager
                             alliance.value,
                             location,
                             mode.toString().toLowerCase(),
-                            i);
+                            i,
+                            extension);
 
                     file.open(fileName);
                     if (!file.exists())
@@ -134,12 +245,16 @@ public class SettingsManager
 
         try
         {
-            CSVLogger csvLogger = new CSVLogger(file.openWriter());
-            return new MultiLogger(csvLogger, smartDashboardLogger);
+            if (TuningConstants.LOG_FILE_BINARY)
+            {
+                return new BinaryLogger(file.openBinaryWriter());
+            }
+
+            return new CSVLogger(file.openWriter());
         }
         catch (IOException ex)
         {
-            return smartDashboardLogger;
+            return null;
         }
     }
 }
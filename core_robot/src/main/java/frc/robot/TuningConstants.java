@@ -1,5 +1,7 @@
 package frc.robot;
 
+import frc.lib.robotprovider.TelemetryBackPressure;
+
 /**
  * All constants related to tuning the operation of the robot.
  * 
@@ -13,6 +15,14 @@ public class TuningConstants
     public static boolean LOG_EXCEPTIONS = true;
     public static double LOOP_DURATION = 0.02; // we expect the robot's main loop to run at roughly ~50 Hz, or 1 update per 20ms (0.02s)
     public static int LOOPS_PER_SECOND = 50; // we expect the robot's main loop to run at roughly ~50 Hz, or 1 update per 20ms (0.02s)
+    public static final int MECHANISM_READ_SENSORS_THREADS = 2; // worker threads (in addition to the robot loop) for reading independent mechanisms' sensors in parallel, 0 to read them in order
+    public static final int MOTOR_CONTROL_REFRESH_INTERVAL = 10; // identical motor control requests skipped in a row before sending it again anyways (~0.2s), 0 to send every request
+    public static final boolean MOTOR_STATUS_CACHE_ENABLED = true; // read motors' sensor values on a background thread, so that the mechanisms only read the latest values from memory
+    public static final int MOTOR_STATUS_DEFAULT_PERIOD_MS = 20; // how often the status cache reads each device's sensor values (once per loop, even for devices with faster status frames)
+    public static final int DEVICE_CONFIGURATION_THREADS = 4; // devices configured at once during robot startup, 0 to configure them one after another
+    public static final int DEVICE_CONFIGURATION_ATTEMPTS = 3; // attempts to configure a device before giving up on it
+    public static final double DEVICE_CONFIGURATION_TIMEOUT = 5.0; // longest to wait for a mechanism's devices to be configured (in seconds)
+    public static final boolean DEVICE_CONFIGURATION_SKIP_UNCHANGED = true; // skip re-applying persistent settings to devices that already have the same configuration
 
     public static final boolean EXPECT_UNUSED_JOYSTICKS = true;
 
@@ -30,10 +40,26 @@ public class TuningConstants
     public static final boolean LOG_FILE_ONLY_COMPETITION_MATCHES = false;
     public static final long LOG_FILE_REQUIRED_FREE_SPACE = 50 * 1024 * 1024; // require at least 50 MB of space
     public static final int LOG_FLUSH_THRESHOLD = 25;
+    public static final boolean LOG_FILE_BINARY = false; // write compact binary logs (convert to CSV with the convertLogs gradle task)
+    public static final boolean LOG_TELEMETRY_BUS = true; // write to the log sinks from background threads instead of the robot loop
+    public static final int LOG_TELEMETRY_BUS_CAPACITY = 128; // cycles buffered for each sink (~2.5s), must be a power of two
+    public static final TelemetryBackPressure LOG_TELEMETRY_BUS_BACK_PRESSURE = TelemetryBackPressure.DropOldest;
+    public static final boolean LOG_ONLY_CHANGED_VALUES = true; // only pass values that changed since the previous cycle along to the loggers
+    public static final boolean LOG_LOOP_TIMING = true; // time each phase of the loop and each mechanism, dumping a summary to the USB stick when disabled
+    public static final boolean LOG_CONTROL_TASK_TRACE = true; // trace the control tasks run by macros and autonomous, dumping a Chrome trace to the USB stick when disabled
+    public static final int LOG_CONTROL_TASK_TRACE_CAPACITY = 32768; // events held until the trace is written (~3 minutes of a few active tasks)
+    public static final boolean LOG_INPUTS = false; // record every value read from the robot's devices to the USB stick, for replaying the match with MatchReplay
 
     //================================================== Autonomous ==============================================================
 
     public static final boolean TRAJECTORY_FORCE_BUILD = false;
+    public static final boolean TRAJECTORY_BAKE = true; // sample each trajectory ahead of time into lookup tables
+    public static final double TRAJECTORY_BAKE_STEP = 0.02; // in seconds
+    public static final double TRAJECTORY_BAKE_MAX_POSITION_ERROR = 0.5; // in inches
+    public static final double TRAJECTORY_BAKE_MAX_ANGLE_ERROR = 1.0; // in degrees
+    public static final double TRAJECTORY_BAKE_MAX_VELOCITY_ERROR = 5.0; // in inches per second
+    public static final boolean TRAJECTORY_PRECOMPUTED = true; // use trajectories precomputed during the build (see robot_roborio's precomputeTrajectories task)
+    public static final String TRAJECTORY_PRECOMPUTED_FILE = "/home/lvuser/deploy/trajectories.bin";
 
     // Y Values (distance from Guardrail edge)
     public static final double StartOneGridY = 196.19;
@@ -187,6 +213,34 @@ public class TuningConstants
     public static final double VISION_FAST_MOVING_PID_MAX = 0.45;
 
     public static final int VISION_MISSED_HEARTBEAT_THRESHOLD = 500;
+    public static final int VISION_PACKET_QUEUE_SIZE = 8; // the most frames that will be read from the coprocessor per loop
+
+    // On-robot retroreflective vision, as a fallback for when the coprocessor is down
+    public static final boolean ONBOARD_VISION_ENABLED = true;
+    public static final int ONBOARD_VISION_FALLBACK_MISSED_HEARTBEATS = 25; // loops without a frame from the coprocessor before falling back
+    public static final int ONBOARD_VISION_WIDTH = 320;
+    public static final int ONBOARD_VISION_HEIGHT = 240;
+    public static final int ONBOARD_VISION_FPS = 30;
+    public static final int ONBOARD_VISION_EXPOSURE = 0;
+    public static final int ONBOARD_VISION_BRIGHTNESS = 0;
+    public static final int ONBOARD_VISION_HSV_FILTER_LOW_H = 50;
+    public static final int ONBOARD_VISION_HSV_FILTER_LOW_S = 100;
+    public static final int ONBOARD_VISION_HSV_FILTER_LOW_V = 100;
+    public static final int ONBOARD_VISION_HSV_FILTER_HIGH_H = 90;
+    public static final int ONBOARD_VISION_HSV_FILTER_HIGH_S = 255;
+    public static final int ONBOARD_VISION_HSV_FILTER_HIGH_V = 255;
+    public static final double ONBOARD_VISION_MIN_CONTOUR_AREA = 20.0; // in pixels
+    public static final boolean ONBOARD_VISION_TRACK_MAT_LEAKS = false; // remember where each pooled Mat was acquired (slow, for debugging leaks)
+    public static final double ONBOARD_VISION_MAX_AGE = 0.25; // in seconds, ignore results for frames captured longer ago than this
+
+    // Fusing AprilTag detections into the odometry position
+    public static final boolean POSE_ESTIMATOR_USE_VISION = true;
+    public static final double POSE_ESTIMATOR_INITIAL_VARIANCE = 10000.0; // in inches squared, before the starting position is known
+    public static final double POSE_ESTIMATOR_RESET_VARIANCE = 4.0; // in inches squared, after the position is reset
+    public static final double POSE_ESTIMATOR_ODOMETRY_VARIANCE_PER_INCH = 0.01; // in inches squared, per inch driven
+    public static final double POSE_ESTIMATOR_VISION_STDDEV = 2.0; // in inches
+    public static final double POSE_ESTIMATOR_VISION_STDDEV_PER_INCH = 0.05; // in inches, per inch from the tag
+    public static final double POSE_ESTIMATOR_VISION_GATE = 4.0; // in standard deviations, ignore detections that disagree by more than this
 
     //================================================== Indicator Lights ========================================================
 
@@ -255,6 +309,9 @@ public class TuningConstants
     public static final boolean DRIVETRAIN_STEER_MOTORS_USE_MOTION_MAGIC = true;
 
     public static final boolean DRIVETRAIN_USE_ODOMETRY = true;
+    public static final boolean DRIVETRAIN_USE_ODOMETRY_THREAD = true; // sample odometry on its own thread, faster than the main loop
+    public static final double DRIVETRAIN_ODOMETRY_THREAD_PERIOD = 0.005; // in seconds (200Hz)
+    public static final int DRIVETRAIN_POSE_HISTORY_CAPACITY = 256; // ~1.3s at 200Hz
     public static final boolean DRIVETRAIN_RESET_ON_ROBOT_START = true;
     public static final boolean DRIVETRAIN_FIELD_ORIENTED_ON_ROBOT_START = true;
     public static final boolean DRIVETRAIN_MAINTAIN_ORIENTATION_ON_ROBOT_START = true;
@@ -349,7 +406,7 @@ public class TuningConstants
     public static final double DRIVETRAIN_STEER_SUPPLY_TRIGGER_CURRENT = 30.0;
     public static final double DRIVETRAIN_STEER_SUPPLY_TRIGGER_DURATION = 0.1;
 
-    public static final int DRIVETRAIN_SENSOR_FRAME_PERIOD_MS = 10;
+    public static final int DRIVETRAIN_SENSOR_FRAME_PERIOD_MS = TuningConstants.DRIVETRAIN_USE_ODOMETRY_THREAD ? 5 : 10;
     public static final int DRIVETRAIN_PID_FRAME_PERIOD_MS = 100;
 
     public static final boolean DRIVETRAIN_SKIP_ANGLE_ON_ZERO_VELOCITY = true;
@@ -462,6 +519,12 @@ public class TuningConstants
     public static final double ARM_MIN_IKZ_EXTENSION_HEIGHT = -5.0;
     public static final double ARM_MAX_IKZ_EXTENSION_HEIGHT = HardwareConstants.MAX_ROBOT_HEIGHT - HardwareConstants.ARM_ORIGIN_Z_OFFSET - HardwareConstants.ARM_MAX_END_EFFECTOR_HEIGHT;
 
+    public static final boolean ARM_USE_KINEMATICS_TABLE = true; // look up IK/FK in precomputed grids (built in the background at startup)
+    public static final double ARM_KINEMATICS_TABLE_IK_STEP = 0.25; // in inches
+    public static final double ARM_KINEMATICS_TABLE_FK_STEP = HardwareConstants.ARM_FULL_EXTENSION_TICKS / 128.0; // in ticks
+    public static final double ARM_KINEMATICS_TABLE_MAX_IK_ERROR = 2.0; // in ticks
+    public static final double ARM_KINEMATICS_TABLE_MAX_FK_ERROR = 0.01; // in inches
+
     public static final double ARM_LOWER_VELOCITY_DEAZONE = 0.30;
     public static final double ARM_UPPER_VELOCITY_DEAZONE = 0.30;
     public static final double ARM_TWIST_DEAZONE = 0.10;
@@ -4,6 +4,8 @@ import com.google.inject.Inject;
 import com.google.inject.Singleton;
 
 import frc.lib.driver.IControlTask;
+import frc.lib.driver.PrecomputedPathPlanner;
+import frc.lib.driver.PrecomputedTrajectories;
 import frc.lib.driver.TrajectoryManager;
 import frc.lib.mechanisms.LoggingManager;
 import frc.lib.robotprovider.*;
@@ -42,7 +44,24 @@ public class AutonomousRoutineSelector
         this.driverStation = provider.getDriverStation();
 
         RoadRunnerTrajectoryGenerator.generateTrajectories(this.trajectoryManager);
-        PathPlannerTrajectoryGenerator.generateTrajectories(this.trajectoryManager, provider.getPathPlanner());
+        if (TuningConstants.TRAJECTORY_PRECOMPUTED)
+        {
+            PrecomputedPathPlanner pathPlanner =
+                new PrecomputedPathPlanner(
+                    provider.getPathPlanner(),
+                    PrecomputedTrajectories.load(TuningConstants.TRAJECTORY_PRECOMPUTED_FILE),
+                    false);
+
+            PathPlannerTrajectoryGenerator.generateTrajectories(this.trajectoryManager, pathPlanner);
+            if (pathPlanner.getBuiltCount() > 0)
+            {
+                System.err.println("Generated " + pathPlanner.getBuiltCount() + " trajectories that weren't precomputed");
+            }
+        }
+        else
+        {
+            PathPlannerTrajectoryGenerator.generateTrajectories(this.trajectoryManager, provider.getPathPlanner());
+        }
     }
 
     /**
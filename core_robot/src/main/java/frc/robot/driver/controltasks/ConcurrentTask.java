@@ -2,6 +2,7 @@ package frc.robot.driver.controltasks;
 
 import java.util.Map;
 
+import frc.lib.driver.ControlTaskTracer;
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
 import frc.lib.driver.states.OperationState;
@@ -23,6 +24,8 @@ public class ConcurrentTask extends ControlTaskBase
     private final boolean[] completedTasks;
     private boolean shouldCancelTasks;
 
+    private ControlTaskTracer tracer;
+
     /**
      * Initializes a new ConcurrentTask
      * @param anyTask indicates that we want to use AnyTask semantics as opposed to AllTask semantics
@@ -50,6 +53,7 @@ public class ConcurrentTask extends ControlTaskBase
     public void initialize(Map<IOperation, OperationState> operationStateMap, Injector injector)
     {
         super.initialize(operationStateMap, injector);
+        this.tracer = injector.getInstance(ControlTaskTracer.class);
         for (IControlTask task : this.tasks)
         {
             task.initialize(operationStateMap, injector);
@@ -84,7 +88,7 @@ public class ConcurrentTask extends ControlTaskBase
     {
         for (IControlTask task : this.tasks)
         {
-            task.begin();
+            this.tracer.begin(task);
         }
     }
 
@@ -104,7 +108,7 @@ public class ConcurrentTask extends ControlTaskBase
             if (this.tasks[i].hasCompleted())
             {
                 this.completedTasks[i] = true;
-                this.tasks[i].end();
+                this.tracer.end(this.tasks[i]);
                 continue;
             }
 
@@ -114,7 +118,7 @@ public class ConcurrentTask extends ControlTaskBase
                 continue;
             }
 
-            this.tasks[i].update();
+            this.tracer.update(this.tasks[i]);
         }
     }
 
@@ -128,7 +132,22 @@ public class ConcurrentTask extends ControlTaskBase
         {
             if (!this.completedTasks[i])
             {
-                this.tasks[i].end();
+                this.tracer.end(this.tasks[i]);
+            }
+        }
+    }
+
+    /**
+     * Stop the current task gracefully (but unexpectedly)
+     */
+    @Override
+    public void stop()
+    {
+        for (int i = 0; i < this.tasks.length; i++)
+        {
+            if (!this.completedTasks[i])
+            {
+                this.tracer.stop(this.tasks[i]);
             }
         }
     }
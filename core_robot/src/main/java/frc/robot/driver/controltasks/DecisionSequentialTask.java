@@ -4,6 +4,7 @@ import java.util.LinkedList;
 import java.util.Map;
 import java.util.Queue;
 
+import frc.lib.driver.ControlTaskTracer;
 import frc.lib.driver.IControlTask;
 import frc.lib.driver.IOperation;
 import frc.lib.driver.states.OperationState;
@@ -22,6 +23,7 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
     private boolean shouldCancelTask;
 
     private boolean isInitialized;
+    private ControlTaskTracer tracer;
 
     /**
      * Initializes a new DecisionSequentialTask
@@ -66,6 +68,7 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
     public void initialize(Map<IOperation, OperationState> operationStateMap, Injector injector)
     {
         super.initialize(operationStateMap, injector);
+        this.tracer = injector.getInstance(ControlTaskTracer.class);
         for (IControlTask task : this.orderedTasks)
         {
             task.initialize(operationStateMap, injector);
@@ -101,12 +104,12 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
                     return;
                 }
 
-                this.currentTask.begin();
+                this.tracer.begin(this.currentTask);
             }
 
             if (this.currentTask.hasCompleted())
             {
-                this.currentTask.end();
+                this.tracer.end(this.currentTask);
                 this.finishedTask();
                 this.currentTask = null;
             }
@@ -116,7 +119,7 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
             }
             else
             {
-                this.currentTask.update();
+                this.tracer.update(this.currentTask);
             }
         } while (this.currentTask == null);
     }
@@ -129,7 +132,7 @@ public abstract class DecisionSequentialTask extends ControlTaskBase
     {
         if (this.currentTask != null)
         {
-            this.currentTask.end();
+            this.tracer.end(this.currentTask);
         }
     }
 
@@ -11,6 +11,7 @@ import frc.robot.TuningConstants;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
 import frc.robot.mechanisms.DriveTrainMechanism;
+import frc.robot.mechanisms.PoseEstimationManager;
 
 /**
  * Task that follows a path
@@ -27,13 +28,15 @@ public class FollowPathTask extends ControlTaskBase
 
     private final String pathName;
     private final Type type;
+    private final TrajectoryState state;
+    private final Pose2d initialPose;
 
     private ITimer timer;
+    private PoseEstimationManager poseEstimator;
 
     private double startTime;
     private double trajectoryDuration;
     private ITrajectory trajectory;
-    private Pose2d initialPose;
 
     /**
      * Initializes a new FollowPathTask
@@ -53,6 +56,8 @@ public class FollowPathTask extends ControlTaskBase
     {
         this.pathName = pathName;
         this.type = type;
+        this.state = new TrajectoryState();
+        this.initialPose = new Pose2d(0.0, 0.0, 0.0);
     }
 
     /**
@@ -62,6 +67,7 @@ public class FollowPathTask extends ControlTaskBase
     public void begin()
     {
         this.timer = this.getInjector().getInstance(ITimer.class);
+        this.poseEstimator = this.getInjector().getInstance(PoseEstimationManager.class);
 
         TrajectoryManager trajectoryManager = this.getInjector().getInstance(TrajectoryManager.class);
         this.trajectory = trajectoryManager.getTrajectory(this.pathName);
@@ -79,11 +85,13 @@ public class FollowPathTask extends ControlTaskBase
         if (this.type != Type.Absolute)
         {
             DriveTrainMechanism driveTrain = this.getInjector().getInstance(DriveTrainMechanism.class);
-            this.initialPose = driveTrain.getPose();
+            driveTrain.getPose(this.initialPose);
         }
         else
         {
-            this.initialPose = new Pose2d(0.0, 0.0, 0.0);
+            this.initialPose.x = 0.0;
+            this.initialPose.y = 0.0;
+            this.initialPose.angle = 0.0;
         }
 
         this.setDigitalOperationState(DigitalOperation.DriveTrainPathMode, true);
@@ -95,7 +103,8 @@ public class FollowPathTask extends ControlTaskBase
     @Override
     public void update()
     { 
-        TrajectoryState state = this.trajectory.get(this.timer.get() - this.startTime);
+        TrajectoryState state = this.state;
+        this.trajectory.get(this.timer.get() - this.startTime, state);
 
         double xPos = state.xPosition;
         double yPos = state.yPosition;
@@ -135,8 +144,10 @@ public class FollowPathTask extends ControlTaskBase
 
             default:
             case Absolute:
-                xGoal = xPos;
-                yGoal = yPos;
+                // the drivetrain follows its odometry position, so shift the goal by the difference between the
+                // estimated field position and the odometry position
+                xGoal = xPos - this.poseEstimator.getXOffset();
+                yGoal = yPos - this.poseEstimator.getYOffset();
                 angleGoal = anglePos;
                 xVelGoal = xVel;
                 yVelGoal = yVel;
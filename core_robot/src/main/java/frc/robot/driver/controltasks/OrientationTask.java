@@ -10,6 +10,7 @@ public class OrientationTask extends UpdateCycleTask
     private final double orientation;
     private final boolean waitUntilGoalReached;
     private final boolean keepOrienting;
+    private final AnglePair anglePair;
 
     private PigeonManager pigeonManager;
 
@@ -30,6 +31,7 @@ public class OrientationTask extends UpdateCycleTask
         this.orientation = orientation;
         this.waitUntilGoalReached = waitUntilGoalReached;
         this.keepOrienting = keepOrienting;
+        this.anglePair = new AnglePair();
     }
 
     @Override
@@ -69,7 +71,7 @@ public class OrientationTask extends UpdateCycleTask
         }
 
         double currentYaw = this.pigeonManager.getYaw();
-        double yawGoal = AnglePair.getClosestAngle(this.orientation, currentYaw, false).getAngle();
+        double yawGoal = AnglePair.getClosestAngle(this.orientation, currentYaw, false, this.anglePair).getAngle();
         return Math.abs(currentYaw - yawGoal) < TuningConstants.DRIVETRAIN_TURN_APPROXIMATION_STATIONARY;
     }
 }
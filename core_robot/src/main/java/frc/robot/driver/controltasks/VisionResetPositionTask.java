@@ -3,18 +3,19 @@
 
 package frc.robot.driver.controltasks;
 
-import frc.lib.helpers.Helpers;
-import frc.lib.robotprovider.Alliance;
 import frc.lib.robotprovider.IDriverStation;
 import frc.lib.robotprovider.IRobotProvider;
-import frc.robot.TuningConstants;
+import frc.lib.robotprovider.Point2d;
 import frc.robot.driver.AnalogOperation;
 import frc.robot.driver.DigitalOperation;
+import frc.robot.mechanisms.AprilTagTransforms;
 import frc.robot.mechanisms.OffboardVisionManager;
 
 public class VisionResetPositionTask extends ControlTaskBase {
 
-    private double[][] aprilTagLocations;
+    private final Point2d robotPosition;
+
+    private AprilTagTransforms aprilTagTransforms;
     private OffboardVisionManager visionManager;
 
     private Double xPosition;
@@ -22,6 +23,7 @@ public class VisionResetPositionTask extends ControlTaskBase {
 
     public VisionResetPositionTask()
     {
+        this.robotPosition = new Point2d(0.0, 0.0);
     }
 
     @Override
@@ -30,14 +32,7 @@ public class VisionResetPositionTask extends ControlTaskBase {
         this.visionManager = this.getInjector().getInstance(OffboardVisionManager.class);
         IRobotProvider rp = this.getInjector().getInstance(IRobotProvider.class);
         IDriverStation ds = rp.getDriverStation();
-        if (ds.getAlliance() == Alliance.Red)
-        {
-            this.aprilTagLocations = TuningConstants.AprilTagLocationsRed;
-        }
-        else
-        {
-            this.aprilTagLocations = TuningConstants.AprilTagLocationsBlue;
-        }
+        this.aprilTagTransforms = AprilTagTransforms.forAlliance(ds.getAlliance());
 
         this.xPosition = null;
         this.yPosition = null;
@@ -54,20 +49,11 @@ public class VisionResetPositionTask extends ControlTaskBase {
         Double tagYaw = this.visionManager.getAprilTagYaw();
         Integer tagId = this.visionManager.getAprilTagId();
 
-        if (tagId != null)
+        if (tagId != null &&
+            this.aprilTagTransforms.calculateRobotPosition(tagId, tagXOffset, tagYOffset, tagYaw, this.robotPosition))
         {
-            double[] thisTag = this.aprilTagLocations[tagId - 1];
-            double alpha = tagYaw;
-            double beta = Helpers.atan2d(tagXOffset, tagYOffset);
-            double hypoFieldAngle = thisTag[2] - alpha - beta;
-            if (Math.abs(hypoFieldAngle) > 180)
-            {
-                hypoFieldAngle += hypoFieldAngle > 0 ? -360 : 360;
-            }
-
-            double distToTag = Math.sqrt(tagXOffset * tagXOffset + tagYOffset * tagYOffset);
-            this.xPosition = thisTag[0] + Helpers.cosd(hypoFieldAngle) * distToTag;
-            this.yPosition = thisTag[1] + Helpers.sind(hypoFieldAngle) * distToTag;
+            this.xPosition = this.robotPosition.x;
+            this.yPosition = this.robotPosition.y;
 
             this.setDigitalOperationState(DigitalOperation.DriveTrainResetXYPosition, true);
             this.setAnalogOperationState(AnalogOperation.DriveTrainStartingXPosition, this.xPosition);
@@ -0,0 +1,82 @@
+package frc.robot.mechanisms;
+
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.Alliance;
+import frc.lib.robotprovider.Point2d;
+import frc.robot.TuningConstants;
+
+/**
+ * Tag-to-field transforms for each AprilTag (by id), precomputed from the tag locations in TuningConstants so that
+ * converting a detection into a field position is just a pair of rotations.
+ */
+public class AprilTagTransforms
+{
+    private static final AprilTagTransforms RED = new AprilTagTransforms(TuningConstants.AprilTagLocationsRed);
+    private static final AprilTagTransforms BLUE = new AprilTagTransforms(TuningConstants.AprilTagLocationsBlue);
+
+    // indexed by tag id - 1
+    private final double[] xPositions;
+    private final double[] yPositions;
+    private final double[] orientationCosines;
+    private final double[] orientationSines;
+
+    private AprilTagTransforms(double[][] tagLocations)
+    {
+        int count = tagLocations.length;
+        this.xPositions = new double[count];
+        this.yPositions = new double[count];
+        this.orientationCosines = new double[count];
+        this.orientationSines = new double[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.xPositions[i] = tagLocations[i][0];
+            this.yPositions[i] = tagLocations[i][1];
+            this.orientationCosines[i] = Helpers.cosd(tagLocations[i][2]);
+            this.orientationSines[i] = Helpers.sind(tagLocations[i][2]);
+        }
+    }
+
+    /**
+     * Get the transforms for the tags as they are placed for the provided alliance
+     * @param alliance that we are on
+     * @return the transforms (blue unless we are on the red alliance)
+     */
+    public static AprilTagTransforms forAlliance(Alliance alliance)
+    {
+        if (alliance == Alliance.Red)
+        {
+            return AprilTagTransforms.RED;
+        }
+
+        return AprilTagTransforms.BLUE;
+    }
+
+    /**
+     * Calculate the position of the robot on the field from a detection of an AprilTag
+     * @param tagId id of the detected tag
+     * @param tagXOffset x offset of the tag from the robot (in inches)
+     * @param tagYOffset y offset of the tag from the robot (in inches)
+     * @param tagYaw yaw of the tag relative to the robot (in degrees)
+     * @param result to update with the field position of the robot (in inches)
+     * @return true if the tag is known, false (and result is unchanged) otherwise
+     */
+    public boolean calculateRobotPosition(int tagId, double tagXOffset, double tagYOffset, double tagYaw, Point2d result)
+    {
+        int index = tagId - 1;
+        if (index < 0 || index >= this.xPositions.length)
+        {
+            return false;
+        }
+
+        // the angle from the tag to the robot on the field is the tag's orientation - (tag yaw + bearing to the tag),
+        // so rotate the offset by the tag yaw and then by the tag's orientation (rather than going through angles)
+        double tagYawCosine = Helpers.cosd(tagYaw);
+        double tagYawSine = Helpers.sind(tagYaw);
+        double relativeX = tagYawCosine * tagYOffset - tagYawSine * tagXOffset;
+        double relativeY = tagYawSine * tagYOffset + tagYawCosine * tagXOffset;
+
+        result.x = this.xPositions[index] + this.orientationCosines[index] * relativeX + this.orientationSines[index] * relativeY;
+        result.y = this.yPositions[index] + this.orientationSines[index] * relativeX - this.orientationCosines[index] * relativeY;
+        return true;
+    }
+}
@@ -0,0 +1,321 @@
+package frc.robot.mechanisms;
+
+import java.util.stream.IntStream;
+
+import frc.robot.HardwareConstants;
+import frc.robot.TuningConstants;
+
+/**
+ * Precomputed grids for the arm's inverse kinematics ((x, z) to lower/upper extensions) and forward kinematics
+ * (lower/upper extensions to (x, z)), looked up with bilinear interpolation so that neither needs any trig.
+ *
+ * Each grid cell is only used when all four of its corners are reachable and the interpolated result at its center is
+ * within the allowed error of the analytic solution.  Everything else falls back to the analytic solution, so the
+ * results are never further off than the allowed error (assuming the error is largest at the center of each cell).
+ */
+class ArmKinematicsTable
+{
+    private final Grid ikGrid;
+    private final Grid fkGrid;
+
+    private ArmKinematicsTable(Grid ikGrid, Grid fkGrid)
+    {
+        this.ikGrid = ikGrid;
+        this.fkGrid = fkGrid;
+    }
+
+    /**
+     * Build the IK and FK grids (in parallel), validating each cell against the analytic solution
+     * @return the kinematics table
+     */
+    static ArmKinematicsTable build()
+    {
+        Grid ikGrid = new Grid(
+            TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH,
+            TuningConstants.ARM_MAX_IKX_EXTENSION_LENGTH,
+            TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT,
+            TuningConstants.ARM_MAX_IKZ_EXTENSION_HEIGHT,
+            TuningConstants.ARM_KINEMATICS_TABLE_IK_STEP);
+        ikGrid.fill(true, TuningConstants.ARM_KINEMATICS_TABLE_MAX_IK_ERROR);
+
+        Grid fkGrid = new Grid(
+            0.0,
+            HardwareConstants.ARM_FULL_EXTENSION_TICKS,
+            0.0,
+            HardwareConstants.ARM_FULL_EXTENSION_TICKS,
+            TuningConstants.ARM_KINEMATICS_TABLE_FK_STEP);
+        fkGrid.fill(false, TuningConstants.ARM_KINEMATICS_TABLE_MAX_FK_ERROR);
+
+        return new ArmKinematicsTable(ikGrid, fkGrid);
+    }
+
+    /**
+     * Calculate the desired actuator values based on a desired position for the end-effector (a la ArmMechanism.calculateIK)
+     * @param x offset (in inches)
+     * @param z offset (in inches)
+     * @param result to hold the lower, upper linear actuator extensions (in ticks)
+     * @return true if the position is allowed and reachable, otherwise false (and result is unchanged)
+     */
+    boolean calculateIK(double x, double z, double[] result)
+    {
+        if (!ArmMechanism.isAllowedIKPosition(x, z))
+        {
+            return false;
+        }
+
+        if (this.ikGrid.interpolate(x, z, result))
+        {
+            return true;
+        }
+
+        DoubleTuple ikResult = ArmMechanism.calculateIK(x, z);
+        if (ikResult == null)
+        {
+            return false;
+        }
+
+        result[0] = ikResult.first;
+        result[1] = ikResult.second;
+        return true;
+    }
+
+    /**
+     * Calculate the end-effector position given the linear actuator extensions (a la ArmMechanism.calculateFK)
+     * @param lowerLAExtension lower linear actuator extension (in ticks)
+     * @param upperLAExtension upper linear actuator extension (in ticks)
+     * @param result to hold the x, z offsets where the end-effector is located (in inches)
+     * @return true if the extensions are valid, otherwise false (and result is unchanged)
+     */
+    boolean calculateFK(double lowerLAExtension, double upperLAExtension, double[] result)
+    {
+        if (lowerLAExtension > HardwareConstants.ARM_FULL_EXTENSION_TICKS ||
+            upperLAExtension > HardwareConstants.ARM_FULL_EXTENSION_TICKS ||
+            lowerLAExtension < 0.0 ||
+            upperLAExtension < 0.0)
+        {
+            return false;
+        }
+
+        if (this.fkGrid.interpolate(lowerLAExtension, upperLAExtension, result))
+        {
+            return true;
+        }
+
+        DoubleTuple fkResult = ArmMechanism.calculateFK(lowerLAExtension, upperLAExtension);
+        if (fkResult == null)
+        {
+            return false;
+        }
+
+        result[0] = fkResult.first;
+        result[1] = fkResult.second;
+        return true;
+    }
+
+    /**
+     * @return the fraction of reachable IK grid cells that can be used (the rest fall back to the analytic solution)
+     */
+    double getIKCoverage()
+    {
+        return this.ikGrid.getCoverage();
+    }
+
+    /**
+     * @return the fraction of reachable FK grid cells that can be used (the rest fall back to the analytic solution)
+     */
+    double getFKCoverage()
+    {
+        return this.fkGrid.getCoverage();
+    }
+
+    /**
+     * Grid of the values of a two-input, two-output function at evenly spaced points
+     */
+    private static class Grid
+    {
+        private final double minA;
+        private final double minB;
+        private final double step;
+        private final int columns; // along a
+        private final int rows; // along b
+
+        // node values, indexed by row * columns + column
+        private final double[] first;
+        private final double[] second;
+        private final boolean[] reachable;
+
+        // whether each cell can be interpolated, indexed by row * (columns - 1) + column
+        private final boolean[] usable;
+
+        Grid(double minA, double maxA, double minB, double maxB, double step)
+        {
+            this.minA = minA;
+            this.minB = minB;
+            this.step = step;
+
+            // (ignoring rounding error so that we don't end up with an extra sliver of a cell at the end)
+            this.columns = (int)Math.ceil((maxA - minA) / step - 1E-9) + 1;
+            this.rows = (int)Math.ceil((maxB - minB) / step - 1E-9) + 1;
+
+            this.first = new double[this.columns * this.rows];
+            this.second = new double[this.columns * this.rows];
+            this.reachable = new boolean[this.columns * this.rows];
+            this.usable = new boolean[(this.columns - 1) * (this.rows - 1)];
+        }
+
+        /**
+         * Calculate the analytic solution at each node, and then check which cells can be interpolated
+         * @param inverse true to fill with the inverse kinematics, false for the forward kinematics
+         * @param maxError largest acceptable difference from the analytic solution at the center of each cell
+         */
+        void fill(boolean inverse, double maxError)
+        {
+            IntStream.range(0, this.rows).parallel().forEach(
+                row ->
+                {
+                    double[] nodeResult = new double[2];
+                    for (int column = 0; column < this.columns; column++)
+                    {
+                        int index = row * this.columns + column;
+                        if (Grid.calculate(inverse, this.minA + column * this.step, this.minB + row * this.step, nodeResult))
+                        {
+                            this.first[index] = nodeResult[0];
+                            this.second[index] = nodeResult[1];
+                            this.reachable[index] = true;
+                        }
+                    }
+                });
+
+            IntStream.range(0, this.rows - 1).parallel().forEach(
+                row ->
+                {
+                    double[] expected = new double[2];
+                    double[] actual = new double[2];
+                    for (int column = 0; column < this.columns - 1; column++)
+                    {
+                        if (!this.isCellReachable(row, column))
+                        {
+                            continue;
+                        }
+
+                        double a = this.minA + (column + 0.5) * this.step;
+                        double b = this.minB + (row + 0.5) * this.step;
+                        if (!Grid.calculate(inverse, a, b, expected))
+                        {
+                            continue;
+                        }
+
+                        this.interpolateCell(row, column, 0.5, 0.5, actual);
+                        this.usable[row * (this.columns - 1) + column] =
+                            Math.abs(actual[0] - expected[0]) <= maxError &&
+                            Math.abs(actual[1] - expected[1]) <= maxError;
+                    }
+                });
+        }
+
+        /**
+         * Interpolate the value at (a, b)
+         * @param a first input
+         * @param b second input
+         * @param result to hold the interpolated value
+         * @return true if the value could be interpolated, false if it is outside of the grid or in an unusable cell
+         */
+        boolean interpolate(double a, double b, double[] result)
+        {
+            double columnPosition = (a - this.minA) / this.step;
+            double rowPosition = (b - this.minB) / this.step;
+            if (columnPosition < 0.0 || rowPosition < 0.0)
+            {
+                return false;
+            }
+
+            int column = Math.min((int)columnPosition, this.columns - 2);
+            int row = Math.min((int)rowPosition, this.rows - 2);
+            if (!this.usable[row * (this.columns - 1) + column])
+            {
+                return false;
+            }
+
+            double columnRatio = columnPosition - column;
+            double rowRatio = rowPosition - row;
+            if (columnRatio > 1.0 || rowRatio > 1.0)
+            {
+                return false;
+            }
+
+            this.interpolateCell(row, column, columnRatio, rowRatio, result);
+            return true;
+        }
+
+        double getCoverage()
+        {
+            int reachableCount = 0;
+            int usableCount = 0;
+            for (int row = 0; row < this.rows - 1; row++)
+            {
+                for (int column = 0; column < this.columns - 1; column++)
+                {
+                    if (this.isCellReachable(row, column))
+                    {
+                        reachableCount++;
+                        if (this.usable[row * (this.columns - 1) + column])
+                        {
+                            usableCount++;
+                        }
+                    }
+                }
+            }
+
+            return reachableCount == 0 ? 0.0 : (double)usableCount / reachableCount;
+        }
+
+        private boolean isCellReachable(int row, int column)
+        {
+            int index = row * this.columns + column;
+            return this.reachable[index] &&
+                this.reachable[index + 1] &&
+                this.reachable[index + this.columns] &&
+                this.reachable[index + this.columns + 1];
+        }
+
+        private void interpolateCell(int row, int column, double columnRatio, double rowRatio, double[] result)
+        {
+            int index = row * this.columns + column;
+            result[0] = Grid.bilinear(this.first, index, this.columns, columnRatio, rowRatio);
+            result[1] = Grid.bilinear(this.second, index, this.columns, columnRatio, rowRatio);
+        }
+
+        private static double bilinear(double[] values, int index, int columns, double columnRatio, double rowRatio)
+        {
+            double bottom = values[index] + (values[index + 1] - values[index]) * columnRatio;
+            double top = values[index + columns] + (values[index + columns + 1] - values[index + columns]) * columnRatio;
+            return bottom + (top - bottom) * rowRatio;
+        }
+
+        /**
+         * Calculate the analytic solution, ignoring the allowed IK ranges (those are checked exactly on lookup)
+         */
+        private static boolean calculate(boolean inverse, double a, double b, double[] result)
+        {
+            DoubleTuple value;
+            if (inverse)
+            {
+                DoubleTuple angles = ArmMechanism.calculateIKAnglesFromPosition(a, b);
+                value = angles == null ? null : ArmMechanism.calculateIKExtensionsFromAngles(angles.first, angles.second);
+            }
+            else
+            {
+                value = ArmMechanism.calculateFK(Math.min(a, HardwareConstants.ARM_FULL_EXTENSION_TICKS), Math.min(b, HardwareConstants.ARM_FULL_EXTENSION_TICKS));
+            }
+
+            if (value == null || Double.isNaN(value.first) || Double.isNaN(value.second))
+            {
+                return false;
+            }
+
+            result[0] = value.first;
+            result[1] = value.second;
+            return true;
+        }
+    }
+}
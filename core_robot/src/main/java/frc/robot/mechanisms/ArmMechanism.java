@@ -6,6 +6,7 @@ import frc.lib.filters.FloatingAverageCalculator;
 import frc.lib.helpers.Helpers;
 import frc.lib.mechanisms.IMechanism;
 import frc.lib.mechanisms.LoggingManager;
+import frc.lib.mechanisms.MotorStatusCache;
 import frc.lib.robotprovider.*;
 import frc.robot.driver.*;
 
@@ -26,12 +27,23 @@ public class ArmMechanism implements IMechanism
 
     private double prevTime;
 
+    // precomputed IK/FK lookups, or null until they have been built in the background (or if they aren't used)
+    private volatile ArmKinematicsTable kinematicsTable;
+    private final Thread kinematicsThread;
+    private final double[] kinematicsResult;
+
     //----------------- Main Arm Variables -----------------
 
     private final ITalonSRX lowerLeftArmLinearActuator;
     private final ITalonSRX lowerRightArmLinearActuator;
     private final ITalonSRX upperArmLinearActuator;
 
+    private final MotorStatusCache statusCache;
+    private final int lowerLeftLAStatusId;
+    private final int lowerRightLAStatusId;
+    private final int upperLAStatusId;
+    private final MotorStatus status; // shared status to avoid extra allocations
+
     // Positions are in ticks, Velocities are in ticks per 100ms
     private double lowerLeftLAPosition;
     private double lowerLeftLAVelocity;
@@ -97,12 +109,27 @@ public class ArmMechanism implements IMechanism
         LoggingManager logger,
         IRobotProvider provider,
         PowerManager powerManager,
+        MotorStatusCache statusCache,
+        DeviceConfigurator configurator,
         ITimer timer)
     {
         this.driver = driver;
         this.logger = logger;
         this.timer = timer;
         this.powerManager = powerManager;
+        this.statusCache = statusCache;
+
+        this.kinematicsResult = new double[2];
+        if (TuningConstants.ARM_USE_KINEMATICS_TABLE)
+        {
+            this.kinematicsThread = new Thread(() -> this.kinematicsTable = ArmKinematicsTable.build(), "ArmKinematicsTable");
+            this.kinematicsThread.setDaemon(true);
+            this.kinematicsThread.start();
+        }
+        else
+        {
+            this.kinematicsThread = null;
+        }
 
         //------------------------- Main Arm Initializiation -------------------------
 
@@ -110,11 +137,15 @@ public class ArmMechanism implements IMechanism
         this.lowerRightArmLinearActuator = provider.getTalonSRX(ElectronicsConstants.ARM_LOWER_RIGHT_LA_CAN_ID);
         this.upperArmLinearActuator = provider.getTalonSRX(ElectronicsConstants.ARM_UPPER_LA_MASTER_CAN_ID);
 
+        TalonXConfiguration lowerLeftConfiguration = new TalonXConfiguration();
+        TalonXConfiguration lowerRightConfiguration = new TalonXConfiguration();
+        TalonXConfiguration upperConfiguration = new TalonXConfiguration();
+
         this.inSimpleMode = TuningConstants.ARM_USE_SIMPLE_MODE;
 
         if (TuningConstants.ARM_USE_MM)
         {
-            this.lowerLeftArmLinearActuator.setMotionMagicPIDF(
+            lowerLeftConfiguration.setMotionMagicPIDF(
                 TuningConstants.ARM_LOWER_LEFT_POSITION_MM_PID_KP,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_MM_PID_KI,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_MM_PID_KD,
@@ -122,7 +153,7 @@ public class ArmMechanism implements IMechanism
                 TuningConstants.ARM_LOWER_LEFT_POSITION_MM_CRUISE_VELOCITY,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_MM_ACCELERATION,
                 ArmMechanism.defaultPidSlotId);
-            this.lowerRightArmLinearActuator.setMotionMagicPIDF(
+            lowerRightConfiguration.setMotionMagicPIDF(
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_MM_PID_KP,
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_MM_PID_KI,
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_MM_PID_KD,
@@ -131,7 +162,7 @@ public class ArmMechanism implements IMechanism
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_MM_ACCELERATION,
                 ArmMechanism.defaultPidSlotId);
 
-            this.upperArmLinearActuator.setMotionMagicPIDF(
+            upperConfiguration.setMotionMagicPIDF(
                 TuningConstants.ARM_UPPER_POSITION_MM_PID_KP,
                 TuningConstants.ARM_UPPER_POSITION_MM_PID_KI,
                 TuningConstants.ARM_UPPER_POSITION_MM_PID_KD,
@@ -142,20 +173,20 @@ public class ArmMechanism implements IMechanism
         }
         else
         {
-            this.lowerLeftArmLinearActuator.setPIDF(
+            lowerLeftConfiguration.setPIDF(
                 TuningConstants.ARM_LOWER_LEFT_POSITION_PID_KP,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_PID_KI,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_PID_KD,
                 TuningConstants.ARM_LOWER_LEFT_POSITION_PID_KF,
                 ArmMechanism.defaultPidSlotId);
-            this.lowerRightArmLinearActuator.setPIDF(
+            lowerRightConfiguration.setPIDF(
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_PID_KP,
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_PID_KI,
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_PID_KD,
                 TuningConstants.ARM_LOWER_RIGHT_POSITION_PID_KF,
                 ArmMechanism.defaultPidSlotId);
 
-            this.upperArmLinearActuator.setPIDF(
+            upperConfiguration.setPIDF(
                 TuningConstants.ARM_UPPER_POSITION_PID_KP,
                 TuningConstants.ARM_UPPER_POSITION_PID_KI,
                 TuningConstants.ARM_UPPER_POSITION_PID_KD,
@@ -176,33 +207,33 @@ public class ArmMechanism implements IMechanism
         this.desiredLowerRightLAPosition = this.lowerRightLAPosition;
         this.desiredUpperLAPosition = this.upperLAPosition;
 
-        this.lowerLeftArmLinearActuator.setSelectedSlot(ArmMechanism.defaultPidSlotId);
-        this.lowerRightArmLinearActuator.setSelectedSlot(ArmMechanism.defaultPidSlotId);
-        this.upperArmLinearActuator.setSelectedSlot(ArmMechanism.defaultPidSlotId);
+        lowerLeftConfiguration.setSelectedSlot(ArmMechanism.defaultPidSlotId);
+        lowerRightConfiguration.setSelectedSlot(ArmMechanism.defaultPidSlotId);
+        upperConfiguration.setSelectedSlot(ArmMechanism.defaultPidSlotId);
 
-        this.lowerLeftArmLinearActuator.setSensorType(TalonXFeedbackDevice.QuadEncoder);
-        this.lowerRightArmLinearActuator.setSensorType(TalonXFeedbackDevice.QuadEncoder);
-        this.upperArmLinearActuator.setSensorType(TalonXFeedbackDevice.QuadEncoder);
+        lowerLeftConfiguration.setSensorType(TalonXFeedbackDevice.QuadEncoder);
+        lowerRightConfiguration.setSensorType(TalonXFeedbackDevice.QuadEncoder);
+        upperConfiguration.setSensorType(TalonXFeedbackDevice.QuadEncoder);
 
-        this.lowerLeftArmLinearActuator.setInvertOutput(TuningConstants.ARM_LOWER_LEFT_INVERT_OUTPUT);
-        this.lowerRightArmLinearActuator.setInvertOutput(TuningConstants.ARM_LOWER_RIGHT_INVERT_OUTPUT);
-        this.upperArmLinearActuator.setInvertOutput(TuningConstants.ARM_UPPER_MASTER_INVERT_OUTPUT);
+        lowerLeftConfiguration.setInvertOutput(TuningConstants.ARM_LOWER_LEFT_INVERT_OUTPUT);
+        lowerRightConfiguration.setInvertOutput(TuningConstants.ARM_LOWER_RIGHT_INVERT_OUTPUT);
+        upperConfiguration.setInvertOutput(TuningConstants.ARM_UPPER_MASTER_INVERT_OUTPUT);
 
-        this.lowerLeftArmLinearActuator.setInvertSensor(TuningConstants.ARM_LOWER_LEFT_INVERT_SENSOR);
-        this.lowerRightArmLinearActuator.setInvertSensor(TuningConstants.ARM_LOWER_RIGHT_INVERT_SENSOR);
-        this.upperArmLinearActuator.setInvertSensor(TuningConstants.ARM_UPPER_INVERT_SENSOR);
+        lowerLeftConfiguration.setInvertSensor(TuningConstants.ARM_LOWER_LEFT_INVERT_SENSOR);
+        lowerRightConfiguration.setInvertSensor(TuningConstants.ARM_LOWER_RIGHT_INVERT_SENSOR);
+        upperConfiguration.setInvertSensor(TuningConstants.ARM_UPPER_INVERT_SENSOR);
 
-        this.lowerLeftArmLinearActuator.setNeutralMode(MotorNeutralMode.Brake);
-        this.lowerRightArmLinearActuator.setNeutralMode(MotorNeutralMode.Brake);
-        this.upperArmLinearActuator.setNeutralMode(MotorNeutralMode.Brake);
+        lowerLeftConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+        lowerRightConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+        upperConfiguration.setNeutralMode(MotorNeutralMode.Brake);
 
-        this.lowerLeftArmLinearActuator.setControlMode(TalonXControlMode.Required);
-        this.lowerRightArmLinearActuator.setControlMode(TalonXControlMode.Required);
-        this.upperArmLinearActuator.setControlMode(TalonXControlMode.Required);
+        lowerLeftConfiguration.setControlMode(TalonXControlMode.Required);
+        lowerRightConfiguration.setControlMode(TalonXControlMode.Required);
+        upperConfiguration.setControlMode(TalonXControlMode.Required);
 
-        this.lowerLeftArmLinearActuator.setPosition(0.0);
-        this.lowerRightArmLinearActuator.setPosition(0.0);
-        this.upperArmLinearActuator.setPosition(0.0);
+        configurator.add("arm lower left actuator", this.lowerLeftArmLinearActuator, lowerLeftConfiguration);
+        configurator.add("arm lower right actuator", this.lowerRightArmLinearActuator, lowerRightConfiguration);
+        configurator.add("arm upper actuator", this.upperArmLinearActuator, upperConfiguration);
 
         this.lowerLeftLAPowerAverageCalculator = new FloatingAverageCalculator(this.timer, TuningConstants.ARM_POWER_TRACKING_DURATION, TuningConstants.ARM_POWER_SAMPLES_PER_SECOND);
         this.lowerRightLAPowerAverageCalculator = new FloatingAverageCalculator(this.timer, TuningConstants.ARM_POWER_TRACKING_DURATION, TuningConstants.ARM_POWER_SAMPLES_PER_SECOND);
@@ -213,16 +244,32 @@ public class ArmMechanism implements IMechanism
         this.upperLAsVelocityAverageCalculator = new FloatingAverageCalculator(this.timer, TuningConstants.ARM_VELOCITY_TRACKING_DURATION, TuningConstants.ARM_VELOCITY_SAMPLES_PER_SECOND);
 
         ITalonSRX upperLAFollower = provider.getTalonSRX(ElectronicsConstants.ARM_UPPER_LA_FOLLOWER_CAN_ID);
-        upperLAFollower.setNeutralMode(MotorNeutralMode.Brake);
-        upperLAFollower.setInvertOutput(TuningConstants.ARM_UPPER_FOLLOWER_INVERT_OUTPUT);
-        upperLAFollower.follow(this.upperArmLinearActuator);
+        TalonXConfiguration followerConfiguration = new TalonXConfiguration();
+        followerConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+        followerConfiguration.setInvertOutput(TuningConstants.ARM_UPPER_FOLLOWER_INVERT_OUTPUT);
+        configurator.add("arm upper follower actuator", upperLAFollower, followerConfiguration);
 
         //-------------------------- Intake Initialization ----------------------------------
 
         this.intakeMotor = provider.getTalonSRX(ElectronicsConstants.ARM_INTAKE_MOTOR_CAN_ID);
-        this.intakeMotor.setControlMode(TalonXControlMode.PercentOutput);
-        this.intakeMotor.setInvertOutput(TuningConstants.ARM_INTAKE_MOTOR_INVERT_OUTPUT);
-        this.intakeMotor.setNeutralMode(MotorNeutralMode.Brake);
+        TalonXConfiguration intakeConfiguration = new TalonXConfiguration();
+        intakeConfiguration.setControlMode(TalonXControlMode.PercentOutput);
+        intakeConfiguration.setInvertOutput(TuningConstants.ARM_INTAKE_MOTOR_INVERT_OUTPUT);
+        intakeConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+        configurator.add("arm intake motor", this.intakeMotor, intakeConfiguration);
+
+        // configure all of the arm's motors at once, rather than waiting on each of them in turn
+        configurator.apply();
+
+        this.lowerLeftArmLinearActuator.setPosition(0.0);
+        this.lowerRightArmLinearActuator.setPosition(0.0);
+        this.upperArmLinearActuator.setPosition(0.0);
+        upperLAFollower.follow(this.upperArmLinearActuator);
+
+        this.status = new MotorStatus();
+        this.lowerLeftLAStatusId = this.statusCache.register(this.lowerLeftArmLinearActuator, TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
+        this.lowerRightLAStatusId = this.statusCache.register(this.lowerRightArmLinearActuator, TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
+        this.upperLAStatusId = this.statusCache.register(this.upperArmLinearActuator, TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
 
         this.intakeExtender =
             provider.getDoubleSolenoid(
@@ -237,15 +284,20 @@ public class ArmMechanism implements IMechanism
     @Override
     public void readSensors()
     {
-        this.lowerLeftLAPosition = this.lowerLeftArmLinearActuator.getPosition() + HardwareConstants.ARM_EXTENTION_LENGTH * HardwareConstants.ARM_STRING_ENCODER_TICKS_PER_INCH;
-        this.lowerLeftLAVelocity = this.lowerLeftArmLinearActuator.getVelocity();
-        this.lowerLeftLAError = this.lowerLeftArmLinearActuator.getError();
-        this.lowerRightLAPosition = this.lowerRightArmLinearActuator.getPosition() + HardwareConstants.ARM_EXTENTION_LENGTH * HardwareConstants.ARM_STRING_ENCODER_TICKS_PER_INCH;
-        this.lowerRightLAVelocity = this.lowerRightArmLinearActuator.getVelocity();
-        this.lowerRightLAError = this.lowerRightArmLinearActuator.getError();
-        this.upperLAPosition = this.upperArmLinearActuator.getPosition();
-        this.upperLAVelocity = this.upperArmLinearActuator.getVelocity();
-        this.upperLAError = this.upperArmLinearActuator.getError();
+        this.statusCache.read(this.lowerLeftLAStatusId, this.status);
+        this.lowerLeftLAPosition = this.status.position + HardwareConstants.ARM_EXTENTION_LENGTH * HardwareConstants.ARM_STRING_ENCODER_TICKS_PER_INCH;
+        this.lowerLeftLAVelocity = this.status.velocity;
+        this.lowerLeftLAError = this.status.error;
+
+        this.statusCache.read(this.lowerRightLAStatusId, this.status);
+        this.lowerRightLAPosition = this.status.position + HardwareConstants.ARM_EXTENTION_LENGTH * HardwareConstants.ARM_STRING_ENCODER_TICKS_PER_INCH;
+        this.lowerRightLAVelocity = this.status.velocity;
+        this.lowerRightLAError = this.status.error;
+
+        this.statusCache.read(this.upperLAStatusId, this.status);
+        this.upperLAPosition = this.status.position;
+        this.upperLAVelocity = this.status.velocity;
+        this.upperLAError = this.status.error;
 
         double lowerLeftLACurrent = this.powerManager.getCurrent(ElectronicsConstants.ARM_LOWER_LEFT_LA_PDH_CHANNEL);
         double lowerRightLACurrent = this.powerManager.getCurrent(ElectronicsConstants.ARM_LOWER_RIGHT_LA_PDH_CHANNEL);
@@ -277,14 +329,14 @@ public class ArmMechanism implements IMechanism
         this.logger.logNumber(LoggingKey.ArmUpperError, this.upperLAError);
         this.logger.logNumber(LoggingKey.ArmUpperPower, this.upperLAsPowerAverage);
 
-        DoubleTuple offsets = ArmMechanism.calculateFK(
-            (this.lowerLeftLAPosition + this.lowerRightLAPosition) / 2.0,
-            this.upperLAPosition);
-
-        if (offsets != null)
+        double[] offsets = this.kinematicsResult;
+        if (this.calculateFK(
+                (this.lowerLeftLAPosition + this.lowerRightLAPosition) / 2.0,
+                this.upperLAPosition,
+                offsets))
         {
-            this.xPosition = offsets.first;
-            this.zPosition = offsets.second;
+            this.xPosition = offsets[0];
+            this.zPosition = offsets[1];
 
             this.logger.logNumber(LoggingKey.ArmFKXPosition, this.xPosition);
             this.logger.logNumber(LoggingKey.ArmFKZPosition, this.zPosition);
@@ -433,13 +485,14 @@ public class ArmMechanism implements IMechanism
                     upperPower = upperPositionAdjustment;
                 }
 
-                DoubleTuple fkResult = ArmMechanism.calculateFK(
-                    (this.desiredLowerLeftLAPosition + this.desiredLowerRightLAPosition) / 2.0,
-                    this.desiredUpperLAPosition);
-                if (fkResult != null)
+                double[] fkResult = this.kinematicsResult;
+                if (this.calculateFK(
+                        (this.desiredLowerLeftLAPosition + this.desiredLowerRightLAPosition) / 2.0,
+                        this.desiredUpperLAPosition,
+                        fkResult))
                 {
-                    this.desiredXPosition = fkResult.first;
-                    this.desiredZPosition = fkResult.second;
+                    this.desiredXPosition = fkResult[0];
+                    this.desiredZPosition = fkResult[1];
                 }
             }
             else
@@ -473,27 +526,27 @@ public class ArmMechanism implements IMechanism
                     ikZ != TuningConstants.MAGIC_NULL_VALUE)
                 {
                     // controlled by macro
-                    DoubleTuple ikResult = ArmMechanism.calculateIK(ikX, ikZ);
-                    if (ikResult != null)
+                    double[] ikResult = this.kinematicsResult;
+                    if (this.calculateIK(ikX, ikZ, ikResult))
                     {
                         boolean updateDesiredIKPosition = false;
-                        if (Helpers.RoughEquals(this.desiredLowerLeftLAPosition, ikResult.first, 0.1) ||
-                            Helpers.RoughEquals(this.desiredLowerRightLAPosition, ikResult.first, 0.1))
+                        if (Helpers.RoughEquals(this.desiredLowerLeftLAPosition, ikResult[0], 0.1) ||
+                            Helpers.RoughEquals(this.desiredLowerRightLAPosition, ikResult[0], 0.1))
                         {
                             this.lowerSetpointChangedTime = currTime;
                             this.lowerLAsStalled = false;
 
-                            this.desiredLowerLeftLAPosition = ikResult.first;
-                            this.desiredLowerRightLAPosition = ikResult.first;
+                            this.desiredLowerLeftLAPosition = ikResult[0];
+                            this.desiredLowerRightLAPosition = ikResult[0];
                             updateDesiredIKPosition = true;
                         }
 
-                        if (Helpers.RoughEquals(this.desiredUpperLAPosition, ikResult.second, 0.1))
+                        if (Helpers.RoughEquals(this.desiredUpperLAPosition, ikResult[1], 0.1))
                         {
                             this.upperSetpointChangedTime = currTime;
                             this.upperLAsStalled = false;
 
-                            this.desiredUpperLAPosition = ikResult.second;
+                            this.desiredUpperLAPosition = ikResult[1];
                             updateDesiredIKPosition = true;
                         }
 
@@ -510,27 +563,27 @@ public class ArmMechanism implements IMechanism
                     double newDesiredXPosition = this.desiredXPosition + ikXAdjustment;
                     double newDesiredZPosition = this.desiredZPosition + ikZAdjustment;
 
-                    DoubleTuple ikResult = ArmMechanism.calculateIK(newDesiredXPosition, newDesiredZPosition);
-                    if (ikResult != null)
+                    double[] ikResult = this.kinematicsResult;
+                    if (this.calculateIK(newDesiredXPosition, newDesiredZPosition, ikResult))
                     {
                         boolean updateDesiredIKPosition = false;
-                        if (!Helpers.RoughEquals(this.desiredLowerLeftLAPosition, ikResult.first, 0.01) ||
-                            !Helpers.RoughEquals(this.desiredLowerRightLAPosition, ikResult.first, 0.01))
+                        if (!Helpers.RoughEquals(this.desiredLowerLeftLAPosition, ikResult[0], 0.01) ||
+                            !Helpers.RoughEquals(this.desiredLowerRightLAPosition, ikResult[0], 0.01))
                         {
                             this.lowerSetpointChangedTime = currTime;
                             this.lowerLAsStalled = false;
 
-                            this.desiredLowerLeftLAPosition = ikResult.first;
-                            this.desiredLowerRightLAPosition = ikResult.first;
+                            this.desiredLowerLeftLAPosition = ikResult[0];
+                            this.desiredLowerRightLAPosition = ikResult[0];
                             updateDesiredIKPosition = true;
                         }
 
-                        if (!Helpers.RoughEquals(this.desiredUpperLAPosition, ikResult.second, 0.01))
+                        if (!Helpers.RoughEquals(this.desiredUpperLAPosition, ikResult[1], 0.01))
                         {
                             this.upperSetpointChangedTime = currTime;
                             this.upperLAsStalled = false;
 
-                            this.desiredUpperLAPosition = ikResult.second;
+                            this.desiredUpperLAPosition = ikResult[1];
                             updateDesiredIKPosition = true;
                         }
 
@@ -570,13 +623,14 @@ public class ArmMechanism implements IMechanism
 
                     if (updateDesiredIKPosition)
                     {
-                        DoubleTuple fkResult = ArmMechanism.calculateFK(
-                            (this.desiredLowerLeftLAPosition + this.desiredLowerRightLAPosition) / 2.0,
-                            this.desiredUpperLAPosition);
-                        if (fkResult != null)
+                        double[] fkResult = this.kinematicsResult;
+                        if (this.calculateFK(
+                                (this.desiredLowerLeftLAPosition + this.desiredLowerRightLAPosition) / 2.0,
+                                this.desiredUpperLAPosition,
+                                fkResult))
                         {
-                            this.desiredXPosition = fkResult.first;
-                            this.desiredZPosition = fkResult.second;
+                            this.desiredXPosition = fkResult[0];
+                            this.desiredZPosition = fkResult[1];
                         }
                     }
                 }
@@ -662,9 +716,39 @@ public class ArmMechanism implements IMechanism
         this.logger.logNumber(LoggingKey.ArmLowerRightDesiredPosition, this.desiredLowerRightLAPosition - twistAmount);
         this.logger.logNumber(LoggingKey.ArmUpperDesiredPosition, this.desiredUpperLAPosition);
 
+        this.logger.logNumber(LoggingKey.ArmLowerLeftRequestsSent, this.lowerLeftArmLinearActuator.getControlRequestsSent());
+        this.logger.logNumber(LoggingKey.ArmLowerLeftRequestsSuppressed, this.lowerLeftArmLinearActuator.getControlRequestsSuppressed());
+        this.logger.logNumber(LoggingKey.ArmLowerRightRequestsSent, this.lowerRightArmLinearActuator.getControlRequestsSent());
+        this.logger.logNumber(LoggingKey.ArmLowerRightRequestsSuppressed, this.lowerRightArmLinearActuator.getControlRequestsSuppressed());
+        this.logger.logNumber(LoggingKey.ArmUpperRequestsSent, this.upperArmLinearActuator.getControlRequestsSent());
+        this.logger.logNumber(LoggingKey.ArmUpperRequestsSuppressed, this.upperArmLinearActuator.getControlRequestsSuppressed());
+        this.logger.logNumber(LoggingKey.ArmIntakeRequestsSent, this.intakeMotor.getControlRequestsSent());
+        this.logger.logNumber(LoggingKey.ArmIntakeRequestsSuppressed, this.intakeMotor.getControlRequestsSuppressed());
+
         this.prevTime = currTime;
     }
 
+    /**
+     * Wait until the kinematics table has been built (if it is used), so that the arm behaves the same from the first
+     * loop on instead of switching over part-way through (e.g. for reproducible simulations)
+     */
+    public void awaitKinematicsTable()
+    {
+        if (this.kinematicsThread == null)
+        {
+            return;
+        }
+
+        try
+        {
+            this.kinematicsThread.join();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+    }
+
     @Override
     public void stop()
     {
@@ -755,6 +839,28 @@ public class ArmMechanism implements IMechanism
      * @return pair of lower, upper linear actuator extensions (in ticks)
      */
     static DoubleTuple calculateIK(double x, double z)
+    {
+        if (!ArmMechanism.isAllowedIKPosition(x, z))
+        {
+            return null;
+        }
+
+        DoubleTuple ikAngles = ArmMechanism.calculateIKAnglesFromPosition(x, z);
+        if (ikAngles == null)
+        {
+            return null;
+        }
+
+        return ArmMechanism.calculateIKExtensionsFromAngles(ikAngles.first, ikAngles.second);
+    }
+
+    /**
+     * Check whether we allow the end-effector to be moved to the provided position
+     * @param x offset (in inches)
+     * @param z offset (in inches)
+     * @return true if the position is allowed
+     */
+    static boolean isAllowedIKPosition(double x, double z)
     {
         // block moving it outside of the allowed ranges
         if (x < TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH ||
@@ -762,23 +868,69 @@ public class ArmMechanism implements IMechanism
             z < TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT ||
             z > TuningConstants.ARM_MAX_IKZ_EXTENSION_HEIGHT)
         {
-            return null;
+            return false;
         }
 
         // block the possibility of the end-effector clipping through the robot frame
         if (x < TuningConstants.ARM_X_IK_INSIDE_TRESHOLD &&
             z < TuningConstants.ARM_Z_IK_INSIDE_TRESHOLD)
         {
-            return null;
+            return false;
         }
 
-        DoubleTuple ikAngles = ArmMechanism.calculateIKAnglesFromPosition(x, z);
-        if (ikAngles == null)
+        return true;
+    }
+
+    /**
+     * Calculate the desired actuator values using the kinematics table when it is ready, otherwise analytically
+     * @param x offset (in inches)
+     * @param z offset (in inches)
+     * @param result to hold the lower, upper linear actuator extensions (in ticks)
+     * @return true if the position is allowed and reachable
+     */
+    private boolean calculateIK(double x, double z, double[] result)
+    {
+        ArmKinematicsTable table = this.kinematicsTable;
+        if (table != null)
         {
-            return null;
+            return table.calculateIK(x, z, result);
         }
 
-        return ArmMechanism.calculateIKExtensionsFromAngles(ikAngles.first, ikAngles.second);
+        DoubleTuple ikResult = ArmMechanism.calculateIK(x, z);
+        if (ikResult == null)
+        {
+            return false;
+        }
+
+        result[0] = ikResult.first;
+        result[1] = ikResult.second;
+        return true;
+    }
+
+    /**
+     * Calculate the end-effector position using the kinematics table when it is ready, otherwise analytically
+     * @param lowerLAExtension lower linear actuator extension (in ticks)
+     * @param upperLAExtension upper linear actuator extension (in ticks)
+     * @param result to hold the x, z offsets where the end-effector is located (in inches)
+     * @return true if the extensions are valid
+     */
+    private boolean calculateFK(double lowerLAExtension, double upperLAExtension, double[] result)
+    {
+        ArmKinematicsTable table = this.kinematicsTable;
+        if (table != null)
+        {
+            return table.calculateFK(lowerLAExtension, upperLAExtension, result);
+        }
+
+        DoubleTuple fkResult = ArmMechanism.calculateFK(lowerLAExtension, upperLAExtension);
+        if (fkResult == null)
+        {
+            return false;
+        }
+
+        result[0] = fkResult.first;
+        result[1] = fkResult.second;
+        return true;
     }
 
     /**
@@ -18,6 +18,7 @@ import frc.lib.driver.*;
 import frc.lib.filters.*;
 import frc.lib.helpers.AnglePair;
 import frc.lib.helpers.Helpers;
+import frc.lib.helpers.PoseHistory;
 import frc.lib.mechanisms.*;
 import frc.lib.robotprovider.*;
 import frc.robot.driver.*;
@@ -44,6 +45,10 @@ public class DriveTrainMechanism implements IMechanism
     private static final LoggingKey[] STEER_ERROR_LOGGING_KEYS = { LoggingKey.DriveTrainSteerError1, LoggingKey.DriveTrainSteerError2, LoggingKey.DriveTrainSteerError3, LoggingKey.DriveTrainSteerError4 };
     private static final LoggingKey[] DRIVE_GOAL_LOGGING_KEYS = { LoggingKey.DriveTrainDriveVelocityGoal1, LoggingKey.DriveTrainDriveVelocityGoal2, LoggingKey.DriveTrainDriveVelocityGoal3, LoggingKey.DriveTrainDriveVelocityGoal4 };
     private static final LoggingKey[] STEER_GOAL_LOGGING_KEYS = { LoggingKey.DriveTrainSteerPositionGoal1, LoggingKey.DriveTrainSteerPositionGoal2, LoggingKey.DriveTrainSteerPositionGoal3, LoggingKey.DriveTrainSteerPositionGoal4 };
+    private static final LoggingKey[] DRIVE_SENT_LOGGING_KEYS = { LoggingKey.DriveTrainDriveRequestsSent1, LoggingKey.DriveTrainDriveRequestsSent2, LoggingKey.DriveTrainDriveRequestsSent3, LoggingKey.DriveTrainDriveRequestsSent4 };
+    private static final LoggingKey[] DRIVE_SUPPRESSED_LOGGING_KEYS = { LoggingKey.DriveTrainDriveRequestsSuppressed1, LoggingKey.DriveTrainDriveRequestsSuppressed2, LoggingKey.DriveTrainDriveRequestsSuppressed3, LoggingKey.DriveTrainDriveRequestsSuppressed4 };
+    private static final LoggingKey[] STEER_SENT_LOGGING_KEYS = { LoggingKey.DriveTrainSteerRequestsSent1, LoggingKey.DriveTrainSteerRequestsSent2, LoggingKey.DriveTrainSteerRequestsSent3, LoggingKey.DriveTrainSteerRequestsSent4 };
+    private static final LoggingKey[] STEER_SUPPRESSED_LOGGING_KEYS = { LoggingKey.DriveTrainSteerRequestsSuppressed1, LoggingKey.DriveTrainSteerRequestsSuppressed2, LoggingKey.DriveTrainSteerRequestsSuppressed3, LoggingKey.DriveTrainSteerRequestsSuppressed4 };
 
     private static final AnalogOperation[] STEER_SETPOINT_OPERATIONS = new AnalogOperation[] { AnalogOperation.DriveTrainPositionSteer1, AnalogOperation.DriveTrainPositionSteer2, AnalogOperation.DriveTrainPositionSteer3, AnalogOperation.DriveTrainPositionSteer4 };
     private static final AnalogOperation[] DRIVE_SETPOINT_OPERATIONS = new AnalogOperation[] { AnalogOperation.DriveTrainPositionDrive1, AnalogOperation.DriveTrainPositionDrive2, AnalogOperation.DriveTrainPositionDrive3, AnalogOperation.DriveTrainPositionDrive4 };
@@ -67,6 +72,12 @@ public class DriveTrainMechanism implements IMechanism
     private final ITalonFX[] driveMotors;
     private final ICANCoder[] absoluteEncoders;
 
+    private final MotorStatusCache statusCache;
+    private final int[] driveStatusIds;
+    private final int[] steerStatusIds;
+    private final int[] encoderStatusIds;
+    private final MotorStatus status; // shared status to avoid extra allocations
+
     private final PIDHandler omegaPID;
     private final boolean[] isDirectionSwapped;
     private final PIDHandler pathOmegaPID;
@@ -84,11 +95,19 @@ public class DriveTrainMechanism implements IMechanism
     private final double[] encoderAngles;
 
     private final Setpoint[] result;
+    private final AnglePair anglePair;
 
     private final SlewRateLimiter xVelocityLimiter;
     private final SlewRateLimiter yVelocityLimiter;
     private final SlewRateLimiter angularVelocityLimiter;
 
+    private final SwerveOdometry odometry;
+    private final OdometryThread odometryThread;
+    private final PoseHistory poseHistory;
+    private final Pose2d latestPose;
+    private int positionEpoch; // moves on with each reset of the position, so that older samples (and history) are ignored
+    private int angleEpoch; // moves on with each reset of the angle, so that older samples are ignored
+
     private boolean firstRun;
 
     private boolean fieldOriented;
@@ -110,11 +129,14 @@ public class DriveTrainMechanism implements IMechanism
         IRobotProvider provider,
         PigeonManager imuManager,
         PowerManager powerManager,
+        MotorStatusCache statusCache,
+        DeviceConfigurator configurator,
         ITimer timer)
     {
         this.driver = driver;
         this.logger = logger;
         this.timer = timer;
+        this.statusCache = statusCache;
 
         this.imuManager = imuManager;
         this.powerManager = powerManager;
@@ -122,6 +144,10 @@ public class DriveTrainMechanism implements IMechanism
         this.steerMotors = new ITalonFX[DriveTrainMechanism.NUM_MODULES];
         this.driveMotors = new ITalonFX[DriveTrainMechanism.NUM_MODULES];
         this.absoluteEncoders = new ICANCoder[DriveTrainMechanism.NUM_MODULES];
+        this.driveStatusIds = new int[DriveTrainMechanism.NUM_MODULES];
+        this.steerStatusIds = new int[DriveTrainMechanism.NUM_MODULES];
+        this.encoderStatusIds = new int[DriveTrainMechanism.NUM_MODULES];
+        this.status = new MotorStatus();
 
         this.moduleOffsetX =
             new double[]
@@ -198,46 +224,49 @@ public class DriveTrainMechanism implements IMechanism
         for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
         {
             this.driveMotors[i] = provider.getTalonFX(driveMotorCanIds[i], ElectronicsConstants.CANIVORE_NAME);
-            this.driveMotors[i].setNeutralMode(MotorNeutralMode.Brake);
-            this.driveMotors[i].setSensorType(TalonXFeedbackDevice.IntegratedSensor);
-            this.driveMotors[i].setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_SENSOR_FRAME_PERIOD_MS);
-            this.driveMotors[i].setPIDFFramePeriod(TuningConstants.DRIVETRAIN_PID_FRAME_PERIOD_MS);
-            this.driveMotors[i].setInvert(driveMotorInvert[i]);
-            this.driveMotors[i].configureVelocityMeasurements(10, 32);
-            this.driveMotors[i].setPIDF(
+            TalonXConfiguration driveConfiguration = new TalonXConfiguration();
+            driveConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+            driveConfiguration.setSensorType(TalonXFeedbackDevice.IntegratedSensor);
+            driveConfiguration.setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_SENSOR_FRAME_PERIOD_MS);
+            driveConfiguration.setPIDFFramePeriod(TuningConstants.DRIVETRAIN_PID_FRAME_PERIOD_MS);
+            driveConfiguration.setInvert(driveMotorInvert[i]);
+            driveConfiguration.configureVelocityMeasurements(10, 32);
+            driveConfiguration.setPIDF(
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_VELOCITY_PID_KP,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_VELOCITY_PID_KI,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_VELOCITY_PID_KD,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_VELOCITY_PID_KF,
                 DriveTrainMechanism.defaultPidSlotId);
-            this.driveMotors[i].setPIDF(
+            driveConfiguration.setPIDF(
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_POSITION_PID_KP,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_POSITION_PID_KI,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_POSITION_PID_KD,
                 TuningConstants.DRIVETRAIN_DRIVE_MOTORS_POSITION_PID_KF,
                 DriveTrainMechanism.secondaryPidSlotId);
-            this.driveMotors[i].setVoltageCompensation(
+            driveConfiguration.setVoltageCompensation(
                 TuningConstants.DRIVETRAIN_DRIVE_VOLTAGE_COMPENSATION_ENABLED,
                 TuningConstants.DRIVETRAIN_DRIVE_VOLTAGE_COMPENSATION);
-            this.driveMotors[i].setSupplyCurrentLimit(
+            driveConfiguration.setSupplyCurrentLimit(
                 TuningConstants.DRIVETRAIN_DRIVE_SUPPLY_CURRENT_LIMITING_ENABLED,
                 TuningConstants.DRIVETRAIN_DRIVE_SUPPLY_CURRENT_MAX,
                 TuningConstants.DRIVETRAIN_DRIVE_SUPPLY_TRIGGER_CURRENT,
                 TuningConstants.DRIVETRAIN_DRIVE_SUPPLY_TRIGGER_DURATION);
-            this.driveMotors[i].setControlMode(TalonXControlMode.Velocity);
-            this.driveMotors[i].setSelectedSlot(DriveTrainMechanism.defaultPidSlotId);
+            driveConfiguration.setControlMode(TalonXControlMode.Velocity);
+            driveConfiguration.setSelectedSlot(DriveTrainMechanism.defaultPidSlotId);
+            configurator.add("drivetrain drive motor " + (i + 1), this.driveMotors[i], driveConfiguration);
 
             this.steerMotors[i] = provider.getTalonFX(steerMotorCanIds[i], ElectronicsConstants.CANIVORE_NAME);
-            this.steerMotors[i].setInvert(steerMotorInvert[i]);
-            this.steerMotors[i].setNeutralMode(MotorNeutralMode.Brake);
-            this.steerMotors[i].setSensorType(TalonXFeedbackDevice.IntegratedSensor);
-            this.steerMotors[i].setPIDF(
+            TalonXConfiguration steerConfiguration = new TalonXConfiguration();
+            steerConfiguration.setInvert(steerMotorInvert[i]);
+            steerConfiguration.setNeutralMode(MotorNeutralMode.Brake);
+            steerConfiguration.setSensorType(TalonXFeedbackDevice.IntegratedSensor);
+            steerConfiguration.setPIDF(
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_POSITION_PID_KP,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_POSITION_PID_KI,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_POSITION_PID_KD,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_POSITION_PID_KF,
                 DriveTrainMechanism.defaultPidSlotId);
-            this.steerMotors[i].setMotionMagicPIDF(
+            steerConfiguration.setMotionMagicPIDF(
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_MM_PID_KP,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_MM_PID_KI,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_MM_PID_KD,
@@ -245,29 +274,48 @@ public class DriveTrainMechanism implements IMechanism
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_MM_PID_CRUISE_VELOC,
                 TuningConstants.DRIVETRAIN_STEER_MOTORS_MM_PID_ACCEL,
                 DriveTrainMechanism.secondaryPidSlotId);
-            this.steerMotors[i].setVoltageCompensation(
+            steerConfiguration.setVoltageCompensation(
                 TuningConstants.DRIVETRAIN_STEER_VOLTAGE_COMPENSATION_ENABLED,
                 TuningConstants.DRIVETRAIN_STEER_VOLTAGE_COMPENSATION);
-            this.steerMotors[i].setSupplyCurrentLimit(
+            steerConfiguration.setSupplyCurrentLimit(
                 TuningConstants.DRIVETRAIN_STEER_SUPPLY_CURRENT_LIMITING_ENABLED,
                 TuningConstants.DRIVETRAIN_STEER_SUPPLY_CURRENT_MAX,
                 TuningConstants.DRIVETRAIN_STEER_SUPPLY_TRIGGER_CURRENT,
                 TuningConstants.DRIVETRAIN_STEER_SUPPLY_TRIGGER_DURATION);
-            this.steerMotors[i].setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_SENSOR_FRAME_PERIOD_MS);
-            this.steerMotors[i].setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_PID_FRAME_PERIOD_MS);
+            steerConfiguration.setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_SENSOR_FRAME_PERIOD_MS);
+            steerConfiguration.setFeedbackFramePeriod(TuningConstants.DRIVETRAIN_PID_FRAME_PERIOD_MS);
             if (TuningConstants.DRIVETRAIN_STEER_MOTORS_USE_MOTION_MAGIC)
             {
-                this.steerMotors[i].setControlMode(TalonXControlMode.MotionMagicPosition);
-                this.steerMotors[i].setSelectedSlot(DriveTrainMechanism.secondaryPidSlotId);
+                steerConfiguration.setControlMode(TalonXControlMode.MotionMagicPosition);
+                steerConfiguration.setSelectedSlot(DriveTrainMechanism.secondaryPidSlotId);
             }
             else
             {
-                this.steerMotors[i].setControlMode(TalonXControlMode.Position);
-                this.steerMotors[i].setSelectedSlot(DriveTrainMechanism.defaultPidSlotId);
+                steerConfiguration.setControlMode(TalonXControlMode.Position);
+                steerConfiguration.setSelectedSlot(DriveTrainMechanism.defaultPidSlotId);
             }
 
+            configurator.add("drivetrain steer motor " + (i + 1), this.steerMotors[i], steerConfiguration);
+
             this.absoluteEncoders[i] = provider.getCANCoder(absoluteEncoderCanIds[i], ElectronicsConstants.CANIVORE_NAME);
-            this.absoluteEncoders[i].configAbsoluteRange(false);
+            CANCoderConfiguration encoderConfiguration = new CANCoderConfiguration();
+            encoderConfiguration.configAbsoluteRange(false);
+            configurator.add("drivetrain absolute encoder " + (i + 1), this.absoluteEncoders[i], encoderConfiguration);
+        }
+
+        // configure all of the modules' devices at once, rather than waiting on each of them in turn
+        configurator.apply();
+
+        // the loop only needs each module's status once per loop (the odometry thread reads what it needs on its own
+        // at the faster sensor frame period), so don't poll the devices any faster than that
+        for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
+        {
+            ICANCoder absoluteEncoder = this.absoluteEncoders[i];
+            this.driveStatusIds[i] = this.statusCache.register(this.driveMotors[i], TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
+            this.steerStatusIds[i] = this.statusCache.register(this.steerMotors[i], TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
+            this.encoderStatusIds[i] = this.statusCache.register(
+                status -> status.position = absoluteEncoder.getAbsolutePosition(),
+                TuningConstants.MOTOR_STATUS_DEFAULT_PERIOD_MS);
         }
 
         this.driveVelocities = new double[DriveTrainMechanism.NUM_MODULES];
@@ -328,6 +376,8 @@ public class DriveTrainMechanism implements IMechanism
             this.result[i] = new Setpoint();
         }
 
+        this.anglePair = new AnglePair();
+
         if (TuningConstants.DRIVETRAIN_USE_TRANSLATIONAL_RATE_LIMITING)
         {
             this.xVelocityLimiter = new SlewRateLimiter(
@@ -366,24 +416,52 @@ public class DriveTrainMechanism implements IMechanism
         this.xPosition = 0.0;
         this.yPosition = 0.0;
 
+        this.odometry = new SwerveOdometry();
+        this.positionEpoch = 0;
+        this.angleEpoch = 0;
+        this.latestPose = new Pose2d(0.0, 0.0, 0.0);
+        if (TuningConstants.DRIVETRAIN_USE_ODOMETRY && TuningConstants.DRIVETRAIN_USE_ODOMETRY_THREAD)
+        {
+            // integrate the position at a higher rate on its own thread (once started), the main loop just picks up the latest pose
+            this.odometryThread = new OdometryThread(this.driveMotors, this.steerMotors, this.imuManager, this.timer);
+            this.poseHistory = this.odometryThread.getHistory();
+        }
+        else
+        {
+            this.odometryThread = null;
+            this.poseHistory = new PoseHistory(TuningConstants.DRIVETRAIN_POSE_HISTORY_CAPACITY);
+        }
+
         this.firstRun = TuningConstants.DRIVETRAIN_RESET_ON_ROBOT_START;
         this.fieldOriented = TuningConstants.DRIVETRAIN_FIELD_ORIENTED_ON_ROBOT_START;
         this.maintainOrientation = TuningConstants.DRIVETRAIN_MAINTAIN_ORIENTATION_ON_ROBOT_START;
     }
 
+    @Override
+    public IMechanism[] getReadSensorsDependencies()
+    {
+        // odometry uses the yaw read by the IMU manager
+        return new IMechanism[] { this.imuManager };
+    }
+
     @Override
     public void readSensors()
     {
         for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
         {
-            this.driveVelocities[i] = this.driveMotors[i].getVelocity();
-            this.drivePositions[i] = this.driveMotors[i].getPosition();
-            this.driveErrors[i] = this.driveMotors[i].getError();
-            this.steerVelocities[i] = this.steerMotors[i].getVelocity();
-            this.steerPositions[i] = this.steerMotors[i].getPosition();
+            this.statusCache.read(this.driveStatusIds[i], this.status);
+            this.driveVelocities[i] = this.status.velocity;
+            this.drivePositions[i] = this.status.position;
+            this.driveErrors[i] = this.status.error;
+
+            this.statusCache.read(this.steerStatusIds[i], this.status);
+            this.steerVelocities[i] = this.status.velocity;
+            this.steerPositions[i] = this.status.position;
             this.steerAngles[i] = Helpers.updateAngleRange(this.steerPositions[i] * HardwareConstants.DRIVETRAIN_STEER_TICK_DISTANCE);
-            this.steerErrors[i] = this.steerMotors[i].getError();
-            this.encoderAngles[i] = this.absoluteEncoders[i].getAbsolutePosition();
+            this.steerErrors[i] = this.status.error;
+
+            this.statusCache.read(this.encoderStatusIds[i], this.status);
+            this.encoderAngles[i] = this.status.position;
 
             this.logger.logNumber(DriveTrainMechanism.DRIVE_VELOCITY_LOGGING_KEYS[i], this.driveVelocities[i]);
             this.logger.logNumber(DriveTrainMechanism.DRIVE_POSITION_LOGGING_KEYS[i], this.drivePositions[i]);
@@ -395,7 +473,6 @@ public class DriveTrainMechanism implements IMechanism
             this.logger.logNumber(DriveTrainMechanism.ENCODER_ANGLE_LOGGING_KEYS[i], this.encoderAngles[i]);
         }
 
-        double prevYaw = this.robotYaw;
         double prevTime = this.time;
         this.robotYaw = this.imuManager.getYaw();
         this.time = this.timer.get();
@@ -409,8 +486,22 @@ public class DriveTrainMechanism implements IMechanism
 
         if (TuningConstants.DRIVETRAIN_USE_ODOMETRY)
         {
-            double deltaImuYaw = (this.robotYaw - prevYaw) / this.deltaT;
-            this.calculateOdometry(deltaImuYaw);
+            if (this.odometryThread != null)
+            {
+                if (!this.odometryThread.isRunning())
+                {
+                    // the thread hasn't been started (or has been stopped), so sample once per loop instead
+                    this.odometryThread.sample();
+                }
+
+                this.updateFromOdometryThread();
+            }
+            else
+            {
+                this.calculateOdometry();
+                this.poseHistory.add(this.time, this.xPosition, this.yPosition, this.robotYaw, this.positionEpoch);
+            }
+
             this.logger.logNumber(LoggingKey.DriveTrainXPosition, this.xPosition);
             this.logger.logNumber(LoggingKey.DriveTrainYPosition, this.yPosition);
             this.logger.logNumber(LoggingKey.DriveTrainAngle, this.angle);
@@ -420,6 +511,12 @@ public class DriveTrainMechanism implements IMechanism
     @Override
     public void update()
     {
+        if (this.odometryThread != null)
+        {
+            // pick up any samples taken since readSensors
+            this.updateFromOdometryThread();
+        }
+
         if (this.driver.getDigital(DigitalOperation.DriveTrainEnableFieldOrientation))
         {
             this.fieldOriented = true;
@@ -453,18 +550,21 @@ public class DriveTrainMechanism implements IMechanism
             this.robotYaw = this.imuManager.getYaw();
             this.desiredYaw = this.robotYaw;
             this.angle = 0.0;
+            this.resetOdometryAngle();
         }
 
         if (this.driver.getDigital(DigitalOperation.DriveTrainResetXYPosition))
         {
             this.xPosition = this.driver.getAnalog(AnalogOperation.DriveTrainStartingXPosition);
             this.yPosition = this.driver.getAnalog(AnalogOperation.DriveTrainStartingYPosition);
+            this.resetOdometryPosition();
         }
 
         double startingAngle = this.driver.getAnalog(AnalogOperation.PositionStartingAngle);
         if (startingAngle != TuningConstants.ZERO)
         {
             this.angle = startingAngle;
+            this.resetOdometryAngle();
         }
 
         if (this.firstRun || this.driver.getDigital(DigitalOperation.DriveTrainReset))
@@ -488,22 +588,19 @@ public class DriveTrainMechanism implements IMechanism
         for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
         {
             Setpoint current = this.result[i];
-            Double steerSetpoint = current.angle;
-            Double driveVelocitySetpoint = current.driveVelocity;
-            Double drivePositionSetpoint = current.drivePosition;
 
             TalonXControlMode driveControlMode = TalonXControlMode.Disabled;
             int driveDesiredPidSlotId = DriveTrainMechanism.defaultPidSlotId;
             double driveSetpoint = 0.0;
-            if (driveVelocitySetpoint != null)
+            if (current.hasDriveVelocity)
             {
-                driveSetpoint = driveVelocitySetpoint;
+                driveSetpoint = current.driveVelocity;
                 driveControlMode = TalonXControlMode.Velocity;
                 driveDesiredPidSlotId = DriveTrainMechanism.defaultPidSlotId;
             }
-            else if (drivePositionSetpoint != null)
+            else if (current.hasDrivePosition)
             {
-                driveSetpoint = drivePositionSetpoint;
+                driveSetpoint = current.drivePosition;
                 driveControlMode = TalonXControlMode.Position;
                 driveDesiredPidSlotId = DriveTrainMechanism.secondaryPidSlotId;
             }
@@ -525,17 +622,37 @@ public class DriveTrainMechanism implements IMechanism
                 this.driveMotors[i].stop();
             }
 
-            if (steerSetpoint != null)
+            if (current.hasAngle)
             {
-                this.logger.logNumber(DriveTrainMechanism.STEER_GOAL_LOGGING_KEYS[i], steerSetpoint);
-                this.steerMotors[i].set(steerSetpoint);
+                this.logger.logNumber(DriveTrainMechanism.STEER_GOAL_LOGGING_KEYS[i], current.angle);
+                this.steerMotors[i].set(current.angle);
             }
+
+            this.logger.logNumber(DriveTrainMechanism.DRIVE_SENT_LOGGING_KEYS[i], this.driveMotors[i].getControlRequestsSent());
+            this.logger.logNumber(DriveTrainMechanism.DRIVE_SUPPRESSED_LOGGING_KEYS[i], this.driveMotors[i].getControlRequestsSuppressed());
+            this.logger.logNumber(DriveTrainMechanism.STEER_SENT_LOGGING_KEYS[i], this.steerMotors[i].getControlRequestsSent());
+            this.logger.logNumber(DriveTrainMechanism.STEER_SUPPRESSED_LOGGING_KEYS[i], this.steerMotors[i].getControlRequestsSuppressed());
+        }
+    }
+
+    @Override
+    public void start()
+    {
+        // when the status cache isn't reading in the background (e.g. when replaying), readSensors samples the odometry instead
+        if (this.odometryThread != null && this.statusCache.isBackground())
+        {
+            this.odometryThread.start();
         }
     }
 
     @Override
     public void stop()
     {
+        if (this.odometryThread != null)
+        {
+            this.odometryThread.stop();
+        }
+
         this.omegaPID.reset();
         this.pathOmegaPID.reset();
         this.pathXOffsetPID.reset();
@@ -563,6 +680,7 @@ public class DriveTrainMechanism implements IMechanism
 
         this.xPosition = 0.0;
         this.yPosition = 0.0;
+        this.resetOdometryPosition();
     }
 
     public double[] getModuleTurnInPlaceAngles()
@@ -589,7 +707,32 @@ public class DriveTrainMechanism implements IMechanism
 
     public Pose2d getPose()
     {
-        return new Pose2d(this.xPosition, this.yPosition, this.robotYaw);
+        return this.getPose(new Pose2d(0.0, 0.0, 0.0));
+    }
+
+    /**
+     * Get the current pose of the robot, without allocating
+     * @param pose to update with the current position (in inches) and yaw (in degrees)
+     * @return pose
+     */
+    public Pose2d getPose(Pose2d pose)
+    {
+        pose.x = this.xPosition;
+        pose.y = this.yPosition;
+        pose.angle = this.robotYaw;
+        return pose;
+    }
+
+    /**
+     * Get the pose of the robot at some recent time, interpolated from the history of odometry samples
+     * @param time to get the pose at (in seconds, a la ITimer.get())
+     * @param pose to update with the position (in inches) and yaw (in degrees) at that time
+     * @return true if the pose was found, false (and pose is unchanged) if the time is older than the history
+     */
+    public boolean getPose(double time, Pose2d pose)
+    {
+        // (nothing from before the latest reset)
+        return this.poseHistory.getPose(time, pose, this.positionEpoch);
     }
 
     private void calculateSetpoints(boolean useFieldOriented)
@@ -599,23 +742,23 @@ public class DriveTrainMechanism implements IMechanism
         {
             for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
             {
-                this.result[i].driveVelocity = null;
+                this.result[i].clearDriveVelocity();
                 if (maintainPositionMode)
                 {
-                    this.result[i].drivePosition = this.driver.getAnalog(DriveTrainMechanism.DRIVE_SETPOINT_OPERATIONS[i]);
+                    this.result[i].setDrivePosition(this.driver.getAnalog(DriveTrainMechanism.DRIVE_SETPOINT_OPERATIONS[i]));
                 }
                 else
                 {
-                    this.result[i].drivePosition = null;
+                    this.result[i].clearDrivePosition();
                 }
 
                 double moduleSteerPositionGoal = this.driver.getAnalog(DriveTrainMechanism.STEER_SETPOINT_OPERATIONS[i]);
                 double currentAngle = this.steerPositions[i] * HardwareConstants.DRIVETRAIN_STEER_TICK_DISTANCE;
-                AnglePair anglePair = AnglePair.getClosestAngle(moduleSteerPositionGoal, currentAngle, true);
+                AnglePair anglePair = AnglePair.getClosestAngle(moduleSteerPositionGoal, currentAngle, true, this.anglePair);
                 moduleSteerPositionGoal = anglePair.getAngle() * TuningConstants.DRIVETRAIN_STEER_MOTOR_POSITION_PID_KS;
                 this.isDirectionSwapped[i] = anglePair.getSwapDirection();
 
-                this.result[i].angle = moduleSteerPositionGoal;
+                this.result[i].setAngle(moduleSteerPositionGoal);
             }
 
             return;
@@ -631,6 +774,9 @@ public class DriveTrainMechanism implements IMechanism
 
         // robot turn velocity, in rad/sec
         double omega;
+
+        // distance from where the path wants us to be, in inches (NaN when not following a path)
+        double pathError = Double.NaN;
         if (this.driver.getDigital(DigitalOperation.DriveTrainPathMode))
         {
             // path mode doesn't support rotation centers besides the robot center
@@ -652,6 +798,8 @@ public class DriveTrainMechanism implements IMechanism
                 xVelocityGoal += this.pathXOffsetPID.calculatePosition(xGoal, this.xPosition);
                 yVelocityGoal += this.pathYOffsetPID.calculatePosition(yGoal, this.yPosition);
 
+                pathError = Math.sqrt((xGoal - this.xPosition) * (xGoal - this.xPosition) + (yGoal - this.yPosition) * (yGoal - this.yPosition));
+
                 this.logger.logNumber(LoggingKey.DriveTrainXPositionGoal, xGoal);
                 this.logger.logNumber(LoggingKey.DriveTrainYPositionGoal, yGoal);
                 this.logger.logNumber(LoggingKey.DriveTrainAngleGoal, angleGoal);
@@ -665,7 +813,7 @@ public class DriveTrainMechanism implements IMechanism
                 centerVelocityForward = Helpers.cosd(this.robotYaw) * xVelocityGoal + Helpers.sind(this.robotYaw) * yVelocityGoal;
 
                 // add correction for angle drift
-                AnglePair anglePair = AnglePair.getClosestAngle(angleGoal, this.robotYaw, false);
+                AnglePair anglePair = AnglePair.getClosestAngle(angleGoal, this.robotYaw, false, this.anglePair);
                 this.desiredYaw = anglePair.getAngle();
 
                 this.logger.logNumber(LoggingKey.DriveTrainDesiredAngle, this.desiredYaw);
@@ -761,7 +909,7 @@ public class DriveTrainMechanism implements IMechanism
                 {
                     updatedOrientation = true;
 
-                    AnglePair anglePair = AnglePair.getClosestAngle(yawGoal, this.robotYaw, false);
+                    AnglePair anglePair = AnglePair.getClosestAngle(yawGoal, this.robotYaw, false, this.anglePair);
                     this.desiredYaw = anglePair.getAngle();
                 }
 
@@ -790,30 +938,33 @@ public class DriveTrainMechanism implements IMechanism
             }
         }
 
+        this.logger.logNumber(LoggingKey.DriveTrainPathError, pathError);
+
         double maxModuleDriveVelocityGoal = 0.0;
         for (int i = 0; i < DriveTrainMechanism.NUM_MODULES; i++)
         {
             double moduleVelocityRight = centerVelocityRight + omega * (this.moduleOffsetY[i] + rotationCenterB);
             double moduleVelocityForward = centerVelocityForward - omega * (this.moduleOffsetX[i] + rotationCenterA);
 
-            Double moduleSteerPositionGoal;
+            Setpoint moduleSetpoint = this.result[i];
             double moduleDriveVelocityGoal;
             if (TuningConstants.DRIVETRAIN_SKIP_ANGLE_ON_ZERO_VELOCITY
                     && Helpers.WithinDelta(moduleVelocityRight, 0.0, TuningConstants.DRIVETRAIN_SKIP_ANGLE_ON_ZERO_DELTA)
                     && Helpers.WithinDelta(moduleVelocityForward, 0.0, TuningConstants.DRIVETRAIN_SKIP_ANGLE_ON_ZERO_DELTA))
             {
                 moduleDriveVelocityGoal = 0.0;
-                moduleSteerPositionGoal = null;
+                moduleSetpoint.clearAngle();
             }
             else
             {
                 moduleDriveVelocityGoal = Math.sqrt(moduleVelocityRight * moduleVelocityRight + moduleVelocityForward * moduleVelocityForward);
 
-                moduleSteerPositionGoal = Helpers.atan2d(-moduleVelocityRight, moduleVelocityForward);
+                double moduleSteerPositionGoal = Helpers.atan2d(-moduleVelocityRight, moduleVelocityForward);
                 double currentAngle = this.steerPositions[i] * HardwareConstants.DRIVETRAIN_STEER_TICK_DISTANCE;
-                AnglePair anglePair = AnglePair.getClosestAngle(moduleSteerPositionGoal, currentAngle, true);
+                AnglePair anglePair = AnglePair.getClosestAngle(moduleSteerPositionGoal, currentAngle, true, this.anglePair);
                 moduleSteerPositionGoal = anglePair.getAngle() * TuningConstants.DRIVETRAIN_STEER_MOTOR_POSITION_PID_KS;
                 this.isDirectionSwapped[i] = anglePair.getSwapDirection();
+                moduleSetpoint.setAngle(moduleSteerPositionGoal);
 
                 if (maxModuleDriveVelocityGoal < moduleDriveVelocityGoal)
                 {
@@ -827,9 +978,8 @@ public class DriveTrainMechanism implements IMechanism
                 }
             }
 
-            this.result[i].driveVelocity = moduleDriveVelocityGoal;
-            this.result[i].drivePosition = null;
-            this.result[i].angle = moduleSteerPositionGoal;
+            moduleSetpoint.setDriveVelocity(moduleDriveVelocityGoal);
+            moduleSetpoint.clearDrivePosition();
         }
 
         // rescale velocities based on max velocity percentage, if max velocity is exceeded for any module
@@ -866,63 +1016,102 @@ public class DriveTrainMechanism implements IMechanism
         }
     }
 
-    private void calculateOdometry(double deltaImuYaw)
+    private void calculateOdometry()
+    {
+        this.odometry.setPosition(this.xPosition, this.yPosition);
+        this.odometry.setAngle(this.angle);
+        this.odometry.integrate(this.steerAngles, this.driveVelocities, this.robotYaw, this.deltaT);
+        this.xPosition = this.odometry.getXPosition();
+        this.yPosition = this.odometry.getYPosition();
+        this.angle = this.odometry.getAngle();
+    }
+
+    private void updateFromOdometryThread()
+    {
+        // until the thread has taken a sample since the latest reset, keep the values we were reset to
+        if (!Double.isNaN(this.poseHistory.getLatest(this.latestPose, this.positionEpoch)))
+        {
+            this.xPosition = this.latestPose.x;
+            this.yPosition = this.latestPose.y;
+        }
+
+        double odometryAngle = this.odometryThread.getAngle(this.angleEpoch);
+        if (!Double.isNaN(odometryAngle))
+        {
+            this.angle = odometryAngle;
+        }
+    }
+
+    private void resetOdometryPosition()
+    {
+        this.positionEpoch++;
+        if (this.odometryThread != null)
+        {
+            this.odometryThread.resetPosition(this.xPosition, this.yPosition, this.positionEpoch);
+        }
+    }
+
+    private void resetOdometryAngle()
     {
-        // double imuOmega = deltaImuYaw / this.deltaT; // in degrees
-        double rightRobotVelocity;
-        double forwardRobotVelocity;
-
-        // calculate our right and forward velocities using an average of our various velocities and the angle.
-        double rightRobotVelocity1 = -Helpers.sind(this.steerAngles[0]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[0];
-        double rightRobotVelocity2 = -Helpers.sind(this.steerAngles[1]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[1];
-        double rightRobotVelocity3 = -Helpers.sind(this.steerAngles[2]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[2];
-        double rightRobotVelocity4 = -Helpers.sind(this.steerAngles[3]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[3];
-
-        double forwardRobotVelocity1 = Helpers.cosd(this.steerAngles[0]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[0];
-        double forwardRobotVelocity2 = Helpers.cosd(this.steerAngles[1]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[1];
-        double forwardRobotVelocity3 = Helpers.cosd(this.steerAngles[2]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[2];
-        double forwardRobotVelocity4 = Helpers.cosd(this.steerAngles[3]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * this.driveVelocities[3];
-
-        // rightRobotVelocity = (rightRobotVelocity1 + rightRobotVelocity2 + rightRobotVelocity3 + rightRobotVelocity4) / 4.0;
-        // forwardRobotVelocity = (forwardRobotVelocity1 + forwardRobotVelocity2 + forwardRobotVelocity3 + forwardRobotVelocity4) / 4.0;
-
-        double a = 0.5 * (-rightRobotVelocity3 - rightRobotVelocity4);
-        double b = 0.5 * (-rightRobotVelocity1 - rightRobotVelocity2);
-        double c = 0.5 * (forwardRobotVelocity1 + forwardRobotVelocity4);
-        double d = 0.5 * (forwardRobotVelocity2 + forwardRobotVelocity3);
-
-        double omegaRadians1 = (b - a) / HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_SEPERATION_DISTANCE;
-        double omegaRadians2 = (c - d) / HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_SEPERATION_DISTANCE;
-        double omegaRadians = (omegaRadians1 + omegaRadians2) / 2.0;
-
-        double rightRobotVelocityA = omegaRadians * HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_CENTER_DISTANCE + a;
-        double rightRobotVelocityB = -omegaRadians * HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_CENTER_DISTANCE + b;
-        rightRobotVelocity = -(rightRobotVelocityA + rightRobotVelocityB) / 2.0;
-
-        double forwardRobotVelocityA = omegaRadians * HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_CENTER_DISTANCE + c;
-        double forwardRobotVelocityB = -omegaRadians * HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_CENTER_DISTANCE + d;
-        forwardRobotVelocity = (forwardRobotVelocityA + forwardRobotVelocityB) / 2.0;
-
-        this.angle += omegaRadians * Helpers.RADIANS_TO_DEGREES * this.deltaT;
-
-        double rightFieldVelocity = rightRobotVelocity * Helpers.cosd(this.robotYaw) - forwardRobotVelocity * Helpers.sind(this.robotYaw);
-        double forwardFieldVelocity = rightRobotVelocity * Helpers.sind(this.robotYaw) + forwardRobotVelocity * Helpers.cosd(this.robotYaw);
-        this.xPosition += forwardFieldVelocity * this.deltaT;
-        this.yPosition -= rightFieldVelocity * this.deltaT;
+        this.angleEpoch++;
+        if (this.odometryThread != null)
+        {
+            this.odometryThread.resetAngle(this.angle, this.angleEpoch);
+        }
     }
 
     /**
-     * Basic structure to hold an angle/drive pair
+     * Basic structure to hold an angle/drive pair, each of which may or may not be set
      */
-    private class Setpoint
+    private static class Setpoint
     {
-        public Double angle;
-        public Double driveVelocity;
-        public Double drivePosition;
+        public double angle;
+        public double driveVelocity;
+        public double drivePosition;
+
+        public boolean hasAngle;
+        public boolean hasDriveVelocity;
+        public boolean hasDrivePosition;
 
         public Setpoint()
         {
         }
+
+        public void setAngle(double angle)
+        {
+            this.angle = angle;
+            this.hasAngle = true;
+        }
+
+        public void clearAngle()
+        {
+            this.angle = 0.0;
+            this.hasAngle = false;
+        }
+
+        public void setDriveVelocity(double driveVelocity)
+        {
+            this.driveVelocity = driveVelocity;
+            this.hasDriveVelocity = true;
+        }
+
+        public void clearDriveVelocity()
+        {
+            this.driveVelocity = 0.0;
+            this.hasDriveVelocity = false;
+        }
+
+        public void setDrivePosition(double drivePosition)
+        {
+            this.drivePosition = drivePosition;
+            this.hasDrivePosition = true;
+        }
+
+        public void clearDrivePosition()
+        {
+            this.drivePosition = 0.0;
+            this.hasDrivePosition = false;
+        }
     }
 
     public double getPositionX()
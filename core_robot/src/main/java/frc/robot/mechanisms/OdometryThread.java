@@ -0,0 +1,277 @@
+package frc.robot.mechanisms;
+
+import java.util.concurrent.locks.LockSupport;
+
+import frc.lib.helpers.Helpers;
+import frc.lib.helpers.PoseHistory;
+import frc.lib.robotprovider.ITalonFX;
+import frc.lib.robotprovider.ITimer;
+import frc.lib.robotprovider.InputLog;
+import frc.robot.HardwareConstants;
+import frc.robot.TuningConstants;
+
+/**
+ * Samples the swerve modules' encoders and the IMU's yaw at a higher rate than the main loop, integrating the robot's
+ * position at each sample and publishing it (with its timestamp and yaw) into a PoseHistory that any thread can read.
+ *
+ * Resets requested by the drivetrain (e.g. at the start of autonomous) are applied before the next sample.  Each reset
+ * starts a new epoch (chosen by the drivetrain, with separate epochs for the position and the angle), and every sample
+ * is stamped with the epochs it was taken in, so the drivetrain can ignore any samples (and history) from before its
+ * latest reset.
+ *
+ * The sampling thread only runs between start() and stop().  When it isn't running, the drivetrain takes each sample
+ * itself from readSensors() instead.  Either way, the sensors are read as the "Odometry" source (see
+ * InputLog.setSource()), so that a recorded match can be replayed by sampling once per loop.
+ */
+class OdometryThread implements Runnable
+{
+    private static final int NUM_MODULES = 4;
+    private static final String SOURCE = "Odometry";
+
+    private final ITalonFX[] driveMotors;
+    private final ITalonFX[] steerMotors;
+    private final PigeonManager imuManager;
+    private final ITimer timer;
+
+    private final SwerveOdometry odometry;
+    private final PoseHistory history;
+
+    private final double[] driveVelocities;
+    private final double[] steerAngles;
+    private final double[] ypr_deg; // shared array to avoid extra allocations
+
+    // resets requested by the drivetrain, each published by writing its epoch last
+    private volatile double resetXPosition;
+    private volatile double resetYPosition;
+    private volatile int positionEpoch;
+    private volatile double resetAngle;
+    private volatile int angleEpoch;
+
+    // the angle integrated from the modules (the history holds the yaw from the IMU), and the epoch it was sampled in
+    private volatile double angle;
+    private volatile int sampledAngleEpoch;
+
+    private int appliedPositionEpoch;
+    private int appliedAngleEpoch;
+    private double lastTime;
+
+    private Thread thread;
+    private volatile boolean running;
+
+    OdometryThread(ITalonFX[] driveMotors, ITalonFX[] steerMotors, PigeonManager imuManager, ITimer timer)
+    {
+        this.driveMotors = driveMotors;
+        this.steerMotors = steerMotors;
+        this.imuManager = imuManager;
+        this.timer = timer;
+
+        this.odometry = new SwerveOdometry();
+        this.history = new PoseHistory(TuningConstants.DRIVETRAIN_POSE_HISTORY_CAPACITY);
+
+        this.driveVelocities = new double[OdometryThread.NUM_MODULES];
+        this.steerAngles = new double[OdometryThread.NUM_MODULES];
+        this.ypr_deg = new double[3];
+
+        this.positionEpoch = 0;
+        this.angleEpoch = 0;
+        this.appliedPositionEpoch = 0;
+        this.appliedAngleEpoch = 0;
+        this.angle = 0.0;
+        this.sampledAngleEpoch = 0;
+        this.lastTime = Double.NaN;
+
+        this.thread = null;
+        this.running = false;
+    }
+
+    /**
+     * Start sampling on a new (daemon) thread, if it isn't already running
+     */
+    synchronized void start()
+    {
+        if (this.thread != null)
+        {
+            return;
+        }
+
+        this.running = true;
+        this.thread = new Thread(this, "Odometry");
+        this.thread.setDaemon(true);
+        this.thread.setPriority(Thread.MAX_PRIORITY);
+        this.thread.start();
+    }
+
+    /**
+     * Stop the sampling thread, waiting for it to finish its current sample
+     */
+    synchronized void stop()
+    {
+        if (this.thread == null)
+        {
+            return;
+        }
+
+        this.running = false;
+        LockSupport.unpark(this.thread);
+        try
+        {
+            this.thread.join();
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        this.thread = null;
+    }
+
+    /**
+     * Check whether the sampling thread is running
+     * @return true if samples are being taken on the thread
+     */
+    boolean isRunning()
+    {
+        return this.running;
+    }
+
+    /**
+     * Get the history of the poses that have been sampled
+     * @return pose history
+     */
+    PoseHistory getHistory()
+    {
+        return this.history;
+    }
+
+    /**
+     * Get the angle integrated from the modules as of the latest sample, if it was taken in the provided epoch
+     * @param epoch that the sample must have been taken in
+     * @return angle (in degrees), or NaN if there hasn't been a sample in that epoch yet
+     */
+    double getAngle(int epoch)
+    {
+        // new epochs are only started by the caller (resetAngle() is called from the same thread as this), so if the
+        // latest sample is stamped with the provided epoch, no sample from a newer epoch can replace it before the angle
+        // is read below - at worst we get the angle from a later sample in the same epoch
+        int sampledEpoch = this.sampledAngleEpoch;
+        double angle = this.angle;
+        return sampledEpoch == epoch ? angle : Double.NaN;
+    }
+
+    /**
+     * Request that the position be reset before the next sample
+     * @param xPosition new x position (in inches)
+     * @param yPosition new y position (in inches)
+     * @param epoch that starts with this reset (must be newer than any previous epoch)
+     */
+    void resetPosition(double xPosition, double yPosition, int epoch)
+    {
+        this.resetXPosition = xPosition;
+        this.resetYPosition = yPosition;
+        this.positionEpoch = epoch;
+    }
+
+    /**
+     * Request that the angle be reset before the next sample
+     * @param angle new angle (in degrees)
+     * @param epoch that starts with this reset (must be newer than any previous epoch)
+     */
+    void resetAngle(double angle, int epoch)
+    {
+        this.resetAngle = angle;
+        this.angleEpoch = epoch;
+    }
+
+    @Override
+    public void run()
+    {
+        long periodNanos = (long)(TuningConstants.DRIVETRAIN_ODOMETRY_THREAD_PERIOD * 1000000000.0);
+        long nextSampleNanos = System.nanoTime();
+        while (this.running)
+        {
+            this.sample();
+
+            nextSampleNanos += periodNanos;
+            long remainingNanos = nextSampleNanos - System.nanoTime();
+            if (remainingNanos > 0L)
+            {
+                LockSupport.parkNanos(remainingNanos);
+            }
+            else
+            {
+                // fell behind (e.g. a slow CAN read), so don't try to catch up with a burst of samples
+                nextSampleNanos = System.nanoTime();
+            }
+        }
+    }
+
+    /**
+     * Take a single sample of the sensors, integrate it, and add the result to the history
+     */
+    void sample()
+    {
+        String previousSource = InputLog.setSource(OdometryThread.SOURCE);
+        try
+        {
+            this.sampleAndIntegrate();
+        }
+        finally
+        {
+            InputLog.setSource(previousSource);
+        }
+    }
+
+    private void sampleAndIntegrate()
+    {
+        // the epochs are read before the values, so at worst a newer value is applied twice (and the sample is stamped
+        // with the older epoch, so the drivetrain ignores it)
+        boolean wasReset = false;
+        int positionEpoch = this.positionEpoch;
+        if (positionEpoch != this.appliedPositionEpoch)
+        {
+            this.odometry.setPosition(this.resetXPosition, this.resetYPosition);
+            this.appliedPositionEpoch = positionEpoch;
+            wasReset = true;
+        }
+
+        int angleEpoch = this.angleEpoch;
+        if (angleEpoch != this.appliedAngleEpoch)
+        {
+            this.odometry.setAngle(this.resetAngle);
+            this.appliedAngleEpoch = angleEpoch;
+            wasReset = true;
+        }
+
+        for (int i = 0; i < OdometryThread.NUM_MODULES; i++)
+        {
+            this.driveVelocities[i] = this.driveMotors[i].getVelocity();
+            this.steerAngles[i] = Helpers.updateAngleRange(this.steerMotors[i].getPosition() * HardwareConstants.DRIVETRAIN_STEER_TICK_DISTANCE);
+        }
+
+        double robotYaw = this.imuManager.sampleYaw(this.ypr_deg);
+        double time = this.timer.get();
+        double deltaT = time - this.lastTime;
+        this.lastTime = time;
+
+        if (Double.isNaN(deltaT) || deltaT <= 0.0)
+        {
+            // first sample (or time hasn't moved), so there's nothing to integrate yet
+            if (wasReset || this.history.isEmpty())
+            {
+                this.publish(time, robotYaw, positionEpoch, angleEpoch);
+            }
+
+            return;
+        }
+
+        this.odometry.integrate(this.steerAngles, this.driveVelocities, robotYaw, deltaT);
+        this.publish(time, robotYaw, positionEpoch, angleEpoch);
+    }
+
+    private void publish(double time, double robotYaw, int positionEpoch, int angleEpoch)
+    {
+        this.angle = this.odometry.getAngle();
+        this.sampledAngleEpoch = angleEpoch;
+        this.history.add(time, this.odometry.getXPosition(), this.odometry.getYPosition(), robotYaw, positionEpoch);
+    }
+}
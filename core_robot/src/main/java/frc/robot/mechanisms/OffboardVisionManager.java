@@ -12,75 +12,96 @@ import com.google.inject.Singleton;
 
 /**
  * Offboard Vision manager.
+ *
+ * The coprocessor publishes each processed frame as a single double array (see VisionFrame for the layout), so every
+ * frame is read atomically along with when it was captured, and no frames are lost if more than one arrives between
+ * loops.
+ *
+ * When the coprocessor stops sending frames, the retroreflective target comes from OnboardVisionManager instead.
  */
 @Singleton
 public class OffboardVisionManager implements IMechanism
 {
     private final IDriver driver;
     private final ILogger logger;
+    private final ITimer timer;
+
+    private final OnboardVisionManager onboardVision;
 
     private final INetworkTableProvider networkTable;
+    private final IDoubleArraySubscriber packetSubscriber;
+
+    // preallocated buffers for the frames received each loop
+    private final double[][] packets;
+    private final VisionFrame[] frames;
+    private int frameCount;
 
-    private IDoubleSubscriber atXOffsetSubscriber;
-    private IDoubleSubscriber atYOffsetSubscriber;
-    private IDoubleSubscriber atZOffsetSubscriber;
-    private IDoubleSubscriber atYawSubscriber;
-    private IDoubleSubscriber atPitchSubscriber;
-    private IDoubleSubscriber atRollSubscriber;
-    private IIntegerSubscriber atIdSubscriber;
-    private IDoubleSubscriber rrDistanceSubscriber;
-    private IDoubleSubscriber rrAngleSubscriber;
-    private IIntegerSubscriber heartbeatSubscriber;
-
-    private Double atXOffset;
-    private Double atYOffset;
-    private Double atZOffset;
-    private Double atYaw;
-    private Double atPitch;
-    private Double atRoll;
-    private Integer atId;
-    private Double rrDistance;
-    private Double rrAngle;
+    // the latest targets (only boxed when a caller asks for them, rather than for every frame)
+    private boolean hasAprilTag;
+    private double atXOffset;
+    private double atYOffset;
+    private double atZOffset;
+    private double atYaw;
+    private double atPitch;
+    private double atRoll;
+    private int atId;
+    private boolean hasRetroreflectiveTarget;
+    private double rrDistance;
+    private double rrAngle;
 
     private int missedHeartbeats;
-    private long prevHeartbeat;
+    private long prevFrameId;
+    private boolean usingFallback;
 
     /**
      * Initializes a new OffboardVisionManager
      * @param driver for obtaining operations
      * @param logger for logging to smart dashboard
      * @param provider for obtaining electronics objects
+     * @param timer to use
+     * @param onboardVision for the fallback retroreflective target
      */
     @Inject
-    public OffboardVisionManager(IDriver driver, LoggingManager logger, IRobotProvider provider)
+    public OffboardVisionManager(IDriver driver, LoggingManager logger, IRobotProvider provider, ITimer timer, OnboardVisionManager onboardVision)
     {
         this.driver = driver;
         this.logger = logger;
+        this.timer = timer;
+        this.onboardVision = onboardVision;
 
         this.networkTable = provider.getNetworkTableProvider();
-        this.atXOffsetSubscriber = this.networkTable.getDoubleSubscriber("at.xOffset", TuningConstants.MAGIC_NULL_VALUE);
-        this.atYOffsetSubscriber = this.networkTable.getDoubleSubscriber("at.yOffset", TuningConstants.MAGIC_NULL_VALUE);
-        this.atZOffsetSubscriber = this.networkTable.getDoubleSubscriber("at.zOffset", TuningConstants.MAGIC_NULL_VALUE);
-        this.atYawSubscriber = this.networkTable.getDoubleSubscriber("at.yawAngle", TuningConstants.MAGIC_NULL_VALUE);
-        this.atPitchSubscriber = this.networkTable.getDoubleSubscriber("at.pitchAngle", TuningConstants.MAGIC_NULL_VALUE);
-        this.atRollSubscriber = this.networkTable.getDoubleSubscriber("at.rollAngle", TuningConstants.MAGIC_NULL_VALUE);
-        this.atIdSubscriber = this.networkTable.getIntegerSubscriber("at.tagId", (int) TuningConstants.MAGIC_NULL_VALUE);
-        this.rrDistanceSubscriber = this.networkTable.getDoubleSubscriber("rr.distance", TuningConstants.MAGIC_NULL_VALUE);
-        this.rrAngleSubscriber = this.networkTable.getDoubleSubscriber("rr.horizontalAngle", TuningConstants.MAGIC_NULL_VALUE);
-        this.heartbeatSubscriber = this.networkTable.getIntegerSubscriber("v.heartbeat", 0);
-
-        this.atXOffset = null;
-        this.atYOffset = null;
-        this.atZOffset = null;
-        this.atYaw = null;
-        this.atPitch = null;
-        this.atRoll = null;
-        this.atId = null;
-        this.rrDistance = null;
-        this.rrAngle = null;
+        this.packetSubscriber = this.networkTable.getDoubleArraySubscriber("v.packet", TuningConstants.VISION_PACKET_QUEUE_SIZE);
+
+        this.packets = new double[TuningConstants.VISION_PACKET_QUEUE_SIZE][VisionFrame.LENGTH];
+        this.frames = new VisionFrame[TuningConstants.VISION_PACKET_QUEUE_SIZE];
+        for (int i = 0; i < this.frames.length; i++)
+        {
+            this.frames[i] = new VisionFrame();
+        }
+
+        this.frameCount = 0;
+
+        this.hasAprilTag = false;
+        this.atXOffset = 0.0;
+        this.atYOffset = 0.0;
+        this.atZOffset = 0.0;
+        this.atYaw = 0.0;
+        this.atPitch = 0.0;
+        this.atRoll = 0.0;
+        this.atId = 0;
+        this.hasRetroreflectiveTarget = false;
+        this.rrDistance = 0.0;
+        this.rrAngle = 0.0;
 
         this.missedHeartbeats = 0;
-        this.prevHeartbeat = 0L;
+        this.prevFrameId = -1L;
+        this.usingFallback = false;
+    }
+
+    @Override
+    public IMechanism[] getReadSensorsDependencies()
+    {
+        return new IMechanism[] { this.onboardVision };
     }
 
     /**
@@ -89,20 +110,60 @@ public class OffboardVisionManager implements IMechanism
     @Override
     public void readSensors()
     {
-        this.atXOffset = this.atXOffsetSubscriber.get();
-        this.atYOffset = this.atYOffsetSubscriber.get();
-        this.atZOffset = this.atZOffsetSubscriber.get();
-        this.atYaw = this.atYawSubscriber.get();
-        this.atPitch = this.atPitchSubscriber.get();
-        this.atRoll = this.atRollSubscriber.get();
-        this.atId = (int)this.atIdSubscriber.get();
-        this.rrDistance = this.rrDistanceSubscriber.get();
-        this.rrAngle = this.rrAngleSubscriber.get();
-
-        long newHeartbeat = this.heartbeatSubscriber.get();
-        if (this.prevHeartbeat != newHeartbeat)
+        int packetCount = this.packetSubscriber.readQueue(this.packets);
+
+        // convert the capture times from the NetworkTables timebase into ours
+        double now = this.timer.get();
+        long networkNow = this.networkTable.getNetworkTime();
+
+        this.frameCount = 0;
+        for (int i = 0; i < packetCount; i++)
+        {
+            double[] packet = this.packets[i];
+            double age = (networkNow - packet[VisionFrame.CAPTURE_TIME]) / 1000000.0;
+            if (Double.isNaN(age) || age < 0.0)
+            {
+                age = 0.0;
+            }
+
+            VisionFrame frame = this.frames[this.frameCount];
+            if (!frame.read(packet, now - age))
+            {
+                continue;
+            }
+
+            // ignore any repeated frames (the queue is in order, so a frame id that went backwards at all means that
+            // the coprocessor restarted and its frames are new)
+            if (frame.frameId != this.prevFrameId)
+            {
+                this.prevFrameId = frame.frameId;
+                this.frameCount++;
+            }
+        }
+
+        if (this.frameCount > 0)
         {
             this.missedHeartbeats = 0;
+
+            VisionFrame latest = this.frames[this.frameCount - 1];
+            this.hasAprilTag = latest.hasAprilTag;
+            if (latest.hasAprilTag)
+            {
+                this.atXOffset = latest.aprilTagXOffset;
+                this.atYOffset = latest.aprilTagYOffset;
+                this.atZOffset = latest.aprilTagZOffset;
+                this.atYaw = latest.aprilTagYaw;
+                this.atPitch = latest.aprilTagPitch;
+                this.atRoll = latest.aprilTagRoll;
+                this.atId = latest.aprilTagId;
+            }
+
+            this.hasRetroreflectiveTarget = latest.hasRetroreflectiveTarget;
+            if (latest.hasRetroreflectiveTarget)
+            {
+                this.rrDistance = latest.retroreflectiveDistance;
+                this.rrAngle = latest.retroreflectiveAngle;
+            }
         }
         else
         {
@@ -111,36 +172,58 @@ public class OffboardVisionManager implements IMechanism
 
         this.logger.logNumber(LoggingKey.OffboardVisionMissedHeartbeats, this.missedHeartbeats);
 
-        boolean missedHeartbeatExceedsThreshold = this.missedHeartbeats > TuningConstants.VISION_MISSED_HEARTBEAT_THRESHOLD;
+        // reset if we haven't heard from the coprocessor in too long
+        if (this.missedHeartbeats > TuningConstants.VISION_MISSED_HEARTBEAT_THRESHOLD)
+        {
+            this.hasAprilTag = false;
+            this.hasRetroreflectiveTarget = false;
+        }
 
-        // reset if we couldn't find the april tag
-        if (missedHeartbeatExceedsThreshold || this.atXOffset == TuningConstants.MAGIC_NULL_VALUE || this.atYOffset == TuningConstants.MAGIC_NULL_VALUE || this.atZOffset == TuningConstants.MAGIC_NULL_VALUE)
+        this.usingFallback = this.missedHeartbeats > TuningConstants.ONBOARD_VISION_FALLBACK_MISSED_HEARTBEATS;
+        if (this.usingFallback)
         {
-            this.atXOffset = null;
-            this.atYOffset = null;
-            this.atZOffset = null;
-            this.atYaw = null;
-            this.atPitch = null;
-            this.atRoll = null;
-            this.atId = null;
+            Double distance = this.onboardVision.getVisionTargetDistance();
+            Double angle = this.onboardVision.getVisionTargetHorizontalAngle();
+            this.hasRetroreflectiveTarget = distance != null && angle != null;
+            if (this.hasRetroreflectiveTarget)
+            {
+                this.rrDistance = distance;
+                this.rrAngle = angle;
+            }
         }
 
-        // reset if we couldn't find the retro-reflective vision target
-        if (missedHeartbeatExceedsThreshold || this.rrDistance < 0.0 || this.rrAngle == TuningConstants.MAGIC_NULL_VALUE)
+        this.logger.logBoolean(LoggingKey.OffboardVisionUsingFallback, this.usingFallback);
+        if (this.hasAprilTag)
         {
-            this.rrDistance = null;
-            this.rrAngle = null;
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, this.atXOffset);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYOffset, this.atYOffset);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagZOffset, this.atZOffset);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYaw, this.atYaw);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagPitch, this.atPitch);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagRoll, this.atRoll);
+            this.logger.logInteger(LoggingKey.OffboardVisionAprilTagId, this.atId);
+        }
+        else
+        {
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYOffset, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagZOffset, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYaw, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagPitch, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionAprilTagRoll, (Double)null);
+            this.logger.logInteger(LoggingKey.OffboardVisionAprilTagId, (Integer)null);
         }
 
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, this.atXOffset);
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYOffset, this.atYOffset);
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagZOffset, this.atZOffset);
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagYaw, this.atYaw);
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagPitch, this.atPitch);
-        this.logger.logNumber(LoggingKey.OffboardVisionAprilTagRoll, this.atRoll);
-        this.logger.logInteger(LoggingKey.OffboardVisionAprilTagId, this.atId);
-        this.logger.logNumber(LoggingKey.OffboardVisionRRTargetDistance, this.rrDistance);
-        this.logger.logNumber(LoggingKey.OffboardVisionRRTargetHorizontalAngle, this.rrAngle);
+        if (this.hasRetroreflectiveTarget)
+        {
+            this.logger.logNumber(LoggingKey.OffboardVisionRRTargetDistance, this.rrDistance);
+            this.logger.logNumber(LoggingKey.OffboardVisionRRTargetHorizontalAngle, this.rrAngle);
+        }
+        else
+        {
+            this.logger.logNumber(LoggingKey.OffboardVisionRRTargetDistance, (Double)null);
+            this.logger.logNumber(LoggingKey.OffboardVisionRRTargetHorizontalAngle, (Double)null);
+        }
     }
 
     @Override
@@ -166,6 +249,9 @@ public class OffboardVisionManager implements IMechanism
 
         this.logger.logBoolean(LoggingKey.OffboardVisionEnableStream, enableVideoStream);
         this.logger.logNumber(LoggingKey.OffboardVisionProcessingMode, visionProcessingMode);
+
+        // only spend the roboRIO's CPU on the retroreflective target when the coprocessor can't
+        this.onboardVision.setEnabled(visionProcessingMode == 2.0 && this.usingFallback);
     }
 
     @Override
@@ -177,46 +263,65 @@ public class OffboardVisionManager implements IMechanism
 
     public Double getVisionTargetHorizontalAngle()
     {
-        return this.rrAngle;
+        return this.hasRetroreflectiveTarget ? (Double)this.rrAngle : null;
     }
 
     public Double getVisionTargetDistance()
     {
-        return this.rrDistance;
+        return this.hasRetroreflectiveTarget ? (Double)this.rrDistance : null;
     }
 
     public Double getAprilTagXOffset()
     {
-        return this.atXOffset;
+        return this.hasAprilTag ? (Double)this.atXOffset : null;
     }
 
     public Double getAprilTagYOffset()
     {
-        return this.atYOffset;
+        return this.hasAprilTag ? (Double)this.atYOffset : null;
     }
 
     public Double getAprilTagZOffset()
     {
-        return this.atZOffset;
+        return this.hasAprilTag ? (Double)this.atZOffset : null;
     }
 
     public Double getAprilTagYaw()
     {
-        return this.atYaw;
+        return this.hasAprilTag ? (Double)this.atYaw : null;
     }
 
     public Double getAprilTagPitch()
     {
-        return this.atPitch;
+        return this.hasAprilTag ? (Double)this.atPitch : null;
     }
 
     public Double getAprilTagRoll()
     {
-        return this.atRoll;
+        return this.hasAprilTag ? (Double)this.atRoll : null;
     }
 
     public Integer getAprilTagId()
     {
-        return this.atId;
+        return this.hasAprilTag ? (Integer)this.atId : null;
+    }
+
+    /**
+     * Retrieve the number of new frames that were received in the latest readSensors
+     * @return the number of frames
+     */
+    public int getFrameCount()
+    {
+        return this.frameCount;
+    }
+
+    /**
+     * Retrieve one of the new frames that were received in the latest readSensors, oldest first
+     * @param index of the frame (less than getFrameCount())
+     * @return the frame (reused by the next readSensors)
+     */
+    public VisionFrame getFrame(int index)
+    {
+        return this.frames[index];
     }
 }
@@ -0,0 +1,160 @@
+package frc.robot.mechanisms;
+
+import frc.robot.*;
+import frc.lib.mechanisms.IMechanism;
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.*;
+import frc.lib.vision.MatPool;
+import frc.lib.vision.VisionEngine;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * On-robot vision manager, which finds the retroreflective target using a camera plugged into the robot itself.  This
+ * is only a fallback for when the coprocessor is down, so the pipeline only runs while OffboardVisionManager enables it,
+ * and it runs on its own threads so that it never stalls the main loop.
+ */
+@Singleton
+public class OnboardVisionManager implements IMechanism
+{
+    private final ILogger logger;
+    private final ITimer timer;
+
+    private final MatPool matPool;
+    private final VisionEngine<RetroreflectivePipeline, RetroreflectiveTarget> engine;
+
+    private Double rrDistance;
+    private Double rrAngle;
+
+    /**
+     * Initializes a new OnboardVisionManager
+     * @param logger for logging to smart dashboard
+     * @param provider for obtaining electronics objects
+     * @param timer to use
+     */
+    @Inject
+    public OnboardVisionManager(LoggingManager logger, IRobotProvider provider, ITimer timer)
+    {
+        this.logger = logger;
+        this.timer = timer;
+
+        IUsbCamera camera = null;
+        if (TuningConstants.ONBOARD_VISION_ENABLED)
+        {
+            camera = provider.getUsbCamera("onboard", ElectronicsConstants.ONBOARD_VISION_CAMERA_DEVICE);
+        }
+
+        if (camera != null)
+        {
+            // (there's no camera when replaying a match)
+            camera.setResolution(TuningConstants.ONBOARD_VISION_WIDTH, TuningConstants.ONBOARD_VISION_HEIGHT);
+            camera.setFPS(TuningConstants.ONBOARD_VISION_FPS);
+            camera.setExposureManual(TuningConstants.ONBOARD_VISION_EXPOSURE);
+            camera.setBrightness(TuningConstants.ONBOARD_VISION_BRIGHTNESS);
+
+            IOpenCVProvider openCVProvider = provider.getOpenCVProvider();
+            this.matPool = new MatPool(openCVProvider, TuningConstants.ONBOARD_VISION_TRACK_MAT_LEAKS);
+            this.engine = new VisionEngine<RetroreflectivePipeline, RetroreflectiveTarget>(
+                camera,
+                new RetroreflectivePipeline(openCVProvider, this.matPool),
+                RetroreflectiveTarget::new,
+                openCVProvider,
+                timer,
+                provider.getNetworkTableProvider());
+
+            // the pipeline has returned all of its images once it goes idle, and won't need them again for a while
+            this.engine.setIdleListener(
+                () ->
+                {
+                    this.matPool.reportLeaks();
+                    this.matPool.clear();
+                });
+
+            this.engine.start();
+        }
+        else
+        {
+            this.matPool = null;
+            this.engine = null;
+        }
+
+        this.rrDistance = null;
+        this.rrAngle = null;
+    }
+
+    /**
+     * read all of the sensors for the mechanism that we will use in macros/autonomous mode and record their values
+     */
+    @Override
+    public void readSensors()
+    {
+        if (this.engine == null)
+        {
+            return;
+        }
+
+        if (this.engine.update())
+        {
+            VisionEngine.Result<RetroreflectiveTarget> result = this.engine.getResult();
+            this.logger.logNumber(LoggingKey.OnboardVisionLatency, result.latency);
+            this.logger.logNumber(LoggingKey.OnboardVisionGrabTime, result.grabDuration);
+            this.logger.logNumber(LoggingKey.OnboardVisionProcessTime, result.processDuration);
+        }
+
+        // use the latest result as long as it isn't stale (e.g. from before the pipeline was last disabled)
+        VisionEngine.Result<RetroreflectiveTarget> result = this.engine.getResult();
+        if (result.frameId != 0L &&
+            result.outputs.isFound() &&
+            this.timer.get() - result.captureTime <= TuningConstants.ONBOARD_VISION_MAX_AGE)
+        {
+            this.rrDistance = result.outputs.getDistance();
+            this.rrAngle = result.outputs.getHorizontalAngle();
+        }
+        else
+        {
+            this.rrDistance = null;
+            this.rrAngle = null;
+        }
+
+        this.logger.logInteger(LoggingKey.OnboardVisionDroppedFrames, (int)this.engine.getDroppedFrames());
+        this.logger.logInteger(LoggingKey.OnboardVisionAllocatedMats, this.matPool.getAllocatedCount());
+        this.logger.logNumber(LoggingKey.OnboardVisionRRTargetDistance, this.rrDistance);
+        this.logger.logNumber(LoggingKey.OnboardVisionRRTargetHorizontalAngle, this.rrAngle);
+    }
+
+    @Override
+    public void update()
+    {
+    }
+
+    @Override
+    public void stop()
+    {
+        this.setEnabled(false);
+    }
+
+    /**
+     * Set whether the pipeline should be running
+     * @param enabled whether to grab and process frames
+     */
+    public void setEnabled(boolean enabled)
+    {
+        if (this.engine != null)
+        {
+            this.engine.setEnabled(enabled);
+        }
+
+        this.logger.logBoolean(LoggingKey.OnboardVisionEnabled, enabled && this.engine != null);
+    }
+
+    public Double getVisionTargetHorizontalAngle()
+    {
+        return this.rrAngle;
+    }
+
+    public Double getVisionTargetDistance()
+    {
+        return this.rrDistance;
+    }
+}
@@ -36,7 +36,7 @@ public class PigeonManager implements IPositionManager
     private double pitchRate;
     private double rollRate;
 
-    private double startYaw;
+    private volatile double startYaw; // also read by the odometry thread
     private double pitchOffset;
     private double rollOffset;
 
@@ -162,6 +162,18 @@ public class PigeonManager implements IPositionManager
         return this.yaw + this.startYaw;
     }
 
+    /**
+     * Read the current Yaw angle (counter-clockwise) directly from the pigeon, e.g. to sample it more often than the
+     * main loop runs (from another thread)
+     * @param ypr_deg array to read the yaw, pitch and roll into (one per thread, to avoid extra allocations)
+     * @return the current angle in degrees
+     */
+    public double sampleYaw(double[] ypr_deg)
+    {
+        this.pigeon.getYawPitchRoll(ypr_deg);
+        return ypr_deg[0] + this.startYaw;
+    }
+
     public double getPitch()
     {
         return this.pitch - this.pitchOffset;
@@ -0,0 +1,230 @@
+package frc.robot.mechanisms;
+
+import frc.robot.*;
+import frc.lib.driver.IDriver;
+import frc.lib.mechanisms.IMechanism;
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.*;
+import frc.robot.driver.DigitalOperation;
+
+import com.google.inject.Inject;
+import com.google.inject.Singleton;
+
+/**
+ * Pose estimation manager, which fuses AprilTag detections from offboard vision with the drivetrain's odometry.
+ *
+ * The estimate is kept as an offset from the odometry position along with its variance (a Kalman filter over x and y,
+ * treating both axes the same).  The odometry's variance grows with the distance driven, and each AprilTag detection is
+ * compared against where the estimate was when its frame was captured (looked up in the odometry's pose history), not
+ * against where the robot is now.  Because the correction is an offset applied to the whole odometry history, this is
+ * the same as rewinding to the capture time, applying the detection, and replaying the odometry since then.
+ * Detections from frames captured before the position was last reset are ignored, as they were seen from where the
+ * odometry thought the robot was before the reset.
+ *
+ * The yaw comes from the IMU as-is, as its drift over a match is small compared to the noise of the tag's yaw.
+ */
+@Singleton
+public class PoseEstimationManager implements IMechanism
+{
+    private final IDriver driver;
+    private final ILogger logger;
+    private final IDriverStation driverStation;
+    private final ITimer timer;
+
+    private final DriveTrainMechanism driveTrain;
+    private final OffboardVisionManager visionManager;
+
+    private final Pose2d odometryPose;
+    private final Pose2d capturePose;
+    private final Point2d measuredPosition;
+
+    private double xOffset;
+    private double yOffset;
+    private double variance;
+
+    private boolean hasPrevOdometry;
+    private double prevOdometryX;
+    private double prevOdometryY;
+
+    private double lastCaptureTime;
+    private int visionUpdates;
+    private int visionRejections;
+
+    /**
+     * Initializes a new PoseEstimationManager
+     * @param driver for obtaining operations
+     * @param logger for logging to smart dashboard
+     * @param provider for obtaining electronics objects
+     * @param timer to use
+     * @param driveTrain for the odometry
+     * @param visionManager for the AprilTag detections
+     */
+    @Inject
+    public PoseEstimationManager(
+        IDriver driver,
+        LoggingManager logger,
+        IRobotProvider provider,
+        ITimer timer,
+        DriveTrainMechanism driveTrain,
+        OffboardVisionManager visionManager)
+    {
+        this.driver = driver;
+        this.logger = logger;
+        this.driverStation = provider.getDriverStation();
+        this.timer = timer;
+
+        this.driveTrain = driveTrain;
+        this.visionManager = visionManager;
+
+        this.odometryPose = new Pose2d(0.0, 0.0, 0.0);
+        this.capturePose = new Pose2d(0.0, 0.0, 0.0);
+        this.measuredPosition = new Point2d(0.0, 0.0);
+
+        this.xOffset = 0.0;
+        this.yOffset = 0.0;
+        this.variance = TuningConstants.POSE_ESTIMATOR_INITIAL_VARIANCE;
+
+        this.hasPrevOdometry = false;
+        this.prevOdometryX = 0.0;
+        this.prevOdometryY = 0.0;
+
+        this.lastCaptureTime = Double.NEGATIVE_INFINITY;
+        this.visionUpdates = 0;
+        this.visionRejections = 0;
+    }
+
+    @Override
+    public IMechanism[] getReadSensorsDependencies()
+    {
+        return new IMechanism[] { this.driveTrain, this.visionManager };
+    }
+
+    /**
+     * read all of the sensors for the mechanism that we will use in macros/autonomous mode and record their values
+     */
+    @Override
+    public void readSensors()
+    {
+        this.driveTrain.getPose(this.odometryPose);
+
+        // the odometry gets less certain the further we drive
+        if (this.hasPrevOdometry)
+        {
+            double xDelta = this.odometryPose.x - this.prevOdometryX;
+            double yDelta = this.odometryPose.y - this.prevOdometryY;
+            this.variance += TuningConstants.POSE_ESTIMATOR_ODOMETRY_VARIANCE_PER_INCH * Math.sqrt(xDelta * xDelta + yDelta * yDelta);
+        }
+
+        this.hasPrevOdometry = true;
+        this.prevOdometryX = this.odometryPose.x;
+        this.prevOdometryY = this.odometryPose.y;
+
+        if (TuningConstants.POSE_ESTIMATOR_USE_VISION)
+        {
+            // apply every detection since the last loop, in the order that they were captured
+            int frameCount = this.visionManager.getFrameCount();
+            for (int i = 0; i < frameCount; i++)
+            {
+                VisionFrame frame = this.visionManager.getFrame(i);
+                if (frame.hasAprilTag && frame.captureTime > this.lastCaptureTime)
+                {
+                    // never go back in time (or before the latest reset)
+                    this.lastCaptureTime = frame.captureTime;
+                    this.applyVisionMeasurement(frame);
+                }
+            }
+        }
+
+        this.logger.logNumber(LoggingKey.PoseEstimatorXPosition, this.odometryPose.x + this.xOffset);
+        this.logger.logNumber(LoggingKey.PoseEstimatorYPosition, this.odometryPose.y + this.yOffset);
+        this.logger.logNumber(LoggingKey.PoseEstimatorVariance, this.variance);
+        this.logger.logInteger(LoggingKey.PoseEstimatorVisionUpdates, this.visionUpdates);
+        this.logger.logInteger(LoggingKey.PoseEstimatorVisionRejections, this.visionRejections);
+    }
+
+    @Override
+    public void update()
+    {
+        if (this.driver.getDigital(DigitalOperation.DriveTrainResetXYPosition))
+        {
+            // the odometry has been told where we are, so trust it (and don't count the jump as driving)
+            this.xOffset = 0.0;
+            this.yOffset = 0.0;
+            this.variance = TuningConstants.POSE_ESTIMATOR_RESET_VARIANCE;
+            this.hasPrevOdometry = false;
+
+            // frames captured before now were seen relative to the old position
+            this.lastCaptureTime = this.timer.get();
+        }
+    }
+
+    @Override
+    public void stop()
+    {
+    }
+
+    /**
+     * Get the current estimate of the robot's pose on the field
+     * @param pose to update with the current position (in inches) and yaw (in degrees)
+     * @return pose
+     */
+    public Pose2d getPose(Pose2d pose)
+    {
+        pose.x = this.odometryPose.x + this.xOffset;
+        pose.y = this.odometryPose.y + this.yOffset;
+        pose.angle = this.odometryPose.angle;
+        return pose;
+    }
+
+    /**
+     * Retrieve the amount to add to the drivetrain's odometry x position to get the estimated field x position
+     * @return the x offset (in inches)
+     */
+    public double getXOffset()
+    {
+        return this.xOffset;
+    }
+
+    /**
+     * Retrieve the amount to add to the drivetrain's odometry y position to get the estimated field y position
+     * @return the y offset (in inches)
+     */
+    public double getYOffset()
+    {
+        return this.yOffset;
+    }
+
+    private void applyVisionMeasurement(VisionFrame frame)
+    {
+        AprilTagTransforms transforms = AprilTagTransforms.forAlliance(this.driverStation.getAlliance());
+        if (!transforms.calculateRobotPosition(frame.aprilTagId, frame.aprilTagXOffset, frame.aprilTagYOffset, frame.aprilTagYaw, this.measuredPosition) ||
+            !this.driveTrain.getPose(frame.captureTime, this.capturePose))
+        {
+            // unknown tag, or the frame is older than the odometry history
+            this.visionRejections++;
+            return;
+        }
+
+        // detections of far-away tags are less certain
+        double tagDistance = Math.sqrt(frame.aprilTagXOffset * frame.aprilTagXOffset + frame.aprilTagYOffset * frame.aprilTagYOffset);
+        double measurementStdDev = TuningConstants.POSE_ESTIMATOR_VISION_STDDEV + TuningConstants.POSE_ESTIMATOR_VISION_STDDEV_PER_INCH * tagDistance;
+        double measurementVariance = measurementStdDev * measurementStdDev;
+
+        // compare against the estimate from when the frame was captured
+        double xInnovation = this.measuredPosition.x - (this.capturePose.x + this.xOffset);
+        double yInnovation = this.measuredPosition.y - (this.capturePose.y + this.yOffset);
+        double innovationVariance = this.variance + measurementVariance;
+        if (xInnovation * xInnovation + yInnovation * yInnovation >
+                TuningConstants.POSE_ESTIMATOR_VISION_GATE * TuningConstants.POSE_ESTIMATOR_VISION_GATE * innovationVariance)
+        {
+            this.visionRejections++;
+            return;
+        }
+
+        double gain = this.variance / innovationVariance;
+        this.xOffset += gain * xInnovation;
+        this.yOffset += gain * yInnovation;
+        this.variance *= 1.0 - gain;
+        this.visionUpdates++;
+    }
+}
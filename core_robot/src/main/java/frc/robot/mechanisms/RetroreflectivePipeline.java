@@ -0,0 +1,141 @@
+package frc.robot.mechanisms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import frc.lib.robotprovider.*;
+import frc.lib.vision.MatPool;
+import frc.robot.TuningConstants;
+
+/**
+ * Vision pipeline that finds the largest patch of retroreflective tape (lit by a green ring light) in an image.
+ */
+public class RetroreflectivePipeline implements IVisionPipeline
+{
+    // from OpenCV's Imgproc
+    private static final int COLOR_BGR2HSV = 40;
+    private static final int RETR_EXTERNAL = 0;
+    private static final int CHAIN_APPROX_TC89_KCOS = 4;
+
+    // from OpenCV's CvType
+    private static final int CV_8UC1 = 0;
+    private static final int CV_8UC3 = 16;
+
+    private final IOpenCVProvider openCVProvider;
+    private final MatPool matPool;
+
+    private final IMat hierarchy;
+    private final IScalar lowerBound;
+    private final IScalar upperBound;
+    private final List<IMatOfPoint> contours;
+
+    private int width;
+    private int height;
+    private boolean found;
+    private double centerX;
+    private double centerY;
+    private double area;
+
+    /**
+     * Initializes a new RetroreflectivePipeline
+     * @param openCVProvider for the image processing
+     * @param matPool for the scratch images used while processing each frame
+     */
+    public RetroreflectivePipeline(IOpenCVProvider openCVProvider, MatPool matPool)
+    {
+        this.openCVProvider = openCVProvider;
+        this.matPool = matPool;
+
+        this.hierarchy = openCVProvider.newMat();
+        this.lowerBound = openCVProvider.newScalar(
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_LOW_H,
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_LOW_S,
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_LOW_V);
+        this.upperBound = openCVProvider.newScalar(
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_HIGH_H,
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_HIGH_S,
+            TuningConstants.ONBOARD_VISION_HSV_FILTER_HIGH_V);
+        this.contours = new ArrayList<IMatOfPoint>();
+    }
+
+    @Override
+    public void process(IMat image)
+    {
+        this.width = image.width();
+        this.height = image.height();
+        this.found = false;
+
+        IMat hsvImage = this.matPool.acquire(this.height, this.width, RetroreflectivePipeline.CV_8UC3);
+        IMat mask = this.matPool.acquire(this.height, this.width, RetroreflectivePipeline.CV_8UC1);
+
+        this.openCVProvider.cvtColor(image, hsvImage, RetroreflectivePipeline.COLOR_BGR2HSV);
+        this.openCVProvider.inRange(hsvImage, this.lowerBound, this.upperBound, mask);
+        this.matPool.release(hsvImage);
+
+        this.contours.clear();
+        this.openCVProvider.findContours(mask, this.contours, this.hierarchy, RetroreflectivePipeline.RETR_EXTERNAL, RetroreflectivePipeline.CHAIN_APPROX_TC89_KCOS);
+        this.matPool.release(mask);
+
+        IMatOfPoint largestContour = null;
+        double largestArea = TuningConstants.ONBOARD_VISION_MIN_CONTOUR_AREA;
+        for (IMatOfPoint contour : this.contours)
+        {
+            double contourArea = this.openCVProvider.contourArea(contour);
+            if (contourArea >= largestArea)
+            {
+                largestContour = contour;
+                largestArea = contourArea;
+            }
+        }
+
+        if (largestContour != null)
+        {
+            IMoments moments = this.openCVProvider.moments(largestContour);
+            if (moments.get_m00() > 0.0)
+            {
+                this.found = true;
+                this.centerX = moments.get_m10() / moments.get_m00();
+                this.centerY = moments.get_m01() / moments.get_m00();
+                this.area = largestArea;
+            }
+        }
+
+        // the contours are native memory, so don't wait for the garbage collector
+        for (IMatOfPoint contour : this.contours)
+        {
+            contour.release();
+        }
+
+        this.contours.clear();
+    }
+
+    public int getWidth()
+    {
+        return this.width;
+    }
+
+    public int getHeight()
+    {
+        return this.height;
+    }
+
+    public boolean isFound()
+    {
+        return this.found;
+    }
+
+    public double getCenterX()
+    {
+        return this.centerX;
+    }
+
+    public double getCenterY()
+    {
+        return this.centerY;
+    }
+
+    public double getArea()
+    {
+        return this.area;
+    }
+}
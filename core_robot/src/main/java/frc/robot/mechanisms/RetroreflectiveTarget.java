@@ -0,0 +1,56 @@
+package frc.robot.mechanisms;
+
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.IVisionListener;
+import frc.robot.HardwareConstants;
+
+/**
+ * The outputs of the RetroreflectivePipeline for a single frame.
+ */
+public class RetroreflectiveTarget implements IVisionListener<RetroreflectivePipeline>
+{
+    private boolean found;
+    private double horizontalAngle;
+    private double distance;
+
+    @Override
+    public void copyPipelineOutputs(RetroreflectivePipeline pipeline)
+    {
+        this.found = pipeline.isFound();
+        if (!this.found)
+        {
+            return;
+        }
+
+        // convert from pixels into angles from the center of the camera's view (right and up are positive)
+        double horizontalFocalLength = (pipeline.getWidth() / 2.0) / Helpers.tand(HardwareConstants.ONBOARD_VISION_CAMERA_HORIZONTAL_FOV / 2.0);
+        double verticalFocalLength = (pipeline.getHeight() / 2.0) / Helpers.tand(HardwareConstants.ONBOARD_VISION_CAMERA_VERTICAL_FOV / 2.0);
+        this.horizontalAngle = Helpers.atand((pipeline.getCenterX() - pipeline.getWidth() / 2.0) / horizontalFocalLength);
+        double verticalAngle = Helpers.atand((pipeline.getHeight() / 2.0 - pipeline.getCenterY()) / verticalFocalLength);
+
+        this.distance =
+            (HardwareConstants.ONBOARD_VISION_TARGET_HEIGHT - HardwareConstants.ONBOARD_VISION_CAMERA_HEIGHT) /
+                Helpers.tand(HardwareConstants.ONBOARD_VISION_CAMERA_PITCH + verticalAngle);
+    }
+
+    public boolean isFound()
+    {
+        return this.found;
+    }
+
+    /**
+     * @return the angle to the target (in degrees, positive to the right)
+     */
+    public double getHorizontalAngle()
+    {
+        return this.horizontalAngle;
+    }
+
+    /**
+     * @return the distance along the floor to the target (in inches)
+     */
+    public double getDistance()
+    {
+        return this.distance;
+    }
+}
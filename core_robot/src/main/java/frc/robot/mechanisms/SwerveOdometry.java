@@ -0,0 +1,98 @@
+package frc.robot.mechanisms;
+
+import frc.lib.helpers.Helpers;
+import frc.robot.HardwareConstants;
+
+/**
+ * Integrates the swerve modules' velocities into the position of the robot on the field
+ */
+class SwerveOdometry
+{
+    private double angle;
+    private double xPosition;
+    private double yPosition;
+
+    SwerveOdometry()
+    {
+        this.angle = 0.0;
+        this.xPosition = 0.0;
+        this.yPosition = 0.0;
+    }
+
+    /**
+     * Integrate the robot's movement over the provided time
+     * @param steerAngles the angles of each module (in degrees)
+     * @param driveVelocities the velocities of each module's drive motor (in ticks per 100ms)
+     * @param robotYaw the current yaw of the robot from the IMU (in degrees)
+     * @param deltaT the amount of time since the last integration (in seconds)
+     */
+    void integrate(double[] steerAngles, double[] driveVelocities, double robotYaw, double deltaT)
+    {
+        double rightRobotVelocity;
+        double forwardRobotVelocity;
+
+        // calculate our right and forward velocities using an average of our various velocities and the angle.
+        double rightRobotVelocity1 = -Helpers.sind(steerAngles[0]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[0];
+        double rightRobotVelocity2 = -Helpers.sind(steerAngles[1]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[1];
+        double rightRobotVelocity3 = -Helpers.sind(steerAngles[2]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[2];
+        double rightRobotVelocity4 = -Helpers.sind(steerAngles[3]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[3];
+
+        double forwardRobotVelocity1 = Helpers.cosd(steerAngles[0]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[0];
+        double forwardRobotVelocity2 = Helpers.cosd(steerAngles[1]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[1];
+        double forwardRobotVelocity3 = Helpers.cosd(steerAngles[2]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[2];
+        double forwardRobotVelocity4 = Helpers.cosd(steerAngles[3]) * HardwareConstants.DRIVETRAIN_DRIVE_MOTOR_VELOCITY_TO_INCHES_PER_SECOND * driveVelocities[3];
+
+        // rightRobotVelocity = (rightRobotVelocity1 + rightRobotVelocity2 + rightRobotVelocity3 + rightRobotVelocity4) / 4.0;
+        // forwardRobotVelocity = (forwardRobotVelocity1 + forwardRobotVelocity2 + forwardRobotVelocity3 + forwardRobotVelocity4) / 4.0;
+
+        double a = 0.5 * (-rightRobotVelocity3 - rightRobotVelocity4);
+        double b = 0.5 * (-rightRobotVelocity1 - rightRobotVelocity2);
+        double c = 0.5 * (forwardRobotVelocity1 + forwardRobotVelocity4);
+        double d = 0.5 * (forwardRobotVelocity2 + forwardRobotVelocity3);
+
+        double omegaRadians1 = (b - a) / HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_SEPERATION_DISTANCE;
+        double omegaRadians2 = (c - d) / HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_SEPERATION_DISTANCE;
+        double omegaRadians = (omegaRadians1 + omegaRadians2) / 2.0;
+
+        double rightRobotVelocityA = omegaRadians * HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_CENTER_DISTANCE + a;
+        double rightRobotVelocityB = -omegaRadians * HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_CENTER_DISTANCE + b;
+        rightRobotVelocity = -(rightRobotVelocityA + rightRobotVelocityB) / 2.0;
+
+        double forwardRobotVelocityA = omegaRadians * HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_CENTER_DISTANCE + c;
+        double forwardRobotVelocityB = -omegaRadians * HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_CENTER_DISTANCE + d;
+        forwardRobotVelocity = (forwardRobotVelocityA + forwardRobotVelocityB) / 2.0;
+
+        this.angle += omegaRadians * Helpers.RADIANS_TO_DEGREES * deltaT;
+
+        double rightFieldVelocity = rightRobotVelocity * Helpers.cosd(robotYaw) - forwardRobotVelocity * Helpers.sind(robotYaw);
+        double forwardFieldVelocity = rightRobotVelocity * Helpers.sind(robotYaw) + forwardRobotVelocity * Helpers.cosd(robotYaw);
+        this.xPosition += forwardFieldVelocity * deltaT;
+        this.yPosition -= rightFieldVelocity * deltaT;
+    }
+
+    double getAngle()
+    {
+        return this.angle;
+    }
+
+    double getXPosition()
+    {
+        return this.xPosition;
+    }
+
+    double getYPosition()
+    {
+        return this.yPosition;
+    }
+
+    void setAngle(double angle)
+    {
+        this.angle = angle;
+    }
+
+    void setPosition(double xPosition, double yPosition)
+    {
+        this.xPosition = xPosition;
+        this.yPosition = yPosition;
+    }
+}
@@ -0,0 +1,84 @@
+package frc.robot.mechanisms;
+
+import frc.robot.TuningConstants;
+
+/**
+ * A single processed frame from offboard vision, as published atomically by the coprocessor in one double array (so
+ * that all of the values in a frame are consistent with each other and with the frame's capture time).
+ */
+public class VisionFrame
+{
+    // layout of the packet published by the coprocessor
+    public static final int FRAME_ID = 0;
+    public static final int CAPTURE_TIME = 1; // in microseconds, in the NetworkTables (server-synchronized) timebase
+    public static final int APRILTAG_ID = 2;
+    public static final int APRILTAG_X_OFFSET = 3;
+    public static final int APRILTAG_Y_OFFSET = 4;
+    public static final int APRILTAG_Z_OFFSET = 5;
+    public static final int APRILTAG_YAW = 6;
+    public static final int APRILTAG_PITCH = 7;
+    public static final int APRILTAG_ROLL = 8;
+    public static final int RETROREFLECTIVE_DISTANCE = 9;
+    public static final int RETROREFLECTIVE_ANGLE = 10;
+    public static final int LENGTH = 11;
+
+    public long frameId;
+    public double captureTime; // in seconds, a la ITimer.get()
+
+    public boolean hasAprilTag;
+    public int aprilTagId;
+    public double aprilTagXOffset;
+    public double aprilTagYOffset;
+    public double aprilTagZOffset;
+    public double aprilTagYaw;
+    public double aprilTagPitch;
+    public double aprilTagRoll;
+
+    public boolean hasRetroreflectiveTarget;
+    public double retroreflectiveDistance;
+    public double retroreflectiveAngle;
+
+    /**
+     * Read the frame from a packet published by the coprocessor
+     * @param packet the values published by the coprocessor (missing values are NaN)
+     * @param captureTime when the frame was captured (in seconds, a la ITimer.get())
+     * @return true if the packet is a valid frame, false otherwise
+     */
+    public boolean read(double[] packet, double captureTime)
+    {
+        if (packet.length < VisionFrame.LENGTH || Double.isNaN(packet[VisionFrame.FRAME_ID]))
+        {
+            return false;
+        }
+
+        this.frameId = (long)packet[VisionFrame.FRAME_ID];
+        this.captureTime = captureTime;
+
+        this.aprilTagId = (int)packet[VisionFrame.APRILTAG_ID];
+        this.aprilTagXOffset = packet[VisionFrame.APRILTAG_X_OFFSET];
+        this.aprilTagYOffset = packet[VisionFrame.APRILTAG_Y_OFFSET];
+        this.aprilTagZOffset = packet[VisionFrame.APRILTAG_Z_OFFSET];
+        this.aprilTagYaw = packet[VisionFrame.APRILTAG_YAW];
+        this.aprilTagPitch = packet[VisionFrame.APRILTAG_PITCH];
+        this.aprilTagRoll = packet[VisionFrame.APRILTAG_ROLL];
+        this.hasAprilTag =
+            VisionFrame.isValid(packet[VisionFrame.APRILTAG_ID]) &&
+            VisionFrame.isValid(this.aprilTagXOffset) &&
+            VisionFrame.isValid(this.aprilTagYOffset) &&
+            VisionFrame.isValid(this.aprilTagZOffset) &&
+            VisionFrame.isValid(this.aprilTagYaw);
+
+        this.retroreflectiveDistance = packet[VisionFrame.RETROREFLECTIVE_DISTANCE];
+        this.retroreflectiveAngle = packet[VisionFrame.RETROREFLECTIVE_ANGLE];
+        this.hasRetroreflectiveTarget =
+            this.retroreflectiveDistance >= 0.0 &&
+            VisionFrame.isValid(this.retroreflectiveAngle);
+
+        return true;
+    }
+
+    private static boolean isValid(double value)
+    {
+        return !Double.isNaN(value) && value != TuningConstants.MAGIC_NULL_VALUE;
+    }
+}
@@ -0,0 +1,185 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.BinaryLogConverter;
+import frc.lib.robotprovider.BinaryLogger;
+import frc.lib.robotprovider.CSVLogger;
+import frc.lib.robotprovider.IBinaryFileWriter;
+import frc.lib.robotprovider.IFileWriter;
+import frc.lib.robotprovider.ILogger;
+
+public class BinaryLoggerTests
+{
+    private static final LoggingKey[] SCHEMA = new LoggingKey[]
+    {
+        LoggingKey.RobotState,
+        LoggingKey.RobotTime,
+        LoggingKey.PigeonYaw,
+        LoggingKey.DriverMode,
+        LoggingKey.OffboardVisionAprilTagId,
+        LoggingKey.DriveTrainFieldOriented,
+    };
+
+    @Test
+    public void verifyConvertedLogMatchesCSVLogger() throws IOException
+    {
+        String[] schemaNames = new String[BinaryLoggerTests.SCHEMA.length];
+        for (int i = 0; i < schemaNames.length; i++)
+        {
+            schemaNames[i] = BinaryLoggerTests.SCHEMA[i].value;
+        }
+
+        StringFileWriter csvWriter = new StringFileWriter();
+        CSVLogger csvLogger = new CSVLogger(csvWriter, schemaNames);
+
+        ByteArrayBinaryFileWriter binaryWriter = new ByteArrayBinaryFileWriter();
+        BinaryLogger binaryLogger = new BinaryLogger(binaryWriter, BinaryLoggerTests.SCHEMA);
+
+        BinaryLoggerTests.logCycles(csvLogger);
+        BinaryLoggerTests.logCycles(binaryLogger);
+        binaryLogger.flush();
+
+        StringWriter convertedWriter = new StringWriter();
+        int rows = BinaryLogConverter.convert(new ByteArrayInputStream(binaryWriter.stream.toByteArray()), convertedWriter);
+
+        assertEquals(100, rows);
+        assertEquals(csvWriter.builder.toString(), convertedWriter.toString());
+    }
+
+    @Test
+    public void verifyBinaryLogIsSmallerThanCSV() throws IOException
+    {
+        LoggingKey[] keys = LoggingKey.values();
+        String[] schemaNames = new String[keys.length];
+        for (int i = 0; i < schemaNames.length; i++)
+        {
+            schemaNames[i] = keys[i].value;
+        }
+
+        StringFileWriter csvWriter = new StringFileWriter();
+        CSVLogger csvLogger = new CSVLogger(csvWriter, schemaNames);
+
+        ByteArrayBinaryFileWriter binaryWriter = new ByteArrayBinaryFileWriter();
+        BinaryLogger binaryLogger = new BinaryLogger(binaryWriter, keys);
+
+        for (int cycle = 0; cycle < 100; cycle++)
+        {
+            for (LoggingKey key : keys)
+            {
+                double value = Math.sin(cycle * 0.02 + key.ordinal()) * 100.0;
+                csvLogger.logNumber(key, value);
+                binaryLogger.logNumber(key, value);
+            }
+
+            csvLogger.update();
+            binaryLogger.update();
+        }
+
+        binaryLogger.flush();
+
+        int csvSize = csvWriter.builder.length();
+        int binarySize = binaryWriter.stream.size();
+        assertTrue(binarySize < csvSize, "binary log (" + binarySize + " bytes) should be smaller than CSV log (" + csvSize + " bytes)");
+    }
+
+    @Test
+    public void verifyFileIsOnlyWrittenWhenBufferFillsOrOnFlush() throws IOException
+    {
+        ByteArrayBinaryFileWriter binaryWriter = new ByteArrayBinaryFileWriter();
+        BinaryLogger binaryLogger = new BinaryLogger(binaryWriter, BinaryLoggerTests.SCHEMA);
+
+        // the header is written right away
+        assertEquals(1, binaryWriter.writes);
+
+        BinaryLoggerTests.logCycles(binaryLogger);
+        assertEquals(1, binaryWriter.writes);
+
+        binaryLogger.flush();
+        assertEquals(2, binaryWriter.writes);
+
+        // flushing again with nothing new doesn't write anything
+        binaryLogger.flush();
+        assertEquals(2, binaryWriter.writes);
+
+        // fill up the buffer, which should be written out without waiting for a flush
+        int cycles = 64 * 1024 / BinaryLogger.VALUE_RECORD_SIZE;
+        for (int cycle = 0; cycle < cycles; cycle++)
+        {
+            binaryLogger.logNumber(LoggingKey.RobotTime, cycle * 0.02);
+            binaryLogger.update();
+        }
+
+        assertEquals(3, binaryWriter.writes);
+    }
+
+    private static void logCycles(ILogger logger)
+    {
+        logger.logString(LoggingKey.RobotState, "Init");
+        logger.update();
+        for (int cycle = 0; cycle < 99; cycle++)
+        {
+            logger.logNumber(LoggingKey.RobotTime, cycle * 0.02);
+            logger.logNumber(LoggingKey.PigeonYaw, cycle % 3 == 0 ? null : Double.valueOf(cycle * 1.5));
+            logger.logString(LoggingKey.DriverMode, cycle < 50 ? "Autonomous" : "Teleop");
+            logger.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle % 8);
+            logger.logBoolean(LoggingKey.DriveTrainFieldOriented, cycle % 2 == 0);
+
+            // keys that aren't in the schema should be ignored
+            logger.logNumber(LoggingKey.DriveTrainXPosition, cycle);
+            logger.update();
+        }
+    }
+
+    private static class StringFileWriter implements IFileWriter
+    {
+        private final StringBuilder builder = new StringBuilder();
+
+        @Override
+        public void append(String string)
+        {
+            this.builder.append(string);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    private static class ByteArrayBinaryFileWriter implements IBinaryFileWriter
+    {
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        private int writes;
+
+        @Override
+        public void write(ByteBuffer buffer)
+        {
+            this.writes++;
+            while (buffer.hasRemaining())
+            {
+                this.stream.write(buffer.get());
+            }
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package frc.robot;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.DashboardLoggerBase;
+import frc.lib.robotprovider.LoggingDestination;
+import frc.lib.robotprovider.RoutedLogger;
+
+public class DashboardLoggerBaseTests
+{
+    @Test
+    public void verifyUnchangedValuesAreNotPublished()
+    {
+        RecordingDashboardLogger logger = new RecordingDashboardLogger();
+        logger.logNumber(LoggingKey.RobotTime, 1.5);
+        logger.logNumber(LoggingKey.RobotTime, 1.5);
+        logger.logBoolean(LoggingKey.RobotCrash, false);
+        logger.logBoolean(LoggingKey.RobotCrash, false);
+        logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, (Double)null);
+        logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, (Double)null);
+        logger.logInteger(LoggingKey.OffboardVisionAprilTagId, (Integer)3);
+        logger.logInteger(LoggingKey.OffboardVisionAprilTagId, (Integer)3);
+        logger.logString(LoggingKey.RobotState, "auto");
+        logger.logString(LoggingKey.RobotState, "au" + "to");
+        logger.logBooleanArray(LoggingKey.DriverActiveShifts, new boolean[] { true, false });
+        logger.logBooleanArray(LoggingKey.DriverActiveShifts, new boolean[] { true, false });
+        logger.update();
+
+        Assertions.assertEquals(
+            List.of("r.time=1.5", "r.crash=false", "vision.atXOffset=N/A", "vision.atId=3", "r.state=auto", "driver.activeShifts=[true, false]"),
+            logger.published);
+
+        logger.published.clear();
+        logger.logNumber(LoggingKey.RobotTime, 1.75);
+        logger.logBoolean(LoggingKey.RobotCrash, true);
+        logger.logNumber(LoggingKey.OffboardVisionAprilTagXOffset, 2.0);
+        logger.logString(LoggingKey.RobotState, "teleop");
+        Assertions.assertEquals(List.of("r.time=1.75", "r.crash=true", "vision.atXOffset=2.0", "r.state=teleop"), logger.published);
+    }
+
+    @Test
+    public void verifyDeadband()
+    {
+        // DriveTrainDriveVelocity1 has a deadband of 0.01
+        RecordingDashboardLogger logger = new RecordingDashboardLogger();
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 1.0);
+        logger.time += 1000000000L;
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 1.005);
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 0.995);
+        logger.update();
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 1.02);
+        Assertions.assertEquals(List.of("dt.drive_vel1=1.0", "dt.drive_vel1=1.02"), logger.published);
+    }
+
+    @Test
+    public void verifyRateLimit()
+    {
+        // DriveTrainDriveVelocity1 is published at most 10 times per second
+        RecordingDashboardLogger logger = new RecordingDashboardLogger();
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 1.0);
+        logger.time += 20000000L;
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 2.0);
+        logger.update();
+        logger.time += 20000000L;
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 3.0);
+        logger.update();
+        Assertions.assertEquals(List.of("dt.drive_vel1=1.0"), logger.published);
+
+        // the latest value is published once the period has elapsed, even if it isn't logged again
+        logger.time += 60000000L;
+        logger.update();
+        logger.update();
+        Assertions.assertEquals(List.of("dt.drive_vel1=1.0", "dt.drive_vel1=3.0"), logger.published);
+
+        // a pending value that goes back to the published value is dropped
+        logger.time += 20000000L;
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 4.0);
+        logger.logNumber(LoggingKey.DriveTrainDriveVelocity1, 3.0);
+        logger.time += 200000000L;
+        logger.update();
+        Assertions.assertEquals(List.of("dt.drive_vel1=1.0", "dt.drive_vel1=3.0"), logger.published);
+    }
+
+    @Test
+    public void verifySampleDivisor()
+    {
+        // DriveTrainSteerError1 is published to the dashboard at most every 5 cycles
+        RecordingDashboardLogger logger = new RecordingDashboardLogger();
+        for (int i = 1; i <= 10; i++)
+        {
+            logger.logNumber(LoggingKey.DriveTrainSteerError1, i);
+            logger.update();
+        }
+
+        logger.update();
+        logger.update();
+        logger.update();
+        logger.update();
+        Assertions.assertEquals(List.of("dt.steer_err1=1.0", "dt.steer_err1=5.0", "dt.steer_err1=10.0"), logger.published);
+    }
+
+    @Test
+    public void verifyRouting()
+    {
+        RecordingDashboardLogger logger = new RecordingDashboardLogger();
+        RoutedLogger fileLogger = new RoutedLogger(logger, LoggingDestination.File);
+        fileLogger.logNumber(LoggingKey.RobotTime, 1.0);
+        fileLogger.logNumber(LoggingKey.DriveTrainSteerError1, 2.0);
+        fileLogger.logString(LoggingKey.RobotMatch, "Q1");
+
+        RoutedLogger dashboardLogger = new RoutedLogger(logger, LoggingDestination.Dashboard);
+        dashboardLogger.logString(LoggingKey.RobotMatch, "Q2");
+        Assertions.assertEquals(List.of("r.time=1.0", "dt.steer_err1=2.0", "r.match=Q2"), logger.published);
+    }
+
+    private static class RecordingDashboardLogger extends DashboardLoggerBase
+    {
+        final List<String> published = new ArrayList<String>();
+        long time = 1000000000L;
+
+        @Override
+        protected void publishBoolean(LoggingKey key, boolean value)
+        {
+            this.published.add(key.value + "=" + value);
+        }
+
+        @Override
+        protected void publishBooleanArray(LoggingKey key, boolean[] value)
+        {
+            this.published.add(key.value + "=" + Arrays.toString(value));
+        }
+
+        @Override
+        protected void publishNumber(LoggingKey key, double value)
+        {
+            this.published.add(key.value + "=" + value);
+        }
+
+        @Override
+        protected void publishString(LoggingKey key, String value)
+        {
+            this.published.add(key.value + "=" + value);
+        }
+
+        @Override
+        protected long getTimeNanos()
+        {
+            return this.time;
+        }
+    }
+}
@@ -0,0 +1,251 @@
+package frc.robot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.CANCoderConfiguration;
+import frc.lib.robotprovider.DeviceConfigurator;
+import frc.lib.robotprovider.ICANCoder;
+import frc.lib.robotprovider.MotorNeutralMode;
+import frc.lib.robotprovider.TalonXConfiguration;
+
+public class DeviceConfiguratorTests
+{
+    @Test
+    public void verifyUnchangedConfigurationIsSkipped()
+    {
+        FakeCANCoder encoder = new FakeCANCoder();
+        CANCoderConfiguration configuration = new CANCoderConfiguration();
+        configuration.configAbsoluteRange(false);
+        configuration.configMagnetOffset(90.0);
+
+        DeviceConfigurator configurator = new DeviceConfigurator(0);
+        configurator.add("encoder", encoder, configuration);
+        Assertions.assertTrue(configurator.apply());
+        Assertions.assertEquals(2, encoder.calls.size());
+        Assertions.assertEquals(configuration.getHash(), encoder.configurationHash);
+
+        // as if the robot code restarted with the same configuration
+        encoder.calls.clear();
+        configurator.add("encoder", encoder, configuration);
+        Assertions.assertTrue(configurator.apply());
+        Assertions.assertEquals(0, encoder.calls.size());
+
+        CANCoderConfiguration changedConfiguration = new CANCoderConfiguration();
+        changedConfiguration.configAbsoluteRange(false);
+        changedConfiguration.configMagnetOffset(45.0);
+        configurator.add("encoder", encoder, changedConfiguration);
+        Assertions.assertTrue(configurator.apply());
+        Assertions.assertEquals(2, encoder.calls.size());
+        Assertions.assertEquals(changedConfiguration.getHash(), encoder.configurationHash);
+    }
+
+    @Test
+    public void verifyFailedConfigurationIsRetried()
+    {
+        FakeCANCoder encoder = new FakeCANCoder();
+        encoder.failures = 1;
+        CANCoderConfiguration configuration = new CANCoderConfiguration();
+        configuration.configSensorDirection(true);
+
+        DeviceConfigurator configurator = new DeviceConfigurator(0);
+        configurator.add("encoder", encoder, configuration);
+        Assertions.assertTrue(configurator.apply());
+        Assertions.assertEquals(2, encoder.calls.size());
+        Assertions.assertEquals(configuration.getHash(), encoder.configurationHash);
+
+        FakeCANCoder brokenEncoder = new FakeCANCoder();
+        brokenEncoder.failures = Integer.MAX_VALUE;
+        configurator.add("broken encoder", brokenEncoder, configuration);
+        Assertions.assertFalse(configurator.apply());
+        Assertions.assertEquals(TuningConstants.DEVICE_CONFIGURATION_ATTEMPTS, brokenEncoder.calls.size());
+        Assertions.assertEquals(0, brokenEncoder.configurationHash);
+    }
+
+    @Test
+    public void verifyParallelConfiguration()
+    {
+        FakeCANCoder[] encoders = new FakeCANCoder[8];
+        DeviceConfigurator configurator = new DeviceConfigurator(4);
+        for (int i = 0; i < encoders.length; i++)
+        {
+            encoders[i] = new FakeCANCoder();
+            CANCoderConfiguration configuration = new CANCoderConfiguration();
+            configuration.configMagnetOffset(i * 10.0);
+            configurator.add("encoder " + i, encoders[i], configuration);
+        }
+
+        Assertions.assertTrue(configurator.apply());
+        for (int i = 0; i < encoders.length; i++)
+        {
+            Assertions.assertEquals(1, encoders[i].calls.size());
+            Assertions.assertEquals("configMagnetOffset(" + (i * 10.0) + ")", encoders[i].calls.get(0));
+        }
+    }
+
+    @Test
+    public void verifyTimedOutConfigurationFinishesBeforeReturning()
+    {
+        FakeCANCoder fastEncoder = new FakeCANCoder();
+        FakeCANCoder slowEncoder = new FakeCANCoder();
+        slowEncoder.delayMillis = 200L;
+
+        CANCoderConfiguration configuration = new CANCoderConfiguration();
+        configuration.configAbsoluteRange(false);
+        configuration.configMagnetOffset(90.0);
+
+        DeviceConfigurator configurator = new DeviceConfigurator(2, 0.05);
+        configurator.add("fast encoder", fastEncoder, configuration);
+        configurator.add("slow encoder", slowEncoder, configuration);
+        Assertions.assertFalse(configurator.apply());
+
+        // the slow configuration ignored being cancelled, but has stopped talking to its device by the time apply() returns
+        Assertions.assertFalse(slowEncoder.configuring);
+        int calls = slowEncoder.calls.size();
+        Assertions.assertTrue(calls > 0);
+
+        try
+        {
+            Thread.sleep(2 * slowEncoder.delayMillis);
+        }
+        catch (InterruptedException ex)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        Assertions.assertEquals(calls, slowEncoder.calls.size());
+        Assertions.assertEquals(configuration.getHash(), fastEncoder.configurationHash);
+    }
+
+    @Test
+    public void verifyHashOnlyCoversPersistentSettings()
+    {
+        TalonXConfiguration first = new TalonXConfiguration();
+        first.setNeutralMode(MotorNeutralMode.Brake);
+        first.setPIDF(1.0, 0.0, 0.0, 0.5, 0);
+
+        TalonXConfiguration second = new TalonXConfiguration();
+        second.setNeutralMode(MotorNeutralMode.Coast);
+        second.setFeedbackFramePeriod(10);
+        second.setPIDF(1.0, 0.0, 0.0, 0.5, 0);
+
+        TalonXConfiguration third = new TalonXConfiguration();
+        third.setNeutralMode(MotorNeutralMode.Brake);
+        third.setPIDF(1.0, 0.0, 0.0, 0.5, 1);
+
+        Assertions.assertEquals(first.getHash(), second.getHash());
+        Assertions.assertNotEquals(first.getHash(), third.getHash());
+        Assertions.assertNotEquals(0, new TalonXConfiguration().getHash());
+    }
+
+    private static class FakeCANCoder implements ICANCoder
+    {
+        private final List<String> calls = Collections.synchronizedList(new ArrayList<String>());
+
+        private int configurationHash;
+        private int configurationErrors;
+        private int failures;
+        private long delayMillis;
+        private volatile boolean configuring;
+
+        @Override
+        public double getPosition()
+        {
+            return 0.0;
+        }
+
+        @Override
+        public double getVelocity()
+        {
+            return 0.0;
+        }
+
+        @Override
+        public double getAbsolutePosition()
+        {
+            return 0.0;
+        }
+
+        @Override
+        public void setPosition(double newPosition)
+        {
+        }
+
+        @Override
+        public void configSensorDirection(boolean clockwisePositive)
+        {
+            this.configure("configSensorDirection(" + clockwisePositive + ")");
+        }
+
+        @Override
+        public void configAbsoluteRange(boolean useZeroToThreeSixty)
+        {
+            this.configure("configAbsoluteRange(" + useZeroToThreeSixty + ")");
+        }
+
+        @Override
+        public void configMagnetOffset(double offsetDegrees)
+        {
+            this.configure("configMagnetOffset(" + offsetDegrees + ")");
+        }
+
+        @Override
+        public int getConfigurationHash()
+        {
+            return this.configurationHash;
+        }
+
+        @Override
+        public void setConfigurationHash(int hash)
+        {
+            this.configurationHash = hash;
+        }
+
+        @Override
+        public int getConfigurationErrors()
+        {
+            int errors = this.configurationErrors;
+            this.configurationErrors = 0;
+            return errors;
+        }
+
+        private void configure(String call)
+        {
+            this.configuring = true;
+            this.calls.add(call);
+            if (this.delayMillis > 0L)
+            {
+                // like the device libraries, keep waiting for the device even when interrupted
+                long end = System.nanoTime() + this.delayMillis * 1000000L;
+                boolean interrupted = false;
+                while (System.nanoTime() < end)
+                {
+                    try
+                    {
+                        Thread.sleep(1L);
+                    }
+                    catch (InterruptedException ex)
+                    {
+                        interrupted = true;
+                    }
+                }
+
+                if (interrupted)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+
+            this.configuring = false;
+            if (this.failures > 0)
+            {
+                this.failures--;
+                this.configurationErrors++;
+            }
+        }
+    }
+}
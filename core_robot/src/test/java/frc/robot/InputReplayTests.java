@@ -0,0 +1,244 @@
+package frc.robot;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.*;
+
+public class InputReplayTests
+{
+    @Test
+    public void verifyReplayMatchesRecording() throws IOException
+    {
+        ByteArrayBinaryFileWriter fileWriter = new ByteArrayBinaryFileWriter();
+        InputRecorder recorder = new InputRecorder(fileWriter);
+        FakeJoystick joystick = new FakeJoystick();
+        IJoystick recordedJoystick = recorder.wrap(IJoystick.class, joystick, InputLog.getDeviceName("Joystick", 0));
+        IPigeon2 recordedPigeon = recorder.wrap(IPigeon2.class, InputReplayTests.createPigeon(), InputLog.getDeviceName("Pigeon2", 1));
+        recorder.endStep(InputLog.STEP_ROBOT_INIT, RobotMode.Disabled);
+
+        double[] ypr = new double[3];
+        joystick.axis = 0.5;
+        recordedJoystick.getAxis(1);
+        recordedJoystick.getRawButton(2);
+        recordedPigeon.getYawPitchRoll(ypr);
+        recorder.endStep(InputLog.STEP_MODE_INIT, RobotMode.Autonomous);
+
+        joystick.axis = -0.25;
+        joystick.button = true;
+        recordedJoystick.getAxis(1);
+        recordedJoystick.getRawButton(2);
+        recordedJoystick.setRumble(JoystickRumbleType.Left, 1.0);
+        recorder.endStep(InputLog.STEP_PERIODIC, RobotMode.Autonomous);
+        recorder.flush();
+
+        StringWriter outputs = new StringWriter();
+        InputReplayer replayer = new InputReplayer(new ByteArrayInputStream(fileWriter.stream.toByteArray()), outputs);
+        IJoystick replayedJoystick = replayer.create(IJoystick.class, InputLog.getDeviceName("Joystick", 0));
+        IPigeon2 replayedPigeon = replayer.create(IPigeon2.class, InputLog.getDeviceName("Pigeon2", 1));
+
+        Assertions.assertTrue(replayer.readStep());
+        Assertions.assertEquals(InputLog.STEP_ROBOT_INIT, replayer.getStepType());
+
+        Assertions.assertTrue(replayer.readStep());
+        Assertions.assertEquals(InputLog.STEP_MODE_INIT, replayer.getStepType());
+        Assertions.assertEquals(RobotMode.Autonomous, replayer.getStepMode());
+        Assertions.assertEquals(0.5, replayedJoystick.getAxis(1));
+        Assertions.assertFalse(replayedJoystick.getRawButton(2));
+        double[] replayedYpr = new double[3];
+        replayedPigeon.getYawPitchRoll(replayedYpr);
+        Assertions.assertEquals(10.0, replayedYpr[0]);
+        Assertions.assertEquals(20.0, replayedYpr[1]);
+        Assertions.assertEquals(30.0, replayedYpr[2]);
+
+        // values that weren't read while recording are zero
+        Assertions.assertEquals(0.0, replayedJoystick.getAxis(0));
+        Assertions.assertEquals(0, replayedJoystick.getPOV());
+
+        Assertions.assertTrue(replayer.readStep());
+        Assertions.assertEquals(InputLog.STEP_PERIODIC, replayer.getStepType());
+        Assertions.assertEquals(-0.25, replayedJoystick.getAxis(1));
+        Assertions.assertTrue(replayedJoystick.getRawButton(2));
+
+        // outputs are written only when they change
+        replayedJoystick.setRumble(JoystickRumbleType.Left, 1.0);
+        replayedJoystick.setRumble(JoystickRumbleType.Left, 1.0);
+        Assertions.assertFalse(replayer.readStep());
+        String[] rows = outputs.toString().split("\r\n");
+        Assertions.assertEquals(2, rows.length);
+        Assertions.assertTrue(rows[1].startsWith("3,Joystick[0].setRumble,"));
+        Assertions.assertTrue(rows[1].contains("[Left, 1.0]"));
+    }
+
+    @Test
+    public void verifyMotorStatusReplay() throws IOException
+    {
+        ByteArrayBinaryFileWriter fileWriter = new ByteArrayBinaryFileWriter();
+        InputRecorder recorder = new InputRecorder(fileWriter);
+        ITalonFX talon = (ITalonFX)Proxy.newProxyInstance(
+            ITalonFX.class.getClassLoader(),
+            new Class<?>[] { ITalonFX.class },
+            (proxy, method, args) ->
+            {
+                if (method.getName().equals("readStatus"))
+                {
+                    MotorStatus status = (MotorStatus)args[0];
+                    status.position = 100.0;
+                    status.velocity = 5.0;
+                    status.error = -1.0;
+                }
+
+                return null;
+            });
+
+        ITalonFX recordedTalon = recorder.wrap(ITalonFX.class, talon, InputLog.getDeviceName("TalonFX", 3));
+        MotorStatus status = new MotorStatus();
+        status.timestamp = 0.5;
+        recordedTalon.readStatus(status);
+        recorder.endStep(InputLog.STEP_PERIODIC, RobotMode.Teleop);
+        recorder.flush();
+
+        InputReplayer replayer = new InputReplayer(new ByteArrayInputStream(fileWriter.stream.toByteArray()), new StringWriter());
+        ITalonFX replayedTalon = replayer.create(ITalonFX.class, InputLog.getDeviceName("TalonFX", 3));
+        Assertions.assertTrue(replayer.readStep());
+
+        MotorStatus replayedStatus = new MotorStatus();
+        replayedTalon.readStatus(replayedStatus);
+        Assertions.assertEquals(status, replayedStatus);
+        Assertions.assertEquals(100.0, replayedStatus.position);
+        Assertions.assertEquals(5.0, replayedStatus.velocity);
+        Assertions.assertEquals(-1.0, replayedStatus.error);
+    }
+
+    @Test
+    public void verifySourcesAreRecordedSeparately() throws IOException, InterruptedException
+    {
+        ByteArrayBinaryFileWriter fileWriter = new ByteArrayBinaryFileWriter();
+        InputRecorder recorder = new InputRecorder(fileWriter);
+        FakeJoystick joystick = new FakeJoystick();
+        IJoystick recordedJoystick = recorder.wrap(IJoystick.class, joystick, InputLog.getDeviceName("Joystick", 0));
+
+        // the loop reads one value, and then a background sampler reads another later in the same step
+        joystick.axis = 0.5;
+        recordedJoystick.getAxis(1);
+        joystick.axis = 0.75;
+        Thread sampler = new Thread(
+            () ->
+            {
+                InputLog.setSource("Sampler");
+                recordedJoystick.getAxis(1);
+            });
+
+        sampler.start();
+        sampler.join();
+        recorder.endStep(InputLog.STEP_PERIODIC, RobotMode.Teleop);
+        recorder.flush();
+
+        InputReplayer replayer = new InputReplayer(new ByteArrayInputStream(fileWriter.stream.toByteArray()), new StringWriter());
+        IJoystick replayedJoystick = replayer.create(IJoystick.class, InputLog.getDeviceName("Joystick", 0));
+        Assertions.assertTrue(replayer.readStep());
+        Assertions.assertEquals(0.5, replayedJoystick.getAxis(1));
+
+        // the sampler's value is played back to the same source, even when it is read from the loop's thread
+        String previousSource = InputLog.setSource("Sampler");
+        try
+        {
+            Assertions.assertEquals(0.75, replayedJoystick.getAxis(1));
+        }
+        finally
+        {
+            InputLog.setSource(previousSource);
+        }
+
+        Assertions.assertEquals(0.5, replayedJoystick.getAxis(1));
+    }
+
+    @Test
+    public void verifyNotRecordingReturnsDevice()
+    {
+        InputRecorder recorder = new InputRecorder((IBinaryFileWriter)null);
+        FakeJoystick joystick = new FakeJoystick();
+        Assertions.assertFalse(recorder.isRecording());
+        Assertions.assertSame(joystick, recorder.wrap(IJoystick.class, joystick, InputLog.getDeviceName("Joystick", 0)));
+    }
+
+    private static IPigeon2 createPigeon()
+    {
+        return (IPigeon2)Proxy.newProxyInstance(
+            IPigeon2.class.getClassLoader(),
+            new Class<?>[] { IPigeon2.class },
+            (proxy, method, args) ->
+            {
+                if (method.getName().equals("getYawPitchRoll"))
+                {
+                    double[] ypr = (double[])args[0];
+                    ypr[0] = 10.0;
+                    ypr[1] = 20.0;
+                    ypr[2] = 30.0;
+                }
+
+                return null;
+            });
+    }
+
+    private static class FakeJoystick implements IJoystick
+    {
+        private double axis;
+        private boolean button;
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            return this.axis;
+        }
+
+        @Override
+        public int getPOV()
+        {
+            return -1;
+        }
+
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return this.button;
+        }
+
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
+    }
+
+    private static class ByteArrayBinaryFileWriter implements IBinaryFileWriter
+    {
+        private final ByteArrayOutputStream stream = new ByteArrayOutputStream();
+
+        @Override
+        public void write(ByteBuffer buffer)
+        {
+            while (buffer.hasRemaining())
+            {
+                this.stream.write(buffer.get());
+            }
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.StringLogger;
+
+public class LoggingManagerTests
+{
+    @Test
+    public void verifyOnlyChangedValuesAreWritten()
+    {
+        RecordingLogger sink = new RecordingLogger();
+        LoggingManager logger = new LoggingManager(sink);
+
+        logger.logNumber(LoggingKey.RobotTime, 0.02);
+        logger.logNumber(LoggingKey.PigeonYaw, 90.0);
+        logger.logNumber(LoggingKey.PigeonPitch, (Double)null);
+        logger.logBoolean(LoggingKey.DriveTrainFieldOriented, true);
+        logger.logBooleanArray(LoggingKey.DriverActiveShifts, new boolean[] { true, false });
+        logger.logString(LoggingKey.RobotState, "Teleop");
+        logger.update();
+
+        assertEquals(1, sink.rows.size());
+        assertEquals(
+            LoggingKey.RobotTime.value + "=0.02;" + LoggingKey.PigeonYaw.value + "=90.0;" + LoggingKey.PigeonPitch.value + "=null;",
+            LoggingManagerTests.filter(sink.rows.get(0), LoggingKey.RobotTime, LoggingKey.PigeonYaw, LoggingKey.PigeonPitch));
+
+        // log the same values again, other than the time
+        logger.logNumber(LoggingKey.RobotTime, 0.04);
+        logger.logNumber(LoggingKey.PigeonYaw, 90.0);
+        logger.logNumber(LoggingKey.PigeonPitch, (Double)null);
+        logger.logBoolean(LoggingKey.DriveTrainFieldOriented, true);
+        logger.logBooleanArray(LoggingKey.DriverActiveShifts, new boolean[] { true, false });
+        logger.logString(LoggingKey.RobotState, new String("Teleop"));
+        logger.update();
+
+        assertEquals(2, sink.rows.size());
+        assertEquals(LoggingKey.RobotTime.value + "=0.04;", sink.rows.get(1));
+
+        // nothing logged, nothing written (but the sink is still updated)
+        logger.update();
+        assertEquals(3, sink.rows.size());
+        assertEquals("", sink.rows.get(2));
+
+        logger.logBoolean(LoggingKey.DriveTrainFieldOriented, false);
+        logger.logNumber(LoggingKey.PigeonPitch, 1.5);
+        logger.update();
+        assertEquals(LoggingKey.PigeonPitch.value + "=1.5;" + LoggingKey.DriveTrainFieldOriented.value + "=false;", sink.rows.get(3));
+    }
+
+    /**
+     * Keep only the entries in the row for the provided keys, in the row's order
+     */
+    private static String filter(String row, LoggingKey... keys)
+    {
+        StringBuilder builder = new StringBuilder();
+        for (String entry : row.split(";"))
+        {
+            for (LoggingKey key : keys)
+            {
+                if (entry.startsWith(key.value + "="))
+                {
+                    builder.append(entry).append(";");
+                }
+            }
+        }
+
+        return builder.toString();
+    }
+
+    private static class RecordingLogger extends StringLogger
+    {
+        private final List<String> rows = new ArrayList<String>();
+        private final StringBuilder currentRow = new StringBuilder();
+
+        @Override
+        public void logString(LoggingKey key, String value)
+        {
+            this.currentRow.append(key.value).append("=").append(value).append(";");
+        }
+
+        @Override
+        public void update()
+        {
+            this.rows.add(this.currentRow.toString());
+            this.currentRow.setLength(0);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package frc.robot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.ITimer;
+import frc.lib.robotprovider.MotorStatus;
+
+public class MotorStatusCacheTests
+{
+    @Test
+    public void verifyDirectReads()
+    {
+        FakeTimer timer = new FakeTimer();
+        double[] position = new double[1];
+        MotorStatusCache cache = new MotorStatusCache(timer, false);
+        int first = cache.register(status -> status.position = position[0], 10);
+        int second = cache.register(status -> status.velocity = 2.0, 10);
+        Assertions.assertEquals(0, first);
+        Assertions.assertEquals(1, second);
+
+        MotorStatus status = new MotorStatus();
+        position[0] = 3.0;
+        timer.time = 1.5;
+        cache.read(first, status);
+        Assertions.assertEquals(3.0, status.position);
+        Assertions.assertEquals(1.5, status.timestamp);
+
+        position[0] = 4.0;
+        timer.time = 1.52;
+        cache.read(first, status);
+        Assertions.assertEquals(4.0, status.position);
+        Assertions.assertEquals(1.52, status.timestamp);
+
+        cache.read(second, status);
+        Assertions.assertEquals(2.0, status.velocity);
+    }
+
+    @Test
+    public void verifyBackgroundReads() throws InterruptedException
+    {
+        FakeTimer timer = new FakeTimer();
+        timer.time = 2.0;
+        double[] position = new double[] { 1.0 };
+        MotorStatusCache cache = new MotorStatusCache(timer, true);
+        int id = cache.register(status -> status.position = position[0], 1);
+
+        // the first sample is taken when the device is registered
+        MotorStatus status = new MotorStatus();
+        cache.read(id, status);
+        Assertions.assertEquals(1.0, status.position);
+        Assertions.assertEquals(2.0, status.timestamp);
+
+        position[0] = 5.0;
+        timer.time = 3.0;
+        for (int i = 0; i < 1000 && status.timestamp != 3.0; i++)
+        {
+            Thread.sleep(1L);
+            cache.read(id, status);
+        }
+
+        Assertions.assertEquals(5.0, status.position);
+        Assertions.assertEquals(3.0, status.timestamp);
+    }
+
+    private static class FakeTimer implements ITimer
+    {
+        private volatile double time;
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+
+        @Override
+        public double get()
+        {
+            return this.time;
+        }
+
+        @Override
+        public void reset()
+        {
+            this.time = 0.0;
+        }
+    }
+}
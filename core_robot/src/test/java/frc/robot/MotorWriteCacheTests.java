@@ -0,0 +1,69 @@
+package frc.robot;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.MotorWriteCache;
+import frc.lib.robotprovider.TalonXControlMode;
+
+public class MotorWriteCacheTests
+{
+    @Test
+    public void verifyIdenticalRequestsSuppressed()
+    {
+        MotorWriteCache cache = new MotorWriteCache(3);
+        int velocity = TalonXControlMode.Velocity.ordinal();
+        Assertions.assertTrue(cache.shouldSendControl(velocity, 1.0));
+        Assertions.assertFalse(cache.shouldSendControl(velocity, 1.0));
+        Assertions.assertFalse(cache.shouldSendControl(velocity, 1.0));
+        Assertions.assertTrue(cache.shouldSendControl(velocity, 2.0));
+        Assertions.assertTrue(cache.shouldSendControl(TalonXControlMode.Position.ordinal(), 2.0));
+        Assertions.assertTrue(cache.shouldSendControl(MotorWriteCache.STOP_MODE, 0.0));
+        Assertions.assertFalse(cache.shouldSendControl(MotorWriteCache.STOP_MODE, 0.0));
+
+        Assertions.assertTrue(cache.shouldSendSlot(0));
+        Assertions.assertFalse(cache.shouldSendSlot(0));
+        Assertions.assertTrue(cache.shouldSendSlot(1));
+
+        Assertions.assertEquals(6L, cache.getSentCount());
+        Assertions.assertEquals(4L, cache.getSuppressedCount());
+    }
+
+    @Test
+    public void verifyRefreshInterval()
+    {
+        // an identical request is sent again after being skipped 3 times in a row
+        MotorWriteCache cache = new MotorWriteCache(3);
+        int sent = 0;
+        for (int i = 0; i < 12; i++)
+        {
+            if (cache.shouldSendControl(TalonXControlMode.PercentOutput.ordinal(), 0.5))
+            {
+                sent++;
+            }
+        }
+
+        Assertions.assertEquals(3, sent);
+        Assertions.assertEquals(3L, cache.getSentCount());
+        Assertions.assertEquals(9L, cache.getSuppressedCount());
+
+        // invalidating (e.g. after following another motor) sends the next request no matter what
+        cache.invalidate();
+        Assertions.assertTrue(cache.shouldSendControl(TalonXControlMode.PercentOutput.ordinal(), 0.5));
+        Assertions.assertTrue(cache.shouldSendSlot(0));
+    }
+
+    @Test
+    public void verifyDisabled()
+    {
+        MotorWriteCache cache = new MotorWriteCache(0);
+        for (int i = 0; i < 5; i++)
+        {
+            Assertions.assertTrue(cache.shouldSendControl(TalonXControlMode.Velocity.ordinal(), 1.0));
+            Assertions.assertTrue(cache.shouldSendSlot(0));
+        }
+
+        Assertions.assertEquals(10L, cache.getSentCount());
+        Assertions.assertEquals(0L, cache.getSuppressedCount());
+    }
+}
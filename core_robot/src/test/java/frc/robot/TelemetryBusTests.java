@@ -0,0 +1,283 @@
+package frc.robot;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.NullLogger;
+import frc.lib.robotprovider.StringLogger;
+import frc.lib.robotprovider.TelemetryBackPressure;
+import frc.lib.robotprovider.TelemetryBus;
+
+public class TelemetryBusTests
+{
+    private static final long STOP_TIMEOUT_MILLIS = 5000L;
+
+    @Test
+    public void verifyEachSinkReceivesEachCycle()
+    {
+        RecordingLogger first = new RecordingLogger(null);
+        RecordingLogger second = new RecordingLogger(null);
+        TelemetryBus bus = new TelemetryBus(16, TelemetryBackPressure.DropSink, first, second);
+        for (int cycle = 0; cycle < 10; cycle++)
+        {
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle);
+            bus.logString(LoggingKey.RobotState, cycle % 2 == 0 ? "Teleop" : "Disabled");
+            bus.logBoolean(LoggingKey.DriveTrainFieldOriented, cycle % 3 == 0);
+
+            // the last value logged during a cycle should win
+            bus.logNumber(LoggingKey.RobotTime, -1.0);
+            bus.logNumber(LoggingKey.RobotTime, cycle * 0.02);
+            bus.update();
+
+            // a slow consumer can't stop the producer from publishing
+            Thread.yield();
+        }
+
+        bus.flush();
+        bus.stop();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+
+        for (RecordingLogger sink : new RecordingLogger[] { first, second })
+        {
+            assertEquals(10, sink.rows.size());
+            for (int cycle = 0; cycle < 10; cycle++)
+            {
+                String row = sink.rows.get(cycle);
+                assertTrue(row.contains(LoggingKey.OffboardVisionAprilTagId.value + "=" + cycle + ";"), row);
+                assertTrue(row.contains(LoggingKey.RobotState.value + "=" + (cycle % 2 == 0 ? "Teleop" : "Disabled") + ";"), row);
+                assertTrue(row.contains(LoggingKey.DriveTrainFieldOriented.value + "=" + (cycle % 3 == 0) + ";"), row);
+                assertTrue(row.contains(LoggingKey.RobotTime.value + "=" + (cycle * 0.02) + ";"), row);
+                assertFalse(row.contains("-1.0"), row);
+            }
+
+            assertTrue(sink.flushes > 0);
+        }
+
+        assertEquals(0L, bus.getDroppedCycles(0));
+        assertEquals(0L, bus.getDroppedCycles(1));
+    }
+
+    @Test
+    public void verifyDropSinkStopsFeedingSlowSink() throws InterruptedException
+    {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingLogger slow = new RecordingLogger(gate);
+        RecordingLogger fast = new RecordingLogger(null);
+        TelemetryBus bus = new TelemetryBus(4, TelemetryBackPressure.DropSink, slow, fast);
+        for (int cycle = 0; cycle < 20; cycle++)
+        {
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle);
+            bus.update();
+
+            // keep pace with the fast sink so that only the slow sink falls behind
+            while (fast.updates.get() <= cycle)
+            {
+                Thread.yield();
+            }
+        }
+
+        assertTrue(bus.isSinkDropped(0));
+        assertTrue(bus.getDroppedCycles(0) > 0L);
+
+        gate.countDown();
+        bus.stop();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+
+        assertFalse(bus.isSinkDropped(1));
+        assertEquals(0L, bus.getDroppedCycles(1));
+        assertEquals(20, fast.rows.size());
+        assertTrue(slow.rows.size() < 20);
+    }
+
+    @Test
+    public void verifyDropOldestSkipsAhead() throws InterruptedException
+    {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingLogger slow = new RecordingLogger(gate);
+        TelemetryBus bus = new TelemetryBus(4, TelemetryBackPressure.DropOldest, slow);
+        for (int cycle = 0; cycle < 20; cycle++)
+        {
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle);
+            bus.update();
+        }
+
+        gate.countDown();
+        bus.stop();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+
+        assertFalse(bus.isSinkDropped(0));
+        assertTrue(bus.getDroppedCycles(0) > 0L);
+        assertEquals(20L, slow.rows.size() + bus.getDroppedCycles(0));
+
+        // the most recent cycle is always still available
+        assertTrue(slow.rows.get(slow.rows.size() - 1).contains(LoggingKey.OffboardVisionAprilTagId.value + "=19;"));
+    }
+
+    @Test
+    public void verifyLappedSinkCatchesUpOnMissedChanges() throws InterruptedException
+    {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingLogger slow = new RecordingLogger(gate);
+        TelemetryBus bus = new TelemetryBus(4, TelemetryBackPressure.DropOldest, slow);
+        for (int cycle = 0; cycle < 20; cycle++)
+        {
+            // only log the values that changed, like LoggingManager does
+            if (cycle == 0 || cycle == 2)
+            {
+                bus.logString(LoggingKey.RobotState, cycle == 0 ? "Disabled" : "Teleop");
+            }
+
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle);
+            bus.update();
+        }
+
+        gate.countDown();
+        bus.stop();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+
+        assertTrue(bus.getDroppedCycles(0) > 0L);
+
+        // the cycle that changed the state was skipped, but the sink still ends up with the current state
+        String lastState = null;
+        for (String row : slow.rows)
+        {
+            if (row.contains(LoggingKey.RobotState.value + "=Teleop;"))
+            {
+                lastState = "Teleop";
+            }
+            else if (row.contains(LoggingKey.RobotState.value + "=Disabled;"))
+            {
+                lastState = "Disabled";
+            }
+        }
+
+        assertEquals("Teleop", lastState);
+    }
+
+    @Test
+    public void verifyStopDoesNotWaitForSinks() throws InterruptedException
+    {
+        CountDownLatch gate = new CountDownLatch(1);
+        RecordingLogger slow = new RecordingLogger(gate);
+        TelemetryBus bus = new TelemetryBus(16, TelemetryBackPressure.DropSink, slow);
+        for (int cycle = 0; cycle < 5; cycle++)
+        {
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle);
+            bus.update();
+        }
+
+        // the sink is stuck, but stopping the bus still returns right away
+        long start = System.nanoTime();
+        bus.stop();
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        assertTrue(elapsedMillis < 100L, "stop() took " + elapsedMillis + "ms");
+        assertFalse(bus.awaitStopped(10L));
+
+        // and the sink still gets everything that was published before stop(), on its own thread
+        gate.countDown();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+        assertEquals(5, slow.rows.size());
+        assertTrue(slow.flushes > 0);
+    }
+
+    @Test
+    public void verifyNoProducerAllocations()
+    {
+        TelemetryBus bus = new TelemetryBus(64, TelemetryBackPressure.DropOldest, new NullLogger(), new NullLogger());
+        TelemetryBusTests.logCycles(bus, 20000);
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // determine the cost of measuring, so that it can be excluded from the result
+        long calibrationStart = threadBean.getThreadAllocatedBytes(threadId);
+        long calibrationEnd = threadBean.getThreadAllocatedBytes(threadId);
+        long measurementOverhead = calibrationEnd - calibrationStart;
+
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        TelemetryBusTests.logCycles(bus, 5000);
+
+        long end = threadBean.getThreadAllocatedBytes(threadId);
+        bus.stop();
+        assertTrue(bus.awaitStopped(TelemetryBusTests.STOP_TIMEOUT_MILLIS));
+
+        assertEquals(0L, end - start - measurementOverhead, "bytes allocated by the robot loop while publishing");
+    }
+
+    private static void logCycles(TelemetryBus bus, int count)
+    {
+        for (int cycle = 0; cycle < count; cycle++)
+        {
+            bus.logNumber(LoggingKey.RobotTime, cycle * 0.02);
+            bus.logNumber(LoggingKey.PigeonYaw, cycle * 1.5);
+            bus.logInteger(LoggingKey.OffboardVisionAprilTagId, cycle % 8);
+            bus.logBoolean(LoggingKey.DriveTrainFieldOriented, cycle % 2 == 0);
+            bus.logString(LoggingKey.RobotState, "Teleop");
+            bus.update();
+            if (cycle % 25 == 0)
+            {
+                bus.flush();
+            }
+        }
+    }
+
+    private static class RecordingLogger extends StringLogger
+    {
+        private final CountDownLatch gate;
+        private final List<String> rows;
+        private final StringBuilder currentRow;
+        private final AtomicInteger updates;
+
+        private int flushes;
+
+        RecordingLogger(CountDownLatch gate)
+        {
+            this.gate = gate;
+            this.rows = new ArrayList<String>();
+            this.currentRow = new StringBuilder();
+            this.updates = new AtomicInteger();
+        }
+
+        @Override
+        public void logString(LoggingKey key, String value)
+        {
+            this.currentRow.append(key.value).append("=").append(value).append(";");
+        }
+
+        @Override
+        public void update()
+        {
+            this.rows.add(this.currentRow.toString());
+            this.currentRow.setLength(0);
+            this.updates.incrementAndGet();
+
+            if (this.gate != null)
+            {
+                try
+                {
+                    this.gate.await();
+                }
+                catch (InterruptedException ex)
+                {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+
+        @Override
+        public void flush()
+        {
+            this.flushes++;
+        }
+    }
+}
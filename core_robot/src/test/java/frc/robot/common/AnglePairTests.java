@@ -72,4 +72,23 @@ public class AnglePairTests
             }
         }
     }
-}
\ No newline at end of file
+
+    @Test
+    public void checkClosestAngleInPlaceMatches()
+    {
+        AnglePair result = new AnglePair();
+        for (double goal = -180.0; goal <= 180.0; goal += 3.0)
+        {
+            for (double current = -1080.0; current <= 1080.0; current += 7.0)
+            {
+                for (boolean allowReverse : new boolean[] { true, false })
+                {
+                    AnglePair expected = AnglePair.getClosestAngle(goal, current, allowReverse);
+                    Assertions.assertSame(result, AnglePair.getClosestAngle(goal, current, allowReverse, result));
+                    Assertions.assertEquals(expected.getAngle(), result.getAngle(), String.format("%f %f %b", goal, current, allowReverse));
+                    Assertions.assertEquals(expected.getSwapDirection(), result.getSwapDirection());
+                }
+            }
+        }
+    }
+}
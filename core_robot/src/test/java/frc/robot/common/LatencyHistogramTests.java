@@ -0,0 +1,82 @@
+package frc.robot.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.LatencyHistogram;
+
+public class LatencyHistogramTests
+{
+    @Test
+    public void checkEmpty()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertEquals(0.0, histogram.getPercentileMillis(0.5));
+        Assertions.assertEquals(0.0, histogram.getPercentileMillis(0.99));
+        Assertions.assertEquals(0.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    public void checkPercentiles()
+    {
+        // 1ms, 2ms, ..., 1000ms
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++)
+        {
+            histogram.record(i * 1000000L);
+        }
+
+        Assertions.assertEquals(1000L, histogram.getCount());
+        Assertions.assertEquals(1000.0, histogram.getMaxMillis());
+        LatencyHistogramTests.assertWithinBucket(500.0, histogram.getPercentileMillis(0.5));
+        LatencyHistogramTests.assertWithinBucket(990.0, histogram.getPercentileMillis(0.99));
+        LatencyHistogramTests.assertWithinBucket(1000.0, histogram.getPercentileMillis(1.0));
+        LatencyHistogramTests.assertWithinBucket(1.0, histogram.getPercentileMillis(0.0));
+
+        histogram.reset();
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertEquals(0.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    public void checkSmallAndLargeDurations()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long micros = 0L; micros < 64L; micros++)
+        {
+            histogram.record(micros * 1000L + 999L);
+            LatencyHistogramTests.assertWithinBucket(micros / 1000.0, histogram.getPercentileMillis(1.0));
+            histogram.reset();
+        }
+
+        // anything too long for the buckets is still counted, and the max is still exact
+        histogram.record(Long.MAX_VALUE);
+        Assertions.assertEquals(1L, histogram.getCount());
+        Assertions.assertEquals(Long.MAX_VALUE / 1000000.0, histogram.getMaxMillis());
+    }
+
+    @Test
+    public void checkSingleOverrun()
+    {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 999; i++)
+        {
+            histogram.record(5000000L);
+        }
+
+        histogram.record(40000000L);
+
+        LatencyHistogramTests.assertWithinBucket(5.0, histogram.getPercentileMillis(0.5));
+        LatencyHistogramTests.assertWithinBucket(5.0, histogram.getPercentileMillis(0.99));
+        Assertions.assertEquals(40.0, histogram.getMaxMillis());
+    }
+
+    private static void assertWithinBucket(double expected, double actual)
+    {
+        // buckets are 1/16th of their power of two wide, and values under 16us get their own 1us bucket
+        Assertions.assertTrue(
+            actual >= expected && actual <= expected * (1.0 + 1.0 / 16.0) + 0.001,
+            String.format("expected %f to be within a bucket of %f", actual, expected));
+    }
+}
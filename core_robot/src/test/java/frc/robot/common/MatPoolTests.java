@@ -0,0 +1,98 @@
+package frc.robot.common;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.IMat;
+import frc.lib.robotprovider.IOpenCVProvider;
+import frc.lib.vision.MatPool;
+
+public class MatPoolTests
+{
+    @Test
+    public void verifyMatsAreReused()
+    {
+        MatPool pool = new MatPool(MatPoolTests.createOpenCVProvider(), true);
+        IMat first = pool.acquire(240, 320, 16);
+        IMat second = pool.acquire(240, 320, 16);
+        IMat other = pool.acquire(240, 320, 0);
+        Assertions.assertNotSame(first, second);
+        Assertions.assertEquals(3, pool.getAllocatedCount());
+        Assertions.assertEquals(3, pool.getOutstandingCount());
+
+        pool.release(first);
+        pool.release(other);
+        Assertions.assertEquals(1, pool.getOutstandingCount());
+
+        // only reused for the same size and type
+        Assertions.assertSame(first, pool.acquire(240, 320, 16));
+        IMat different = pool.acquire(120, 160, 16);
+        Assertions.assertNotSame(other, different);
+        Assertions.assertSame(other, pool.acquire(240, 320, 0));
+        Assertions.assertEquals(4, pool.getAllocatedCount());
+    }
+
+    @Test
+    public void verifyLeakReporting()
+    {
+        MatPool pool = new MatPool(MatPoolTests.createOpenCVProvider(), true);
+        for (int i = 0; i < 100; i++)
+        {
+            IMat scratch = pool.acquire(240, 320, 16);
+            IMat leaked = pool.acquire(10, 10, 0);
+            pool.release(scratch);
+            if (i % 2 == 0)
+            {
+                pool.release(leaked);
+            }
+        }
+
+        Assertions.assertEquals(50, pool.getOutstandingCount());
+        Assertions.assertEquals(51, pool.getAllocatedCount());
+        Assertions.assertEquals(50, pool.reportLeaks());
+
+        pool.clear();
+        Assertions.assertEquals(50, pool.getAllocatedCount());
+    }
+
+    private static IOpenCVProvider createOpenCVProvider()
+    {
+        return (IOpenCVProvider)Proxy.newProxyInstance(
+            IOpenCVProvider.class.getClassLoader(),
+            new Class<?>[] { IOpenCVProvider.class },
+            (proxy, method, args) ->
+            {
+                Assertions.assertEquals("newMat", method.getName());
+                return MatPoolTests.createMat((int)args[0], (int)args[1], (int)args[2]);
+            });
+    }
+
+    private static IMat createMat(int rows, int cols, int type)
+    {
+        return (IMat)Proxy.newProxyInstance(
+            IMat.class.getClassLoader(),
+            new Class<?>[] { IMat.class },
+            (proxy, method, args) ->
+            {
+                switch (method.getName())
+                {
+                    case "rows":
+                        return rows;
+                    case "cols":
+                        return cols;
+                    case "type":
+                        return type;
+                    case "release":
+                        return null;
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    default:
+                        throw new UnsupportedOperationException(method.getName());
+                }
+            });
+    }
+}
@@ -0,0 +1,150 @@
+package frc.robot.common;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.PoseHistory;
+import frc.lib.robotprovider.Pose2d;
+
+public class PoseHistoryTests
+{
+    @Test
+    public void verifyEmpty()
+    {
+        PoseHistory history = new PoseHistory(4);
+        Pose2d pose = new Pose2d(1.0, 2.0, 3.0);
+        Assertions.assertTrue(history.isEmpty());
+        Assertions.assertTrue(Double.isNaN(history.getLatest(pose)));
+        Assertions.assertFalse(history.getPose(0.0, pose));
+        Assertions.assertEquals(1.0, pose.x);
+        Assertions.assertEquals(2.0, pose.y);
+        Assertions.assertEquals(3.0, pose.angle);
+    }
+
+    @Test
+    public void verifyInterpolation()
+    {
+        PoseHistory history = new PoseHistory(8);
+        history.add(1.0, 0.0, 10.0, 0.0);
+        history.add(1.5, 5.0, 20.0, 90.0);
+        history.add(2.0, 15.0, 20.0, 270.0);
+
+        Pose2d pose = new Pose2d(0.0, 0.0, 0.0);
+        Assertions.assertEquals(2.0, history.getLatest(pose));
+        Assertions.assertEquals(15.0, pose.x);
+        Assertions.assertEquals(20.0, pose.y);
+        Assertions.assertEquals(270.0, pose.angle);
+
+        Assertions.assertTrue(history.getPose(1.25, pose));
+        Assertions.assertEquals(2.5, pose.x, 1e-9);
+        Assertions.assertEquals(15.0, pose.y, 1e-9);
+        Assertions.assertEquals(45.0, pose.angle, 1e-9);
+
+        Assertions.assertTrue(history.getPose(1.75, pose));
+        Assertions.assertEquals(10.0, pose.x, 1e-9);
+        Assertions.assertEquals(20.0, pose.y, 1e-9);
+        Assertions.assertEquals(180.0, pose.angle, 1e-9);
+
+        Assertions.assertTrue(history.getPose(1.0, pose));
+        Assertions.assertEquals(0.0, pose.x, 1e-9);
+
+        // after the latest pose stays at the latest pose
+        Assertions.assertTrue(history.getPose(3.0, pose));
+        Assertions.assertEquals(15.0, pose.x, 1e-9);
+
+        Assertions.assertFalse(history.getPose(0.5, pose));
+    }
+
+    @Test
+    public void verifyOldPosesAreForgotten()
+    {
+        PoseHistory history = new PoseHistory(4);
+        for (int i = 0; i < 10; i++)
+        {
+            history.add(i, i, -i, 2.0 * i);
+        }
+
+        Pose2d pose = new Pose2d(0.0, 0.0, 0.0);
+        Assertions.assertEquals(9.0, history.getLatest(pose));
+        Assertions.assertEquals(9.0, pose.x);
+
+        // (one slot is kept as slack for the writer)
+        Assertions.assertTrue(history.getPose(7.5, pose));
+        Assertions.assertEquals(7.5, pose.x, 1e-9);
+        Assertions.assertEquals(-7.5, pose.y, 1e-9);
+        Assertions.assertEquals(15.0, pose.angle, 1e-9);
+        Assertions.assertFalse(history.getPose(6.5, pose));
+    }
+
+    @Test
+    public void verifyPosesFromBeforeResetAreIgnored()
+    {
+        PoseHistory history = new PoseHistory(8);
+        history.add(1.0, 0.0, 0.0, 0.0, 0);
+        history.add(1.5, 10.0, 0.0, 0.0, 0);
+
+        // reset to a new position, which hasn't been measured yet
+        Pose2d pose = new Pose2d(-1.0, -1.0, -1.0);
+        Assertions.assertTrue(Double.isNaN(history.getLatest(pose, 1)));
+        Assertions.assertFalse(history.getPose(1.5, pose, 1));
+        Assertions.assertEquals(-1.0, pose.x);
+
+        history.add(2.0, 100.0, 50.0, 0.0, 1);
+        history.add(2.5, 110.0, 50.0, 0.0, 1);
+        Assertions.assertEquals(2.5, history.getLatest(pose, 1));
+        Assertions.assertEquals(110.0, pose.x);
+        Assertions.assertTrue(Double.isNaN(history.getLatest(pose, 0)));
+
+        Assertions.assertTrue(history.getPose(2.25, pose, 1));
+        Assertions.assertEquals(105.0, pose.x, 1e-9);
+
+        // no interpolating across the reset
+        Assertions.assertFalse(history.getPose(1.75, pose, 1));
+        Assertions.assertFalse(history.getPose(1.25, pose, 1));
+        Assertions.assertFalse(history.getPose(1.25, pose, 0));
+        Assertions.assertEquals(105.0, pose.x, 1e-9);
+    }
+
+    @Test
+    public void verifyConsistentWhileWriting() throws InterruptedException
+    {
+        // every pose has x, y and angle equal to its time, so any torn read would show up as a mismatch
+        PoseHistory history = new PoseHistory(16);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread writer = new Thread(
+            () ->
+            {
+                for (int i = 0; i < 2000000; i++)
+                {
+                    history.add(i, i, i, i);
+                }
+
+                done.set(true);
+            });
+
+        writer.start();
+
+        Pose2d pose = new Pose2d(0.0, 0.0, 0.0);
+        while (!done.get())
+        {
+            double time = history.getLatest(pose);
+            if (!Double.isNaN(time))
+            {
+                Assertions.assertEquals(time, pose.x);
+                Assertions.assertEquals(time, pose.y);
+                Assertions.assertEquals(time, pose.angle);
+
+                if (history.getPose(time - 5.5, pose))
+                {
+                    Assertions.assertEquals(time - 5.5, pose.x, 1e-9);
+                    Assertions.assertEquals(time - 5.5, pose.y, 1e-9);
+                    Assertions.assertEquals(time - 5.5, pose.angle, 1e-9);
+                }
+            }
+        }
+
+        writer.join();
+    }
+}
@@ -0,0 +1,78 @@
+package frc.robot.common;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.TripleBuffer;
+
+public class TripleBufferTests
+{
+    @Test
+    public void verifyLatestValueWins()
+    {
+        TripleBuffer<long[]> buffer = new TripleBuffer<long[]>(new long[1], new long[1], new long[1]);
+        Assertions.assertFalse(buffer.update());
+
+        buffer.getBack()[0] = 1L;
+        Assertions.assertFalse(buffer.publish());
+        Assertions.assertTrue(buffer.update());
+        Assertions.assertEquals(1L, buffer.getFront()[0]);
+        Assertions.assertFalse(buffer.update());
+        Assertions.assertEquals(1L, buffer.getFront()[0]);
+
+        // publishing again before the reader has updated drops the older value
+        buffer.getBack()[0] = 2L;
+        Assertions.assertFalse(buffer.publish());
+        buffer.getBack()[0] = 3L;
+        Assertions.assertTrue(buffer.publish());
+        Assertions.assertTrue(buffer.update());
+        Assertions.assertEquals(3L, buffer.getFront()[0]);
+    }
+
+    @Test
+    public void verifyConsistentWhileWriting() throws InterruptedException
+    {
+        // each buffer holds the same value in both slots, so any buffer shared between the threads would show up as a mismatch
+        TripleBuffer<long[]> buffer = new TripleBuffer<long[]>(new long[2], new long[2], new long[2]);
+        AtomicBoolean done = new AtomicBoolean(false);
+        Thread writer = new Thread(
+            () ->
+            {
+                for (long i = 1L; i <= 2000000L; i++)
+                {
+                    long[] back = buffer.getBack();
+                    back[0] = i;
+                    back[1] = i;
+                    buffer.publish();
+                }
+
+                done.set(true);
+            });
+
+        writer.start();
+
+        long previous = 0L;
+        while (!done.get())
+        {
+            if (buffer.update())
+            {
+                long[] front = buffer.getFront();
+                long value = front[0];
+                Assertions.assertTrue(value > previous);
+                for (int i = 0; i < 100; i++)
+                {
+                    Assertions.assertEquals(value, front[0]);
+                    Assertions.assertEquals(value, front[1]);
+                }
+
+                previous = value;
+            }
+        }
+
+        writer.join();
+        buffer.update();
+        Assertions.assertEquals(2000000L, buffer.getFront()[0]);
+    }
+}
@@ -0,0 +1,72 @@
+package frc.robot.common;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.ValueHistogram;
+
+public class ValueHistogramTests
+{
+    @Test
+    public void checkEmpty()
+    {
+        ValueHistogram histogram = new ValueHistogram();
+        Assertions.assertEquals(0L, histogram.getCount());
+        Assertions.assertTrue(Double.isNaN(histogram.getMin()));
+        Assertions.assertTrue(Double.isNaN(histogram.getMax()));
+        Assertions.assertTrue(Double.isNaN(histogram.getMean()));
+        Assertions.assertTrue(Double.isNaN(histogram.getPercentile(0.5)));
+    }
+
+    @Test
+    public void checkPercentiles()
+    {
+        // -500, -499, ..., 499, 500 (and NaN, which is ignored)
+        ValueHistogram histogram = new ValueHistogram();
+        for (int i = -500; i <= 500; i++)
+        {
+            histogram.record(i);
+        }
+
+        histogram.record(Double.NaN);
+
+        Assertions.assertEquals(1001L, histogram.getCount());
+        Assertions.assertEquals(-500.0, histogram.getMin());
+        Assertions.assertEquals(500.0, histogram.getMax());
+        Assertions.assertEquals(0.0, histogram.getMean(), 1e-9);
+        ValueHistogramTests.assertWithinBucket(-500.0, histogram.getPercentile(0.0));
+        ValueHistogramTests.assertWithinBucket(-250.0, histogram.getPercentile(0.25));
+        ValueHistogramTests.assertWithinBucket(0.0, histogram.getPercentile(0.5));
+        ValueHistogramTests.assertWithinBucket(490.0, histogram.getPercentile(0.99));
+        Assertions.assertEquals(500.0, histogram.getPercentile(1.0));
+
+        histogram.reset();
+        Assertions.assertEquals(0L, histogram.getCount());
+    }
+
+    @Test
+    public void checkAdd()
+    {
+        ValueHistogram first = new ValueHistogram();
+        ValueHistogram second = new ValueHistogram();
+        for (int i = 1; i <= 100; i++)
+        {
+            first.record(i * 0.01);
+            second.record(i * 1000.0);
+        }
+
+        first.add(second);
+        first.add(new ValueHistogram());
+        Assertions.assertEquals(200L, first.getCount());
+        Assertions.assertEquals(0.01, first.getMin());
+        Assertions.assertEquals(100000.0, first.getMax());
+        ValueHistogramTests.assertWithinBucket(0.5, first.getPercentile(0.25));
+        ValueHistogramTests.assertWithinBucket(50000.0, first.getPercentile(0.75));
+    }
+
+    private static void assertWithinBucket(double expected, double actual)
+    {
+        // a bucket's upper bound is within 1/16th of the values in it
+        Assertions.assertEquals(expected, actual, Math.abs(expected) / 16.0 + 1.0);
+    }
+}
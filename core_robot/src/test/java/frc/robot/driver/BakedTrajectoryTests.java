@@ -0,0 +1,130 @@
+package frc.robot.driver;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.BakedTrajectory;
+import frc.lib.driver.TrajectoryManager;
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.ITrajectory;
+import frc.lib.robotprovider.TrajectoryState;
+import frc.robot.TuningConstants;
+
+public class BakedTrajectoryTests
+{
+    @Test
+    public void verifyMatchesSourceAtSamples()
+    {
+        ITrajectory source = new CircleTrajectory(10.01);
+        BakedTrajectory baked = new BakedTrajectory(source, 0.02);
+        Assertions.assertEquals(10.01, baked.getDuration());
+
+        TrajectoryState expected = new TrajectoryState();
+        TrajectoryState actual = new TrajectoryState();
+        for (int i = 0; i <= 500; i++)
+        {
+            double time = i * 0.02;
+            source.get(time, expected);
+            baked.get(time, actual);
+            BakedTrajectoryTests.assertStatesEqual(expected, actual, 1e-9);
+        }
+
+        // before the start and after the end stay at the first and last states
+        source.get(0.0, expected);
+        baked.get(-1.0, actual);
+        BakedTrajectoryTests.assertStatesEqual(expected, actual, 1e-9);
+
+        source.get(10.01, expected);
+        baked.get(10.01, actual);
+        BakedTrajectoryTests.assertStatesEqual(expected, actual, 1e-9);
+        baked.get(15.0, actual);
+        BakedTrajectoryTests.assertStatesEqual(expected, actual, 1e-9);
+
+        // halfway into the short last interval
+        source.get(10.005, expected);
+        baked.get(10.005, actual);
+        BakedTrajectoryTests.assertStatesEqual(expected, actual, 0.01);
+
+        Assertions.assertTrue(baked.matches(source, 0.01, 0.01, 0.01));
+    }
+
+    @Test
+    public void verifyAngleWrapsAround()
+    {
+        // angle goes 170 -> 180 / -180 -> -170 over the second
+        ITrajectory source = new CircleTrajectory(1.0);
+        BakedTrajectory baked = new BakedTrajectory(source, 0.5);
+
+        TrajectoryState state = new TrajectoryState();
+        baked.get(0.25, state);
+        Assertions.assertEquals(175.0, Helpers.updateAngleRange(state.angle), 1e-9);
+        baked.get(0.75, state);
+        Assertions.assertEquals(-175.0, Helpers.updateAngleRange(state.angle), 1e-9);
+    }
+
+    @Test
+    public void verifyDetectsInaccurateBaking()
+    {
+        // a full circle of radius 100 in a second can't be represented by a straight line every half-second
+        ITrajectory source = new CircleTrajectory(1.0);
+        BakedTrajectory baked = new BakedTrajectory(source, 0.5);
+        Assertions.assertFalse(
+            baked.matches(
+                source,
+                TuningConstants.TRAJECTORY_BAKE_MAX_POSITION_ERROR,
+                TuningConstants.TRAJECTORY_BAKE_MAX_ANGLE_ERROR,
+                TuningConstants.TRAJECTORY_BAKE_MAX_VELOCITY_ERROR));
+    }
+
+    @Test
+    public void verifyTrajectoryManagerBakes()
+    {
+        TrajectoryManager trajectoryManager = new TrajectoryManager();
+        trajectoryManager.addTrajectory("circle", new CircleTrajectory(10.0));
+        Assertions.assertEquals(TuningConstants.TRAJECTORY_BAKE, trajectoryManager.getTrajectory("circle") instanceof BakedTrajectory);
+    }
+
+    private static void assertStatesEqual(TrajectoryState expected, TrajectoryState actual, double delta)
+    {
+        Assertions.assertEquals(expected.xPosition, actual.xPosition, delta);
+        Assertions.assertEquals(expected.yPosition, actual.yPosition, delta);
+        Assertions.assertEquals(0.0, Helpers.updateAngleRange(expected.angle - actual.angle), delta);
+        Assertions.assertEquals(expected.xVelocity, actual.xVelocity, delta);
+        Assertions.assertEquals(expected.yVelocity, actual.yVelocity, delta);
+        Assertions.assertEquals(expected.angleVelocity, actual.angleVelocity, delta);
+    }
+
+    /**
+     * Trajectory going around a circle with a radius of 100 inches once over its duration, facing 170 degrees plus 20
+     * degrees per second (in the range -180 to 180)
+     */
+    private static class CircleTrajectory implements ITrajectory
+    {
+        private final double duration;
+
+        CircleTrajectory(double duration)
+        {
+            this.duration = duration;
+        }
+
+        @Override
+        public double getDuration()
+        {
+            return this.duration;
+        }
+
+        @Override
+        public TrajectoryState get(double time)
+        {
+            double angularVelocity = 2.0 * Math.PI / this.duration;
+            double theta = angularVelocity * time;
+            return new TrajectoryState(
+                100.0 * Math.cos(theta),
+                100.0 * Math.sin(theta),
+                Helpers.updateAngleRange(170.0 + 20.0 * time),
+                -100.0 * angularVelocity * Math.sin(theta),
+                100.0 * angularVelocity * Math.cos(theta),
+                20.0);
+        }
+    }
+}
@@ -0,0 +1,417 @@
+package frc.robot.driver;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+import com.google.inject.Guice;
+import com.google.inject.Injector;
+
+import frc.lib.driver.ControlTaskTracer;
+import frc.lib.driver.Driver;
+import frc.lib.driver.IButtonMap;
+import frc.lib.driver.IControlTask;
+import frc.lib.driver.IOperation;
+import frc.lib.driver.UserInputDeviceButton;
+import frc.lib.driver.buttons.ButtonType;
+import frc.lib.driver.descriptions.*;
+import frc.lib.driver.states.OperationState;
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.IFileWriter;
+import frc.lib.robotprovider.IJoystick;
+import frc.lib.robotprovider.JoystickRumbleType;
+import frc.lib.robotprovider.NullLogger;
+import frc.robot.TestProvider;
+import frc.robot.driver.controltasks.ConcurrentTask;
+
+public class DriverTests
+{
+    private static final int WARMUP_UPDATES = 20000;
+    private static final int MEASURED_UPDATES = 5000;
+
+    @Test
+    public void verifyNoSteadyStateAllocations()
+    {
+        TestProvider provider = new TestProvider();
+        MockJoystick[] joysticks = DriverTests.setJoysticks(provider);
+
+        // hold down a button on the driver joystick so that at least one operation receives input each update
+        joysticks[UserInputDevice.Driver.getId()].setButton(UserInputDeviceButton.XBONE_RIGHT_BUTTON, true);
+
+        Driver driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            new ButtonMap(),
+            provider,
+            new ControlTaskTracer());
+
+        for (int i = 0; i < DriverTests.WARMUP_UPDATES; i++)
+        {
+            driver.update();
+        }
+
+        com.sun.management.ThreadMXBean threadBean = (com.sun.management.ThreadMXBean)ManagementFactory.getThreadMXBean();
+        long threadId = Thread.currentThread().getId();
+
+        // determine the cost of measuring, so that it can be excluded from the result
+        long calibrationStart = threadBean.getThreadAllocatedBytes(threadId);
+        long calibrationEnd = threadBean.getThreadAllocatedBytes(threadId);
+        long measurementOverhead = calibrationEnd - calibrationStart;
+
+        long start = threadBean.getThreadAllocatedBytes(threadId);
+        for (int i = 0; i < DriverTests.MEASURED_UPDATES; i++)
+        {
+            driver.update();
+        }
+
+        long end = threadBean.getThreadAllocatedBytes(threadId);
+        assertEquals(0L, end - start - measurementOverhead, "bytes allocated during steady-state updates");
+    }
+
+    @Test
+    public void verifyUserInputCancelsMacro()
+    {
+        TestProvider provider = new TestProvider();
+        MockJoystick joystick = DriverTests.setJoysticks(provider)[UserInputDevice.Driver.getId()];
+        TestButtonMap buttonMap = new TestButtonMap();
+        Driver driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            buttonMap,
+            provider,
+            new ControlTaskTracer());
+
+        // start the first macro
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_A_BUTTON);
+        assertEquals(1, buttonMap.firstMacroTasks.size());
+        assertTrue(buttonMap.firstMacroTasks.get(0).hasBegun);
+        assertFalse(buttonMap.firstMacroTasks.get(0).hasStopped);
+
+        // rule #1: using an operation that the macro can be cancelled by should stop the macro
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_X_BUTTON);
+        assertTrue(buttonMap.firstMacroTasks.get(0).hasStopped);
+        assertFalse(driver.getDigital(DigitalOperation.PositionResetFieldOrientation));
+    }
+
+    @Test
+    public void verifyNewMacroCancelsPreviousMacro()
+    {
+        TestProvider provider = new TestProvider();
+        MockJoystick joystick = DriverTests.setJoysticks(provider)[UserInputDevice.Driver.getId()];
+        TestButtonMap buttonMap = new TestButtonMap();
+        Driver driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            buttonMap,
+            provider,
+            new ControlTaskTracer());
+
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_A_BUTTON);
+        assertEquals(1, buttonMap.firstMacroTasks.size());
+
+        // rule #2: a newly-started macro should usurp the previously-active macro that shares an operation
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_B_BUTTON);
+        assertTrue(buttonMap.firstMacroTasks.get(0).hasStopped);
+        assertEquals(1, buttonMap.secondMacroTasks.size());
+        assertTrue(buttonMap.secondMacroTasks.get(0).hasBegun);
+        assertFalse(buttonMap.secondMacroTasks.get(0).hasStopped);
+        assertEquals(2, buttonMap.secondMacroTasks.get(0).updates);
+    }
+
+    @Test
+    public void verifyOverlappingNewMacrosAreCancelled()
+    {
+        TestProvider provider = new TestProvider();
+        MockJoystick joystick = DriverTests.setJoysticks(provider)[UserInputDevice.Driver.getId()];
+        TestButtonMap buttonMap = new TestButtonMap();
+        Driver driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            buttonMap,
+            provider,
+            new ControlTaskTracer());
+
+        // rule #3: two new macros that share an operation should both be cancelled
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, true);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, true);
+        driver.update();
+        joystick.setButton(UserInputDeviceButton.XBONE_A_BUTTON, false);
+        joystick.setButton(UserInputDeviceButton.XBONE_B_BUTTON, false);
+        driver.update();
+
+        assertEquals(0, buttonMap.firstMacroTasks.size());
+        assertEquals(0, buttonMap.secondMacroTasks.size());
+    }
+
+    @Test
+    public void verifyMacroIsTraced() throws IOException
+    {
+        TestProvider provider = new TestProvider();
+        MockJoystick joystick = DriverTests.setJoysticks(provider)[UserInputDevice.Driver.getId()];
+        TestButtonMap buttonMap = new TestButtonMap();
+        ControlTaskTracer tracer = new ControlTaskTracer(3);
+        Driver driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            buttonMap,
+            provider,
+            tracer);
+
+        // begin and update in the first cycle, update in the second, then stop (which doesn't fit) in the third
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_A_BUTTON);
+        DriverTests.press(driver, joystick, UserInputDeviceButton.XBONE_X_BUTTON);
+        assertTrue(buttonMap.firstMacroTasks.get(0).hasStopped);
+        assertEquals(3, tracer.getCount());
+        assertEquals(1, tracer.getDropped());
+
+        StringFileWriter writer = new StringFileWriter();
+        tracer.write(writer);
+        String trace = writer.builder.toString();
+        assertTrue(trace.startsWith("{\"traceEvents\":["));
+        assertTrue(trace.contains("{\"name\":\"TestTask\",\"cat\":\"begin\",\"ph\":\"X\",\"ts\":0.000,"));
+        assertTrue(trace.contains("\"cat\":\"update\",\"ph\":\"X\""));
+        assertTrue(trace.contains("\"args\":{\"cycle\":2}}\n]"));
+        assertTrue(trace.endsWith("\"otherData\":{\"dropped\":1}}\n"));
+
+        // writing starts over
+        assertEquals(0, tracer.getCount());
+        assertEquals(0, tracer.getDropped());
+    }
+
+    @Test
+    public void verifyConcurrentTaskStopIsTraced() throws IOException
+    {
+        ControlTaskTracer tracer = new ControlTaskTracer(8);
+        Injector injector = Guice.createInjector(binder -> binder.bind(ControlTaskTracer.class).toInstance(tracer));
+
+        TestTask first = new TestTask();
+        TestTask second = new TestTask();
+        IControlTask task = ConcurrentTask.AllTasks(first, second);
+        task.initialize(new HashMap<IOperation, OperationState>(), injector);
+
+        tracer.begin(task);
+        tracer.stop(task);
+        assertTrue(first.hasBegun);
+        assertTrue(first.hasStopped);
+        assertTrue(second.hasStopped);
+
+        // begin for the concurrent task and each of its children, and then the same for stop
+        assertEquals(6, tracer.getCount());
+
+        StringFileWriter writer = new StringFileWriter();
+        tracer.write(writer);
+        String trace = writer.builder.toString();
+        assertEquals(3, trace.split("\"cat\":\"stop\"", -1).length - 1);
+    }
+
+    /**
+     * Press and release the provided button, updating the driver after each
+     */
+    private static void press(Driver driver, MockJoystick joystick, UserInputDeviceButton button)
+    {
+        joystick.setButton(button, true);
+        driver.update();
+        joystick.setButton(button, false);
+        driver.update();
+    }
+
+    private static MockJoystick[] setJoysticks(TestProvider provider)
+    {
+        MockJoystick[] joysticks = new MockJoystick[UserInputDevice.MaxCount.getId()];
+        for (int i = 0; i < joysticks.length; i++)
+        {
+            joysticks[i] = new MockJoystick();
+            provider.setJoystick(i, joysticks[i]);
+        }
+
+        return joysticks;
+    }
+
+    private static class TestButtonMap implements IButtonMap
+    {
+        private final List<TestTask> firstMacroTasks = new ArrayList<TestTask>();
+        private final List<TestTask> secondMacroTasks = new ArrayList<TestTask>();
+
+        @Override
+        public ShiftDescription[] getShiftSchema()
+        {
+            return new ShiftDescription[0];
+        }
+
+        @Override
+        public AnalogOperationDescription[] getAnalogOperationSchema()
+        {
+            return new AnalogOperationDescription[0];
+        }
+
+        @Override
+        public DigitalOperationDescription[] getDigitalOperationSchema()
+        {
+            return new DigitalOperationDescription[]
+            {
+                new DigitalOperationDescription(
+                    DigitalOperation.PositionResetFieldOrientation,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_X_BUTTON,
+                    ButtonType.Simple),
+            };
+        }
+
+        @Override
+        public MacroOperationDescription[] getMacroOperationSchema()
+        {
+            return new MacroOperationDescription[]
+            {
+                new MacroOperationDescription(
+                    MacroOperation.PIDLightBrake,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_A_BUTTON,
+                    ButtonType.Toggle,
+                    () -> TestButtonMap.createTask(this.firstMacroTasks),
+                    new IOperation[]
+                    {
+                        AnalogOperation.DriveTrainTurnAngleGoal,
+                    },
+                    new IOperation[]
+                    {
+                        AnalogOperation.DriveTrainTurnAngleGoal,
+                        DigitalOperation.PositionResetFieldOrientation,
+                    }),
+                new MacroOperationDescription(
+                    MacroOperation.PIDHeavyBrake,
+                    UserInputDevice.Driver,
+                    UserInputDeviceButton.XBONE_B_BUTTON,
+                    ButtonType.Toggle,
+                    () -> TestButtonMap.createTask(this.secondMacroTasks),
+                    new IOperation[]
+                    {
+                        AnalogOperation.DriveTrainTurnAngleGoal,
+                    }),
+            };
+        }
+
+        private static TestTask createTask(List<TestTask> tasks)
+        {
+            TestTask task = new TestTask();
+            tasks.add(task);
+            return task;
+        }
+    }
+
+    private static class TestTask implements IControlTask
+    {
+        private boolean hasBegun;
+        private boolean hasStopped;
+        private int updates;
+
+        @Override
+        public void initialize(Map<IOperation, OperationState> operationStateMap, Injector injector)
+        {
+        }
+
+        @Override
+        public void begin()
+        {
+            this.hasBegun = true;
+        }
+
+        @Override
+        public void update()
+        {
+            this.updates++;
+        }
+
+        @Override
+        public void stop()
+        {
+            this.hasStopped = true;
+        }
+
+        @Override
+        public void end()
+        {
+        }
+
+        @Override
+        public boolean hasCompleted()
+        {
+            return false;
+        }
+
+        @Override
+        public boolean shouldCancel()
+        {
+            return false;
+        }
+    }
+
+    private static class StringFileWriter implements IFileWriter
+    {
+        private final StringBuilder builder = new StringBuilder();
+
+        @Override
+        public void append(String string)
+        {
+            this.builder.append(string);
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+
+    private static class MockJoystick implements IJoystick
+    {
+        private final boolean[] buttons = new boolean[32];
+
+        void setButton(UserInputDeviceButton button, boolean pressed)
+        {
+            this.buttons[button.Value] = pressed;
+        }
+
+        @Override
+        public boolean isConnected()
+        {
+            return true;
+        }
+
+        @Override
+        public double getAxis(int relevantAxis)
+        {
+            return 0.0;
+        }
+
+        @Override
+        public int getPOV()
+        {
+            return -1;
+        }
+
+        @Override
+        public boolean getRawButton(int value)
+        {
+            return this.buttons[value];
+        }
+
+        @Override
+        public void setRumble(JoystickRumbleType type, double value)
+        {
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package frc.robot.driver;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.BakedTrajectory;
+import frc.lib.driver.PrecomputedPathPlanner;
+import frc.lib.driver.PrecomputedTrajectories;
+import frc.lib.robotprovider.IPathPlanner;
+import frc.lib.robotprovider.ITrajectory;
+import frc.lib.robotprovider.PathPlannerWaypoint;
+import frc.lib.robotprovider.TrajectoryState;
+
+public class PrecomputedTrajectoriesTests
+{
+    @Test
+    public void verifyKeyDependsOnEverything()
+    {
+        PathPlannerWaypoint first = new PathPlannerWaypoint(0.0, 0.0, 0.0, 0.0);
+        PathPlannerWaypoint second = new PathPlannerWaypoint(48.0, 0.0, 0.0, 0.0);
+        long key = PrecomputedTrajectories.getKey(100.0, 50.0, first, second);
+
+        Assertions.assertEquals(key, PrecomputedTrajectories.getKey(100.0, 50.0, new PathPlannerWaypoint(0.0, 0.0, 0.0, 0.0), new PathPlannerWaypoint(48.0, 0.0, 0.0, 0.0)));
+        Assertions.assertNotEquals(key, PrecomputedTrajectories.getKey(101.0, 50.0, first, second));
+        Assertions.assertNotEquals(key, PrecomputedTrajectories.getKey(100.0, 51.0, first, second));
+        Assertions.assertNotEquals(key, PrecomputedTrajectories.getKey(100.0, 50.0, first, new PathPlannerWaypoint(48.0, 0.0, 0.0, 90.0)));
+        Assertions.assertNotEquals(key, PrecomputedTrajectories.getKey(100.0, 50.0, first, second, second));
+    }
+
+    @Test
+    public void verifyWriteAndLoad() throws IOException
+    {
+        File file = File.createTempFile("trajectories", ".bin");
+        file.deleteOnExit();
+
+        CountingPathPlanner realPathPlanner = new CountingPathPlanner();
+        PrecomputedTrajectories recorded = new PrecomputedTrajectories();
+        PrecomputedPathPlanner recorder = new PrecomputedPathPlanner(realPathPlanner, recorded, true);
+        ITrajectory source = recorder.buildTrajectory(100.0, 50.0, new PathPlannerWaypoint(0.0, 0.0), new PathPlannerWaypoint(48.0, 0.0));
+        recorder.buildTrajectory(100.0, 50.0, new PathPlannerWaypoint(0.0, 0.0), new PathPlannerWaypoint(0.0, 48.0));
+        Assertions.assertEquals(2, recorded.size());
+        Assertions.assertEquals(2, realPathPlanner.count);
+        recorded.write(file.getPath());
+
+        PrecomputedTrajectories loaded = PrecomputedTrajectories.load(file.getPath());
+        Assertions.assertEquals(2, loaded.size());
+
+        PrecomputedPathPlanner pathPlanner = new PrecomputedPathPlanner(realPathPlanner, loaded, false);
+        ITrajectory trajectory = pathPlanner.buildTrajectory(100.0, 50.0, new PathPlannerWaypoint(0.0, 0.0), new PathPlannerWaypoint(48.0, 0.0));
+        Assertions.assertTrue(trajectory instanceof BakedTrajectory);
+        Assertions.assertEquals(0, pathPlanner.getBuiltCount());
+        Assertions.assertEquals(2, realPathPlanner.count);
+        Assertions.assertEquals(source.getDuration(), trajectory.getDuration());
+
+        TrajectoryState expected = new TrajectoryState();
+        TrajectoryState actual = new TrajectoryState();
+        for (double time = 0.0; time <= trajectory.getDuration(); time += 0.013)
+        {
+            source.get(time, expected);
+            trajectory.get(time, actual);
+            Assertions.assertEquals(expected.xPosition, actual.xPosition, 1e-9);
+            Assertions.assertEquals(expected.yPosition, actual.yPosition, 1e-9);
+            Assertions.assertEquals(expected.xVelocity, actual.xVelocity, 1e-9);
+        }
+
+        // anything that wasn't precomputed is built instead
+        pathPlanner.buildTrajectory(100.0, 50.0, new PathPlannerWaypoint(0.0, 0.0), new PathPlannerWaypoint(-48.0, 0.0));
+        Assertions.assertEquals(1, pathPlanner.getBuiltCount());
+        Assertions.assertEquals(3, realPathPlanner.count);
+    }
+
+    @Test
+    public void verifyMissingOrInvalidFile() throws IOException
+    {
+        Assertions.assertEquals(0, PrecomputedTrajectories.load("doesNotExist.bin").size());
+
+        File file = File.createTempFile("trajectories", ".bin");
+        file.deleteOnExit();
+        Assertions.assertEquals(0, PrecomputedTrajectories.load(file.getPath()).size());
+    }
+
+    /**
+     * Path planner that builds constant-velocity straight lines between the first two waypoints
+     */
+    private static class CountingPathPlanner implements IPathPlanner
+    {
+        int count;
+
+        @Override
+        public ITrajectory loadTrajectory(String name, double maxVelocity, double maxAcceleration)
+        {
+            return null;
+        }
+
+        @Override
+        public ITrajectory loadTrajectory(String name, double maxVelocity, double maxAcceleration, boolean reversed)
+        {
+            return null;
+        }
+
+        @Override
+        public ITrajectory buildTrajectory(
+            double maxVelocity,
+            double maxAcceleration,
+            PathPlannerWaypoint firstWaypoint,
+            PathPlannerWaypoint secondWaypoint,
+            PathPlannerWaypoint... otherWaypoints)
+        {
+            this.count++;
+            double xDistance = secondWaypoint.x - firstWaypoint.x;
+            double yDistance = secondWaypoint.y - firstWaypoint.y;
+            double duration = Math.sqrt(xDistance * xDistance + yDistance * yDistance) / maxVelocity;
+            return new ITrajectory()
+            {
+                @Override
+                public double getDuration()
+                {
+                    return duration;
+                }
+
+                @Override
+                public TrajectoryState get(double time)
+                {
+                    double ratio = Math.min(Math.max(time / duration, 0.0), 1.0);
+                    return new TrajectoryState(
+                        firstWaypoint.x + xDistance * ratio,
+                        firstWaypoint.y + yDistance * ratio,
+                        0.0,
+                        xDistance / duration,
+                        yDistance / duration,
+                        0.0);
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot.mechanisms;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.Alliance;
+import frc.lib.robotprovider.Point2d;
+import frc.robot.TuningConstants;
+
+public class AprilTagTransformsTests
+{
+    @Test
+    public void verifyMatchesTagGeometry()
+    {
+        Random random = new Random(1318);
+        Point2d result = new Point2d(0.0, 0.0);
+        for (Alliance alliance : new Alliance[] { Alliance.Red, Alliance.Blue })
+        {
+            AprilTagTransforms transforms = AprilTagTransforms.forAlliance(alliance);
+            double[][] tagLocations = alliance == Alliance.Red ? TuningConstants.AprilTagLocationsRed : TuningConstants.AprilTagLocationsBlue;
+            for (int i = 0; i < 10000; i++)
+            {
+                int tagId = 1 + random.nextInt(tagLocations.length);
+                double xOffset = random.nextDouble() * 200.0 - 100.0;
+                double yOffset = random.nextDouble() * 200.0 - 100.0;
+                double yaw = random.nextDouble() * 360.0 - 180.0;
+
+                Assertions.assertTrue(transforms.calculateRobotPosition(tagId, xOffset, yOffset, yaw, result));
+
+                // the angle from the tag to the robot is the tag's orientation - (tag yaw + bearing to the tag)
+                double[] tag = tagLocations[tagId - 1];
+                double fieldAngle = tag[2] - yaw - Helpers.atan2d(xOffset, yOffset);
+                double distance = Math.sqrt(xOffset * xOffset + yOffset * yOffset);
+                Assertions.assertEquals(tag[0] + Helpers.cosd(fieldAngle) * distance, result.x, 1e-6);
+                Assertions.assertEquals(tag[1] + Helpers.sind(fieldAngle) * distance, result.y, 1e-6);
+            }
+        }
+    }
+
+    @Test
+    public void verifyUnknownTags()
+    {
+        Point2d result = new Point2d(1.0, 2.0);
+        AprilTagTransforms transforms = AprilTagTransforms.forAlliance(Alliance.Blue);
+        Assertions.assertFalse(transforms.calculateRobotPosition(0, 10.0, 10.0, 0.0, result));
+        Assertions.assertFalse(transforms.calculateRobotPosition(TuningConstants.AprilTagLocationsBlue.length + 1, 10.0, 10.0, 0.0, result));
+        Assertions.assertEquals(1.0, result.x);
+        Assertions.assertEquals(2.0, result.y);
+    }
+}
@@ -0,0 +1,61 @@
+package frc.robot.mechanisms;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.robot.HardwareConstants;
+import frc.robot.TuningConstants;
+
+public class ArmKinematicsTableTests
+{
+    @Test
+    public void verifyIKMatchesAnalytic()
+    {
+        ArmKinematicsTable table = ArmKinematicsTable.build();
+        Assertions.assertTrue(table.getIKCoverage() > 0.9, "IK coverage " + table.getIKCoverage());
+
+        Random random = new Random(1318);
+        double[] result = new double[2];
+        for (int i = 0; i < 100000; i++)
+        {
+            // include positions a bit outside of the allowed range
+            double x = TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH - 1.0 + random.nextDouble() * (TuningConstants.ARM_MAX_IKX_EXTENSION_LENGTH - TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH + 2.0);
+            double z = TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT - 1.0 + random.nextDouble() * (TuningConstants.ARM_MAX_IKZ_EXTENSION_HEIGHT - TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT + 2.0);
+
+            DoubleTuple expected = ArmMechanism.calculateIK(x, z);
+            boolean found = table.calculateIK(x, z, result);
+            Assertions.assertEquals(expected != null, found, String.format("reachability of (%f, %f)", x, z));
+            if (expected != null)
+            {
+                Assertions.assertEquals(expected.first, result[0], TuningConstants.ARM_KINEMATICS_TABLE_MAX_IK_ERROR, String.format("lower for (%f, %f)", x, z));
+                Assertions.assertEquals(expected.second, result[1], TuningConstants.ARM_KINEMATICS_TABLE_MAX_IK_ERROR, String.format("upper for (%f, %f)", x, z));
+            }
+        }
+    }
+
+    @Test
+    public void verifyFKMatchesAnalytic()
+    {
+        ArmKinematicsTable table = ArmKinematicsTable.build();
+        Assertions.assertTrue(table.getFKCoverage() > 0.9, "FK coverage " + table.getFKCoverage());
+
+        Random random = new Random(1318);
+        double[] result = new double[2];
+        for (int i = 0; i < 100000; i++)
+        {
+            double lower = -100.0 + random.nextDouble() * (HardwareConstants.ARM_FULL_EXTENSION_TICKS + 200.0);
+            double upper = -100.0 + random.nextDouble() * (HardwareConstants.ARM_FULL_EXTENSION_TICKS + 200.0);
+
+            DoubleTuple expected = ArmMechanism.calculateFK(lower, upper);
+            boolean found = table.calculateFK(lower, upper, result);
+            Assertions.assertEquals(expected != null, found, String.format("validity of (%f, %f)", lower, upper));
+            if (expected != null)
+            {
+                Assertions.assertEquals(expected.first, result[0], TuningConstants.ARM_KINEMATICS_TABLE_MAX_FK_ERROR, String.format("x for (%f, %f)", lower, upper));
+                Assertions.assertEquals(expected.second, result[1], TuningConstants.ARM_KINEMATICS_TABLE_MAX_FK_ERROR, String.format("z for (%f, %f)", lower, upper));
+            }
+        }
+    }
+}
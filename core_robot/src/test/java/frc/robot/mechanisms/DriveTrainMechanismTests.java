@@ -2,6 +2,8 @@ package frc.robot.mechanisms;
 
 import frc.lib.driver.IDriver;
 import frc.lib.mechanisms.LoggingManager;
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.DeviceConfigurator;
 import frc.lib.robotprovider.IPigeon2;
 import frc.lib.robotprovider.ITalonFX;
 import frc.lib.robotprovider.ITalonSRX;
@@ -9,6 +11,7 @@ import frc.lib.robotprovider.ITimer;
 import frc.lib.robotprovider.IVictorSPX;
 import frc.lib.robotprovider.JoystickRumbleType;
 import frc.lib.robotprovider.MotorNeutralMode;
+import frc.lib.robotprovider.MotorStatus;
 import frc.lib.robotprovider.NullLogger;
 import frc.lib.robotprovider.Pose2d;
 import frc.lib.robotprovider.RobotMode;
@@ -78,6 +81,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         for (int timestep = 0; timestep < 10; timestep++)
@@ -123,6 +128,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         for (int timestep = 0; timestep < 50; timestep++)
@@ -174,6 +181,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         for (int timestep = 0; timestep < 50; timestep++)
@@ -226,6 +235,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         for (int timestep = 0; timestep < 50; timestep++)
@@ -279,6 +290,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         for (int timestep = 0; timestep < 50; timestep++)
@@ -331,6 +344,8 @@ public class DriveTrainMechanismTests
             provider,
             pigeonManager,
             powerManager,
+            new MotorStatusCache(timer, false),
+            new DeviceConfigurator(0),
             timer);
 
         double robotVelocityRight = 0.0;
@@ -452,6 +467,7 @@ public class DriveTrainMechanismTests
     {
         // private final int deviceId;
         private double currentValue;
+        private int configurationHash;
 
         MockTalonFX(int deviceId)
         {
@@ -596,12 +612,50 @@ public class DriveTrainMechanismTests
             return 0;
         }
 
+        @Override
+        public void readStatus(MotorStatus status)
+        {
+            status.position = this.currentValue;
+            status.velocity = this.currentValue;
+            status.error = 0.0;
+        }
+
         @Override
         public TalonXLimitSwitchStatus getLimitSwitchStatus()
         {
             return null;
         }
 
+        @Override
+        public long getControlRequestsSent()
+        {
+            return 0L;
+        }
+
+        @Override
+        public long getControlRequestsSuppressed()
+        {
+            return 0L;
+        }
+
+        @Override
+        public int getConfigurationHash()
+        {
+            return this.configurationHash;
+        }
+
+        @Override
+        public void setConfigurationHash(int hash)
+        {
+            this.configurationHash = hash;
+        }
+
+        @Override
+        public int getConfigurationErrors()
+        {
+            return 0;
+        }
+
         @Override
         public void set(double power)
         {
@@ -0,0 +1,165 @@
+package frc.robot.mechanisms;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.util.Arrays;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.IMechanism;
+import frc.lib.mechanisms.MechanismManager;
+
+public class MechanismManagerTests
+{
+    @Test
+    public void verifyReadSensorsDependenciesAreRespected()
+    {
+        RecordingMechanism imu = new RecordingMechanism(null);
+        RecordingMechanism driveTrain = new RecordingMechanism(null, imu);
+        RecordingMechanism arm = new RecordingMechanism(null);
+        RecordingMechanism vision = new RecordingMechanism(null);
+        RecordingMechanism feedback = new RecordingMechanism(null, driveTrain, arm);
+
+        // list the dependent mechanisms first, so that list order alone wouldn't be enough
+        MechanismManager manager = new MechanismManager(Arrays.asList(feedback, driveTrain, arm, vision, imu), 2);
+        for (int cycle = 1; cycle <= 500; cycle++)
+        {
+            manager.readSensors();
+
+            // everything has been read by the time readSensors returns
+            for (RecordingMechanism mechanism : new RecordingMechanism[] { imu, driveTrain, arm, vision, feedback })
+            {
+                assertEquals(cycle, mechanism.reads.get());
+            }
+        }
+
+        assertEquals(0, driveTrain.violations.get());
+        assertEquals(0, feedback.violations.get());
+    }
+
+    @Test
+    public void verifyIndependentReadSensorsRunInParallel()
+    {
+        // each of these waits for the other one, so they can only complete if they are read at the same time
+        CyclicBarrier barrier = new CyclicBarrier(2);
+        RecordingMechanism first = new RecordingMechanism(barrier);
+        RecordingMechanism second = new RecordingMechanism(barrier);
+
+        MechanismManager manager = new MechanismManager(Arrays.asList(first, second), 1);
+        for (int cycle = 1; cycle <= 10; cycle++)
+        {
+            manager.readSensors();
+            assertEquals(cycle, first.reads.get());
+            assertEquals(cycle, second.reads.get());
+        }
+
+        assertEquals(0, first.violations.get());
+        assertEquals(0, second.violations.get());
+    }
+
+    @Test
+    public void verifyBackToBackCyclesDoNotOverlap()
+    {
+        // a chain, so that most of the workers are left waiting on the previous mechanism as each cycle finishes
+        RecordingMechanism first = new RecordingMechanism(null);
+        RecordingMechanism second = new RecordingMechanism(null, first);
+        RecordingMechanism third = new RecordingMechanism(null, second);
+        RecordingMechanism fourth = new RecordingMechanism(null, third);
+        RecordingMechanism other = new RecordingMechanism(null);
+
+        MechanismManager manager = new MechanismManager(Arrays.asList(fourth, third, second, first, other), 3);
+        for (int cycle = 1; cycle <= 5000; cycle++)
+        {
+            manager.readSensors();
+            for (RecordingMechanism mechanism : new RecordingMechanism[] { first, second, third, fourth, other })
+            {
+                assertEquals(cycle, mechanism.reads.get());
+            }
+        }
+
+        for (RecordingMechanism mechanism : new RecordingMechanism[] { first, second, third, fourth, other })
+        {
+            assertEquals(0, mechanism.violations.get());
+        }
+    }
+
+    @Test
+    public void verifyCircularDependenciesAreRejected()
+    {
+        RecordingMechanism first = new RecordingMechanism(null);
+        RecordingMechanism second = new RecordingMechanism(null, first);
+        first.dependencies = new IMechanism[] { second };
+
+        assertThrows(RuntimeException.class, () -> new MechanismManager(Arrays.asList(first, second), 1));
+    }
+
+    private static class RecordingMechanism implements IMechanism
+    {
+        private final CyclicBarrier barrier;
+        private final AtomicInteger reads;
+        private final AtomicInteger violations;
+
+        private IMechanism[] dependencies;
+
+        RecordingMechanism(CyclicBarrier barrier, IMechanism... dependencies)
+        {
+            this.barrier = barrier;
+            this.reads = new AtomicInteger();
+            this.violations = new AtomicInteger();
+            this.dependencies = dependencies;
+        }
+
+        @Override
+        public IMechanism[] getReadSensorsDependencies()
+        {
+            return this.dependencies;
+        }
+
+        @Override
+        public void readSensors()
+        {
+            // each dependency should already have been read as many times as this mechanism is about to have been
+            int cycle = this.reads.get() + 1;
+            for (IMechanism dependency : this.dependencies)
+            {
+                if (((RecordingMechanism)dependency).reads.get() != cycle)
+                {
+                    this.violations.incrementAndGet();
+                }
+            }
+
+            if (this.barrier != null)
+            {
+                try
+                {
+                    this.barrier.await(5, TimeUnit.SECONDS);
+                }
+                catch (Exception ex)
+                {
+                    this.violations.incrementAndGet();
+                }
+            }
+
+            // give the other threads a chance to (incorrectly) get ahead
+            Thread.yield();
+            if (this.reads.incrementAndGet() != cycle)
+            {
+                this.violations.incrementAndGet();
+            }
+        }
+
+        @Override
+        public void update()
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+    }
+}
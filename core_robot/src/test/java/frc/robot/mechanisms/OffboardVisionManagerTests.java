@@ -0,0 +1,129 @@
+package frc.robot.mechanisms;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.INetworkTableProvider;
+import frc.lib.robotprovider.ITimer;
+import frc.lib.robotprovider.LocalDoubleArrayTopic;
+import frc.lib.robotprovider.NullLogger;
+import frc.robot.TestProvider;
+import frc.robot.TuningConstants;
+
+public class OffboardVisionManagerTests
+{
+    @Test
+    public void verifyRepeatedFramesAreIgnored()
+    {
+        LocalDoubleArrayTopic topic = new LocalDoubleArrayTopic(TuningConstants.VISION_PACKET_QUEUE_SIZE);
+        OffboardVisionManager visionManager = OffboardVisionManagerTests.createVisionManager(topic);
+
+        topic.publish(OffboardVisionManagerTests.createPacket(5, 10.0));
+        topic.publish(OffboardVisionManagerTests.createPacket(6, 11.0));
+        visionManager.readSensors();
+        Assertions.assertEquals(2, visionManager.getFrameCount());
+        Assertions.assertEquals(5L, visionManager.getFrame(0).frameId);
+        Assertions.assertEquals(6L, visionManager.getFrame(1).frameId);
+        Assertions.assertEquals(11.0, visionManager.getAprilTagXOffset().doubleValue());
+
+        topic.publish(OffboardVisionManagerTests.createPacket(6, 12.0));
+        visionManager.readSensors();
+        Assertions.assertEquals(0, visionManager.getFrameCount());
+        Assertions.assertEquals(11.0, visionManager.getAprilTagXOffset().doubleValue());
+    }
+
+    @Test
+    public void verifyAnyDropInFrameIdIsRestart()
+    {
+        LocalDoubleArrayTopic topic = new LocalDoubleArrayTopic(TuningConstants.VISION_PACKET_QUEUE_SIZE);
+        OffboardVisionManager visionManager = OffboardVisionManagerTests.createVisionManager(topic);
+
+        topic.publish(OffboardVisionManagerTests.createPacket(100, 10.0));
+        visionManager.readSensors();
+        Assertions.assertEquals(1, visionManager.getFrameCount());
+
+        // well within a queue's worth of the previous frame id, but still a new frame from the restarted coprocessor
+        topic.publish(OffboardVisionManagerTests.createPacket(99, 20.0));
+        topic.publish(OffboardVisionManagerTests.createPacket(100, 21.0));
+        visionManager.readSensors();
+        Assertions.assertEquals(2, visionManager.getFrameCount());
+        Assertions.assertEquals(99L, visionManager.getFrame(0).frameId);
+        Assertions.assertEquals(100L, visionManager.getFrame(1).frameId);
+        Assertions.assertEquals(21.0, visionManager.getAprilTagXOffset().doubleValue());
+    }
+
+    @Test
+    public void verifyMissingTargetsAreNull()
+    {
+        LocalDoubleArrayTopic topic = new LocalDoubleArrayTopic(TuningConstants.VISION_PACKET_QUEUE_SIZE);
+        OffboardVisionManager visionManager = OffboardVisionManagerTests.createVisionManager(topic);
+        Assertions.assertNull(visionManager.getAprilTagXOffset());
+        Assertions.assertNull(visionManager.getAprilTagId());
+        Assertions.assertNull(visionManager.getVisionTargetDistance());
+
+        topic.publish(OffboardVisionManagerTests.createPacket(1, 10.0));
+        visionManager.readSensors();
+        Assertions.assertEquals(10.0, visionManager.getAprilTagXOffset().doubleValue());
+        Assertions.assertEquals(3, visionManager.getAprilTagId().intValue());
+        Assertions.assertNull(visionManager.getVisionTargetDistance());
+
+        double[] packet = OffboardVisionManagerTests.createPacket(2, 10.0);
+        packet[VisionFrame.APRILTAG_ID] = Double.NaN;
+        packet[VisionFrame.RETROREFLECTIVE_DISTANCE] = 35.0;
+        topic.publish(packet);
+        visionManager.readSensors();
+        Assertions.assertNull(visionManager.getAprilTagXOffset());
+        Assertions.assertNull(visionManager.getAprilTagId());
+        Assertions.assertEquals(35.0, visionManager.getVisionTargetDistance().doubleValue());
+        Assertions.assertEquals(4.0, visionManager.getVisionTargetHorizontalAngle().doubleValue());
+    }
+
+    private static OffboardVisionManager createVisionManager(LocalDoubleArrayTopic topic)
+    {
+        TestProvider provider = new TestProvider()
+        {
+            @Override
+            public INetworkTableProvider getNetworkTableProvider()
+            {
+                return (INetworkTableProvider)Proxy.newProxyInstance(
+                    INetworkTableProvider.class.getClassLoader(),
+                    new Class<?>[] { INetworkTableProvider.class },
+                    (proxy, method, args) ->
+                    {
+                        if (method.getName().equals("getDoubleArraySubscriber"))
+                        {
+                            return topic;
+                        }
+
+                        Assertions.assertEquals("getNetworkTime", method.getName());
+                        return 0L;
+                    });
+            }
+        };
+
+        // (the driver and onboard vision aren't used unless the coprocessor stops sending frames)
+        return new OffboardVisionManager(null, new LoggingManager(new NullLogger()), provider, mock(ITimer.class), null);
+    }
+
+    private static double[] createPacket(long frameId, double xOffset)
+    {
+        double[] packet = new double[VisionFrame.LENGTH];
+        packet[VisionFrame.FRAME_ID] = frameId;
+        packet[VisionFrame.CAPTURE_TIME] = 0.0;
+        packet[VisionFrame.APRILTAG_ID] = 3.0;
+        packet[VisionFrame.APRILTAG_X_OFFSET] = xOffset;
+        packet[VisionFrame.APRILTAG_Y_OFFSET] = 60.0;
+        packet[VisionFrame.APRILTAG_Z_OFFSET] = 10.0;
+        packet[VisionFrame.APRILTAG_YAW] = 0.0;
+        packet[VisionFrame.APRILTAG_PITCH] = 0.0;
+        packet[VisionFrame.APRILTAG_ROLL] = 0.0;
+        packet[VisionFrame.RETROREFLECTIVE_DISTANCE] = -1.0;
+        packet[VisionFrame.RETROREFLECTIVE_ANGLE] = 4.0;
+        return packet;
+    }
+}
@@ -0,0 +1,343 @@
+package frc.robot.mechanisms;
+
+import static org.mockito.Mockito.mock;
+
+import java.lang.reflect.Proxy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.driver.IDriver;
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.Alliance;
+import frc.lib.robotprovider.DeviceConfigurator;
+import frc.lib.robotprovider.IDriverStation;
+import frc.lib.robotprovider.INetworkTableProvider;
+import frc.lib.robotprovider.IPigeon2;
+import frc.lib.robotprovider.ITimer;
+import frc.lib.robotprovider.JoystickRumbleType;
+import frc.lib.robotprovider.NullLogger;
+import frc.lib.robotprovider.Point2d;
+import frc.lib.robotprovider.Pose2d;
+import frc.lib.robotprovider.RobotMode;
+import frc.robot.TestProvider;
+import frc.robot.TuningConstants;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+public class PoseEstimationManagerTests
+{
+    private static final int TAG_ID = 1;
+    private static final double TAG_X_OFFSET = 0.0;
+    private static final double TAG_Y_OFFSET = 60.0;
+    private static final double TAG_YAW = 0.0;
+
+    @Test
+    public void verifyVisionGain()
+    {
+        Fixture fixture = new Fixture();
+        Point2d tagPosition = fixture.reset(1.0);
+
+        // odometry is 3 inches off from what the tag shows
+        fixture.driveTrain.setPose(tagPosition.x - 3.0, tagPosition.y);
+        fixture.vision.setFrame(1.5);
+        fixture.poseEstimator.readSensors();
+
+        double measurementStdDev = TuningConstants.POSE_ESTIMATOR_VISION_STDDEV + TuningConstants.POSE_ESTIMATOR_VISION_STDDEV_PER_INCH * TAG_Y_OFFSET;
+        double variance = TuningConstants.POSE_ESTIMATOR_RESET_VARIANCE + TuningConstants.POSE_ESTIMATOR_ODOMETRY_VARIANCE_PER_INCH * 3.0;
+        double gain = variance / (variance + measurementStdDev * measurementStdDev);
+        Assertions.assertEquals(3.0 * gain, fixture.poseEstimator.getXOffset(), 1e-9);
+        Assertions.assertEquals(0.0, fixture.poseEstimator.getYOffset(), 1e-9);
+
+        // the same frame isn't applied twice
+        fixture.poseEstimator.readSensors();
+        Assertions.assertEquals(3.0 * gain, fixture.poseEstimator.getXOffset(), 1e-9);
+    }
+
+    @Test
+    public void verifyOutlierIsRejected()
+    {
+        Fixture fixture = new Fixture();
+        Point2d tagPosition = fixture.reset(1.0);
+
+        // far more than POSE_ESTIMATOR_VISION_GATE standard deviations away
+        fixture.driveTrain.setPose(tagPosition.x - 100.0, tagPosition.y + 100.0);
+        fixture.vision.setFrame(1.5);
+        fixture.poseEstimator.readSensors();
+
+        Assertions.assertEquals(0.0, fixture.poseEstimator.getXOffset(), 0.0);
+        Assertions.assertEquals(0.0, fixture.poseEstimator.getYOffset(), 0.0);
+    }
+
+    @Test
+    public void verifyMeasurementIsComparedAtCaptureTime()
+    {
+        Fixture fixture = new Fixture();
+        Point2d tagPosition = fixture.reset(1.0);
+
+        // when the frame was captured we were 2 inches off from what the tag shows, but we've driven 50 inches since
+        fixture.driveTrain.setHistory(1.5, tagPosition.x - 2.0, tagPosition.y);
+        fixture.driveTrain.setPose(tagPosition.x + 48.0, tagPosition.y);
+        fixture.vision.setFrame(1.5);
+        fixture.poseEstimator.readSensors();
+
+        Assertions.assertTrue(fixture.poseEstimator.getXOffset() > 0.0);
+        Assertions.assertTrue(fixture.poseEstimator.getXOffset() < 2.0);
+
+        Pose2d pose = fixture.poseEstimator.getPose(new Pose2d(0.0, 0.0, 0.0));
+        Assertions.assertEquals(tagPosition.x + 48.0 + fixture.poseEstimator.getXOffset(), pose.x, 1e-9);
+    }
+
+    @Test
+    public void verifyFramesFromBeforeResetAreIgnored()
+    {
+        Fixture fixture = new Fixture();
+        Point2d tagPosition = fixture.reset(5.0);
+
+        // captured before the reset, even though it only arrived afterwards
+        fixture.driveTrain.setPose(tagPosition.x - 3.0, tagPosition.y);
+        fixture.vision.setFrame(4.9);
+        fixture.poseEstimator.readSensors();
+        Assertions.assertEquals(0.0, fixture.poseEstimator.getXOffset(), 0.0);
+
+        fixture.vision.setFrame(5.1);
+        fixture.poseEstimator.readSensors();
+        Assertions.assertTrue(fixture.poseEstimator.getXOffset() > 0.0);
+    }
+
+    private static class Fixture
+    {
+        private final MockTimer timer;
+        private final MockDriver driver;
+        private final MockDriveTrain driveTrain;
+        private final MockVision vision;
+        private final PoseEstimationManager poseEstimator;
+
+        Fixture()
+        {
+            TestProvider provider = new MockProvider();
+            provider.setPigeon2(mock(IPigeon2.class));
+
+            this.timer = new MockTimer();
+            this.driver = new MockDriver();
+            LoggingManager logger = new LoggingManager(new NullLogger());
+            this.driveTrain = new MockDriveTrain(this.driver, logger, provider, this.timer);
+            this.vision = new MockVision(this.driver, logger, provider, this.timer);
+            this.poseEstimator = new PoseEstimationManager(this.driver, logger, provider, this.timer, this.driveTrain, this.vision);
+        }
+
+        /**
+         * Reset the position at the provided time, so that the estimate trusts the odometry
+         * @param time of the reset
+         * @return where the test's tag detection puts the robot
+         */
+        Point2d reset(double time)
+        {
+            this.timer.currentTime = time;
+            this.driver.resetPosition = true;
+            this.poseEstimator.update();
+            this.driver.resetPosition = false;
+
+            Point2d tagPosition = new Point2d(0.0, 0.0);
+            Assertions.assertTrue(
+                AprilTagTransforms.forAlliance(Alliance.Red).calculateRobotPosition(
+                    PoseEstimationManagerTests.TAG_ID,
+                    PoseEstimationManagerTests.TAG_X_OFFSET,
+                    PoseEstimationManagerTests.TAG_Y_OFFSET,
+                    PoseEstimationManagerTests.TAG_YAW,
+                    tagPosition));
+
+            // (the first readSensors after a reset doesn't count the jump as driving)
+            this.driveTrain.setPose(tagPosition.x, tagPosition.y);
+            this.poseEstimator.readSensors();
+            return tagPosition;
+        }
+    }
+
+    private static class MockDriveTrain extends DriveTrainMechanism
+    {
+        private final Pose2d pose;
+        private Pose2d historyPose;
+        private double historyTime;
+
+        MockDriveTrain(IDriver driver, LoggingManager logger, TestProvider provider, ITimer timer)
+        {
+            super(
+                driver,
+                logger,
+                provider,
+                new PigeonManager(driver, logger, provider),
+                new PowerManager(driver, timer, logger, provider),
+                new MotorStatusCache(timer, false),
+                new DeviceConfigurator(0),
+                timer);
+
+            this.pose = new Pose2d(0.0, 0.0, 0.0);
+            this.historyPose = null;
+            this.historyTime = Double.NaN;
+        }
+
+        void setPose(double x, double y)
+        {
+            this.pose.x = x;
+            this.pose.y = y;
+        }
+
+        void setHistory(double time, double x, double y)
+        {
+            this.historyTime = time;
+            this.historyPose = new Pose2d(x, y, 0.0);
+        }
+
+        @Override
+        public Pose2d getPose(Pose2d pose)
+        {
+            pose.x = this.pose.x;
+            pose.y = this.pose.y;
+            pose.angle = this.pose.angle;
+            return pose;
+        }
+
+        @Override
+        public boolean getPose(double time, Pose2d pose)
+        {
+            // (where we were at the history time, otherwise where we are now)
+            Pose2d source = this.historyPose != null && time == this.historyTime ? this.historyPose : this.pose;
+            pose.x = source.x;
+            pose.y = source.y;
+            pose.angle = source.angle;
+            return true;
+        }
+    }
+
+    private static class MockVision extends OffboardVisionManager
+    {
+        private final VisionFrame frame;
+        private int frameCount;
+
+        MockVision(IDriver driver, LoggingManager logger, TestProvider provider, ITimer timer)
+        {
+            super(driver, logger, provider, timer, null);
+
+            this.frame = new VisionFrame();
+            this.frameCount = 0;
+        }
+
+        void setFrame(double captureTime)
+        {
+            this.frame.captureTime = captureTime;
+            this.frame.hasAprilTag = true;
+            this.frame.aprilTagId = PoseEstimationManagerTests.TAG_ID;
+            this.frame.aprilTagXOffset = PoseEstimationManagerTests.TAG_X_OFFSET;
+            this.frame.aprilTagYOffset = PoseEstimationManagerTests.TAG_Y_OFFSET;
+            this.frame.aprilTagYaw = PoseEstimationManagerTests.TAG_YAW;
+            this.frameCount = 1;
+        }
+
+        @Override
+        public int getFrameCount()
+        {
+            return this.frameCount;
+        }
+
+        @Override
+        public VisionFrame getFrame(int index)
+        {
+            return this.frame;
+        }
+    }
+
+    private static class MockProvider extends TestProvider
+    {
+        @Override
+        public IDriverStation getDriverStation()
+        {
+            return (IDriverStation)Proxy.newProxyInstance(
+                IDriverStation.class.getClassLoader(),
+                new Class<?>[] { IDriverStation.class },
+                (proxy, method, args) ->
+                {
+                    Assertions.assertEquals("getAlliance", method.getName());
+                    return Alliance.Red;
+                });
+        }
+
+        @Override
+        public INetworkTableProvider getNetworkTableProvider()
+        {
+            return mock(INetworkTableProvider.class);
+        }
+    }
+
+    private static class MockTimer implements ITimer
+    {
+        private double currentTime;
+
+        @Override
+        public void start()
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+
+        @Override
+        public double get()
+        {
+            return this.currentTime;
+        }
+
+        @Override
+        public void reset()
+        {
+            this.currentTime = 0.0;
+        }
+    }
+
+    private static class MockDriver implements IDriver
+    {
+        private boolean resetPosition;
+
+        @Override
+        public RobotMode getMode()
+        {
+            return RobotMode.Teleop;
+        }
+
+        @Override
+        public void update()
+        {
+        }
+
+        @Override
+        public void stop()
+        {
+        }
+
+        @Override
+        public void startMode(RobotMode mode)
+        {
+        }
+
+        @Override
+        public boolean getDigital(DigitalOperation digitalOperation)
+        {
+            return digitalOperation == DigitalOperation.DriveTrainResetXYPosition && this.resetPosition;
+        }
+
+        @Override
+        public double getAnalog(AnalogOperation analogOperation)
+        {
+            return 0.0;
+        }
+
+        @Override
+        public void setRumble(UserInputDevice device, JoystickRumbleType type, double value)
+        {
+        }
+    }
+}
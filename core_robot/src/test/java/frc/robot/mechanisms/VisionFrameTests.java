@@ -0,0 +1,92 @@
+package frc.robot.mechanisms;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+import frc.lib.robotprovider.LocalDoubleArrayTopic;
+import frc.robot.TuningConstants;
+
+public class VisionFrameTests
+{
+    @Test
+    public void verifyQueuedInOrder()
+    {
+        LocalDoubleArrayTopic topic = new LocalDoubleArrayTopic(4);
+        double[][] values = new double[3][VisionFrame.LENGTH];
+        Assertions.assertEquals(0, topic.readQueue(values));
+
+        for (int i = 0; i < 6; i++)
+        {
+            topic.publish(VisionFrameTests.createPacket(i, 1000000L * i, 3, 10.0 * i, -1.0));
+        }
+
+        // only the newest values that fit are kept
+        Assertions.assertEquals(3, topic.readQueue(values));
+        Assertions.assertEquals(3.0, values[0][VisionFrame.FRAME_ID]);
+        Assertions.assertEquals(4.0, values[1][VisionFrame.FRAME_ID]);
+        Assertions.assertEquals(5.0, values[2][VisionFrame.FRAME_ID]);
+        Assertions.assertEquals(50.0, values[2][VisionFrame.APRILTAG_X_OFFSET]);
+
+        Assertions.assertEquals(0, topic.readQueue(values));
+    }
+
+    @Test
+    public void verifyShortValuesArePadded()
+    {
+        LocalDoubleArrayTopic topic = new LocalDoubleArrayTopic(2);
+        double[][] values = new double[2][VisionFrame.LENGTH];
+        topic.publish(new double[] { 7.0, 8.0 });
+        Assertions.assertEquals(1, topic.readQueue(values));
+        Assertions.assertEquals(7.0, values[0][VisionFrame.FRAME_ID]);
+        Assertions.assertEquals(8.0, values[0][VisionFrame.CAPTURE_TIME]);
+        Assertions.assertTrue(Double.isNaN(values[0][VisionFrame.APRILTAG_ID]));
+        Assertions.assertTrue(Double.isNaN(values[0][VisionFrame.RETROREFLECTIVE_ANGLE]));
+
+        // no AprilTag or retroreflective target in a partial frame
+        VisionFrame frame = new VisionFrame();
+        Assertions.assertTrue(frame.read(values[0], 1.5));
+        Assertions.assertEquals(7L, frame.frameId);
+        Assertions.assertEquals(1.5, frame.captureTime);
+        Assertions.assertFalse(frame.hasAprilTag);
+        Assertions.assertFalse(frame.hasRetroreflectiveTarget);
+
+        Assertions.assertFalse(frame.read(new double[] { 1.0 }, 0.0));
+    }
+
+    @Test
+    public void verifyFrameParsing()
+    {
+        VisionFrame frame = new VisionFrame();
+        Assertions.assertTrue(frame.read(VisionFrameTests.createPacket(12, 3000000L, 5, 20.0, 35.0), 2.0));
+        Assertions.assertEquals(12L, frame.frameId);
+        Assertions.assertTrue(frame.hasAprilTag);
+        Assertions.assertEquals(5, frame.aprilTagId);
+        Assertions.assertEquals(20.0, frame.aprilTagXOffset);
+        Assertions.assertEquals(40.0, frame.aprilTagYOffset);
+        Assertions.assertTrue(frame.hasRetroreflectiveTarget);
+        Assertions.assertEquals(35.0, frame.retroreflectiveDistance);
+
+        double[] packet = VisionFrameTests.createPacket(13, 3000000L, 5, 20.0, -1.0);
+        packet[VisionFrame.APRILTAG_X_OFFSET] = TuningConstants.MAGIC_NULL_VALUE;
+        Assertions.assertTrue(frame.read(packet, 2.0));
+        Assertions.assertFalse(frame.hasAprilTag);
+        Assertions.assertFalse(frame.hasRetroreflectiveTarget);
+    }
+
+    private static double[] createPacket(long frameId, long captureTime, int tagId, double xOffset, double rrDistance)
+    {
+        double[] packet = new double[VisionFrame.LENGTH];
+        packet[VisionFrame.FRAME_ID] = frameId;
+        packet[VisionFrame.CAPTURE_TIME] = captureTime;
+        packet[VisionFrame.APRILTAG_ID] = tagId;
+        packet[VisionFrame.APRILTAG_X_OFFSET] = xOffset;
+        packet[VisionFrame.APRILTAG_Y_OFFSET] = 2.0 * xOffset;
+        packet[VisionFrame.APRILTAG_Z_OFFSET] = 10.0;
+        packet[VisionFrame.APRILTAG_YAW] = 0.0;
+        packet[VisionFrame.APRILTAG_PITCH] = 0.0;
+        packet[VisionFrame.APRILTAG_ROLL] = 0.0;
+        packet[VisionFrame.RETROREFLECTIVE_DISTANCE] = rrDistance;
+        packet[VisionFrame.RETROREFLECTIVE_ANGLE] = 4.0;
+        return packet;
+    }
+}
@@ -0,0 +1,296 @@
+package frc.robot;
+
+import java.util.HashMap;
+
+import frc.lib.robotprovider.*;
+
+/**
+ * Robot provider for benchmarks, along the lines of TestProvider but with hand-written fakes instead of mocks
+ * (mocks record every invocation, which would swamp both the timing and the allocation rate of what we are measuring).
+ * Only the devices used by the benchmarked code are supported.
+ */
+public class BenchProvider implements IRobotProvider
+{
+    private final HashMap<Integer, FakeTalonX> talonSrxMap = new HashMap<Integer, FakeTalonX>();
+    private final HashMap<Integer, FakeTalonX> talonFxMap = new HashMap<Integer, FakeTalonX>();
+    private final HashMap<Integer, FakeCANCoder> cancoderMap = new HashMap<Integer, FakeCANCoder>();
+    private final HashMap<Integer, FakeJoystick> joystickMap = new HashMap<Integer, FakeJoystick>();
+    private final HashMap<Integer, FakeDoubleSolenoid> doubleSolenoidMap = new HashMap<Integer, FakeDoubleSolenoid>();
+    private final HashMap<Integer, FakePigeon2> pigeon2Map = new HashMap<Integer, FakePigeon2>();
+    private final FakePowerDistribution powerDistribution = new FakePowerDistribution();
+
+    public FakeTalonX getFakeTalonSRX(int deviceNumber)
+    {
+        return this.talonSrxMap.computeIfAbsent(deviceNumber, k -> new FakeTalonX());
+    }
+
+    public FakeTalonX getFakeTalonFX(int deviceNumber)
+    {
+        return this.talonFxMap.computeIfAbsent(deviceNumber, k -> new FakeTalonX());
+    }
+
+    public FakeCANCoder getFakeCANCoder(int deviceNumber)
+    {
+        return this.cancoderMap.computeIfAbsent(deviceNumber, k -> new FakeCANCoder());
+    }
+
+    public FakeJoystick getFakeJoystick(int port)
+    {
+        return this.joystickMap.computeIfAbsent(port, k -> new FakeJoystick());
+    }
+
+    public FakePigeon2 getFakePigeon2(int deviceNumber)
+    {
+        return this.pigeon2Map.computeIfAbsent(deviceNumber, k -> new FakePigeon2());
+    }
+
+    public FakePowerDistribution getFakePowerDistribution()
+    {
+        return this.powerDistribution;
+    }
+
+    @Override
+    public ITalonSRX getTalonSRX(int deviceNumber)
+    {
+        return this.getFakeTalonSRX(deviceNumber);
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber)
+    {
+        return this.getFakeTalonFX(deviceNumber);
+    }
+
+    @Override
+    public ITalonFX getTalonFX(int deviceNumber, String canbus)
+    {
+        return this.getFakeTalonFX(deviceNumber);
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.doubleSolenoidMap.computeIfAbsent(forwardChannel, k -> new FakeDoubleSolenoid());
+    }
+
+    @Override
+    public IDoubleSolenoid getDoubleSolenoid(int module, PneumaticsModuleType moduleType, int forwardChannel, int reverseChannel)
+    {
+        return this.doubleSolenoidMap.computeIfAbsent(forwardChannel, k -> new FakeDoubleSolenoid());
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber)
+    {
+        return this.getFakeCANCoder(deviceNumber);
+    }
+
+    @Override
+    public ICANCoder getCANCoder(int deviceNumber, String canbus)
+    {
+        return this.getFakeCANCoder(deviceNumber);
+    }
+
+    @Override
+    public IJoystick getJoystick(int port)
+    {
+        return this.getFakeJoystick(port);
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution()
+    {
+        return this.powerDistribution;
+    }
+
+    @Override
+    public IPowerDistribution getPowerDistribution(int module, PowerDistributionModuleType moduleType)
+    {
+        return this.powerDistribution;
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber)
+    {
+        return this.getFakePigeon2(deviceNumber);
+    }
+
+    @Override
+    public IPigeon2 getPigeon2(int deviceNumber, String canbus)
+    {
+        return this.getFakePigeon2(deviceNumber);
+    }
+
+    @Override
+    public IAnalogInput getAnalogInput(int channel)
+    {
+        throw BenchProvider.unsupported("IAnalogInput");
+    }
+
+    @Override
+    public IDigitalInput getDigitalInput(int channel)
+    {
+        throw BenchProvider.unsupported("IDigitalInput");
+    }
+
+    @Override
+    public IDigitalOutput getDigitalOutput(int channel)
+    {
+        throw BenchProvider.unsupported("IDigitalOutput");
+    }
+
+    @Override
+    public ICounter getCounter(int channel)
+    {
+        throw BenchProvider.unsupported("ICounter");
+    }
+
+    @Override
+    public IDutyCycle getDutyCycle(int digitalInputChannel)
+    {
+        throw BenchProvider.unsupported("IDutyCycle");
+    }
+
+    @Override
+    public IVictorSPX getVictorSPX(int deviceNumber)
+    {
+        throw BenchProvider.unsupported("IVictorSPX");
+    }
+
+    @Override
+    public ISparkMax getSparkMax(int deviceID, SparkMaxMotorType motorType)
+    {
+        throw BenchProvider.unsupported("ISparkMax");
+    }
+
+    @Override
+    public ICompressor getCompressor(PneumaticsModuleType moduleType)
+    {
+        throw BenchProvider.unsupported("ICompressor");
+    }
+
+    @Override
+    public ICompressor getCompressor(int module, PneumaticsModuleType moduleType)
+    {
+        throw BenchProvider.unsupported("ICompressor");
+    }
+
+    @Override
+    public IEncoder getEncoder(int channelA, int channelB)
+    {
+        throw BenchProvider.unsupported("IEncoder");
+    }
+
+    @Override
+    public IMotor getTalon(int channel)
+    {
+        throw BenchProvider.unsupported("IMotor");
+    }
+
+    @Override
+    public IMotor getVictor(int channel)
+    {
+        throw BenchProvider.unsupported("IMotor");
+    }
+
+    @Override
+    public IServo getServo(int channel)
+    {
+        throw BenchProvider.unsupported("IServo");
+    }
+
+    @Override
+    public IRelay getRelay(int channel)
+    {
+        throw BenchProvider.unsupported("IRelay");
+    }
+
+    @Override
+    public IRelay getRelay(int channel, RelayDirection direction)
+    {
+        throw BenchProvider.unsupported("IRelay");
+    }
+
+    @Override
+    public ISolenoid getSolenoid(PneumaticsModuleType moduleType, int channel)
+    {
+        throw BenchProvider.unsupported("ISolenoid");
+    }
+
+    @Override
+    public ISolenoid getSolenoid(int module, PneumaticsModuleType moduleType, int channel)
+    {
+        throw BenchProvider.unsupported("ISolenoid");
+    }
+
+    @Override
+    public INavx getNavx()
+    {
+        throw BenchProvider.unsupported("INavx");
+    }
+
+    @Override
+    public IPigeonIMU getPigeonIMU(int deviceNumber)
+    {
+        throw BenchProvider.unsupported("IPigeonIMU");
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber)
+    {
+        throw BenchProvider.unsupported("ICANdle");
+    }
+
+    @Override
+    public ICANdle getCANdle(int deviceNumber, String canbus)
+    {
+        throw BenchProvider.unsupported("ICANdle");
+    }
+
+    @Override
+    public IVideoStream getMJPEGStream(String name, int width, int height)
+    {
+        throw BenchProvider.unsupported("IVideoStream");
+    }
+
+    @Override
+    public IUsbCamera getUsbCamera(String name, int dev)
+    {
+        throw BenchProvider.unsupported("IUsbCamera");
+    }
+
+    @Override
+    public IDriverStation getDriverStation()
+    {
+        return null;
+    }
+
+    @Override
+    public INetworkTableProvider getNetworkTableProvider()
+    {
+        return null;
+    }
+
+    @Override
+    public IPathPlanner getPathPlanner()
+    {
+        return null;
+    }
+
+    @Override
+    public IOpenCVProvider getOpenCVProvider()
+    {
+        return null;
+    }
+
+    @Override
+    public IPreferences getPreferences()
+    {
+        return null;
+    }
+
+    private static UnsupportedOperationException unsupported(String deviceType)
+    {
+        return new UnsupportedOperationException(deviceType + " is not faked by BenchProvider");
+    }
+}
@@ -0,0 +1,91 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.lib.robotprovider.CSVLogger;
+import frc.lib.robotprovider.IFileWriter;
+
+/**
+ * Benchmarks for writing a row with the CSVLogger, for the full schema of logged keys
+ */
+@State(Scope.Thread)
+public class CSVLoggerBenchmark
+{
+    private LoggingKey[] keys;
+    private CountingFileWriter fileWriter;
+    private CSVLogger logger;
+
+    private double value;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException
+    {
+        List<LoggingKey> keys = new ArrayList<LoggingKey>();
+        for (LoggingKey key : LoggingKey.values())
+        {
+            if (key.shouldLog)
+            {
+                keys.add(key);
+            }
+        }
+
+        this.keys = keys.toArray(new LoggingKey[keys.size()]);
+        this.fileWriter = new CountingFileWriter();
+        this.logger = new CSVLogger(this.fileWriter);
+        this.value = 0.0;
+    }
+
+    /**
+     * Every key changes, as on the first cycle after the LoggingManager is refreshed
+     */
+    @Benchmark
+    public long updateAllChanged()
+    {
+        this.value += 0.01;
+        for (LoggingKey key : this.keys)
+        {
+            this.logger.logNumber(key, this.value);
+        }
+
+        this.logger.update();
+        return this.fileWriter.length;
+    }
+
+    /**
+     * No key changes, so each value is carried forward from the previous row
+     */
+    @Benchmark
+    public long updateNoneChanged()
+    {
+        this.logger.update();
+        return this.fileWriter.length;
+    }
+
+    /**
+     * File writer that discards what it is given, other than keeping track of how much there was
+     */
+    private static class CountingFileWriter implements IFileWriter
+    {
+        private long length;
+
+        @Override
+        public void append(String string)
+        {
+            this.length += string.length();
+        }
+
+        @Override
+        public void flush()
+        {
+        }
+
+        @Override
+        public void close()
+        {
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package frc.robot;
+
+import frc.lib.robotprovider.ICANCoder;
+
+public class FakeCANCoder implements ICANCoder
+{
+    private double position;
+    private double velocity;
+    private double absolutePosition;
+    private int configurationHash;
+
+    public void setSensors(double position, double velocity, double absolutePosition)
+    {
+        this.position = position;
+        this.velocity = velocity;
+        this.absolutePosition = absolutePosition;
+    }
+
+    @Override
+    public double getPosition()
+    {
+        return this.position;
+    }
+
+    @Override
+    public double getVelocity()
+    {
+        return this.velocity;
+    }
+
+    @Override
+    public double getAbsolutePosition()
+    {
+        return this.absolutePosition;
+    }
+
+    @Override
+    public void setPosition(double newPosition)
+    {
+        this.position = newPosition;
+    }
+
+    @Override
+    public void configSensorDirection(boolean clockwisePositive)
+    {
+    }
+
+    @Override
+    public void configAbsoluteRange(boolean useZeroToThreeSixty)
+    {
+    }
+
+    @Override
+    public void configMagnetOffset(double offsetDegrees)
+    {
+    }
+
+    @Override
+    public int getConfigurationHash()
+    {
+        return this.configurationHash;
+    }
+
+    @Override
+    public void setConfigurationHash(int hash)
+    {
+        this.configurationHash = hash;
+    }
+
+    @Override
+    public int getConfigurationErrors()
+    {
+        return 0;
+    }
+}
@@ -0,0 +1,20 @@
+package frc.robot;
+
+import frc.lib.robotprovider.DoubleSolenoidValue;
+import frc.lib.robotprovider.IDoubleSolenoid;
+
+public class FakeDoubleSolenoid implements IDoubleSolenoid
+{
+    private DoubleSolenoidValue value = DoubleSolenoidValue.Off;
+
+    public DoubleSolenoidValue getValue()
+    {
+        return this.value;
+    }
+
+    @Override
+    public void set(DoubleSolenoidValue value)
+    {
+        this.value = value;
+    }
+}
@@ -0,0 +1,75 @@
+package frc.robot;
+
+import frc.lib.driver.IDriver;
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.robotprovider.JoystickRumbleType;
+import frc.lib.robotprovider.RobotMode;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+/**
+ * Driver that reports whatever operation values it was told to, for benchmarking mechanisms without the button map
+ */
+public class FakeDriver implements IDriver
+{
+    private final boolean[] digitalValues;
+    private final double[] analogValues;
+
+    private RobotMode currentMode;
+
+    public FakeDriver()
+    {
+        this.digitalValues = new boolean[DigitalOperation.values().length];
+        this.analogValues = new double[AnalogOperation.values().length];
+        this.currentMode = RobotMode.Teleop;
+    }
+
+    public void setDigital(DigitalOperation digitalOperation, boolean value)
+    {
+        this.digitalValues[digitalOperation.ordinal()] = value;
+    }
+
+    public void setAnalog(AnalogOperation analogOperation, double value)
+    {
+        this.analogValues[analogOperation.ordinal()] = value;
+    }
+
+    @Override
+    public RobotMode getMode()
+    {
+        return this.currentMode;
+    }
+
+    @Override
+    public void update()
+    {
+    }
+
+    @Override
+    public void stop()
+    {
+    }
+
+    @Override
+    public void startMode(RobotMode mode)
+    {
+        this.currentMode = mode;
+    }
+
+    @Override
+    public boolean getDigital(DigitalOperation digitalOperation)
+    {
+        return this.digitalValues[digitalOperation.ordinal()];
+    }
+
+    @Override
+    public double getAnalog(AnalogOperation analogOperation)
+    {
+        return this.analogValues[analogOperation.ordinal()];
+    }
+
+    @Override
+    public void setRumble(UserInputDevice device, JoystickRumbleType type, double value)
+    {
+    }
+}
@@ -0,0 +1,67 @@
+package frc.robot;
+
+import frc.lib.driver.AnalogAxis;
+import frc.lib.driver.UserInputDeviceButton;
+import frc.lib.robotprovider.IJoystick;
+import frc.lib.robotprovider.JoystickRumbleType;
+
+public class FakeJoystick implements IJoystick
+{
+    private static final int MAX_AXES = 16;
+    private static final int MAX_BUTTONS = 32;
+
+    private final double[] axes;
+    private final boolean[] buttons;
+    private int pov;
+
+    public FakeJoystick()
+    {
+        this.axes = new double[FakeJoystick.MAX_AXES];
+        this.buttons = new boolean[FakeJoystick.MAX_BUTTONS];
+        this.pov = -1;
+    }
+
+    public void setAxis(AnalogAxis axis, double value)
+    {
+        this.axes[axis.Value] = value;
+    }
+
+    public void setButton(UserInputDeviceButton button, boolean pressed)
+    {
+        this.buttons[button.Value] = pressed;
+    }
+
+    public void setPOV(int value)
+    {
+        this.pov = value;
+    }
+
+    @Override
+    public boolean isConnected()
+    {
+        return true;
+    }
+
+    @Override
+    public double getAxis(int relevantAxis)
+    {
+        return this.axes[relevantAxis];
+    }
+
+    @Override
+    public int getPOV()
+    {
+        return this.pov;
+    }
+
+    @Override
+    public boolean getRawButton(int value)
+    {
+        return this.buttons[value];
+    }
+
+    @Override
+    public void setRumble(JoystickRumbleType type, double value)
+    {
+    }
+}
@@ -0,0 +1,47 @@
+package frc.robot;
+
+import frc.lib.robotprovider.IPigeon2;
+
+public class FakePigeon2 implements IPigeon2
+{
+    private double yaw;
+    private double yawRate;
+
+    public void setSensors(double yaw, double yawRate)
+    {
+        this.yaw = yaw;
+        this.yawRate = yawRate;
+    }
+
+    @Override
+    public void getYawPitchRoll(double[] ypr_deg)
+    {
+        ypr_deg[0] = this.yaw;
+        ypr_deg[1] = 0.0;
+        ypr_deg[2] = 0.0;
+    }
+
+    @Override
+    public void getRawGyro(double[] xyz_dps)
+    {
+        xyz_dps[0] = 0.0;
+        xyz_dps[1] = 0.0;
+        xyz_dps[2] = this.yawRate;
+    }
+
+    @Override
+    public void setYaw(double angleDeg)
+    {
+        this.yaw = angleDeg;
+    }
+
+    @Override
+    public void setYPRUpdatePeriod(int timeoutMs)
+    {
+    }
+
+    @Override
+    public void setGyroUpdatePeriod(int timeoutMs)
+    {
+    }
+}
@@ -0,0 +1,56 @@
+package frc.robot;
+
+import frc.lib.robotprovider.IPowerDistribution;
+
+public class FakePowerDistribution implements IPowerDistribution
+{
+    private double batteryVoltage = 12.5;
+    private double totalCurrent = 20.0;
+
+    public void setSensors(double batteryVoltage, double totalCurrent)
+    {
+        this.batteryVoltage = batteryVoltage;
+        this.totalCurrent = totalCurrent;
+    }
+
+    @Override
+    public double getBatteryVoltage()
+    {
+        return this.batteryVoltage;
+    }
+
+    @Override
+    public double getCurrent(int channel)
+    {
+        return 0.0;
+    }
+
+    @Override
+    public double getTotalCurrent()
+    {
+        return this.totalCurrent;
+    }
+
+    @Override
+    public double getTotalEnergy()
+    {
+        return 0.0;
+    }
+
+    @Override
+    public double getTotalPower()
+    {
+        return this.batteryVoltage * this.totalCurrent;
+    }
+
+    @Override
+    public double getTemperature()
+    {
+        return 25.0;
+    }
+
+    @Override
+    public void setSwitchableChannel(boolean enabled)
+    {
+    }
+}
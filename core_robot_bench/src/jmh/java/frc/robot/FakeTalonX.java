@@ -0,0 +1,244 @@
+package frc.robot;
+
+import frc.lib.robotprovider.*;
+
+/**
+ * Talon SRX/FX which does nothing other than remember the last value it was given, and report whatever sensor values it was told to.
+ */
+public class FakeTalonX implements ITalonFX, ITalonSRX
+{
+    private static final TalonXLimitSwitchStatus LIMIT_SWITCH_STATUS = new TalonXLimitSwitchStatus(false, false);
+
+    private TalonXControlMode controlMode;
+    private double value;
+    private double position;
+    private double velocity;
+    private double error;
+    private int configurationHash;
+
+    public FakeTalonX()
+    {
+        this.controlMode = TalonXControlMode.PercentOutput;
+    }
+
+    public TalonXControlMode getControlMode()
+    {
+        return this.controlMode;
+    }
+
+    public double getValue()
+    {
+        return this.value;
+    }
+
+    public void setSensors(double position, double velocity, double error)
+    {
+        this.position = position;
+        this.velocity = velocity;
+        this.error = error;
+    }
+
+    @Override
+    public void set(double power)
+    {
+        this.value = power;
+    }
+
+    @Override
+    public void follow(ITalonSRX talonSRX)
+    {
+    }
+
+    @Override
+    public void follow(ITalonFX talonFX)
+    {
+    }
+
+    @Override
+    public void follow(IVictorSPX victorSPX)
+    {
+    }
+
+    @Override
+    public void setControlMode(TalonXControlMode mode)
+    {
+        this.controlMode = mode;
+    }
+
+    @Override
+    public void setSensorType(TalonXFeedbackDevice feedbackDevice)
+    {
+    }
+
+    @Override
+    public void setGeneralFramePeriod(int periodMS)
+    {
+    }
+
+    @Override
+    public void setFeedbackFramePeriod(int periodMS)
+    {
+    }
+
+    @Override
+    public void setPIDFFramePeriod(int periodMS)
+    {
+    }
+
+    @Override
+    public void configureVelocityMeasurements(int periodMS, int windowSize)
+    {
+    }
+
+    @Override
+    public void configureAllowableClosedloopError(int slotId, int error)
+    {
+    }
+
+    @Override
+    public void setSelectedSlot(int slotId)
+    {
+    }
+
+    @Override
+    public void setPIDF(double p, double i, double d, double f, int slotId)
+    {
+    }
+
+    @Override
+    public void setMotionMagicPIDF(double p, double i, double d, double f, double velocity, double acceleration, int slotId)
+    {
+    }
+
+    @Override
+    public void setPIDF(double p, double i, double d, double f, int izone, double closeLoopRampRate, int slotId)
+    {
+    }
+
+    @Override
+    public void setForwardLimitSwitch(boolean enabled, boolean normallyOpen)
+    {
+    }
+
+    @Override
+    public void setReverseLimitSwitch(boolean enabled, boolean normallyOpen)
+    {
+    }
+
+    @Override
+    public void setInvertOutput(boolean flip)
+    {
+    }
+
+    @Override
+    public void setInvertSensor(boolean flip)
+    {
+    }
+
+    @Override
+    public void setInvert(TalonFXInvertType invertType)
+    {
+    }
+
+    @Override
+    public void setNeutralMode(MotorNeutralMode neutralMode)
+    {
+    }
+
+    @Override
+    public void setVoltageCompensation(boolean enabled, double maxVoltage)
+    {
+    }
+
+    @Override
+    public void setSupplyCurrentLimit(boolean enabled, double currentLimit, double triggerThresholdCurrent, double triggerThresholdTime)
+    {
+    }
+
+    @Override
+    public void set(TalonXControlMode mode, double value)
+    {
+        this.controlMode = mode;
+        this.value = value;
+    }
+
+    @Override
+    public void stop()
+    {
+        this.value = 0.0;
+    }
+
+    @Override
+    public void setPosition(double position)
+    {
+        this.position = position;
+    }
+
+    @Override
+    public void reset()
+    {
+        this.position = 0.0;
+    }
+
+    @Override
+    public double getPosition()
+    {
+        return this.position;
+    }
+
+    @Override
+    public double getVelocity()
+    {
+        return this.velocity;
+    }
+
+    @Override
+    public double getError()
+    {
+        return this.error;
+    }
+
+    @Override
+    public void readStatus(MotorStatus status)
+    {
+        status.position = this.position;
+        status.velocity = this.velocity;
+        status.error = this.error;
+    }
+
+    @Override
+    public TalonXLimitSwitchStatus getLimitSwitchStatus()
+    {
+        return FakeTalonX.LIMIT_SWITCH_STATUS;
+    }
+
+    @Override
+    public long getControlRequestsSent()
+    {
+        return 0L;
+    }
+
+    @Override
+    public long getControlRequestsSuppressed()
+    {
+        return 0L;
+    }
+
+    @Override
+    public int getConfigurationHash()
+    {
+        return this.configurationHash;
+    }
+
+    @Override
+    public void setConfigurationHash(int hash)
+    {
+        this.configurationHash = hash;
+    }
+
+    @Override
+    public int getConfigurationErrors()
+    {
+        return 0;
+    }
+}
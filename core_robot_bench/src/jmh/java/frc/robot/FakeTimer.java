@@ -0,0 +1,38 @@
+package frc.robot;
+
+import frc.lib.robotprovider.ITimer;
+
+/**
+ * Timer that only moves forward when told to, so that each benchmark invocation sees the same elapsed time
+ */
+public class FakeTimer implements ITimer
+{
+    private double currentTime;
+
+    @Override
+    public void start()
+    {
+    }
+
+    @Override
+    public void stop()
+    {
+    }
+
+    @Override
+    public double get()
+    {
+        return this.currentTime;
+    }
+
+    @Override
+    public void reset()
+    {
+        this.currentTime = 0.0;
+    }
+
+    public void increment(double value)
+    {
+        this.currentTime += value;
+    }
+}
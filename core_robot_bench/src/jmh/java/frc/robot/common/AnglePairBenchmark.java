@@ -0,0 +1,48 @@
+package frc.robot.common;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.lib.helpers.AnglePair;
+
+/**
+ * Benchmark for finding the closest swerve module angle, sweeping the desired angle all the way around
+ */
+@State(Scope.Thread)
+public class AnglePairBenchmark
+{
+    private double desiredAngle;
+    private double currentAngle;
+    private AnglePair result;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.desiredAngle = -180.0;
+        this.currentAngle = 725.0;
+        this.result = new AnglePair();
+    }
+
+    @Benchmark
+    public AnglePair getClosestAngle()
+    {
+        return AnglePair.getClosestAngle(this.nextDesiredAngle(), this.currentAngle, true);
+    }
+
+    @Benchmark
+    public AnglePair getClosestAngleInPlace()
+    {
+        return AnglePair.getClosestAngle(this.nextDesiredAngle(), this.currentAngle, true, this.result);
+    }
+
+    private double nextDesiredAngle()
+    {
+        // desired angle is expected to be between -180 and 180, current angle can be any value
+        this.desiredAngle += 7.0;
+        if (this.desiredAngle > 180.0)
+        {
+            this.desiredAngle -= 360.0;
+        }
+
+        return this.desiredAngle;
+    }
+}
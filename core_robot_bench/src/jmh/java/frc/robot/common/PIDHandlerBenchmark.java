@@ -0,0 +1,48 @@
+package frc.robot.common;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.lib.controllers.PIDHandler;
+import frc.robot.FakeTimer;
+import frc.robot.TuningConstants;
+
+/**
+ * Benchmark for a positional PID calculation, using the drivetrain's omega PID tuning and a measurement that closes on the setpoint
+ */
+@State(Scope.Thread)
+public class PIDHandlerBenchmark
+{
+    private static final double LOOP_DURATION = 0.02; // in seconds
+
+    private FakeTimer timer;
+    private PIDHandler pidHandler;
+
+    private double measured;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        this.timer = new FakeTimer();
+        this.pidHandler = new PIDHandler(
+            TuningConstants.DRIVETRAIN_OMEGA_POSITION_PID_KP,
+            TuningConstants.DRIVETRAIN_OMEGA_POSITION_PID_KI,
+            TuningConstants.DRIVETRAIN_OMEGA_POSITION_PID_KD,
+            TuningConstants.DRIVETRAIN_OMEGA_POSITION_PID_KF,
+            TuningConstants.DRIVETRAIN_OMEGA_POSITION_PID_KS,
+            TuningConstants.DRIVETRAIN_OMEGA_MIN_OUTPUT,
+            TuningConstants.DRIVETRAIN_OMEGA_MAX_OUTPUT,
+            this.timer);
+
+        this.measured = 0.0;
+    }
+
+    @Benchmark
+    public double calculatePosition()
+    {
+        this.timer.increment(PIDHandlerBenchmark.LOOP_DURATION);
+
+        // wrap around so that the error never settles to zero
+        this.measured = (this.measured + 1.0) % 90.0;
+        return this.pidHandler.calculatePosition(90.0, this.measured);
+    }
+}
@@ -0,0 +1,51 @@
+package frc.robot.driver;
+
+import static org.mockito.Mockito.mock;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.google.inject.Injector;
+
+import frc.lib.driver.AnalogAxis;
+import frc.lib.driver.ControlTaskTracer;
+import frc.lib.driver.Driver;
+import frc.lib.driver.UserInputDeviceButton;
+import frc.lib.driver.descriptions.UserInputDevice;
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.robotprovider.NullLogger;
+import frc.robot.BenchProvider;
+import frc.robot.FakeJoystick;
+
+/**
+ * Benchmark for the Driver's update with the real ButtonMap, with the driver's sticks pushed and a button held down
+ */
+@State(Scope.Thread)
+public class DriverBenchmark
+{
+    private Driver driver;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchProvider provider = new BenchProvider();
+        FakeJoystick driverJoystick = provider.getFakeJoystick(UserInputDevice.Driver.getId());
+        driverJoystick.setAxis(AnalogAxis.XBONE_LSY, 0.5);
+        driverJoystick.setAxis(AnalogAxis.XBONE_LSX, -0.25);
+        driverJoystick.setAxis(AnalogAxis.XBONE_RSX, 0.75);
+        driverJoystick.setButton(UserInputDeviceButton.XBONE_RIGHT_BUTTON, true);
+
+        this.driver = new Driver(
+            new LoggingManager(new NullLogger()),
+            mock(Injector.class),
+            new ButtonMap(),
+            provider,
+            new ControlTaskTracer());
+    }
+
+    @Benchmark
+    public Driver update()
+    {
+        this.driver.update();
+        return this.driver;
+    }
+}
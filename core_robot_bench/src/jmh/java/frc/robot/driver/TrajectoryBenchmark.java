@@ -0,0 +1,104 @@
+package frc.robot.driver;
+
+import java.util.Arrays;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.acmerobotics.roadrunner.geometry.Pose2d;
+import com.acmerobotics.roadrunner.geometry.Vector2d;
+import com.acmerobotics.roadrunner.trajectory.TrajectoryBuilder;
+import com.acmerobotics.roadrunner.trajectory.constraints.*;
+
+import frc.lib.driver.RoadRunnerTrajectoryWrapper;
+import frc.lib.driver.TrajectoryManager;
+import frc.lib.helpers.Helpers;
+import frc.lib.robotprovider.ITrajectory;
+import frc.lib.robotprovider.TrajectoryState;
+import frc.robot.HardwareConstants;
+import frc.robot.TuningConstants;
+
+/**
+ * Benchmarks for looking up a trajectory by name and sampling it, as the FollowPathTask does every loop
+ */
+@State(Scope.Thread)
+public class TrajectoryBenchmark
+{
+    private static final String TRAJECTORY_NAME = "benchmarkPath";
+    private static final double LOOP_DURATION = 0.02; // in seconds
+
+    private TrajectoryManager trajectoryManager;
+    private ITrajectory trajectory;
+    private ITrajectory unbakedTrajectory;
+    private TrajectoryState state;
+
+    private double time;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        // use the same constraints as RoadRunnerTrajectoryGenerator
+        TrajectoryVelocityConstraint velocityConstraint =
+            new MinVelocityConstraint(
+                Arrays.asList(
+                    new SwerveVelocityConstraint(
+                        TuningConstants.DRIVETRAIN_MAX_MODULE_PATH_VELOCITY,
+                        HardwareConstants.DRIVETRAIN_HORIZONTAL_WHEEL_SEPERATION_DISTANCE,
+                        HardwareConstants.DRIVETRAIN_VERTICAL_WHEEL_SEPERATION_DISTANCE),
+                    new AngularVelocityConstraint(TuningConstants.DRIVETRAIN_MAX_PATH_TURN_VELOCITY * Helpers.DEGREES_TO_RADIANS),
+                    new TranslationalVelocityConstraint(TuningConstants.DRIVETRAIN_MAX_PATH_TRANSLATIONAL_VELOCITY)));
+
+        TrajectoryAccelerationConstraint accelerationConstraint =
+            new ProfileAccelerationConstraint(TuningConstants.DRIVETRAIN_MAX_PATH_TRANSLATIONAL_ACCELERATION);
+
+        this.trajectoryManager = new TrajectoryManager();
+        this.trajectoryManager.addTrajectory(
+            TrajectoryBenchmark.TRAJECTORY_NAME,
+            new TrajectoryBuilder(new Pose2d(0.0, 0.0, 0.0), 0.0, velocityConstraint, accelerationConstraint)
+                .splineTo(new Vector2d(84.0, 24.0), 0.0)
+                .splineToSplineHeading(new Pose2d(168.0, 0.0, 180.0 * Helpers.DEGREES_TO_RADIANS), 0.0),
+            true);
+
+        this.trajectory = this.trajectoryManager.getTrajectory(TrajectoryBenchmark.TRAJECTORY_NAME);
+        this.unbakedTrajectory =
+            new RoadRunnerTrajectoryWrapper(
+                new TrajectoryBuilder(new Pose2d(0.0, 0.0, 0.0), 0.0, velocityConstraint, accelerationConstraint)
+                    .splineTo(new Vector2d(84.0, 24.0), 0.0)
+                    .splineToSplineHeading(new Pose2d(168.0, 0.0, 180.0 * Helpers.DEGREES_TO_RADIANS), 0.0)
+                    .build());
+
+        this.state = new TrajectoryState();
+        this.time = 0.0;
+    }
+
+    @Benchmark
+    public ITrajectory getTrajectory()
+    {
+        return this.trajectoryManager.getTrajectory(TrajectoryBenchmark.TRAJECTORY_NAME);
+    }
+
+    @Benchmark
+    public TrajectoryState sample()
+    {
+        // sample the trajectory from the manager (baked when TRAJECTORY_BAKE is set) as the FollowPathTask does
+        this.trajectory.get(this.step(), this.state);
+        return this.state;
+    }
+
+    @Benchmark
+    public TrajectoryState sampleUnbaked()
+    {
+        return this.unbakedTrajectory.get(this.step());
+    }
+
+    private double step()
+    {
+        // step through the path one loop at a time, starting over at the end
+        this.time += TrajectoryBenchmark.LOOP_DURATION;
+        if (this.time > this.trajectory.getDuration())
+        {
+            this.time = 0.0;
+        }
+
+        return this.time;
+    }
+}
@@ -0,0 +1,111 @@
+package frc.robot.mechanisms;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.robot.TuningConstants;
+
+/**
+ * Benchmarks for the arm's inverse and forward kinematics (analytic and looked up in the ArmKinematicsTable), cycling through a fixed grid of reachable positions
+ */
+@State(Scope.Thread)
+public class ArmMechanismBenchmark
+{
+    private static final int GRID_SIZE = 16;
+
+    private double[] ikX;
+    private double[] ikZ;
+    private double[] fkLowerExtension;
+    private double[] fkUpperExtension;
+
+    private ArmKinematicsTable kinematicsTable;
+    private double[] result;
+
+    private int index;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        List<DoubleTuple> positions = new ArrayList<DoubleTuple>();
+        List<DoubleTuple> extensions = new ArrayList<DoubleTuple>();
+        for (int i = 0; i < ArmMechanismBenchmark.GRID_SIZE; i++)
+        {
+            double x = TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH +
+                (TuningConstants.ARM_MAX_IKX_EXTENSION_LENGTH - TuningConstants.ARM_MIN_IKX_EXTENSION_LENGTH) * i / (ArmMechanismBenchmark.GRID_SIZE - 1);
+            for (int j = 0; j < ArmMechanismBenchmark.GRID_SIZE; j++)
+            {
+                double z = TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT +
+                    (TuningConstants.ARM_MAX_IKZ_EXTENSION_HEIGHT - TuningConstants.ARM_MIN_IKZ_EXTENSION_HEIGHT) * j / (ArmMechanismBenchmark.GRID_SIZE - 1);
+
+                // only keep the positions that the arm can reach, so that we measure the full calculation
+                DoubleTuple extension = ArmMechanism.calculateIK(x, z);
+                if (extension != null && ArmMechanism.calculateFK(extension.first, extension.second) != null)
+                {
+                    positions.add(new DoubleTuple(x, z));
+                    extensions.add(extension);
+                }
+            }
+        }
+
+        if (positions.isEmpty())
+        {
+            throw new IllegalStateException("No reachable arm positions found");
+        }
+
+        int count = positions.size();
+        this.ikX = new double[count];
+        this.ikZ = new double[count];
+        this.fkLowerExtension = new double[count];
+        this.fkUpperExtension = new double[count];
+        for (int i = 0; i < count; i++)
+        {
+            this.ikX[i] = positions.get(i).first;
+            this.ikZ[i] = positions.get(i).second;
+            this.fkLowerExtension[i] = extensions.get(i).first;
+            this.fkUpperExtension[i] = extensions.get(i).second;
+        }
+
+        this.kinematicsTable = ArmKinematicsTable.build();
+        this.result = new double[2];
+        this.index = 0;
+    }
+
+    @Benchmark
+    public DoubleTuple calculateIK()
+    {
+        int i = this.nextIndex();
+        return ArmMechanism.calculateIK(this.ikX[i], this.ikZ[i]);
+    }
+
+    @Benchmark
+    public DoubleTuple calculateFK()
+    {
+        int i = this.nextIndex();
+        return ArmMechanism.calculateFK(this.fkLowerExtension[i], this.fkUpperExtension[i]);
+    }
+
+    @Benchmark
+    public double[] lookupIK()
+    {
+        int i = this.nextIndex();
+        this.kinematicsTable.calculateIK(this.ikX[i], this.ikZ[i], this.result);
+        return this.result;
+    }
+
+    @Benchmark
+    public double[] lookupFK()
+    {
+        int i = this.nextIndex();
+        this.kinematicsTable.calculateFK(this.fkLowerExtension[i], this.fkUpperExtension[i], this.result);
+        return this.result;
+    }
+
+    private int nextIndex()
+    {
+        int i = this.index;
+        this.index = (i + 1) % this.ikX.length;
+        return i;
+    }
+}
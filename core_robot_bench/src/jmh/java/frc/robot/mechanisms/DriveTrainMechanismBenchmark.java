@@ -0,0 +1,127 @@
+package frc.robot.mechanisms;
+
+import org.openjdk.jmh.annotations.*;
+
+import frc.lib.mechanisms.LoggingManager;
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.DeviceConfigurator;
+import frc.lib.robotprovider.NullLogger;
+import frc.lib.robotprovider.Pose2d;
+import frc.robot.*;
+import frc.robot.driver.AnalogOperation;
+import frc.robot.driver.DigitalOperation;
+
+/**
+ * Benchmarks for the drivetrain's odometry (readSensors) and swerve setpoint calculation (update), for one 20ms robot loop
+ * while driving forward and slowly turning.
+ */
+@State(Scope.Thread)
+public class DriveTrainMechanismBenchmark
+{
+    private static final double LOOP_DURATION = 0.02; // in seconds
+    private static final double DRIVE_VELOCITY = 60.0; // in inches per second
+    private static final double TURN_VELOCITY = 45.0; // in degrees per second
+
+    private static final int[] DRIVE_MOTOR_CAN_IDS =
+        new int[]
+        {
+            ElectronicsConstants.DRIVETRAIN_DRIVE_MOTOR_1_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_DRIVE_MOTOR_2_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_DRIVE_MOTOR_3_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_DRIVE_MOTOR_4_CAN_ID
+        };
+
+    private static final int[] STEER_MOTOR_CAN_IDS =
+        new int[]
+        {
+            ElectronicsConstants.DRIVETRAIN_STEER_MOTOR_1_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_STEER_MOTOR_2_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_STEER_MOTOR_3_CAN_ID,
+            ElectronicsConstants.DRIVETRAIN_STEER_MOTOR_4_CAN_ID
+        };
+
+    private FakeTimer timer;
+    private FakeDriver driver;
+    private FakePigeon2 pigeon;
+    private FakeTalonX[] driveMotors;
+    private FakeTalonX[] steerMotors;
+
+    private PigeonManager pigeonManager;
+    private DriveTrainMechanism driveTrain;
+    private Pose2d pose;
+
+    private double drivePosition;
+    private double yaw;
+
+    @Setup(Level.Trial)
+    public void setup()
+    {
+        BenchProvider provider = new BenchProvider();
+        this.timer = new FakeTimer();
+        this.driver = new FakeDriver();
+        this.pigeon = provider.getFakePigeon2(ElectronicsConstants.PIGEON_IMU_CAN_ID);
+
+        this.driveMotors = new FakeTalonX[DriveTrainMechanismBenchmark.DRIVE_MOTOR_CAN_IDS.length];
+        this.steerMotors = new FakeTalonX[DriveTrainMechanismBenchmark.STEER_MOTOR_CAN_IDS.length];
+        for (int i = 0; i < this.driveMotors.length; i++)
+        {
+            this.driveMotors[i] = provider.getFakeTalonFX(DriveTrainMechanismBenchmark.DRIVE_MOTOR_CAN_IDS[i]);
+            this.steerMotors[i] = provider.getFakeTalonFX(DriveTrainMechanismBenchmark.STEER_MOTOR_CAN_IDS[i]);
+        }
+
+        LoggingManager logger = new LoggingManager(new NullLogger());
+        this.pigeonManager = new PigeonManager(this.driver, logger, provider);
+        PowerManager powerManager = new PowerManager(this.driver, this.timer, logger, provider);
+        this.driveTrain = new DriveTrainMechanism(this.driver, logger, provider, this.pigeonManager, powerManager, new MotorStatusCache(this.timer, false), new DeviceConfigurator(0), this.timer);
+        this.pose = new Pose2d(0.0, 0.0, 0.0);
+
+        // drive forward and to the right while turning
+        this.driver.setAnalog(AnalogOperation.DriveTrainMoveForward, 0.5);
+        this.driver.setAnalog(AnalogOperation.DriveTrainMoveRight, 0.25);
+        this.driver.setAnalog(AnalogOperation.DriveTrainTurnAngleGoal, 90.0);
+        this.driver.setDigital(DigitalOperation.DriveTrainEnableFieldOrientation, true);
+
+        this.drivePosition = 0.0;
+        this.yaw = 0.0;
+
+        // get past the first run, which resets the drivetrain's state
+        this.readSensors();
+        this.driveTrain.update();
+    }
+
+    @Benchmark
+    public Pose2d odometry()
+    {
+        this.readSensors();
+        return this.driveTrain.getPose(this.pose);
+    }
+
+    @Benchmark
+    public DriveTrainMechanism setpoints()
+    {
+        this.timer.increment(DriveTrainMechanismBenchmark.LOOP_DURATION);
+        this.driveTrain.update();
+        return this.driveTrain;
+    }
+
+    /**
+     * Simulate one loop's worth of movement, and read it into the pigeon manager and drivetrain
+     */
+    private void readSensors()
+    {
+        double driveVelocity = DriveTrainMechanismBenchmark.DRIVE_VELOCITY * HardwareConstants.DRIVETRAIN_DRIVE_INCHES_PER_SECOND_TO_MOTOR_VELOCITY;
+        this.drivePosition += DriveTrainMechanismBenchmark.DRIVE_VELOCITY * DriveTrainMechanismBenchmark.LOOP_DURATION * HardwareConstants.DRIVETRAIN_DRIVE_TICKS_PER_INCH;
+        this.yaw += DriveTrainMechanismBenchmark.TURN_VELOCITY * DriveTrainMechanismBenchmark.LOOP_DURATION;
+        for (int i = 0; i < this.driveMotors.length; i++)
+        {
+            this.driveMotors[i].setSensors(this.drivePosition, driveVelocity, 0.0);
+            this.steerMotors[i].setSensors(0.0, 0.0, 0.0);
+        }
+
+        this.pigeon.setSensors(this.yaw, DriveTrainMechanismBenchmark.TURN_VELOCITY);
+        this.timer.increment(DriveTrainMechanismBenchmark.LOOP_DURATION);
+
+        this.pigeonManager.readSensors();
+        this.driveTrain.readSensors();
+    }
+}
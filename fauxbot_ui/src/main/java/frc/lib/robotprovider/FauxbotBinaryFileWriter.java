@@ -0,0 +1,20 @@
+package frc.lib.robotprovider;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+public class FauxbotBinaryFileWriter implements IBinaryFileWriter
+{
+    public FauxbotBinaryFileWriter()
+    {
+    }
+
+    public void write(ByteBuffer buffer) throws IOException
+    {
+        buffer.position(buffer.limit());
+    }
+
+    public void flush() throws IOException
+    {
+    }
+}
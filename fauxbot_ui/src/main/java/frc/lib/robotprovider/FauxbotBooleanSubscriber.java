@@ -0,0 +1,26 @@
+package frc.lib.robotprovider;
+
+/**
+ * Subscriber for a value that is never published, so it always has its default value
+ */
+public class FauxbotBooleanSubscriber implements IBooleanSubscriber
+{
+    private final boolean defaultValue;
+
+    public FauxbotBooleanSubscriber(boolean defaultValue)
+    {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public boolean get()
+    {
+        return this.defaultValue;
+    }
+
+    @Override
+    public boolean get(boolean defaultValue)
+    {
+        return defaultValue;
+    }
+}
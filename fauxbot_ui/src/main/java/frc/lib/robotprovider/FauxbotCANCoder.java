@@ -9,6 +9,7 @@ public class FauxbotCANCoder extends FauxbotSensorBase implements ICANCoder
     private final DoubleProperty rateProperty;
     private final FauxbotTimer timer;
     private double prevTime;
+    private int configurationHash;
 
     public FauxbotCANCoder(int deviceNumber)
     {
@@ -18,7 +19,8 @@ public class FauxbotCANCoder extends FauxbotSensorBase implements ICANCoder
         this.timer.start();
         this.prevTime = this.timer.get();
 
-        FauxbotSensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, deviceNumber), this);
+        // (CANCoders have their own CAN ids, separate from those of the motor controllers and their integrated sensors)
+        FauxbotSensorManager.set(new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CANCoder, deviceNumber), this);
     }
 
     FauxbotCANCoder(FauxbotSensorConnection connection)
@@ -70,6 +72,21 @@ public class FauxbotCANCoder extends FauxbotSensorBase implements ICANCoder
     {
     }
 
+    public int getConfigurationHash()
+    {
+        return this.configurationHash;
+    }
+
+    public void setConfigurationHash(int hash)
+    {
+        this.configurationHash = hash;
+    }
+
+    public int getConfigurationErrors()
+    {
+        return 0;
+    }
+
     public DoubleProperty getProperty()
     {
         return this.valueProperty;
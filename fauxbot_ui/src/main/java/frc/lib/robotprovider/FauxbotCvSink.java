@@ -0,0 +1,28 @@
+package frc.lib.robotprovider;
+
+public class FauxbotCvSink implements ICvSink
+{
+    public FauxbotCvSink()
+    {
+    }
+
+    public long grabFrame(IMat image, double timeout)
+    {
+        // there's no camera, so time out without a frame
+        try
+        {
+            Thread.sleep((long)(timeout * 1000.0));
+        }
+        catch (InterruptedException e)
+        {
+            Thread.currentThread().interrupt();
+        }
+
+        return 0L;
+    }
+
+    public String getError()
+    {
+        return "no camera";
+    }
+}
@@ -0,0 +1,26 @@
+package frc.lib.robotprovider;
+
+/**
+ * Subscriber for a value that is never published, so it always has its default value
+ */
+public class FauxbotDoubleSubscriber implements IDoubleSubscriber
+{
+    private final double defaultValue;
+
+    public FauxbotDoubleSubscriber(double defaultValue)
+    {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public double get()
+    {
+        return this.defaultValue;
+    }
+
+    @Override
+    public double get(double defaultValue)
+    {
+        return defaultValue;
+    }
+}
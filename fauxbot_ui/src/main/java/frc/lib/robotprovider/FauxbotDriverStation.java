@@ -5,10 +5,12 @@ public class FauxbotDriverStation implements IDriverStation
     public static FauxbotDriverStation Instance = new FauxbotDriverStation();
 
     private RobotMode currentMode;
+    private Alliance alliance;
 
     private FauxbotDriverStation()
     {
         this.currentMode = RobotMode.Disabled;
+        this.alliance = Alliance.Invalid;
     }
 
     @Override
@@ -20,7 +22,7 @@ public class FauxbotDriverStation implements IDriverStation
     @Override
     public Alliance getAlliance()
     {
-        return Alliance.Invalid;
+        return this.alliance;
     }
 
     @Override
@@ -69,4 +71,9 @@ public class FauxbotDriverStation implements IDriverStation
     {
         this.currentMode = mode;
     }
+
+    public void setAlliance(Alliance alliance)
+    {
+        this.alliance = alliance;
+    }
 }
\ No newline at end of file
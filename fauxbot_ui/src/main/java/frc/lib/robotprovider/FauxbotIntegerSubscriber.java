@@ -0,0 +1,26 @@
+package frc.lib.robotprovider;
+
+/**
+ * Subscriber for a value that is never published, so it always has its default value
+ */
+public class FauxbotIntegerSubscriber implements IIntegerSubscriber
+{
+    private final long defaultValue;
+
+    public FauxbotIntegerSubscriber(long defaultValue)
+    {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public long get()
+    {
+        return this.defaultValue;
+    }
+
+    @Override
+    public long get(long defaultValue)
+    {
+        return defaultValue;
+    }
+}
@@ -1,7 +1,15 @@
 package frc.lib.robotprovider;
 
+import java.util.HashMap;
+
 public class FauxbotNetworkTableProvider implements INetworkTableProvider
 {
+    // choosers are shared between each of the providers, as a new provider is created each time one is requested
+    private static final HashMap<String, FauxbotSendableChooser<?>> choosers = new HashMap<String, FauxbotSendableChooser<?>>();
+
+    // likewise for the double array topics, so that the simulation can publish to them
+    private static final HashMap<String, LocalDoubleArrayTopic> doubleArrayTopics = new HashMap<String, LocalDoubleArrayTopic>();
+
     @Override
     public void startShuffleboardRecording()
     {
@@ -15,7 +23,7 @@ public class FauxbotNetworkTableProvider implements INetworkTableProvider
     @Override
     public IDoubleSubscriber getNumberSlider(String title, double initialValue)
     {
-        return null;
+        return new FauxbotDoubleSubscriber(initialValue);
     }
 
     /**
@@ -24,6 +32,27 @@ public class FauxbotNetworkTableProvider implements INetworkTableProvider
     @Override
     public <V> void addChooser(String name, ISendableChooser<V> chooser)
     {
+        synchronized (FauxbotNetworkTableProvider.choosers)
+        {
+            FauxbotNetworkTableProvider.choosers.put(name, (FauxbotSendableChooser<V>)chooser);
+        }
+    }
+
+    /**
+     * Select an option on one of the choosers that has been added to the smart dashboard
+     * @param chooserName name of the chooser
+     * @param optionName name of the option to select
+     * @return true if the chooser and option exist, otherwise false
+     */
+    public static boolean selectChooserOption(String chooserName, String optionName)
+    {
+        FauxbotSendableChooser<?> chooser;
+        synchronized (FauxbotNetworkTableProvider.choosers)
+        {
+            chooser = FauxbotNetworkTableProvider.choosers.get(chooserName);
+        }
+
+        return chooser != null && chooser.select(optionName);
     }
 
     @Override
@@ -35,48 +64,86 @@ public class FauxbotNetworkTableProvider implements INetworkTableProvider
     @Override
     public IDoubleSubscriber getDoubleSubscriber(String key)
     {
-        return null;
+        return new FauxbotDoubleSubscriber(0.0);
     }
 
     @Override
     public IDoubleSubscriber getDoubleSubscriber(String key, double defaultValue)
     {
-        return null;
+        return new FauxbotDoubleSubscriber(defaultValue);
     }
 
     @Override
     public IBooleanSubscriber getBooleanSubscriber(String key)
     {
-        return null;
+        return new FauxbotBooleanSubscriber(false);
     }
 
     @Override
     public IBooleanSubscriber getBooleanSubscriber(String key, boolean defaultValue)
     {
-        return null;
+        return new FauxbotBooleanSubscriber(defaultValue);
     }
 
     @Override
     public IIntegerSubscriber getIntegerSubscriber(String key)
     {
-        return null;
+        return new FauxbotIntegerSubscriber(0);
     }
 
     @Override
     public IIntegerSubscriber getIntegerSubscriber(String key, int defaultVAlue)
     {
-        return null;
+        return new FauxbotIntegerSubscriber(defaultVAlue);
     }
 
     @Override
     public IStringSubscriber getStringSubscriber(String key)
     {
-        return null;
+        return new FauxbotStringSubscriber(null);
     }
 
     @Override
     public IStringSubscriber getStringSubscriber(String key, String defaultValue)
     {
-        return null;
+        return new FauxbotStringSubscriber(defaultValue);
+    }
+
+    @Override
+    public IDoubleArraySubscriber getDoubleArraySubscriber(String key, int queueSize)
+    {
+        synchronized (FauxbotNetworkTableProvider.doubleArrayTopics)
+        {
+            return FauxbotNetworkTableProvider.doubleArrayTopics.computeIfAbsent(key, k -> new LocalDoubleArrayTopic(queueSize));
+        }
+    }
+
+    /**
+     * Publish a value to one of the double array topics (a la a coprocessor)
+     * @param key of the topic
+     * @param value to publish
+     * @return true if the topic has been subscribed to, otherwise false
+     */
+    public static boolean publishDoubleArray(String key, double[] value)
+    {
+        LocalDoubleArrayTopic topic;
+        synchronized (FauxbotNetworkTableProvider.doubleArrayTopics)
+        {
+            topic = FauxbotNetworkTableProvider.doubleArrayTopics.get(key);
+        }
+
+        if (topic == null)
+        {
+            return false;
+        }
+
+        topic.publish(value);
+        return true;
+    }
+
+    @Override
+    public long getNetworkTime()
+    {
+        return (long)(FauxbotTimer.getCurrentTime() * 1000000.0);
     }
 }
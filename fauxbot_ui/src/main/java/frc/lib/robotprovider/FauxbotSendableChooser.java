@@ -1,24 +1,57 @@
 package frc.lib.robotprovider;
 
+import java.util.LinkedHashMap;
+
 public class FauxbotSendableChooser<V> implements ISendableChooser<V>
 {
+    private final LinkedHashMap<String, V> options;
+
+    private V defaultOption;
+    private V selectedOption;
+
     public FauxbotSendableChooser()
     {
+        this.options = new LinkedHashMap<String, V>();
     }
 
     @Override
     public void addDefault(String name, V object)
     {
+        this.options.put(name, object);
+        this.defaultOption = object;
     }
 
     @Override
     public void addObject(String name, V object)
     {
+        this.options.put(name, object);
     }
 
     @Override
     public V getSelected()
     {
-        return (V)null;
+        if (this.selectedOption != null)
+        {
+            return this.selectedOption;
+        }
+
+        return this.defaultOption;
+    }
+
+    /**
+     * Select one of the options, as if it had been picked on the smart dashboard
+     * @param name of the option to select
+     * @return true if there was an option with that name, otherwise false
+     */
+    public boolean select(String name)
+    {
+        V option = this.options.get(name);
+        if (option == null)
+        {
+            return false;
+        }
+
+        this.selectedOption = option;
+        return true;
     }
 }
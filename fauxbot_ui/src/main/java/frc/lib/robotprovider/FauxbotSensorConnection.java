@@ -7,6 +7,7 @@ public class FauxbotSensorConnection
         DigitalInput,
         AnalogInput,
         CAN,
+        CANCoder,
         NavX;
     }
 
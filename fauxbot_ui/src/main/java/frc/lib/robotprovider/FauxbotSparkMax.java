@@ -161,6 +161,13 @@ public class FauxbotSparkMax extends FauxbotAdvancedMotorBase implements ISparkM
         return 0.0;
     }
 
+    public void readStatus(MotorStatus status)
+    {
+        status.position = this.getPosition();
+        status.velocity = this.getVelocity();
+        status.error = this.getError();
+    }
+
     public boolean getForwardLimitSwitchStatus()
     {
         return false;
@@ -171,6 +178,16 @@ public class FauxbotSparkMax extends FauxbotAdvancedMotorBase implements ISparkM
         return false;
     }
 
+    public long getControlRequestsSent()
+    {
+        return 0L;
+    }
+
+    public long getControlRequestsSuppressed()
+    {
+        return 0L;
+    }
+
     private void resetPID()
     {
         if (this.currentMode == SparkMaxControlMode.Position ||
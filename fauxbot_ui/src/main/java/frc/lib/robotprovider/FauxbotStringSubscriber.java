@@ -0,0 +1,26 @@
+package frc.lib.robotprovider;
+
+/**
+ * Subscriber for a value that is never published, so it always has its default value
+ */
+public class FauxbotStringSubscriber implements IStringSubscriber
+{
+    private final String defaultValue;
+
+    public FauxbotStringSubscriber(String defaultValue)
+    {
+        this.defaultValue = defaultValue;
+    }
+
+    @Override
+    public String get()
+    {
+        return this.defaultValue;
+    }
+
+    @Override
+    public String get(String defaultValue)
+    {
+        return defaultValue;
+    }
+}
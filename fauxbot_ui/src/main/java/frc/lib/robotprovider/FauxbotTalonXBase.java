@@ -16,6 +16,8 @@ public abstract class FauxbotTalonXBase extends FauxbotAdvancedMotorBase
     private double kd;
     private double kf;
 
+    private int configurationHash;
+
     FauxbotTalonXBase(int deviceNumber, IRealWorldSimulator simulator)
     {
         super(deviceNumber);
@@ -184,11 +186,43 @@ public abstract class FauxbotTalonXBase extends FauxbotAdvancedMotorBase
         return 0.0;
     }
 
+    public void readStatus(MotorStatus status)
+    {
+        status.position = this.getPosition();
+        status.velocity = this.getVelocity();
+        status.error = this.getError();
+    }
+
     public TalonXLimitSwitchStatus getLimitSwitchStatus()
     {
         return new TalonXLimitSwitchStatus(false, false);
     }
 
+    public long getControlRequestsSent()
+    {
+        return 0L;
+    }
+
+    public long getControlRequestsSuppressed()
+    {
+        return 0L;
+    }
+
+    public int getConfigurationHash()
+    {
+        return this.configurationHash;
+    }
+
+    public void setConfigurationHash(int hash)
+    {
+        this.configurationHash = hash;
+    }
+
+    public int getConfigurationErrors()
+    {
+        return 0;
+    }
+
     private void resetPID()
     {
         if (this.simulator.shouldSimulatePID() &&
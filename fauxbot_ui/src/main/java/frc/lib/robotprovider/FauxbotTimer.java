@@ -2,10 +2,16 @@ package frc.lib.robotprovider;
 
 import javax.inject.Singleton;
 import java.util.Calendar;
+import java.util.concurrent.atomic.AtomicLong;
 
 @Singleton
 public class FauxbotTimer implements ITimer
 {
+    // when using virtual time, time only moves forward when advanced (e.g. by the headless runner) instead of following the wall clock.
+    // (kept in whole nanoseconds so that advancing it is atomic, and adding up the same steps always gives the same time)
+    private static volatile boolean useVirtualTime = false;
+    private static final AtomicLong virtualTimeNanos = new AtomicLong(0L);
+
     private boolean isRunning;
     private double startTime;
     private double accumulatedTime;
@@ -19,7 +25,7 @@ public class FauxbotTimer implements ITimer
     public void start()
     {
         this.isRunning = true;
-        this.startTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        this.startTime = FauxbotTimer.getCurrentTime();
     }
 
     public double get()
@@ -29,7 +35,7 @@ public class FauxbotTimer implements ITimer
             return this.accumulatedTime;
         }
 
-        double currentTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        double currentTime = FauxbotTimer.getCurrentTime();
         return this.accumulatedTime + (currentTime - this.startTime);
     }
 
@@ -42,6 +48,38 @@ public class FauxbotTimer implements ITimer
     public void reset()
     {
         this.accumulatedTime = 0.0;
-        this.startTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        this.startTime = FauxbotTimer.getCurrentTime();
+    }
+
+    /**
+     * Switch every FauxbotTimer over to virtual time, which starts at 0 and only moves forward when advanced
+     */
+    public static void useVirtualTime()
+    {
+        FauxbotTimer.virtualTimeNanos.set(0L);
+        FauxbotTimer.useVirtualTime = true;
+    }
+
+    /**
+     * Move virtual time forward
+     * @param seconds to advance by
+     */
+    public static void advanceVirtualTime(double seconds)
+    {
+        FauxbotTimer.virtualTimeNanos.addAndGet(Math.round(seconds * 1000000000.0));
+    }
+
+    /**
+     * Get the current time that the fauxbot should use (either the wall clock time or the virtual time)
+     * @return current time in seconds
+     */
+    public static double getCurrentTime()
+    {
+        if (FauxbotTimer.useVirtualTime)
+        {
+            return FauxbotTimer.virtualTimeNanos.get() / 1000000000.0;
+        }
+
+        return Calendar.getInstance().getTime().getTime() / 1000.0;
     }
 }
@@ -32,4 +32,9 @@ public class FauxbotUsbCamera implements IUsbCamera
     {
         return new Thread();
     }
+
+    public ICvSink createCvSink()
+    {
+        return new FauxbotCvSink();
+    }
 }
\ No newline at end of file
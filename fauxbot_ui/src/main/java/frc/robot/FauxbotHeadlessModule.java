@@ -0,0 +1,63 @@
+package frc.robot;
+
+import javax.inject.Singleton;
+
+import frc.lib.mechanisms.MechanismManager;
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.*;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provides;
+import com.google.inject.util.Modules;
+
+/**
+ * Module for running the robot against the simulator without the UI (see FauxbotHeadlessRunner).  Virtual time only
+ * moves forward between loops, so nothing may run on a background thread that follows its own clock: the devices are
+ * read directly (which also keeps the drivetrain from starting its odometry thread) and the mechanisms are read in
+ * order, so that every run with the same arguments behaves exactly the same.
+ */
+public class FauxbotHeadlessModule extends AbstractModule
+{
+    private final FauxbotModule module;
+
+    public FauxbotHeadlessModule(FauxbotModule module)
+    {
+        this.module = module;
+    }
+
+    @Override
+    protected void configure()
+    {
+        this.install(Modules.override(this.module).with(new Overrides()));
+    }
+
+    private static class Overrides extends AbstractModule
+    {
+        @Override
+        protected void configure()
+        {
+        }
+
+        @Singleton
+        @Provides
+        public MotorStatusCache getMotorStatusCache(ITimer timer)
+        {
+            return new MotorStatusCache(timer, false);
+        }
+
+        @Singleton
+        @Provides
+        public DeviceConfigurator getDeviceConfigurator()
+        {
+            return new DeviceConfigurator(0);
+        }
+
+        @Singleton
+        @Provides
+        public MechanismManager getMechanismManager(Injector injector)
+        {
+            return new MechanismManager(SettingsManager.getActiveMechanisms(injector), 0);
+        }
+    }
+}
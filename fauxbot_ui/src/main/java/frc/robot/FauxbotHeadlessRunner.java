@@ -0,0 +1,216 @@
+package frc.robot;
+
+import frc.lib.CoreRobot;
+import frc.lib.robotprovider.*;
+import frc.robot.mechanisms.ArmMechanism;
+import frc.robot.mechanisms.DriveTrainMechanism;
+
+/**
+ * Runs the robot against the simulator without the UI, using virtual time that advances a fixed amount each loop.
+ * Each loop runs back-to-back, so e.g. a 15-second autonomous routine completes in a fraction of a second.  Nothing
+ * runs on a background thread that follows its own clock (see FauxbotHeadlessModule), so every run with the same
+ * arguments ends up in exactly the same place.
+ *
+ * Usage: FauxbotHeadlessRunner [--mode Autonomous|Teleop|Test] [--seconds 15] [--routine "Auto Routine option"]
+ *     [--position "Start Position option"] [--alliance Red|Blue]
+ */
+public class FauxbotHeadlessRunner
+{
+    // prefix of the lines describing where the run ended up, which are the same for every run with the same arguments
+    public static final String ENDING_PREFIX = "Ending ";
+
+    private final CoreRobot<FauxbotHeadlessModule> robot;
+    private final IRealWorldSimulator simulator;
+
+    public FauxbotHeadlessRunner(FauxbotModule module)
+    {
+        // virtual time needs to be in place before any timers are started
+        FauxbotTimer.useVirtualTime();
+
+        this.robot = new CoreRobot<FauxbotHeadlessModule>(new FauxbotHeadlessModule(module));
+        this.simulator = this.robot.getInjector().getInstance(IRealWorldSimulator.class);
+        this.robot.robotInit();
+
+        // don't let the arm switch from the analytical kinematics to the table part-way through the run
+        this.robot.getInjector().getInstance(ArmMechanism.class).awaitKinematicsTable();
+    }
+
+    /**
+     * Run the robot in the provided mode for the provided number of loops, and then disable it
+     * @param mode to run in
+     * @param loops number of robot loops to run
+     */
+    public void run(RobotMode mode, int loops)
+    {
+        FauxbotDriverStation.Instance.setMode(mode);
+        switch (mode)
+        {
+            case Autonomous:
+                this.robot.autonomousInit();
+                break;
+
+            case Teleop:
+                this.robot.teleopInit();
+                break;
+
+            case Test:
+                this.robot.testInit();
+                break;
+
+            default:
+                throw new IllegalArgumentException("Unsupported mode " + mode.toString());
+        }
+
+        for (int i = 0; i < loops; i++)
+        {
+            switch (mode)
+            {
+                case Autonomous:
+                    this.robot.autonomousPeriodic();
+                    break;
+
+                case Teleop:
+                    this.robot.teleopPeriodic();
+                    break;
+
+                default:
+                    this.robot.testPeriodic();
+                    break;
+            }
+
+            this.simulator.update();
+            FauxbotTimer.advanceVirtualTime(TuningConstants.LOOP_DURATION);
+        }
+
+        FauxbotDriverStation.Instance.setMode(RobotMode.Disabled);
+        this.robot.disabledInit();
+    }
+
+    public CoreRobot<FauxbotHeadlessModule> getRobot()
+    {
+        return this.robot;
+    }
+
+    /**
+     * Describe the current values of the simulator's sensors
+     * @return the name and value of each sensor, at full precision
+     */
+    public String describeSensors()
+    {
+        StringBuilder builder = new StringBuilder();
+        for (FauxbotSensorConnection connection : this.simulator.getSensors())
+        {
+            FauxbotSensorBase sensor = FauxbotSensorManager.get(connection);
+            double value;
+            if (sensor instanceof FauxbotEncoder)
+            {
+                value = ((FauxbotEncoder)sensor).getDistance();
+            }
+            else if (sensor instanceof FauxbotAnalogInput)
+            {
+                value = ((FauxbotAnalogInput)sensor).getProperty().get();
+            }
+            else if (sensor instanceof FauxbotNavx)
+            {
+                value = ((FauxbotNavx)sensor).getProperty().get();
+            }
+            else
+            {
+                continue;
+            }
+
+            if (builder.length() > 0)
+            {
+                builder.append(", ");
+            }
+
+            builder.append(this.simulator.getSensorName(connection)).append('=').append(value);
+        }
+
+        return builder.toString();
+    }
+
+    public static void main(String[] args)
+    {
+        RobotMode mode = RobotMode.Autonomous;
+        double seconds = 15.0;
+        String routine = null;
+        String position = null;
+        Alliance alliance = null;
+        for (int i = 0; i + 1 < args.length; i += 2)
+        {
+            String value = args[i + 1];
+            switch (args[i])
+            {
+                case "--mode":
+                    mode = RobotMode.valueOf(value);
+                    break;
+
+                case "--seconds":
+                    seconds = Double.parseDouble(value);
+                    break;
+
+                case "--routine":
+                    routine = value;
+                    break;
+
+                case "--position":
+                    position = value;
+                    break;
+
+                case "--alliance":
+                    alliance = Alliance.valueOf(value);
+                    break;
+
+                default:
+                    System.err.println("Unknown argument " + args[i]);
+                    System.exit(2);
+            }
+        }
+
+        // throw exceptions in our simulation if there's anything unexpected...
+        TuningConstants.THROW_EXCEPTIONS = true;
+
+        long startTime = System.nanoTime();
+        FauxbotHeadlessRunner runner = new FauxbotHeadlessRunner(new RobotFauxbotModule());
+
+        // the choosers are added to the smart dashboard while the robot is initialized
+        if (routine != null && !FauxbotNetworkTableProvider.selectChooserOption("Auto Routine", routine))
+        {
+            System.err.println("Unknown routine " + routine);
+            System.exit(2);
+        }
+
+        if (position != null && !FauxbotNetworkTableProvider.selectChooserOption("Start Position", position))
+        {
+            System.err.println("Unknown position " + position);
+            System.exit(2);
+        }
+
+        if (alliance != null)
+        {
+            FauxbotDriverStation.Instance.setAlliance(alliance);
+        }
+
+        int loops = (int)Math.round(seconds / TuningConstants.LOOP_DURATION);
+        runner.run(mode, loops);
+
+        double elapsedSeconds = (System.nanoTime() - startTime) / 1000000000.0;
+        Pose2d pose = runner.getRobot().getInjector().getInstance(DriveTrainMechanism.class).getPose();
+        System.out.println(
+            String.format(
+                "Ran %s for %d loops (%.2fs) in %.2fs (%.0fx real time)",
+                mode.toString(),
+                loops,
+                loops * TuningConstants.LOOP_DURATION,
+                elapsedSeconds,
+                loops * TuningConstants.LOOP_DURATION / elapsedSeconds));
+
+        // (at full precision, so that runs can be compared exactly)
+        System.out.println(FauxbotHeadlessRunner.ENDING_PREFIX + "at x=" + pose.x + ", y=" + pose.y + ", angle=" + pose.angle);
+        System.out.println(FauxbotHeadlessRunner.ENDING_PREFIX + "with " + runner.describeSensors());
+
+        // the logger and mechanism worker threads are daemons, but make sure that we don't wait around for anything
+        System.exit(0);
+    }
+}
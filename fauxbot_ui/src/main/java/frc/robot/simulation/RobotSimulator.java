@@ -1,6 +1,5 @@
 package frc.robot.simulation;
 
-import java.util.Calendar;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -15,22 +14,22 @@ import javafx.scene.canvas.Canvas;
 @Singleton
 public class RobotSimulator implements IRealWorldSimulator
 {
-    private static final FauxbotActuatorConnection AngleMotor1Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 1);
-    private static final FauxbotActuatorConnection DriveMotor1Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 2);
-    private static final FauxbotSensorConnection AngleEncoder1Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 1);
-    private static final FauxbotSensorConnection DriveEncoder1Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 2);
-    private static final FauxbotActuatorConnection AngleMotor2Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 3);
-    private static final FauxbotActuatorConnection DriveMotor2Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 4);
-    private static final FauxbotSensorConnection AngleEncoder2Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 3);
-    private static final FauxbotSensorConnection DriveEncoder2Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 4);
-    private static final FauxbotActuatorConnection AngleMotor3Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 5);
-    private static final FauxbotActuatorConnection DriveMotor3Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 6);
-    private static final FauxbotSensorConnection AngleEncoder3Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 5);
-    private static final FauxbotSensorConnection DriveEncoder3Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 6);
-    private static final FauxbotActuatorConnection AngleMotor4Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 7);
-    private static final FauxbotActuatorConnection DriveMotor4Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 8);
-    private static final FauxbotSensorConnection AngleEncoder4Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 7);
-    private static final FauxbotSensorConnection DriveEncoder4Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 8);
+    private static final FauxbotActuatorConnection AngleMotor1Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 2);
+    private static final FauxbotActuatorConnection DriveMotor1Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 1);
+    private static final FauxbotSensorConnection AngleEncoder1Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 2);
+    private static final FauxbotSensorConnection DriveEncoder1Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 1);
+    private static final FauxbotActuatorConnection AngleMotor2Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 4);
+    private static final FauxbotActuatorConnection DriveMotor2Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 3);
+    private static final FauxbotSensorConnection AngleEncoder2Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 4);
+    private static final FauxbotSensorConnection DriveEncoder2Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 3);
+    private static final FauxbotActuatorConnection AngleMotor3Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 6);
+    private static final FauxbotActuatorConnection DriveMotor3Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 5);
+    private static final FauxbotSensorConnection AngleEncoder3Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 6);
+    private static final FauxbotSensorConnection DriveEncoder3Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 5);
+    private static final FauxbotActuatorConnection AngleMotor4Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 8);
+    private static final FauxbotActuatorConnection DriveMotor4Connection = new FauxbotActuatorConnection(FauxbotActuatorConnection.ActuatorConnector.CAN, 7);
+    private static final FauxbotSensorConnection AngleEncoder4Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 8);
+    private static final FauxbotSensorConnection DriveEncoder4Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.CAN, 7);
 
     private static final FauxbotSensorConnection AbsoluteEncoder1Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.AnalogInput, 0);
     private static final FauxbotSensorConnection AbsoluteEncoder2Connection = new FauxbotSensorConnection(FauxbotSensorConnection.SensorConnector.AnalogInput, 1);
@@ -297,7 +296,7 @@ public class RobotSimulator implements IRealWorldSimulator
     @Override
     public void update()
     {
-        double currTime = Calendar.getInstance().getTime().getTime() / 1000.0;
+        double currTime = FauxbotTimer.getCurrentTime();
         double dt = currTime - this.prevTime;
         for (int i = 0; i < 4; i++)
         {
@@ -0,0 +1,101 @@
+package frc.robot;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class FauxbotHeadlessRunnerTests
+{
+    private static final long TIMEOUT_SECONDS = 120L;
+
+    @Test
+    public void verifyAutonomousRunIsReproducible() throws IOException, InterruptedException
+    {
+        // the simulated devices register themselves statically, so each run needs its own JVM
+        String[] args = new String[] { "--mode", "Autonomous", "--seconds", "15", "--routine", "Charge", "--position", "middle" };
+        List<String> first = FauxbotHeadlessRunnerTests.runHeadless(args);
+        List<String> second = FauxbotHeadlessRunnerTests.runHeadless(args);
+        Assertions.assertEquals(first, second);
+    }
+
+    @Test
+    public void verifyTeleopRunIsReproducible() throws IOException, InterruptedException
+    {
+        String[] args = new String[] { "--mode", "Teleop", "--seconds", "5" };
+        List<String> first = FauxbotHeadlessRunnerTests.runHeadless(args);
+        List<String> second = FauxbotHeadlessRunnerTests.runHeadless(args);
+        Assertions.assertEquals(first, second);
+    }
+
+    /**
+     * Run the FauxbotHeadlessRunner in a separate process
+     * @param args for the runner
+     * @return the lines describing where the robot ended up
+     */
+    private static List<String> runHeadless(String... args) throws IOException, InterruptedException
+    {
+        String[] command = new String[args.length + 4];
+        command[0] = System.getProperty("java.home") + File.separator + "bin" + File.separator + "java";
+        command[1] = "-cp";
+        command[2] = System.getProperty("java.class.path");
+        command[3] = FauxbotHeadlessRunner.class.getName();
+        System.arraycopy(args, 0, command, 4, args.length);
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+
+        // read the output on its own thread, so that a run that hangs can't keep us from timing out
+        List<String> endingLines = new ArrayList<String>();
+        StringBuilder output = new StringBuilder();
+        Thread readerThread = new Thread(
+            () ->
+            {
+                try (BufferedReader reader = new BufferedReader(new InputStreamReader(process.getInputStream())))
+                {
+                    String line;
+                    while ((line = reader.readLine()) != null)
+                    {
+                        synchronized (output)
+                        {
+                            output.append(line).append(System.lineSeparator());
+                            if (line.startsWith(FauxbotHeadlessRunner.ENDING_PREFIX))
+                            {
+                                endingLines.add(line);
+                            }
+                        }
+                    }
+                }
+                catch (IOException ex)
+                {
+                    // the process was destroyed
+                }
+            },
+            "FauxbotHeadlessRunnerOutput");
+        readerThread.setDaemon(true);
+        readerThread.start();
+
+        if (!process.waitFor(FauxbotHeadlessRunnerTests.TIMEOUT_SECONDS, TimeUnit.SECONDS))
+        {
+            process.destroyForcibly();
+            readerThread.join(TimeUnit.SECONDS.toMillis(5L));
+            synchronized (output)
+            {
+                Assertions.fail("Headless run didn't finish within " + FauxbotHeadlessRunnerTests.TIMEOUT_SECONDS + "s:" + System.lineSeparator() + output);
+            }
+        }
+
+        readerThread.join();
+        synchronized (output)
+        {
+            Assertions.assertEquals(0, process.exitValue(), output.toString());
+            Assertions.assertEquals(2, endingLines.size(), output.toString());
+            return new ArrayList<String>(endingLines);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package frc.lib.robotprovider;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+
+public class BinaryFileWriterWrapper implements IBinaryFileWriter
+{
+    private FileChannel wrappedObject;
+
+    public BinaryFileWriterWrapper(String fileName) throws IOException
+    {
+        this.wrappedObject = new FileOutputStream(fileName).getChannel();
+    }
+
+    public void write(ByteBuffer buffer) throws IOException
+    {
+        while (buffer.hasRemaining())
+        {
+            this.wrappedObject.write(buffer);
+        }
+    }
+
+    public void flush() throws IOException
+    {
+        // writes to the channel aren't buffered, and forcing them out to the USB stick takes far too long to do while running
+    }
+}
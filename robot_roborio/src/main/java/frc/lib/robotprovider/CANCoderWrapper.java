@@ -1,11 +1,17 @@
 package frc.lib.robotprovider;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.sensors.*;
 
 public class CANCoderWrapper implements ICANCoder
 {
+    private static final int timeoutMS = 10;
+    private static final int configurationHashParameter = 0;
+
     private final CANCoder wrappedObject;
 
+    private int configurationErrors;
+
     public CANCoderWrapper(int deviceNumber)
     {
         this.wrappedObject = new CANCoder(deviceNumber);
@@ -33,29 +39,60 @@ public class CANCoderWrapper implements ICANCoder
 
     public void setPosition(double newPosition)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setPosition(newPosition),
             "CANCoder.setPosition");
     }
 
     public void configSensorDirection(boolean clockwisePositive)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configSensorDirection(clockwisePositive),
             "CANCoder.configSensorDirection");
     }
 
     public void configAbsoluteRange(boolean useZeroToThreeSixty)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configAbsoluteSensorRange(useZeroToThreeSixty ? AbsoluteSensorRange.Unsigned_0_to_360 : AbsoluteSensorRange.Signed_PlusMinus180),
             "CANCoder.configAbsoluteRange");
     }
 
     public void configMagnetOffset(double offsetDegrees)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configMagnetOffset(offsetDegrees),
             "CANCoder.configMagnetOffset");
     }
-}
\ No newline at end of file
+
+    public int getConfigurationHash()
+    {
+        int hash = this.wrappedObject.configGetCustomParam(CANCoderWrapper.configurationHashParameter, CANCoderWrapper.timeoutMS);
+        this.checkError(this.wrappedObject.getLastError(), "CANCoder.getConfigurationHash");
+        return hash;
+    }
+
+    public void setConfigurationHash(int hash)
+    {
+        this.checkError(
+            this.wrappedObject.configSetCustomParam(hash, CANCoderWrapper.configurationHashParameter, CANCoderWrapper.timeoutMS),
+            "CANCoder.setConfigurationHash");
+    }
+
+    public int getConfigurationErrors()
+    {
+        int errors = this.configurationErrors;
+        this.configurationErrors = 0;
+        return errors;
+    }
+
+    private void checkError(ErrorCode errorCode, String operation)
+    {
+        if (errorCode != ErrorCode.OK)
+        {
+            this.configurationErrors++;
+        }
+
+        CTREErrorCodeHelper.printError(errorCode, operation);
+    }
+}
@@ -0,0 +1,23 @@
+package frc.lib.robotprovider;
+
+import edu.wpi.first.cscore.CvSink;
+
+public class CvSinkWrapper implements ICvSink
+{
+    final CvSink wrappedObject;
+
+    CvSinkWrapper(CvSink object)
+    {
+        this.wrappedObject = object;
+    }
+
+    public long grabFrame(IMat image, double timeout)
+    {
+        return this.wrappedObject.grabFrame(OpenCVProvider.unwrap(image), timeout);
+    }
+
+    public String getError()
+    {
+        return this.wrappedObject.getError();
+    }
+}
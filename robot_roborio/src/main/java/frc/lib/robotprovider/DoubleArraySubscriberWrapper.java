@@ -0,0 +1,26 @@
+package frc.lib.robotprovider;
+
+import edu.wpi.first.networktables.DoubleArraySubscriber;
+
+public class DoubleArraySubscriberWrapper implements IDoubleArraySubscriber
+{
+    final DoubleArraySubscriber wrappedObject;
+
+    DoubleArraySubscriberWrapper(DoubleArraySubscriber object)
+    {
+        this.wrappedObject = object;
+    }
+
+    public int readQueue(double[][] values)
+    {
+        double[][] queue = this.wrappedObject.readQueueValues();
+        int skip = Math.max(0, queue.length - values.length);
+        int read = queue.length - skip;
+        for (int i = 0; i < read; i++)
+        {
+            LocalDoubleArrayTopic.copy(queue[skip + i], values[i]);
+        }
+
+        return read;
+    }
+}
@@ -38,4 +38,9 @@ public class FileWrapper implements IFile
     {
         return new FileWriterWrapper(this.wrappedObject.getAbsolutePath());
     }
+
+    public IBinaryFileWriter openBinaryWriter() throws IOException
+    {
+        return new BinaryFileWriterWrapper(this.wrappedObject.getAbsolutePath());
+    }
 }
@@ -3,6 +3,8 @@ package frc.lib.robotprovider;
 import edu.wpi.first.networktables.DoubleTopic;
 import edu.wpi.first.networktables.NetworkTable;
 import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.NetworkTablesJNI;
+import edu.wpi.first.networktables.PubSubOption;
 import edu.wpi.first.wpilibj.shuffleboard.Shuffleboard;
 import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
 
@@ -113,4 +115,22 @@ public class NetworkTableProvider implements INetworkTableProvider
     {
         return new StringSubscriberWrapper(NetworkTableProvider.getSmartDashboard().getStringTopic(key).subscribe(defaultValue));
     }
-}
\ No newline at end of file
+
+    @Override
+    public IDoubleArraySubscriber getDoubleArraySubscriber(String key, int queueSize)
+    {
+        // keep every value that is sent (even if it is the same as the last one) until it is read
+        return new DoubleArraySubscriberWrapper(
+            NetworkTableProvider.getSmartDashboard().getDoubleArrayTopic(key).subscribe(
+                new double[0],
+                PubSubOption.sendAll(true),
+                PubSubOption.keepDuplicates(true),
+                PubSubOption.pollStorage(queueSize)));
+    }
+
+    @Override
+    public long getNetworkTime()
+    {
+        return NetworkTablesJNI.now();
+    }
+}
@@ -2,159 +2,92 @@ package frc.lib.robotprovider;
 
 import javax.inject.Singleton;
 
-import edu.wpi.first.wpilibj.smartdashboard.SmartDashboard;
+import edu.wpi.first.networktables.BooleanArrayPublisher;
+import edu.wpi.first.networktables.BooleanPublisher;
+import edu.wpi.first.networktables.DoublePublisher;
+import edu.wpi.first.networktables.NetworkTable;
+import edu.wpi.first.networktables.NetworkTableInstance;
+import edu.wpi.first.networktables.StringPublisher;
 import frc.robot.LoggingKey;
 
 /**
  * Logger that logs current values to a dashboard.
  *
+ * Publishes through a publisher per key (created the first time the key is published) rather than looking each key up
+ * by name, and only publishes values that have changed (see DashboardLoggerBase).
  */
 @Singleton
-public class SmartDashboardLogger implements ISmartDashboardLogger
+public class SmartDashboardLogger extends DashboardLoggerBase
 {
-    /**
-     * Write a boolean to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
-    @Override
-    public void logBoolean(LoggingKey key, boolean value)
-    {
-        if (SmartDashboard.getBoolean(key.value, !value) != value)
-        {
-            SmartDashboard.putBoolean(key.value, value);
-        }
-    }
+    private static final int KEY_COUNT = LoggingKey.values().length;
 
-    /**
-     * Write a boolean array to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
-    @Override
-    public void logBooleanArray(LoggingKey key, boolean[] value)
-    {
-        SmartDashboard.putBooleanArray(key.value, value);
-    }
+    private final NetworkTable table;
 
-    /**
-     * Write a number (double) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
-    @Override
-    public void logNumber(LoggingKey key, double value)
-    {
-        if (SmartDashboard.getNumber(key.value, value + 0.5) != value)
-        {
-            SmartDashboard.putNumber(key.value, value);
-        }
-    }
+    // indexed by LoggingKey ordinal
+    private final BooleanPublisher[] booleanPublishers;
+    private final BooleanArrayPublisher[] booleanArrayPublishers;
+    private final DoublePublisher[] doublePublishers;
+    private final StringPublisher[] stringPublishers;
 
-    /**
-     * Write a number (double) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
-    @Override
-    public void logNumber(LoggingKey key, Double value)
+    public SmartDashboardLogger()
     {
-        String valueString = "N/A";
-        if (value != null)
-        {
-            valueString = String.valueOf(value);
-        }
+        this.table = NetworkTableInstance.getDefault().getTable("SmartDashboard");
 
-        SmartDashboard.putString(key.value, valueString);
+        this.booleanPublishers = new BooleanPublisher[SmartDashboardLogger.KEY_COUNT];
+        this.booleanArrayPublishers = new BooleanArrayPublisher[SmartDashboardLogger.KEY_COUNT];
+        this.doublePublishers = new DoublePublisher[SmartDashboardLogger.KEY_COUNT];
+        this.stringPublishers = new StringPublisher[SmartDashboardLogger.KEY_COUNT];
     }
 
-    /**
-     * Write a number (integer) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
     @Override
-    public void logInteger(LoggingKey key, int value)
+    protected void publishBoolean(LoggingKey key, boolean value)
     {
-        this.logInteger(key, value, null);
-    }
-
-    /**
-     * Write a number (integer) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
-    @Override
-    public void logInteger(LoggingKey key, Integer value)
-    {
-        String valueString = "N/A";
-        if (value != null)
+        BooleanPublisher publisher = this.booleanPublishers[key.ordinal()];
+        if (publisher == null)
         {
-            valueString = String.valueOf(value);
+            publisher = this.table.getBooleanTopic(key.value).publish();
+            this.booleanPublishers[key.ordinal()] = publisher;
         }
 
-        SmartDashboard.putString(key.value, valueString);
+        publisher.set(value);
     }
 
-    /**
-     * Write a number (integer) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     * @param formatString to use
-     */
     @Override
-    public void logInteger(LoggingKey key, int value, String formatString)
+    protected void publishBooleanArray(LoggingKey key, boolean[] value)
     {
-        if (SmartDashboard.getNumber(key.value, value + 0.5) != value)
+        BooleanArrayPublisher publisher = this.booleanArrayPublishers[key.ordinal()];
+        if (publisher == null)
         {
-            SmartDashboard.putNumber(key.value, value);
+            publisher = this.table.getBooleanArrayTopic(key.value).publish();
+            this.booleanArrayPublishers[key.ordinal()] = publisher;
         }
+
+        publisher.set(value == null ? new boolean[0] : value);
     }
 
-    /**
-     * Write a point (x,y or N/A) to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
     @Override
-    public void logPoint(LoggingKey key, IPoint value)
+    protected void publishNumber(LoggingKey key, double value)
     {
-        String valueString = "N/A";
-        if (value != null)
+        DoublePublisher publisher = this.doublePublishers[key.ordinal()];
+        if (publisher == null)
         {
-            valueString = String.format("(%f, %f)", value.getX(), value.getY());
+            publisher = this.table.getDoubleTopic(key.value).publish();
+            this.doublePublishers[key.ordinal()] = publisher;
         }
 
-        this.logString(key, valueString);
+        publisher.set(value);
     }
 
-    /**
-     * Write a string to the smart dashboard
-     * @param key to write to
-     * @param value to write
-     */
     @Override
-    public void logString(LoggingKey key, String value)
+    protected void publishString(LoggingKey key, String value)
     {
-        if (SmartDashboard.getString(key.value, null) != value)
+        StringPublisher publisher = this.stringPublishers[key.ordinal()];
+        if (publisher == null)
         {
-            SmartDashboard.putString(key.value, value);
+            publisher = this.table.getStringTopic(key.value).publish();
+            this.stringPublishers[key.ordinal()] = publisher;
         }
-    }
 
-    /**
-     * Update the log, if appropriate..
-     */
-    @Override
-    public void update()
-    {
-    }
-
-    /**
-     * Flush the output stream, if appropriate..
-     */
-    @Override
-    public void flush()
-    {
+        publisher.set(value == null ? "" : value);
     }
 }
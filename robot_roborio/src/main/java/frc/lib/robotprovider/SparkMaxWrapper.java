@@ -9,6 +9,7 @@ import com.revrobotics.CANSparkMaxLowLevel.MotorType;
 public class SparkMaxWrapper implements ISparkMax
 {
     final CANSparkMax wrappedObject;
+    private final MotorWriteCache writeCache;
     private SparkMaxPIDController pidController;
     private RelativeEncoder wrappedEncoder;
     private SparkMaxLimitSwitch wrappedFwdLimitSwitch;
@@ -32,6 +33,7 @@ public class SparkMaxWrapper implements ISparkMax
 
         this.wrappedObject = new CANSparkMax(deviceID, type);
         this.currentMode = SparkMaxControlMode.PercentOutput;
+        this.writeCache = new MotorWriteCache();
     }
 
     public void setControlMode(SparkMaxControlMode mode)
@@ -41,6 +43,11 @@ public class SparkMaxWrapper implements ISparkMax
 
     public void set(double value)
     {
+        if (!this.writeCache.shouldSendControl(this.currentMode.ordinal(), value))
+        {
+            return;
+        }
+
         if (this.currentMode != SparkMaxControlMode.PercentOutput &&
             this.pidController == null)
         {
@@ -75,6 +82,8 @@ public class SparkMaxWrapper implements ISparkMax
 
     public void follow(ISparkMax sparkMax)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((SparkMaxWrapper)sparkMax).wrappedObject);
     }
 
@@ -243,7 +252,10 @@ public class SparkMaxWrapper implements ISparkMax
 
     public void stop()
     {
-        this.wrappedObject.stopMotor();
+        if (this.writeCache.shouldSendControl(MotorWriteCache.STOP_MODE, 0.0))
+        {
+            this.wrappedObject.stopMotor();
+        }
     }
 
     public void setPosition(double position)
@@ -293,6 +305,25 @@ public class SparkMaxWrapper implements ISparkMax
         return this.wrappedEncoder.getVelocity();
     }
 
+    public void readStatus(MotorStatus status)
+    {
+        if (this.wrappedEncoder == null)
+        {
+            this.wrappedEncoder = this.wrappedObject.getEncoder();
+            if (this.wrappedEncoder == null)
+            {
+                status.position = 0.0;
+                status.velocity = 0.0;
+                status.error = 0.0;
+                return;
+            }
+        }
+
+        status.position = this.wrappedEncoder.getPosition();
+        status.velocity = this.wrappedEncoder.getVelocity();
+        status.error = 0.0;
+    }
+
     public boolean getForwardLimitSwitchStatus()
     {
         if (this.wrappedFwdLimitSwitch == null)
@@ -312,4 +343,14 @@ public class SparkMaxWrapper implements ISparkMax
 
         return this.wrappedRevLimitSwitch.isPressed();
     }
+
+    public long getControlRequestsSent()
+    {
+        return this.writeCache.getSentCount();
+    }
+
+    public long getControlRequestsSuppressed()
+    {
+        return this.writeCache.getSuppressedCount();
+    }
 }
@@ -1,5 +1,6 @@
 package frc.lib.robotprovider;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
@@ -17,9 +18,14 @@ public class TalonFXWrapper implements ITalonFX
 {
     private static final int pidIdx = 0;
     private static final int timeoutMS = 10;
+    private static final int configurationHashParameter = 0;
 
     final TalonFX wrappedObject;
 
+    private final MotorWriteCache writeCache;
+
+    private int configurationErrors;
+
     private boolean controlModeRequired;
     private ControlMode controlMode;
 
@@ -28,6 +34,7 @@ public class TalonFXWrapper implements ITalonFX
         this.wrappedObject = new TalonFX(deviceNumber);
         this.controlMode = ControlMode.PercentOutput;
         this.controlModeRequired = false;
+        this.writeCache = new MotorWriteCache();
     }
 
     public TalonFXWrapper(int deviceNumber, String canbus)
@@ -35,32 +42,46 @@ public class TalonFXWrapper implements ITalonFX
         this.wrappedObject = new TalonFX(deviceNumber, canbus);
         this.controlMode = ControlMode.PercentOutput;
         this.controlModeRequired = false;
+        this.writeCache = new MotorWriteCache();
     }
 
     public void set(double value)
     {
         ExceptionHelpers.Assert(!this.controlModeRequired, "Control mode must be specified!");
 
-        this.wrappedObject.set(this.controlMode, value);
+        if (this.writeCache.shouldSendControl(this.controlMode.ordinal(), value))
+        {
+            this.wrappedObject.set(this.controlMode, value);
+        }
     }
 
     public void set(TalonXControlMode mode, double value)
     {
-        this.wrappedObject.set(TalonSRXWrapper.getControlMode(mode), value);
+        ControlMode controlMode = TalonSRXWrapper.getControlMode(mode);
+        if (this.writeCache.shouldSendControl(controlMode.ordinal(), value))
+        {
+            this.wrappedObject.set(controlMode, value);
+        }
     }
 
     public void follow(ITalonSRX talonSRX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((TalonSRXWrapper)talonSRX).wrappedObject);
     }
 
     public void follow(ITalonFX talonFX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((TalonFXWrapper)talonFX).wrappedObject);
     }
 
     public void follow(IVictorSPX victorSPX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((VictorSPXWrapper)victorSPX).wrappedObject);
     }
 
@@ -90,110 +111,113 @@ public class TalonFXWrapper implements ITalonFX
             return;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configSelectedFeedbackSensor(device, TalonFXWrapper.pidIdx, 0),
             "TalonFX.configSelectedFeedbackSensor");
     }
 
     public void setGeneralFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, periodMS, TalonFXWrapper.timeoutMS),
             "TalonFX.setGeneralFramePeriod");
     }
 
     public void setFeedbackFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, periodMS, TalonFXWrapper.timeoutMS),
             "TalonFX.setFeedbackFramePeriod");
     }
 
     public void setPIDFFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, periodMS, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDFFramePeriod");
     }
 
     public void configureVelocityMeasurements(int periodMS, int windowSize)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVelocityMeasurementPeriod(SensorVelocityMeasPeriod.valueOf(periodMS), TalonFXWrapper.timeoutMS),
             "TalonFX.configureVelocityMeasurementPeriod");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVelocityMeasurementWindow(windowSize, TalonFXWrapper.timeoutMS),
             "TalonFX.configureVelocityMeasurementWindow");
     }
 
     public void configureAllowableClosedloopError(int slotId, int error)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configAllowableClosedloopError(slotId, error, TalonFXWrapper.timeoutMS),
             "TalonFX.configureAllowableClosedloopError");
     }
 
     public void setSelectedSlot(int slotId)
     {
-        this.wrappedObject.selectProfileSlot(slotId, TalonFXWrapper.pidIdx);
+        if (this.writeCache.shouldSendSlot(slotId))
+        {
+            this.wrappedObject.selectProfileSlot(slotId, TalonFXWrapper.pidIdx);
+        }
     }
 
     public void setPIDF(double p, double i, double d, double f, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kF");
     }
 
     public void setMotionMagicPIDF(double p, double i, double d, double f, double velocity, double acceleration, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_kF");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configMotionCruiseVelocity(velocity, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_CruiseVelocity");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configMotionAcceleration(acceleration, TalonFXWrapper.timeoutMS),
             "TalonFX.setMotionMagicPIDF_Acceleration");
     }
 
     public void setPIDF(double p, double i, double d, double f, int izone, double closeLoopRampRate, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_kF");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_IntegralZone(slotId, izone, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_IntegralZone");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configClosedloopRamp(closeLoopRampRate, TalonFXWrapper.timeoutMS),
             "TalonFX.setPIDF_CloosedloopRamp");
     }
@@ -212,7 +236,7 @@ public class TalonFXWrapper implements ITalonFX
             type = LimitSwitchNormal.NormallyOpen;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configForwardLimitSwitchSource(
                 source,
                 type,
@@ -234,7 +258,7 @@ public class TalonFXWrapper implements ITalonFX
             type = LimitSwitchNormal.NormallyOpen;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configReverseLimitSwitchSource(
                 source,
                 type,
@@ -295,7 +319,7 @@ public class TalonFXWrapper implements ITalonFX
 
     public void setVoltageCompensation(boolean enabled, double maxVoltage)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVoltageCompSaturation(maxVoltage, TalonFXWrapper.timeoutMS),
             "TalonFX.setVoltageCompensationSaturation");
         this.wrappedObject.enableVoltageCompensation(enabled);
@@ -304,26 +328,29 @@ public class TalonFXWrapper implements ITalonFX
     public void setSupplyCurrentLimit(boolean enabled, double currentLimit, double triggerThresholdCurrent, double triggerThresholdTime)
     {
         SupplyCurrentLimitConfiguration config = new SupplyCurrentLimitConfiguration(enabled, currentLimit, triggerThresholdCurrent, triggerThresholdTime);
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configSupplyCurrentLimit(config),
             "TalonFX.setSupplyCurrentLimit");
     }
 
     public void stop()
     {
-        this.wrappedObject.set(ControlMode.Disabled, 0.0);
+        if (this.writeCache.shouldSendControl(ControlMode.Disabled.ordinal(), 0.0))
+        {
+            this.wrappedObject.set(ControlMode.Disabled, 0.0);
+        }
     }
 
     public void setPosition(double position)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setSelectedSensorPosition(position, TalonFXWrapper.pidIdx, TalonFXWrapper.timeoutMS),
             "TalonFX.setPosition");
     }
 
     public void reset()
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setSelectedSensorPosition(0.0, TalonFXWrapper.pidIdx, TalonFXWrapper.timeoutMS),
             "TalonFX.reset");
     }
@@ -343,6 +370,13 @@ public class TalonFXWrapper implements ITalonFX
         return this.wrappedObject.getClosedLoopError(TalonFXWrapper.pidIdx);
     }
 
+    public void readStatus(MotorStatus status)
+    {
+        status.position = this.wrappedObject.getSelectedSensorPosition(TalonFXWrapper.pidIdx);
+        status.velocity = this.wrappedObject.getSelectedSensorVelocity(TalonFXWrapper.pidIdx);
+        status.error = this.wrappedObject.getClosedLoopError(TalonFXWrapper.pidIdx);
+    }
+
     public TalonXLimitSwitchStatus getLimitSwitchStatus()
     {
         TalonFXSensorCollection collection = this.wrappedObject.getSensorCollection();
@@ -351,4 +385,45 @@ public class TalonFXWrapper implements ITalonFX
             collection.isFwdLimitSwitchClosed() == 1,
             collection.isRevLimitSwitchClosed() == 1);
     }
+
+    public long getControlRequestsSent()
+    {
+        return this.writeCache.getSentCount();
+    }
+
+    public long getControlRequestsSuppressed()
+    {
+        return this.writeCache.getSuppressedCount();
+    }
+
+    public int getConfigurationHash()
+    {
+        int hash = this.wrappedObject.configGetCustomParam(TalonFXWrapper.configurationHashParameter, TalonFXWrapper.timeoutMS);
+        this.checkError(this.wrappedObject.getLastError(), "TalonFX.getConfigurationHash");
+        return hash;
+    }
+
+    public void setConfigurationHash(int hash)
+    {
+        this.checkError(
+            this.wrappedObject.configSetCustomParam(hash, TalonFXWrapper.configurationHashParameter, TalonFXWrapper.timeoutMS),
+            "TalonFX.setConfigurationHash");
+    }
+
+    public int getConfigurationErrors()
+    {
+        int errors = this.configurationErrors;
+        this.configurationErrors = 0;
+        return errors;
+    }
+
+    private void checkError(ErrorCode errorCode, String operation)
+    {
+        if (errorCode != ErrorCode.OK)
+        {
+            this.configurationErrors++;
+        }
+
+        CTREErrorCodeHelper.printError(errorCode, operation);
+    }
 }
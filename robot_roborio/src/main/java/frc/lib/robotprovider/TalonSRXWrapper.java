@@ -1,5 +1,6 @@
 package frc.lib.robotprovider;
 
+import com.ctre.phoenix.ErrorCode;
 import com.ctre.phoenix.motorcontrol.ControlMode;
 import com.ctre.phoenix.motorcontrol.FeedbackDevice;
 import com.ctre.phoenix.motorcontrol.LimitSwitchNormal;
@@ -16,9 +17,14 @@ public class TalonSRXWrapper implements ITalonSRX
 {
     private static final int pidIdx = 0;
     private static final int timeoutMS = 10;
+    private static final int configurationHashParameter = 0;
 
     final TalonSRX wrappedObject;
 
+    private final MotorWriteCache writeCache;
+
+    private int configurationErrors;
+
     private boolean controlModeRequired;
     private ControlMode controlMode;
 
@@ -27,32 +33,46 @@ public class TalonSRXWrapper implements ITalonSRX
         this.wrappedObject = new TalonSRX(deviceNumber);
         this.controlMode = ControlMode.PercentOutput;
         this.controlModeRequired = false;
+        this.writeCache = new MotorWriteCache();
     }
 
     public void set(double value)
     {
         ExceptionHelpers.Assert(!this.controlModeRequired, "Control mode must be specified!");
 
-        this.wrappedObject.set(this.controlMode, value);
+        if (this.writeCache.shouldSendControl(this.controlMode.ordinal(), value))
+        {
+            this.wrappedObject.set(this.controlMode, value);
+        }
     }
 
     public void set(TalonXControlMode mode, double value)
     {
-        this.wrappedObject.set(TalonSRXWrapper.getControlMode(mode), value);
+        ControlMode controlMode = TalonSRXWrapper.getControlMode(mode);
+        if (this.writeCache.shouldSendControl(controlMode.ordinal(), value))
+        {
+            this.wrappedObject.set(controlMode, value);
+        }
     }
 
     public void follow(ITalonSRX talonSRX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((TalonSRXWrapper)talonSRX).wrappedObject);
     }
 
     public void follow(ITalonFX talonFX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((TalonFXWrapper)talonFX).wrappedObject);
     }
 
     public void follow(IVictorSPX victorSPX)
     {
+        // following replaces the control request
+        this.writeCache.invalidate();
         this.wrappedObject.follow(((VictorSPXWrapper)victorSPX).wrappedObject);
     }
 
@@ -78,110 +98,113 @@ public class TalonSRXWrapper implements ITalonSRX
             return;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configSelectedFeedbackSensor(device, TalonSRXWrapper.pidIdx, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setSensorType");
     }
 
     public void setGeneralFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_1_General, periodMS, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setGeneralFramePeriod");
     }
 
     public void setFeedbackFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_2_Feedback0, periodMS, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setFeedbackFramePeriod");
     }
 
     public void setPIDFFramePeriod(int periodMS)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setStatusFramePeriod(StatusFrameEnhanced.Status_13_Base_PIDF0, periodMS, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDFFramePeriod");
     }
 
     public void configureVelocityMeasurements(int periodMS, int windowSize)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVelocityMeasurementPeriod(SensorVelocityMeasPeriod.valueOf(periodMS), TalonSRXWrapper.timeoutMS),
             "TalonSRX.configureVelocityMeasurementsPeriod");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVelocityMeasurementWindow(windowSize, TalonSRXWrapper.timeoutMS),
             "TalonSRX.configureVelocityMeasurementsWindow");
     }
 
     public void configureAllowableClosedloopError(int slotId, int error)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configAllowableClosedloopError(slotId, error, TalonSRXWrapper.timeoutMS),
             "TalonSRX.configureAllowableClosedloopError");
     }
 
     public void setSelectedSlot(int slotId)
     {
-        this.wrappedObject.selectProfileSlot(slotId, TalonSRXWrapper.pidIdx);
+        if (this.writeCache.shouldSendSlot(slotId))
+        {
+            this.wrappedObject.selectProfileSlot(slotId, TalonSRXWrapper.pidIdx);
+        }
     }
 
     public void setPIDF(double p, double i, double d, double f, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kF");
     }
 
     public void setMotionMagicPIDF(double p, double i, double d, double f, double velocity, double acceleration, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_kF");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configMotionCruiseVelocity(velocity, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_CruiseVelocity");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configMotionAcceleration(acceleration, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setMotionMagicPIDF_Acceleration");
     }
 
     public void setPIDF(double p, double i, double d, double f, int izone, double closeLoopRampRate, int slotId)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kP(slotId, p, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kP");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kI(slotId, i, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kI");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kD(slotId, d, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kD");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_kF(slotId, f, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_kF");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.config_IntegralZone(slotId, izone, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_IntegralZone");
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configClosedloopRamp(closeLoopRampRate, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPIDF_ClosedloopRamp");
     }
@@ -200,7 +223,7 @@ public class TalonSRXWrapper implements ITalonSRX
             type = LimitSwitchNormal.NormallyOpen;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configForwardLimitSwitchSource(
                 source,
                 type,
@@ -222,7 +245,7 @@ public class TalonSRXWrapper implements ITalonSRX
             type = LimitSwitchNormal.NormallyOpen;
         }
 
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configReverseLimitSwitchSource(
                 source,
                 type,
@@ -257,7 +280,7 @@ public class TalonSRXWrapper implements ITalonSRX
 
     public void setVoltageCompensation(boolean enabled, double maxVoltage)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.configVoltageCompSaturation(maxVoltage, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setVoltageCompensationSaturation");
         this.wrappedObject.enableVoltageCompensation(enabled);
@@ -265,19 +288,22 @@ public class TalonSRXWrapper implements ITalonSRX
 
     public void stop()
     {
-        this.wrappedObject.set(ControlMode.Disabled, 0.0);
+        if (this.writeCache.shouldSendControl(ControlMode.Disabled.ordinal(), 0.0))
+        {
+            this.wrappedObject.set(ControlMode.Disabled, 0.0);
+        }
     }
 
     public void setPosition(double position)
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setSelectedSensorPosition(position, TalonSRXWrapper.pidIdx, TalonSRXWrapper.timeoutMS),
             "TalonSRX.setPosition");
     }
 
     public void reset()
     {
-        CTREErrorCodeHelper.printError(
+        this.checkError(
             this.wrappedObject.setSelectedSensorPosition(0.0, TalonSRXWrapper.pidIdx, TalonSRXWrapper.timeoutMS),
             "TalonSRX.reset");
     }
@@ -297,6 +323,13 @@ public class TalonSRXWrapper implements ITalonSRX
         return this.wrappedObject.getClosedLoopError(TalonSRXWrapper.pidIdx);
     }
 
+    public void readStatus(MotorStatus status)
+    {
+        status.position = this.wrappedObject.getSelectedSensorPosition(TalonSRXWrapper.pidIdx);
+        status.velocity = this.wrappedObject.getSelectedSensorVelocity(TalonSRXWrapper.pidIdx);
+        status.error = this.wrappedObject.getClosedLoopError(TalonSRXWrapper.pidIdx);
+    }
+
     public TalonXLimitSwitchStatus getLimitSwitchStatus()
     {
         SensorCollection collection = this.wrappedObject.getSensorCollection();
@@ -306,6 +339,47 @@ public class TalonSRXWrapper implements ITalonSRX
             collection.isRevLimitSwitchClosed());
     }
 
+    public long getControlRequestsSent()
+    {
+        return this.writeCache.getSentCount();
+    }
+
+    public long getControlRequestsSuppressed()
+    {
+        return this.writeCache.getSuppressedCount();
+    }
+
+    public int getConfigurationHash()
+    {
+        int hash = this.wrappedObject.configGetCustomParam(TalonSRXWrapper.configurationHashParameter, TalonSRXWrapper.timeoutMS);
+        this.checkError(this.wrappedObject.getLastError(), "TalonSRX.getConfigurationHash");
+        return hash;
+    }
+
+    public void setConfigurationHash(int hash)
+    {
+        this.checkError(
+            this.wrappedObject.configSetCustomParam(hash, TalonSRXWrapper.configurationHashParameter, TalonSRXWrapper.timeoutMS),
+            "TalonSRX.setConfigurationHash");
+    }
+
+    public int getConfigurationErrors()
+    {
+        int errors = this.configurationErrors;
+        this.configurationErrors = 0;
+        return errors;
+    }
+
+    private void checkError(ErrorCode errorCode, String operation)
+    {
+        if (errorCode != ErrorCode.OK)
+        {
+            this.configurationErrors++;
+        }
+
+        CTREErrorCodeHelper.printError(errorCode, operation);
+    }
+
     static ControlMode getControlMode(TalonXControlMode mode)
     {
         if (mode == TalonXControlMode.PercentOutput)
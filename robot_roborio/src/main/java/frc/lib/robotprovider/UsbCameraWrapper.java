@@ -2,6 +2,7 @@ package frc.lib.robotprovider;
 
 import org.opencv.core.Mat;
 
+import edu.wpi.first.cscore.CvSink;
 import edu.wpi.first.cscore.UsbCamera;
 import edu.wpi.first.vision.VisionPipeline;
 import edu.wpi.first.vision.VisionRunner;
@@ -46,6 +47,13 @@ public class UsbCameraWrapper implements IUsbCamera
         return new VisionThread(this.wrappedObject, new VisionPipelineWrapper<T>(pipeline), new VisionListenerWrapper<T>(listener));
     }
 
+    public ICvSink createCvSink()
+    {
+        CvSink sink = new CvSink("opencv_" + this.wrappedObject.getName());
+        sink.setSource(this.wrappedObject);
+        return new CvSinkWrapper(sink);
+    }
+
     private class VisionPipelineWrapper<T extends IVisionPipeline> implements VisionPipeline
     {
         private final T wrappedObject;
@@ -17,13 +17,30 @@ public class RobotModule extends AbstractModule
     protected void configure()
     {
         this.bind(IDriver.class).to(Driver.class);
-        this.bind(IRobotProvider.class).to(RobotProvider.class);
-        this.bind(ITimer.class).to(TimerWrapper.class);
         this.bind(IButtonMap.class).to(ButtonMap.class);
         this.bind(ISmartDashboardLogger.class).to(SmartDashboardLogger.class);
         this.bind(IFile.class).to(FileWrapper.class);
     }
 
+    @Singleton
+    @Provides
+    public IRobotProvider getRobotProvider(RobotProvider provider, InputRecorder recorder)
+    {
+        if (TuningConstants.LOG_INPUTS)
+        {
+            return new RecordingRobotProvider(provider, recorder);
+        }
+
+        return provider;
+    }
+
+    @Singleton
+    @Provides
+    public ITimer getTimer(TimerWrapper timer, InputRecorder recorder)
+    {
+        return recorder.wrap(ITimer.class, timer, InputLog.TIMER);
+    }
+
     @Singleton
     @Provides
     public MechanismManager getMechanismManager(Injector injector)
@@ -0,0 +1,68 @@
+package frc.robot;
+
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+
+public class LogAnalyzerTests
+{
+    private static final String LOG =
+        "r.state,r.time,power.currFltAvg,dt.path_err,a.intake_extended\r\n" +
+        "Teleop,0.00,100.0,NaN,false\r\n" +
+        "Teleop,0.02,150.0,1.5,true\r\n" +
+        "Teleop,0.04,160.0,2.5,true\r\n" +
+        "Teleop,0.08,120.0,NaN,\r\n" +
+        "Teleop,0.10,,NaN,false\r\n";
+
+    @Test
+    public void verifyColumnStatistics()
+    {
+        Map<String, Double> thresholds = new HashMap<String, Double>();
+        thresholds.put("power.currFltAvg", 140.0);
+        LogAnalyzer.LogSummary summary = LogAnalyzer.analyze(new StringReader(LogAnalyzerTests.LOG), null, thresholds);
+
+        Assertions.assertEquals(5L, summary.getRows());
+        Assertions.assertNull(summary.get("r.state"));
+
+        LogAnalyzer.ColumnSummary current = summary.get("power.currFltAvg");
+        Assertions.assertEquals(4L, current.getHistogram().getCount());
+        Assertions.assertEquals(100.0, current.getHistogram().getMin());
+        Assertions.assertEquals(160.0, current.getHistogram().getMax());
+        Assertions.assertEquals(132.5, current.getHistogram().getMean(), 1e-9);
+        Assertions.assertEquals(0.04, current.getTimeAbove(), 1e-9);
+
+        // rows without a path have NaN error, and are skipped
+        LogAnalyzer.ColumnSummary pathError = summary.get("dt.path_err");
+        Assertions.assertEquals(2L, pathError.getHistogram().getCount());
+        Assertions.assertEquals(2.0, pathError.getHistogram().getMean(), 1e-9);
+
+        LogAnalyzer.ColumnSummary intakeExtended = summary.get("a.intake_extended");
+        Assertions.assertEquals(4L, intakeExtended.getHistogram().getCount());
+        Assertions.assertEquals(0.5, intakeExtended.getHistogram().getMean(), 1e-9);
+
+        // loop times of 20, 20, 40 and 20ms
+        LogAnalyzer.ColumnSummary loopTime = summary.get(LogAnalyzer.LOOP_TIME_KEY);
+        Assertions.assertEquals(4L, loopTime.getHistogram().getCount());
+        Assertions.assertEquals(40.0, loopTime.getHistogram().getMax(), 1e-9);
+        Assertions.assertEquals(25.0, loopTime.getHistogram().getMean(), 1e-9);
+    }
+
+    @Test
+    public void verifyKeysAndTotals()
+    {
+        Map<String, Double> thresholds = new HashMap<String, Double>();
+        LogAnalyzer.LogSummary first = LogAnalyzer.analyze(new StringReader(LogAnalyzerTests.LOG), Set.of("dt.path_err"), thresholds);
+        LogAnalyzer.LogSummary second = LogAnalyzer.analyze(new StringReader(LogAnalyzerTests.LOG), Set.of("dt.path_err"), thresholds);
+        Assertions.assertNull(first.get("power.currFltAvg"));
+        Assertions.assertNull(first.get(LogAnalyzer.LOOP_TIME_KEY));
+
+        first.add(second);
+        Assertions.assertEquals(10L, first.getRows());
+        Assertions.assertEquals(4L, first.get("dt.path_err").getHistogram().getCount());
+        Assertions.assertEquals(0.0, first.get("dt.path_err").getTimeAbove());
+    }
+}
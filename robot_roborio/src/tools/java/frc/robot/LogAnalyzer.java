@@ -0,0 +1,483 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import de.siegmar.fastcsv.reader.CsvReader;
+import de.siegmar.fastcsv.reader.CsvRow;
+import de.siegmar.fastcsv.writer.CsvWriter;
+
+import frc.lib.helpers.ValueHistogram;
+
+/**
+ * Desktop tool that summarizes the CSV logs written by the CSVLogger (or converted by the BinaryLogConverter) into one table.
+ *
+ * Each log is streamed through one row at a time, so memory use doesn't grow with the length of the logs, and the logs
+ * are analyzed in parallel.  Each numeric column gets its count, min, max, mean and p50/p90/p99 (see ValueHistogram),
+ * and the columns with a threshold also get the number of seconds spent above it (e.g. power.currFltAvg).  The time
+ * between rows (from r.time) is summarized as the loop time, and the path-following error is in dt.path_err.
+ */
+public class LogAnalyzer
+{
+    public static final String LOOP_TIME_KEY = "loop (ms)";
+    public static final String ALL_FILES = "*";
+
+    private static final String USAGE =
+        "usage: LogAnalyzer [-o <summary file>] [-k <key>,<key>...] [-t <key>=<threshold> ...] [-j <threads>] [-p] <log file or folder> [...]\r\n" +
+        "  -o  write the summary to a CSV file instead of the console\r\n" +
+        "  -k  only summarize these columns (default is all numeric columns)\r\n" +
+        "  -t  also measure the time spent above the threshold for the column (default is power.currFltAvg=" + TuningConstants.POWER_OVERCURRENT_THRESHOLD + ")\r\n" +
+        "  -j  number of logs to analyze at once (default is one per core)\r\n" +
+        "  -p  include a row for each column of each log, not just the totals across all logs";
+
+    private static final String[] SUMMARY_HEADER = { "file", "key", "count", "min", "max", "mean", "p50", "p90", "p99", "threshold", "time above (s)" };
+
+    /**
+     * Summarize each of the provided CSV log files (and the CSV log files within each of the provided folders)
+     * @param args options, followed by the logs to summarize (see USAGE)
+     */
+    public static void main(String[] args)
+    {
+        String summaryFile = null;
+        Set<String> keys = null;
+        Map<String, Double> thresholds = new HashMap<String, Double>();
+        thresholds.put(LoggingKey.PowerCurrentFloatingAverage.value, TuningConstants.POWER_OVERCURRENT_THRESHOLD);
+        int threads = Runtime.getRuntime().availableProcessors();
+        boolean perFile = false;
+        List<Path> logs = new ArrayList<Path>();
+        try
+        {
+            for (int i = 0; i < args.length; i++)
+            {
+                switch (args[i])
+                {
+                    case "-o":
+                        summaryFile = args[++i];
+                        break;
+
+                    case "-k":
+                        keys = new HashSet<String>(List.of(args[++i].split(",")));
+                        break;
+
+                    case "-t":
+                        String[] threshold = args[++i].split("=");
+                        thresholds.put(threshold[0], Double.parseDouble(threshold[1]));
+                        break;
+
+                    case "-j":
+                        threads = Integer.parseInt(args[++i]);
+                        break;
+
+                    case "-p":
+                        perFile = true;
+                        break;
+
+                    default:
+                        LogAnalyzer.addLogs(Path.of(args[i]), logs);
+                        break;
+                }
+            }
+        }
+        catch (ArrayIndexOutOfBoundsException | NumberFormatException | IOException ex)
+        {
+            System.err.println("Encountered exception reading arguments: " + ex.toString());
+            logs.clear();
+        }
+
+        if (logs.isEmpty() || threads < 1)
+        {
+            System.err.println(LogAnalyzer.USAGE);
+            return;
+        }
+
+        long startTime = System.nanoTime();
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try
+        {
+            List<Future<LogSummary>> summaries = new ArrayList<Future<LogSummary>>(logs.size());
+            for (Path log : logs)
+            {
+                Set<String> logKeys = keys;
+                summaries.add(executor.submit(() -> LogAnalyzer.analyze(log, logKeys, thresholds)));
+            }
+
+            Writer writer = summaryFile != null ?
+                Files.newBufferedWriter(Path.of(summaryFile), StandardCharsets.UTF_8) :
+                new OutputStreamWriter(System.out, StandardCharsets.UTF_8);
+
+            CsvWriter csvWriter = CsvWriter.builder().build(writer);
+            csvWriter.writeRow(LogAnalyzer.SUMMARY_HEADER);
+
+            // summaries are collected in the order the logs were provided, so that the output doesn't depend on timing
+            LogSummary total = new LogSummary(thresholds);
+            long rows = 0L;
+            for (int i = 0; i < logs.size(); i++)
+            {
+                LogSummary summary;
+                try
+                {
+                    summary = summaries.get(i).get();
+                }
+                catch (ExecutionException ex)
+                {
+                    System.err.println("Encountered exception analyzing " + logs.get(i).toString() + ": " + ex.getCause().toString());
+                    continue;
+                }
+
+                if (perFile)
+                {
+                    summary.write(csvWriter, logs.get(i).getFileName().toString());
+                }
+
+                total.add(summary);
+                rows += summary.getRows();
+            }
+
+            total.write(csvWriter, LogAnalyzer.ALL_FILES);
+            writer.flush();
+            if (summaryFile != null)
+            {
+                writer.close();
+            }
+
+            System.err.println(
+                String.format(
+                    "Analyzed %1$d rows from %2$d logs in %3$.1fs",
+                    rows,
+                    logs.size(),
+                    (System.nanoTime() - startTime) / 1000000000.0));
+        }
+        catch (IOException | InterruptedException ex)
+        {
+            System.err.println("Encountered exception writing summary: " + ex.toString());
+        }
+        finally
+        {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Summarize a CSV log file
+     * @param log file to read
+     * @param keys to summarize, or null for all numeric columns
+     * @param thresholds to measure the time spent above for each key
+     * @return the summary of the log
+     * @throws IOException if the log can't be read
+     */
+    public static LogSummary analyze(Path log, Set<String> keys, Map<String, Double> thresholds) throws IOException
+    {
+        try (Reader reader = Files.newBufferedReader(log, StandardCharsets.UTF_8))
+        {
+            return LogAnalyzer.analyze(reader, keys, thresholds);
+        }
+    }
+
+    /**
+     * Summarize a CSV log, reading it one row at a time
+     * @param reader to read the log from
+     * @param keys to summarize, or null for all numeric columns
+     * @param thresholds to measure the time spent above for each key
+     * @return the summary of the log
+     */
+    public static LogSummary analyze(Reader reader, Set<String> keys, Map<String, Double> thresholds)
+    {
+        LogSummary summary = new LogSummary(thresholds);
+        Iterator<CsvRow> rows = CsvReader.builder().skipEmptyRows(true).errorOnDifferentFieldCount(false).build(reader).iterator();
+        if (!rows.hasNext())
+        {
+            return summary;
+        }
+
+        CsvRow header = rows.next();
+        ColumnSummary[] columns = new ColumnSummary[header.getFieldCount()];
+        int timeIndex = -1;
+        for (int i = 0; i < columns.length; i++)
+        {
+            String key = header.getField(i);
+            if (key.equals(LoggingKey.RobotTime.value))
+            {
+                timeIndex = i;
+            }
+
+            if (keys == null || keys.contains(key))
+            {
+                columns[i] = summary.getColumn(key);
+            }
+        }
+
+        ColumnSummary loopTime = keys == null || keys.contains(LogAnalyzer.LOOP_TIME_KEY) ? summary.getColumn(LogAnalyzer.LOOP_TIME_KEY) : null;
+
+        double previousTime = Double.NaN;
+        while (rows.hasNext())
+        {
+            CsvRow row = rows.next();
+            int fieldCount = Math.min(row.getFieldCount(), columns.length);
+
+            // each row's values are counted as holding since the previous row
+            double interval = TuningConstants.LOOP_DURATION;
+            double time = timeIndex >= 0 && timeIndex < fieldCount ? LogAnalyzer.parse(row.getField(timeIndex)) : Double.NaN;
+            if (!Double.isNaN(time))
+            {
+                if (time > previousTime)
+                {
+                    interval = time - previousTime;
+                    if (loopTime != null)
+                    {
+                        loopTime.record(interval * 1000.0, interval);
+                    }
+                }
+
+                previousTime = time;
+            }
+
+            for (int i = 0; i < fieldCount; i++)
+            {
+                if (columns[i] != null)
+                {
+                    columns[i].record(LogAnalyzer.parse(row.getField(i)), interval);
+                }
+            }
+
+            summary.rows++;
+        }
+
+        return summary;
+    }
+
+    private static void addLogs(Path path, List<Path> logs) throws IOException
+    {
+        if (!Files.isDirectory(path))
+        {
+            logs.add(path);
+            return;
+        }
+
+        try (Stream<Path> files = Files.walk(path))
+        {
+            logs.addAll(
+                files.filter(file -> Files.isRegularFile(file) && file.getFileName().toString().endsWith(".csv"))
+                    .sorted()
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Parse a value from the log as a number, treating booleans as 0/1 (so their mean is the fraction of the time they were true)
+     * @return the number, or NaN if the value is empty or not a number
+     */
+    private static double parse(String value)
+    {
+        if (value.isEmpty())
+        {
+            return Double.NaN;
+        }
+
+        // check before parsing, as most non-numeric columns (e.g. r.state) are non-numeric on every row
+        char first = value.charAt(0);
+        if ((first < '0' || first > '9') && first != '-' && first != '+' && first != '.' && first != 'I')
+        {
+            if (value.equals("true"))
+            {
+                return 1.0;
+            }
+
+            if (value.equals("false"))
+            {
+                return 0.0;
+            }
+
+            return Double.NaN;
+        }
+
+        try
+        {
+            return Double.parseDouble(value);
+        }
+        catch (NumberFormatException ex)
+        {
+            return Double.NaN;
+        }
+    }
+
+    private static String format(double value)
+    {
+        return Double.isNaN(value) ? "" : String.format("%1$.3f", value);
+    }
+
+    /**
+     * Summary of the columns of one or more logs
+     */
+    public static class LogSummary
+    {
+        private final Map<String, Double> thresholds;
+        private final LinkedHashMap<String, ColumnSummary> columns;
+
+        private long rows;
+
+        LogSummary(Map<String, Double> thresholds)
+        {
+            this.thresholds = thresholds;
+            this.columns = new LinkedHashMap<String, ColumnSummary>();
+            this.rows = 0L;
+        }
+
+        /**
+         * Retrieve the number of rows read from the logs
+         * @return number of rows
+         */
+        public long getRows()
+        {
+            return this.rows;
+        }
+
+        /**
+         * Retrieve the summary of a column
+         * @param key of the column
+         * @return the summary, or null if the column wasn't summarized or had no numeric values
+         */
+        public ColumnSummary get(String key)
+        {
+            ColumnSummary column = this.columns.get(key);
+            if (column == null || column.histogram.getCount() == 0L)
+            {
+                return null;
+            }
+
+            return column;
+        }
+
+        /**
+         * Add another summary (e.g. of another log) into this one
+         * @param other summary to add
+         */
+        public void add(LogSummary other)
+        {
+            for (Map.Entry<String, ColumnSummary> entry : other.columns.entrySet())
+            {
+                this.getColumn(entry.getKey()).add(entry.getValue());
+            }
+
+            this.rows += other.rows;
+        }
+
+        /**
+         * Write a row for each column that had numeric values, a la SUMMARY_HEADER
+         * @param csvWriter to write into
+         * @param file name to use for the first column
+         */
+        void write(CsvWriter csvWriter, String file)
+        {
+            for (Map.Entry<String, ColumnSummary> entry : this.columns.entrySet())
+            {
+                ColumnSummary column = entry.getValue();
+                if (column.histogram.getCount() == 0L)
+                {
+                    continue;
+                }
+
+                boolean hasThreshold = !Double.isNaN(column.threshold);
+                csvWriter.writeRow(
+                    file,
+                    entry.getKey(),
+                    Long.toString(column.histogram.getCount()),
+                    LogAnalyzer.format(column.histogram.getMin()),
+                    LogAnalyzer.format(column.histogram.getMax()),
+                    LogAnalyzer.format(column.histogram.getMean()),
+                    LogAnalyzer.format(column.histogram.getPercentile(0.5)),
+                    LogAnalyzer.format(column.histogram.getPercentile(0.9)),
+                    LogAnalyzer.format(column.histogram.getPercentile(0.99)),
+                    hasThreshold ? LogAnalyzer.format(column.threshold) : "",
+                    hasThreshold ? LogAnalyzer.format(column.timeAbove) : "");
+            }
+        }
+
+        private ColumnSummary getColumn(String key)
+        {
+            ColumnSummary column = this.columns.get(key);
+            if (column == null)
+            {
+                Double threshold = this.thresholds.get(key);
+                column = new ColumnSummary(threshold != null ? threshold : Double.NaN);
+                this.columns.put(key, column);
+            }
+
+            return column;
+        }
+    }
+
+    /**
+     * Summary of one column of one or more logs
+     */
+    public static class ColumnSummary
+    {
+        private final ValueHistogram histogram;
+        private final double threshold;
+
+        private double timeAbove;
+
+        ColumnSummary(double threshold)
+        {
+            this.histogram = new ValueHistogram();
+            this.threshold = threshold;
+            this.timeAbove = 0.0;
+        }
+
+        /**
+         * Retrieve the distribution of the column's values
+         * @return histogram of the values
+         */
+        public ValueHistogram getHistogram()
+        {
+            return this.histogram;
+        }
+
+        /**
+         * Retrieve the amount of time that the column's value was above its threshold
+         * @return time above the threshold, in seconds (0 if the column has no threshold)
+         */
+        public double getTimeAbove()
+        {
+            return this.timeAbove;
+        }
+
+        private void record(double value, double interval)
+        {
+            if (Double.isNaN(value))
+            {
+                return;
+            }
+
+            this.histogram.record(value);
+            if (value > this.threshold)
+            {
+                this.timeAbove += interval;
+            }
+        }
+
+        private void add(ColumnSummary other)
+        {
+            this.histogram.add(other.histogram);
+            this.timeAbove += other.timeAbove;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import frc.lib.robotprovider.BinaryLogConverter;
+
+/**
+ * Desktop tool that converts log files written by the BinaryLogger into the same CSV layout written by the CSVLogger
+ * (see BinaryLogConverter), so that they can be looked at like any other log (e.g. with the LogAnalyzer).
+ */
+public class LogConverter
+{
+    /**
+     * Convert each of the provided binary log files into a CSV file next to it (e.g. "Q03 (R2).auto.bin" becomes "Q03 (R2).auto.csv")
+     * @param args the binary log files to convert
+     */
+    public static void main(String[] args)
+    {
+        if (args.length == 0)
+        {
+            System.err.println("usage: LogConverter <log file> [<log file> ...]");
+            return;
+        }
+
+        for (String arg : args)
+        {
+            Path input = Path.of(arg);
+            String fileName = input.getFileName().toString();
+            int extensionIndex = fileName.lastIndexOf('.');
+            if (extensionIndex > 0)
+            {
+                fileName = fileName.substring(0, extensionIndex);
+            }
+
+            Path output = input.resolveSibling(fileName + ".csv");
+            try (InputStream inputStream = Files.newInputStream(input);
+                Writer writer = Files.newBufferedWriter(output, StandardCharsets.UTF_8))
+            {
+                int rows = BinaryLogConverter.convert(inputStream, writer);
+                System.out.println("Converted " + rows + " rows from " + input.toString() + " to " + output.toString());
+            }
+            catch (IOException ex)
+            {
+                System.err.println("Encountered exception converting " + input.toString() + ": " + ex.toString());
+            }
+        }
+    }
+}
@@ -0,0 +1,121 @@
+package frc.robot;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import frc.lib.CoreRobot;
+import frc.lib.robotprovider.InputLog;
+import frc.lib.robotprovider.InputReplayer;
+
+/**
+ * Replays a match recorded by the InputRecorder (with TuningConstants.LOG_INPUTS) against the current robot code on the
+ * development machine, as fast as it can run, writing the outputs that the robot code commanded into a CSV file (run by
+ * the replayMatch gradle task).  Replaying the same match against two versions of the code and diffing their outputs
+ * shows where they behave differently.
+ */
+public class MatchReplay
+{
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 2)
+        {
+            System.err.println("Usage: MatchReplay <input log file> <output CSV file>");
+            System.exit(1);
+        }
+
+        try (InputStream inputStream = Files.newInputStream(Path.of(args[0]));
+            Writer writer = Files.newBufferedWriter(Path.of(args[1]), StandardCharsets.UTF_8))
+        {
+            InputReplayer replayer = new InputReplayer(inputStream, writer);
+            CoreRobot<ReplayModule> robot = new CoreRobot<ReplayModule>(new ReplayModule(replayer));
+
+            long startTime = System.nanoTime();
+            int periodicSteps = 0;
+            while (replayer.readStep())
+            {
+                switch (replayer.getStepType())
+                {
+                    case InputLog.STEP_ROBOT_INIT:
+                        robot.robotInit();
+                        break;
+
+                    case InputLog.STEP_MODE_INIT:
+                        MatchReplay.init(robot, replayer);
+                        break;
+
+                    case InputLog.STEP_PERIODIC:
+                        MatchReplay.periodic(robot, replayer);
+                        periodicSteps++;
+                        break;
+                }
+            }
+
+            robot.disabledInit();
+
+            double elapsed = (System.nanoTime() - startTime) / 1000000000.0;
+            System.out.println(
+                String.format(
+                    "Replayed %1$d steps (%2$.1fs of robot loops) in %3$.1fs, writing outputs to %4$s",
+                    replayer.getStepNumber(),
+                    periodicSteps * TuningConstants.LOOP_DURATION,
+                    elapsed,
+                    args[1]));
+        }
+    }
+
+    private static void init(CoreRobot<ReplayModule> robot, InputReplayer replayer)
+    {
+        switch (replayer.getStepMode())
+        {
+            case Disabled:
+                robot.disabledInit();
+                break;
+
+            case Autonomous:
+                robot.autonomousInit();
+                break;
+
+            case Teleop:
+                robot.teleopInit();
+                break;
+
+            case Test:
+                robot.testInit();
+                break;
+
+            case Simulation:
+                robot.simulationInit();
+                break;
+        }
+    }
+
+    private static void periodic(CoreRobot<ReplayModule> robot, InputReplayer replayer)
+    {
+        switch (replayer.getStepMode())
+        {
+            case Disabled:
+                robot.disabledPeriodic();
+                break;
+
+            case Autonomous:
+                robot.autonomousPeriodic();
+                break;
+
+            case Teleop:
+                robot.teleopPeriodic();
+                break;
+
+            case Test:
+                robot.testPeriodic();
+                break;
+
+            case Simulation:
+                robot.simulationPeriodic();
+                break;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package frc.robot;
+
+import javax.inject.Singleton;
+
+import frc.lib.driver.*;
+import frc.lib.mechanisms.MechanismManager;
+import frc.lib.mechanisms.MotorStatusCache;
+import frc.lib.robotprovider.*;
+import frc.robot.driver.*;
+
+import com.google.inject.AbstractModule;
+import com.google.inject.Injector;
+import com.google.inject.Provides;
+
+/**
+ * Module for replaying a recorded match on the development machine (see MatchReplay), with the devices and timer
+ * playing back the recorded values instead of talking to real hardware.
+ */
+public class ReplayModule extends AbstractModule
+{
+    private final InputReplayer replayer;
+
+    public ReplayModule(InputReplayer replayer)
+    {
+        this.replayer = replayer;
+    }
+
+    @Override
+    protected void configure()
+    {
+        this.bind(IDriver.class).to(Driver.class);
+        this.bind(IButtonMap.class).to(ButtonMap.class);
+        this.bind(ISmartDashboardLogger.class).to(NullSmartDashboardLogger.class);
+        this.bind(IFile.class).to(FileWrapper.class);
+    }
+
+    @Singleton
+    @Provides
+    public IRobotProvider getRobotProvider()
+    {
+        return new ReplayRobotProvider(this.replayer, new PathPlannerWrapper());
+    }
+
+    @Singleton
+    @Provides
+    public ITimer getTimer()
+    {
+        return this.replayer.create(ITimer.class, InputLog.TIMER);
+    }
+
+    @Singleton
+    @Provides
+    public MotorStatusCache getMotorStatusCache(ITimer timer)
+    {
+        // read the devices directly, so that each loop sees the values that were recorded as of that loop (this also
+        // keeps the drivetrain from starting its odometry thread, so it samples once per loop instead)
+        return new MotorStatusCache(timer, false);
+    }
+
+    @Singleton
+    @Provides
+    public DeviceConfigurator getDeviceConfigurator()
+    {
+        // configure the devices one after another, so that their outputs are written in the same order every time
+        return new DeviceConfigurator(0);
+    }
+
+    @Singleton
+    @Provides
+    public MechanismManager getMechanismManager(Injector injector)
+    {
+        // read the mechanisms' sensors in order, so that any outputs written while reading are written in the same order every time
+        return new MechanismManager(SettingsManager.getActiveMechanisms(injector), 0);
+    }
+}
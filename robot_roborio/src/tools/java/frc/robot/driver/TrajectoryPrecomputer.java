@@ -0,0 +1,31 @@
+package frc.robot.driver;
+
+import java.io.IOException;
+
+import frc.lib.driver.PrecomputedPathPlanner;
+import frc.lib.driver.PrecomputedTrajectories;
+import frc.lib.driver.TrajectoryManager;
+import frc.lib.robotprovider.PathPlannerWrapper;
+
+/**
+ * Generates the PathPlanner trajectories on the development machine and writes them to a file to deploy to the robot,
+ * so that the robot doesn't need to generate them while booting (run by the precomputeTrajectories gradle task)
+ */
+public class TrajectoryPrecomputer
+{
+    public static void main(String[] args) throws IOException
+    {
+        if (args.length != 1)
+        {
+            System.err.println("Usage: TrajectoryPrecomputer <output file>");
+            System.exit(1);
+        }
+
+        PrecomputedTrajectories precomputedTrajectories = new PrecomputedTrajectories();
+        PrecomputedPathPlanner pathPlanner = new PrecomputedPathPlanner(new PathPlannerWrapper(), precomputedTrajectories, true);
+        PathPlannerTrajectoryGenerator.generateTrajectories(new TrajectoryManager(), pathPlanner);
+
+        precomputedTrajectories.write(args[0]);
+        System.out.println("Wrote " + precomputedTrajectories.size() + " of " + pathPlanner.getBuiltCount() + " trajectories to " + args[0]);
+    }
+}